@@ -0,0 +1,126 @@
+package com.example.membersystem.benchmark;
+
+import com.example.membersystem.datasource.ConnectionGatedDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 平台執行緒與虛擬執行緒模式的請求吞吐與延遲分佈比較（Java 21）
+ * 每個 JMH 執行緒是一個同步等待回應的客戶端，客戶端數多於平台模式的工作執行緒，請求會在執行緒池排隊。
+ * platform 以 200 個工作執行緒對應 Tomcat 預設值；virtual 每個請求一個虛擬執行緒，取得連線經過
+ * {@link ConnectionGatedDataSource}。30% 請求持有連線 10ms，其餘為 2ms 的其他阻塞 I/O（如 Redis）。
+ * <p>
+ * 這是模擬，不是實際的請求路徑：連線池以 Semaphore 代替 Hikari 的 20 個連線，資料庫與 Redis 呼叫以
+ * Thread.sleep 代替，不經過 Tomcat、Spring MVC、Hikari 與 MySQL 驅動。結果只反映兩種執行緒模型與連線閘門
+ * 在這組固定延遲下的排隊差異，不代表服務實際的吞吐量或 p99。
+ * <p>
+ * 執行方式（需要 Java 21）：mvn -Pjava21,benchmark test-compile exec:exec -Djmh.args="VirtualThreadBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(400)
+public class VirtualThreadBenchmark {
+
+    private static final int POOL_SIZE = 20;
+    private static final int PLATFORM_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    private String mode;
+
+    private ExecutorService server;
+    private DataSource dataSource;
+
+    @Setup
+    public void setUp() {
+        if ("platform".equals(mode)) {
+            server = Executors.newFixedThreadPool(PLATFORM_THREADS);
+            dataSource = new SimulatedPool(POOL_SIZE);
+        } else {
+            server = Executors.newVirtualThreadPerTaskExecutor();
+            dataSource = new ConnectionGatedDataSource(new SimulatedPool(POOL_SIZE), POOL_SIZE,
+                    Duration.ofSeconds(30), new SimpleMeterRegistry());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.close();
+    }
+
+    @Benchmark
+    public void request() throws Exception {
+        boolean queriesDatabase = ThreadLocalRandom.current().nextInt(10) < 3;
+        server.submit(() -> {
+            handle(queriesDatabase);
+            return null;
+        }).get();
+    }
+
+    private void handle(boolean queriesDatabase) throws Exception {
+        if (queriesDatabase) {
+            try (Connection ignored = dataSource.getConnection()) {
+                Thread.sleep(10);
+            }
+        } else {
+            Thread.sleep(2);
+        }
+    }
+
+    /**
+     * 模擬固定大小連線池：借不到連線時阻塞等待
+     */
+    private static final class SimulatedPool extends AbstractDataSource {
+
+        private final Semaphore connections;
+
+        SimulatedPool(int size) {
+            this.connections = new Semaphore(size);
+        }
+
+        @Override
+        public Connection getConnection() {
+            connections.acquireUninterruptibly();
+            AtomicBoolean closed = new AtomicBoolean();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                        if ("close".equals(method.getName()) && closed.compareAndSet(false, true)) {
+                            connections.release();
+                        }
+                        return null;
+                    });
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) {
+            return getConnection();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.membersystem.benchmark;
+
+import com.example.membersystem.common.ApiResult;
+import com.example.membersystem.common.PageResult;
+import com.example.membersystem.entity.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 統一回應包裝與分頁結果的建構及 JSON 序列化
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiResultBenchmark {
+
+    @Param({"1", "20", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private List<User> users;
+    private ApiResult<PageResult<User>> prebuilt;
+
+    @Setup
+    public void setUp() {
+        // 與 Spring Boot 預設一致：註冊 JavaTimeModule，時間輸出為 ISO 字串
+        objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        users = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            users.add(BenchmarkFixtures.user(i));
+        }
+        prebuilt = build();
+    }
+
+    @Benchmark
+    public ApiResult<PageResult<User>> construct() {
+        return build();
+    }
+
+    @Benchmark
+    public String serialize() throws Exception {
+        return objectMapper.writeValueAsString(prebuilt);
+    }
+
+    @Benchmark
+    public String constructAndSerialize() throws Exception {
+        return objectMapper.writeValueAsString(build());
+    }
+
+    private ApiResult<PageResult<User>> build() {
+        PageResult<User> page = new PageResult<User>()
+                .setRecords(users)
+                .setTotal(1_000L)
+                .setSize((long) pageSize)
+                .setCurrent(1L)
+                .setPages(1_000L / pageSize)
+                .setHasPrevious(false)
+                .setHasNext(true);
+        return ApiResult.success(page).setTimestamp(LocalDateTime.now());
+    }
+}
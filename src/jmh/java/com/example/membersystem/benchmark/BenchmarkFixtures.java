@@ -0,0 +1,65 @@
+package com.example.membersystem.benchmark;
+
+import com.example.membersystem.entity.MemberLevel;
+import com.example.membersystem.entity.Permission;
+import com.example.membersystem.entity.Role;
+import com.example.membersystem.entity.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 基準測試共用的測試資料
+ */
+final class BenchmarkFixtures {
+
+    private static final LocalDateTime CREATE_TIME = LocalDateTime.of(2025, 6, 22, 12, 0);
+
+    private BenchmarkFixtures() {
+    }
+
+    static User user(int i) {
+        User user = new User()
+                .setUsername("user" + i)
+                .setEmail("user" + i + "@example.com")
+                .setPhone("0912" + String.format("%06d", i))
+                .setNickname("會員" + i)
+                .setAvatar("https://cdn.example.com/avatar/" + i + ".png")
+                .setStatus(1);
+        user.setId(String.format("0197a2c4-0000-7000-8000-%012d", i));
+        user.setDeleted(0);
+        user.setCreateTime(CREATE_TIME);
+        user.setUpdateTime(CREATE_TIME);
+        return user;
+    }
+
+    static User profile(int roleCount, int permissionCount) {
+        User user = user(1);
+        List<Role> roles = new ArrayList<>(roleCount);
+        for (int r = 0; r < roleCount; r++) {
+            Role role = new Role().setCode("ROLE_" + r).setName("角色" + r).setStatus(1);
+            role.setId("role-" + r);
+            roles.add(role);
+        }
+        List<Permission> permissions = new ArrayList<>(permissionCount);
+        for (int p = 0; p < permissionCount; p++) {
+            permissions.add(permission("perm:" + p));
+        }
+        MemberLevel level = new MemberLevel()
+                .setName("黃金會員")
+                .setLevel(3)
+                .setDiscountRate(new BigDecimal("0.90"));
+        return user.setRoles(roles)
+                .setPermissions(permissions)
+                .setCurrentPoints(12_000L)
+                .setMemberLevel(level);
+    }
+
+    static Permission permission(String code) {
+        Permission permission = new Permission().setCode(code).setName(code);
+        permission.setId(code);
+        return permission;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.membersystem.benchmark;
+
+import com.example.membersystem.enums.PermissionType;
+import com.example.membersystem.enums.PointsType;
+import com.example.membersystem.enums.UserStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 枚舉 getByCode 查找（命中最後一個值與未命中為最壞情況）
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnumLookupBenchmark {
+
+    /**
+     * 非 final 欄位，避免 JIT 常數折疊
+     */
+    private Integer pointsCode = 4;
+    private Integer permissionCode = 3;
+    private Integer statusCode = 1;
+    private Integer missingCode = 1_000;
+
+    @Benchmark
+    public PointsType pointsType() {
+        return PointsType.getByCode(pointsCode);
+    }
+
+    @Benchmark
+    public PermissionType permissionType() {
+        return PermissionType.getByCode(permissionCode);
+    }
+
+    @Benchmark
+    public UserStatus userStatus() {
+        return UserStatus.getByCode(statusCode);
+    }
+
+    @Benchmark
+    public PointsType pointsTypeMiss() {
+        return PointsType.getByCode(missingCode);
+    }
+}
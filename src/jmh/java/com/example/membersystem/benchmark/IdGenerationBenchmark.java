@@ -0,0 +1,61 @@
+package com.example.membersystem.benchmark;
+
+import com.baomidou.mybatisplus.core.incrementer.IdentifierGenerator;
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
+import com.example.membersystem.common.UuidV7;
+import com.example.membersystem.config.MybatisPlusConfig;
+import com.example.membersystem.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BaseEntity 主鍵生成（ASSIGN_UUID 實際使用的生成器與替代方案）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdGenerationBenchmark {
+
+    private final IdentifierGenerator generator = new MybatisPlusConfig().identifierGenerator();
+    private final User entity = new User();
+
+    @Benchmark
+    public String assignUuid() {
+        return generator.nextUUID(entity);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String assignUuidContended() {
+        return generator.nextUUID(entity);
+    }
+
+    @Benchmark
+    public String uuidV7() {
+        return UuidV7.generate();
+    }
+
+    @Benchmark
+    public String randomUuid() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public String idWorker32() {
+        return IdWorker.get32UUID();
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.membersystem.benchmark;
+
+import com.example.membersystem.points.RankedSkipList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 本地排行榜跳表：不同會員數下的更新、名次查詢與前 100 名，耗時應只隨 log n 增長
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class LeaderboardBenchmark {
+
+    @Param({"100000", "1000000", "10000000"})
+    private int members;
+
+    private RankedSkipList list;
+    private String[] ids;
+
+    @Setup
+    public void setUp() {
+        list = new RankedSkipList();
+        ids = new String[members];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < members; i++) {
+            ids[i] = Integer.toString(i);
+            list.put(ids[i], random.nextLong(1_000_000));
+        }
+    }
+
+    @Benchmark
+    public void update() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        list.put(ids[random.nextInt(members)], random.nextLong(1_000_000));
+    }
+
+    @Benchmark
+    public long rank() {
+        return list.rank(ids[ThreadLocalRandom.current().nextInt(members)]);
+    }
+
+    @Benchmark
+    public List<RankedSkipList.Entry> top100() {
+        return list.range(0, 99);
+    }
+
+    @Benchmark
+    public List<RankedSkipList.Entry> aroundRandomUser() {
+        long rank = ThreadLocalRandom.current().nextLong(members);
+        return list.range(rank - 5, rank + 5);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.membersystem.benchmark;
+
+import com.example.membersystem.entity.User;
+import com.example.membersystem.security.PermissionBitmapEngine;
+import com.example.membersystem.security.PermissionBits;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 權限檢查：位圖引擎（按角色 / 預編譯位集）與逐一比對權限列表
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PermissionCheckBenchmark {
+
+    @Param({"200", "2000"})
+    private int permissionCount;
+
+    private PermissionBitmapEngine engine;
+    private User user;
+    private PermissionBits compiled;
+    private String grantedCode;
+    private String deniedCode;
+
+    @Setup
+    public void setUp() {
+        int roleCount = 10;
+        Map<String, List<String>> rolePermissionCodes = new HashMap<>();
+        for (int r = 0; r < roleCount; r++) {
+            List<String> codes = new ArrayList<>();
+            for (int p = r; p < permissionCount; p += roleCount) {
+                codes.add("perm:" + p);
+            }
+            rolePermissionCodes.put("role-" + r, codes);
+        }
+        engine = new PermissionBitmapEngine();
+        engine.rebuild(rolePermissionCodes);
+
+        user = BenchmarkFixtures.profile(3, 0);
+        List<String> roleIds = new ArrayList<>();
+        user.getRoles().forEach(role -> roleIds.add(role.getId()));
+        compiled = engine.compile(roleIds);
+        user.setPermissions(new ArrayList<>());
+        roleIds.forEach(roleId -> rolePermissionCodes.get(roleId)
+                .forEach(code -> user.getPermissions().add(BenchmarkFixtures.permission(code))));
+
+        grantedCode = rolePermissionCodes.get("role-2").get(rolePermissionCodes.get("role-2").size() - 1);
+        deniedCode = "perm:" + (permissionCount - 1);
+    }
+
+    @Benchmark
+    public boolean bitmapByRoles() {
+        return engine.hasPermission(user, grantedCode);
+    }
+
+    @Benchmark
+    public boolean bitmapByRolesDenied() {
+        return engine.hasPermission(user, deniedCode);
+    }
+
+    @Benchmark
+    public boolean bitmapCompiled() {
+        return engine.hasPermission(compiled, grantedCode);
+    }
+
+    @Benchmark
+    public boolean listWalk() {
+        return user.getPermissions().stream().anyMatch(p -> grantedCode.equals(p.getCode()));
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.membersystem.benchmark;
+
+import com.example.membersystem.entity.Permission;
+import com.example.membersystem.enums.PermissionType;
+import com.example.membersystem.security.PermissionTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 記憶體權限樹：每個節點 8 個子節點的森林，依 1% 的權限代碼裁剪子樹與整棵重建
+ * 記憶體佔用可加上 -prof gc 觀察
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PermissionTreeBenchmark {
+
+    @Param({"5000", "50000"})
+    private int nodeCount;
+
+    private List<Permission> permissions;
+    private List<String> grantedCodes;
+    private PermissionTree tree;
+
+    @Setup
+    public void setUp() {
+        permissions = new ArrayList<>(nodeCount);
+        for (int i = 0; i < nodeCount; i++) {
+            Permission permission = BenchmarkFixtures.permission("perm:" + i)
+                    .setParentId(i == 0 ? null : String.valueOf((i - 1) / 8))
+                    .setSortOrder(i % 8)
+                    .setType((i < nodeCount / 8 ? PermissionType.MENU : PermissionType.BUTTON).getCode())
+                    .setStatus(1);
+            permission.setId(String.valueOf(i));
+            permissions.add(permission);
+        }
+        grantedCodes = new ArrayList<>();
+        for (int i = 0; i < nodeCount; i += 100) {
+            grantedCodes.add("perm:" + i);
+        }
+        tree = new PermissionTree();
+        tree.rebuild(permissions);
+    }
+
+    @Benchmark
+    public List<Permission> prune() {
+        return tree.prune(grantedCodes, Set.of());
+    }
+
+    @Benchmark
+    public List<Permission> pruneMenus() {
+        return tree.prune(grantedCodes, Set.of(PermissionType.MENU));
+    }
+
+    @Benchmark
+    public PermissionTree rebuild() {
+        PermissionTree rebuilt = new PermissionTree();
+        rebuilt.rebuild(permissions);
+        return rebuilt;
+    }
+}
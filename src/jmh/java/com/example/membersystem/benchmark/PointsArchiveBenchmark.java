@@ -0,0 +1,95 @@
+package com.example.membersystem.benchmark;
+
+import com.example.membersystem.common.UuidV7;
+import com.example.membersystem.entity.UserPoints;
+import com.example.membersystem.points.PointsArchiveSegment;
+import com.example.membersystem.points.PointsArchiveSegmentWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 積分歸檔段的單一用戶查詢：10 萬用戶、每人 10 筆的月份段，
+ * 讀取整個用戶區塊（二分搜尋 + 解壓 + 解析）與只讀索引合計
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PointsArchiveBenchmark {
+
+    private static final int USER_COUNT = 100_000;
+    private static final int ROWS_PER_USER = 10;
+    private static final YearMonth MONTH = YearMonth.of(2024, 1);
+
+    private Path file;
+    private PointsArchiveSegment segment;
+    private String[] userIds;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("user_points_", ".seg");
+        userIds = new String[USER_COUNT];
+        try (PointsArchiveSegmentWriter writer = new PointsArchiveSegmentWriter(file, MONTH)) {
+            for (int i = 0; i < USER_COUNT; i++) {
+                userIds[i] = UuidV7.generate();
+                long balance = 0;
+                for (int j = 0; j < ROWS_PER_USER; j++) {
+                    long points = (j % 3 == 0) ? -5 : 10;
+                    balance += points;
+                    writer.append(new UserPoints()
+                            .setId(UuidV7.generate())
+                            .setUserId(userIds[i])
+                            .setPoints(points)
+                            .setBalance(balance)
+                            .setType(points > 0 ? 1 : 3)
+                            .setDescription(points > 0 ? "每日簽到" : "兌換商品")
+                            .setRefId(points > 0 ? null : "order-" + i + "-" + j)
+                            .setCreateTime(LocalDateTime.of(2024, 1, 1 + j, 8, 0).plusSeconds(i)));
+                }
+            }
+            writer.finish();
+        }
+        segment = PointsArchiveSegment.open(file);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        segment.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public List<UserPoints> readUser() {
+        return segment.read(userIds[ThreadLocalRandom.current().nextInt(USER_COUNT)]);
+    }
+
+    @Benchmark
+    public long sumUser() {
+        return segment.sum(userIds[ThreadLocalRandom.current().nextInt(USER_COUNT)]);
+    }
+
+    @Benchmark
+    public List<UserPoints> missingUser() {
+        return segment.read(UuidV7.generate());
+    }
+}
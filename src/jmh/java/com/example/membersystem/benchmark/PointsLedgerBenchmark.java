@@ -0,0 +1,229 @@
+package com.example.membersystem.benchmark;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.extension.spring.MybatisSqlSessionFactoryBean;
+import com.example.membersystem.cache.PointsBalanceCache;
+import com.example.membersystem.common.UuidV7;
+import com.example.membersystem.config.PointsBalanceProperties;
+import com.example.membersystem.config.PointsIdempotencyProperties;
+import com.example.membersystem.config.PointsLedgerProperties;
+import com.example.membersystem.entity.UserPoints;
+import com.example.membersystem.enums.PointsType;
+import com.example.membersystem.mapper.UserPointsBalanceMapper;
+import com.example.membersystem.mapper.UserPointsMapper;
+import com.example.membersystem.points.PointsIdempotencyGuard;
+import com.example.membersystem.points.PointsLeaderboard;
+import com.example.membersystem.points.PointsLedgerWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * 對真實 MySQL 比較同一用戶的並發積分寫入：群組提交寫入器與逐筆資料列鎖，各以 1、8、64 個寫入執行緒
+ * groupCommit 經 {@link PointsLedgerWriter} 與實際的 Mapper、交易管理器寫入；
+ * rowLock 每個執行緒以自己的連線逐筆執行 SELECT ... FOR UPDATE、INSERT 流水、UPDATE 餘額、COMMIT。
+ * 需要已執行 Flyway 遷移的資料庫（寫入 user_points 與 user_points_balance，建議使用獨立的壓測庫），
+ * 每次執行使用新的用戶 ID，結束時刪除該用戶的流水與快照。執行方式：
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="PointsLedgerBenchmark
+ * -jvmArgsAppend -Dbenchmark.jdbc-url=jdbc:mysql://localhost:3306/member_system_bench
+ * -jvmArgsAppend -Dbenchmark.jdbc-password=..."
+ * <p>
+ * 結果尚未記錄：目前的建置環境沒有 MySQL。以上述指令執行後，將 target/jmh-result.json 中六組的吞吐量
+ * 連同 MySQL 版本、innodb_flush_log_at_trx_commit 與硬碟類型一起記錄在此。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class PointsLedgerBenchmark {
+
+    private static final int MAX_WRITERS = 64;
+
+    private final String userId = UuidV7.generate();
+    private HikariDataSource dataSource;
+    private PointsLedgerWriter writer;
+
+    @Setup
+    public void setUp() throws Exception {
+        String url = System.getProperty("benchmark.jdbc-url");
+        if (url == null || url.isBlank()) {
+            throw new IllegalStateException("未設定 benchmark.jdbc-url，此基準測試需要 MySQL 連線");
+        }
+        PointsLedgerProperties properties = new PointsLedgerProperties();
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(System.getProperty("benchmark.jdbc-user", "root"));
+        dataSource.setPassword(System.getProperty("benchmark.jdbc-password", ""));
+        // rowLock 每個寫入執行緒佔用一條連線，groupCommit 每個通道佔用一條
+        dataSource.setMaximumPoolSize(MAX_WRITERS + properties.getLanes());
+
+        MybatisConfiguration configuration = new MybatisConfiguration();
+        configuration.setMapUnderscoreToCamelCase(true);
+        MybatisSqlSessionFactoryBean factory = new MybatisSqlSessionFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setConfiguration(configuration);
+        factory.setMapperLocations(new PathMatchingResourcePatternResolver()
+                .getResources("classpath:mapper/UserPoints*.xml"));
+        SqlSessionTemplate sqlSession = new SqlSessionTemplate(factory.getObject());
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        writer = new PointsLedgerWriter(sqlSession.getMapper(UserPointsMapper.class),
+                sqlSession.getMapper(UserPointsBalanceMapper.class),
+                new PointsBalanceCache(new PointsBalanceProperties(), meterRegistry, emptyProvider(), emptyProvider()),
+                mock(PointsLeaderboard.class),
+                new PointsIdempotencyGuard(new PointsIdempotencyProperties(), new ObjectMapper(), meterRegistry,
+                        emptyProvider(), emptyProvider()),
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+                properties, meterRegistry);
+        writer.start();
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "INSERT INTO `user_points_balance` (`user_id`, `balance`) VALUES (?, 0)")) {
+            statement.setString(1, userId);
+            statement.executeUpdate();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        writer.stop();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement points = connection.prepareStatement("DELETE FROM `user_points` WHERE `user_id` = ?");
+             PreparedStatement balance = connection.prepareStatement(
+                     "DELETE FROM `user_points_balance` WHERE `user_id` = ?")) {
+            points.setString(1, userId);
+            System.out.printf("%n刪除壓測流水 %d 筆%n", points.executeUpdate());
+            balance.setString(1, userId);
+            balance.executeUpdate();
+        } finally {
+            dataSource.close();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public UserPoints groupCommitWriters1() {
+        return groupCommit();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public UserPoints groupCommitWriters8() {
+        return groupCommit();
+    }
+
+    @Benchmark
+    @Threads(MAX_WRITERS)
+    public UserPoints groupCommitWriters64() {
+        return groupCommit();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long rowLockWriters1(RowLockSession session) throws SQLException {
+        return session.write(userId);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long rowLockWriters8(RowLockSession session) throws SQLException {
+        return session.write(userId);
+    }
+
+    @Benchmark
+    @Threads(MAX_WRITERS)
+    public long rowLockWriters64(RowLockSession session) throws SQLException {
+        return session.write(userId);
+    }
+
+    private UserPoints groupCommit() {
+        return writer.submit(new UserPoints()
+                .setUserId(userId)
+                .setPoints(1L)
+                .setType(PointsType.SYSTEM_ADJUSTMENT.getCode())).join();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ObjectProvider<T> emptyProvider() {
+        return mock(ObjectProvider.class);
+    }
+
+    /**
+     * 逐筆資料列鎖寫入：每個寫入執行緒一條連線，一筆流水一個交易
+     */
+    @State(Scope.Thread)
+    public static class RowLockSession {
+
+        private Connection connection;
+        private PreparedStatement lock;
+        private PreparedStatement insert;
+        private PreparedStatement update;
+
+        @Setup
+        public void setUp(PointsLedgerBenchmark benchmark) throws SQLException {
+            connection = benchmark.dataSource.getConnection();
+            connection.setAutoCommit(false);
+            lock = connection.prepareStatement(
+                    "SELECT `balance` FROM `user_points_balance` WHERE `user_id` = ? FOR UPDATE");
+            insert = connection.prepareStatement("INSERT INTO `user_points` (`id`, `user_id`, `points`, `balance`, "
+                    + "`type`, `create_time`) VALUES (?, ?, 1, ?, ?, ?)");
+            update = connection.prepareStatement(
+                    "UPDATE `user_points_balance` SET `balance` = ? WHERE `user_id` = ?");
+        }
+
+        @TearDown
+        public void tearDown() throws SQLException {
+            connection.close();
+        }
+
+        long write(String userId) throws SQLException {
+            long balance;
+            lock.setString(1, userId);
+            try (ResultSet resultSet = lock.executeQuery()) {
+                resultSet.next();
+                balance = resultSet.getLong(1) + 1;
+            }
+            insert.setString(1, UuidV7.generate());
+            insert.setString(2, userId);
+            insert.setLong(3, balance);
+            insert.setInt(4, PointsType.SYSTEM_ADJUSTMENT.getCode());
+            insert.setTimestamp(5, Timestamp.valueOf(LocalDateTime.now()));
+            insert.executeUpdate();
+            update.setLong(1, balance);
+            update.setString(2, userId);
+            update.executeUpdate();
+            connection.commit();
+            return balance;
+        }
+    }
+}
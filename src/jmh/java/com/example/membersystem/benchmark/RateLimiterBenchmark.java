@@ -0,0 +1,55 @@
+package com.example.membersystem.benchmark;
+
+import com.example.membersystem.security.SlidingWindowRateLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 滑動視窗限流判斷：大量不同 IP（多數放行）與單一熱點 IP（持續超限）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    private static final int KEY_COUNT = 100_000;
+
+    private SlidingWindowRateLimiter limiter;
+    private SlidingWindowRateLimiter hotLimiter;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        limiter = new SlidingWindowRateLimiter("ip", Integer.MAX_VALUE, TimeUnit.MINUTES.toMillis(1), 1_000_000);
+        hotLimiter = new SlidingWindowRateLimiter("ip", 60, TimeUnit.MINUTES.toMillis(1), 1_000_000);
+        keys = new String[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            keys[i] = "10." + (i >>> 16) + "." + ((i >>> 8) & 0xFF) + "." + (i & 0xFF);
+            limiter.tryAcquire(keys[i], System.currentTimeMillis());
+        }
+    }
+
+    @Benchmark
+    public boolean distinctKeys() {
+        return limiter.tryAcquire(keys[ThreadLocalRandom.current().nextInt(KEY_COUNT)], System.currentTimeMillis());
+    }
+
+    @Benchmark
+    public boolean hotKey() {
+        return hotLimiter.tryAcquire(keys[0], System.currentTimeMillis());
+    }
+}
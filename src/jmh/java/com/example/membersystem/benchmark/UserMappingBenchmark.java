@@ -0,0 +1,44 @@
+package com.example.membersystem.benchmark;
+
+import com.example.membersystem.converter.UserProfileConverter;
+import com.example.membersystem.dto.UserProfileDTO;
+import com.example.membersystem.entity.User;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MapStruct 實體 → DTO 轉換（含角色、權限列表與會員等級展開）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserMappingBenchmark {
+
+    private UserProfileConverter converter;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        converter = Mappers.getMapper(UserProfileConverter.class);
+        user = BenchmarkFixtures.profile(5, 40);
+    }
+
+    @Benchmark
+    public UserProfileDTO toProfile() {
+        return converter.toProfile(user);
+    }
+}
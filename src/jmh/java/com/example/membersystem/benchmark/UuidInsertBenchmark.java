@@ -0,0 +1,113 @@
+package com.example.membersystem.benchmark;
+
+import com.example.membersystem.common.UuidV7;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 對真實 MySQL 比較隨機 UUID（utf8mb4 VARCHAR）與 UUID v7（ascii CHAR）主鍵的批次寫入吞吐，
+ * 結束時輸出資料與次要索引大小。需要資料庫連線，執行方式：
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="UuidInsertBenchmark
+ * -jvmArgsAppend -Dbenchmark.jdbc-url=jdbc:mysql://localhost:3306/member_system
+ * -jvmArgsAppend -Dbenchmark.jdbc-password=..."
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class UuidInsertBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"v4", "v7"})
+    private String idVersion;
+
+    private Connection connection;
+    private PreparedStatement insert;
+    private Supplier<String> ids;
+    private String table;
+    private long sequence;
+
+    @Setup
+    public void setUp() throws SQLException {
+        String url = System.getProperty("benchmark.jdbc-url");
+        if (url == null || url.isBlank()) {
+            throw new IllegalStateException("未設定 benchmark.jdbc-url，此基準測試需要 MySQL 連線");
+        }
+        connection = DriverManager.getConnection(url,
+                System.getProperty("benchmark.jdbc-user", "root"),
+                System.getProperty("benchmark.jdbc-password", ""));
+        String keyType;
+        if ("v4".equals(idVersion)) {
+            keyType = "VARCHAR(36) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci";
+            ids = () -> UUID.randomUUID().toString();
+        } else {
+            keyType = "CHAR(36) CHARACTER SET ascii COLLATE ascii_bin";
+            ids = UuidV7::generate;
+        }
+        table = "bench_uuid_" + idVersion;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+            statement.execute("CREATE TABLE " + table + " (id " + keyType + " PRIMARY KEY, user_id " + keyType
+                    + " NOT NULL, payload VARCHAR(64), INDEX idx_user_id (user_id)) ENGINE=InnoDB");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement("INSERT INTO " + table + " (id, user_id, payload) VALUES (?, ?, ?)");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int[] insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setString(1, ids.get());
+            insert.setString(2, ids.get());
+            insert.setString(3, "payload-" + sequence++);
+            insert.addBatch();
+        }
+        int[] counts = insert.executeBatch();
+        connection.commit();
+        return counts;
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        insert.close();
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE TABLE " + table);
+            try (ResultSet rs = statement.executeQuery("SELECT table_rows, data_length, index_length "
+                    + "FROM information_schema.tables "
+                    + "WHERE table_schema = DATABASE() AND table_name = '" + table + "'")) {
+                rs.next();
+                System.out.printf("%n%s: rows=%d, data=%d KB, secondary index=%d KB%n",
+                        table, rs.getLong(1), rs.getLong(2) / 1024, rs.getLong(3) / 1024);
+            }
+            statement.execute("DROP TABLE " + table);
+        } finally {
+            connection.close();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.membersystem.audit;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 標記需要記錄操作日誌的控制器方法
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface OperationAudit {
+
+    /**
+     * 操作類型
+     */
+    String value();
+}
@@ -0,0 +1,66 @@
+package com.example.membersystem.audit;
+
+import com.example.membersystem.entity.OperationLog;
+import com.example.membersystem.security.JwtPrincipal;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * 操作日誌攔截器
+ * 為標記 {@link OperationAudit} 的控制器方法建立操作日誌並交給 {@link OperationLogPipeline} 非同步寫入
+ */
+@Component
+@RequiredArgsConstructor
+public class OperationLogInterceptor implements HandlerInterceptor {
+
+    private static final String START_TIME_ATTRIBUTE = OperationLogInterceptor.class.getName() + ".startTime";
+    private static final int MAX_USER_AGENT_LENGTH = 500;
+
+    private final OperationLogPipeline operationLogPipeline;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod && handlerMethod.hasMethodAnnotation(OperationAudit.class)) {
+            request.setAttribute(START_TIME_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        Object startTime = request.getAttribute(START_TIME_ATTRIBUTE);
+        if (!(startTime instanceof Long start) || !(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+        OperationAudit audit = handlerMethod.getMethodAnnotation(OperationAudit.class);
+        boolean success = ex == null && response.getStatus() < 400;
+        String userAgent = request.getHeader("User-Agent");
+        if (userAgent != null && userAgent.length() > MAX_USER_AGENT_LENGTH) {
+            userAgent = userAgent.substring(0, MAX_USER_AGENT_LENGTH);
+        }
+        OperationLog operationLog = new OperationLog()
+                .setUserId(currentUserId())
+                .setOperation(audit.value())
+                .setMethod(request.getMethod() + " " + request.getRequestURI())
+                .setParams(request.getQueryString())
+                .setIp(request.getRemoteAddr())
+                .setUserAgent(userAgent)
+                .setExecutionTime((System.nanoTime() - start) / 1_000_000)
+                .setStatus(success ? 1 : 0)
+                .setErrorMsg(ex != null ? ex.getMessage() : null);
+        operationLogPipeline.submit(operationLog);
+    }
+
+    private static String currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof JwtPrincipal principal
+                ? principal.userId() : null;
+    }
+}
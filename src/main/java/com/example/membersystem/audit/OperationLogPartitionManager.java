@@ -0,0 +1,280 @@
+package com.example.membersystem.audit;
+
+import com.example.membersystem.config.OperationLogPartitionProperties;
+import com.example.membersystem.datasource.MySqlNamedLock;
+import com.example.membersystem.dto.TablePartition;
+import com.example.membersystem.entity.OperationLog;
+import com.example.membersystem.export.ExportColumn;
+import com.example.membersystem.export.ExportFormat;
+import com.example.membersystem.export.RowStreamWriter;
+import com.example.membersystem.mapper.OperationLogPartitionMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 操作日誌分區維護
+ * operation_log 按 create_time 月份範圍分區（見 V7 遷移）。維護任務定期：
+ * <ol>
+ *     <li>從 p_future 拆分出本月起未來 N 個月的分區，新資料不會落入 p_future</li>
+ *     <li>將超過保留期的分區以 EXCHANGE PARTITION 原子移入空的暫存表並刪除已清空的分區，
+ *     再把暫存表以 gzip NDJSON 匯出到本地檔案後刪除暫存表</li>
+ * </ol>
+ * 交換後的暫存表不再有寫入，匯出內容即為分區交換當下的完整資料；匯出失敗時保留暫存表，下次維護時重新匯出。
+ * 多節點部署時以 MySQL 命名鎖保證同一時間只有一個節點執行。
+ */
+@Slf4j
+@Component
+public class OperationLogPartitionManager {
+
+    private static final String LOCK_NAME = "member:operation_log:partition";
+    private static final String FUTURE_PARTITION = "p_future";
+    private static final String ARCHIVE_TABLE_PREFIX = "operation_log_archive_";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final List<ExportColumn<OperationLog>> ARCHIVE_COLUMNS = List.of(
+            new ExportColumn<>("id", OperationLog::getId),
+            new ExportColumn<>("userId", OperationLog::getUserId),
+            new ExportColumn<>("username", OperationLog::getUsername),
+            new ExportColumn<>("operation", OperationLog::getOperation),
+            new ExportColumn<>("method", OperationLog::getMethod),
+            new ExportColumn<>("params", OperationLog::getParams),
+            new ExportColumn<>("result", OperationLog::getResult),
+            new ExportColumn<>("ip", OperationLog::getIp),
+            new ExportColumn<>("userAgent", OperationLog::getUserAgent),
+            new ExportColumn<>("executionTime", OperationLog::getExecutionTime),
+            new ExportColumn<>("status", OperationLog::getStatus),
+            new ExportColumn<>("errorMsg", OperationLog::getErrorMsg),
+            new ExportColumn<>("createTime", OperationLog::getCreateTime));
+
+    private final OperationLogPartitionMapper partitionMapper;
+    private final OperationLogPartitionProperties properties;
+    private final DataSource dataSource;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final ScheduledExecutorService scheduler;
+    private final Counter createdCounter;
+    private final Counter droppedCounter;
+
+    public OperationLogPartitionManager(OperationLogPartitionMapper partitionMapper,
+                                        OperationLogPartitionProperties properties,
+                                        DataSource dataSource,
+                                        PlatformTransactionManager transactionManager,
+                                        ObjectMapper objectMapper,
+                                        MeterRegistry meterRegistry) {
+        this.partitionMapper = partitionMapper;
+        this.properties = properties;
+        this.dataSource = dataSource;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "operation-log-partition");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.createdCounter = Counter.builder("member.audit.partition.created")
+                .description("新建立的操作日誌分區數")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("member.audit.partition.dropped")
+                .description("匯出後刪除的操作日誌分區數")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long interval = properties.getCheckInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::maintainQuietly, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * 執行一次分區維護；其他節點正在執行時直接返回
+     */
+    public void maintain() {
+        try (MySqlNamedLock lock = MySqlNamedLock.tryAcquire(dataSource, LOCK_NAME)) {
+            if (lock == null) {
+                log.debug("其他節點正在維護操作日誌分區，略過本次執行");
+                return;
+            }
+            List<TablePartition> partitions = partitionMapper.selectPartitions();
+            if (partitions.stream().noneMatch(p -> FUTURE_PARTITION.equals(p.getName()))) {
+                log.warn("operation_log 未按月分區（缺少 {}），略過分區維護", FUTURE_PARTITION);
+                return;
+            }
+            YearMonth current = YearMonth.now();
+            createFuturePartitions(partitions, current);
+            // 先匯出上次中斷留下的暫存表，避免同名暫存表阻擋新的交換
+            for (String table : partitionMapper.selectArchiveTables()) {
+                exportAndDropTable(table);
+            }
+            if (properties.getRetentionMonths() > 0) {
+                for (TablePartition partition : expiredPartitions(partitions, current,
+                        properties.getRetentionMonths())) {
+                    archive(partition.getName());
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("取得操作日誌分區維護鎖失敗", e);
+        }
+    }
+
+    private void maintainQuietly() {
+        try {
+            maintain();
+        } catch (Exception e) {
+            log.error("操作日誌分區維護失敗 - 錯誤: {}", e.getMessage(), e);
+        }
+    }
+
+    private void createFuturePartitions(List<TablePartition> partitions, YearMonth current) {
+        List<YearMonth> months = missingMonths(partitions, current, properties.getPremakeMonths());
+        if (months.isEmpty()) {
+            return;
+        }
+        List<String> definitions = new ArrayList<>(months.size());
+        for (YearMonth month : months) {
+            definitions.add("PARTITION `" + partitionName(month) + "` VALUES LESS THAN ('"
+                    + month.plusMonths(1).atDay(1) + "')");
+        }
+        partitionMapper.splitFuturePartition(String.join(", ", definitions));
+        createdCounter.increment(months.size());
+        log.info("操作日誌分區已建立 - 月份: {}", months);
+    }
+
+    /**
+     * 將分區交換到暫存表並刪除分區，再匯出暫存表
+     */
+    void archive(String partition) {
+        String table = ARCHIVE_TABLE_PREFIX + partition;
+        partitionMapper.createArchiveTable(table);
+        partitionMapper.removePartitioning(table);
+        partitionMapper.exchangePartition(partition, table);
+        // 分區已為空，緊接著刪除；之後落在此範圍的寫入（如重放的舊日誌）進入相鄰分區
+        partitionMapper.dropPartition(partition);
+        droppedCounter.increment();
+        log.info("操作日誌分區已移入暫存表並刪除 - 分區: {}, 暫存表: {}", partition, table);
+        exportAndDropTable(table);
+    }
+
+    /**
+     * 匯出暫存表後刪除；匯出失敗時保留暫存表待下次重試
+     */
+    void exportAndDropTable(String table) {
+        String partition = table.substring(ARCHIVE_TABLE_PREFIX.length());
+        long rows = partitionMapper.countTable(table);
+        if (rows == 0) {
+            // 交換前中斷留下的空表，或分區本身沒有資料；不覆蓋已存在的歸檔檔案
+            partitionMapper.dropTable(table);
+            return;
+        }
+        long start = System.currentTimeMillis();
+        Path directory = Path.of(properties.getArchiveDirectory());
+        Path target = directory.resolve("operation_log_" + partition + ".ndjson.gz");
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        long exported;
+        try {
+            Files.createDirectories(directory);
+            exported = export(table, temp);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | UncheckedIOException e) {
+            log.error("操作日誌暫存表匯出失敗，保留暫存表待下次重試 - 暫存表: {}, 錯誤: {}", table, e.getMessage());
+            return;
+        }
+        partitionMapper.dropTable(table);
+        log.info("操作日誌分區已歸檔 - 分區: {}, 行數: {}, 檔案: {}, 耗時: {}ms",
+                partition, exported, target, System.currentTimeMillis() - start);
+    }
+
+    private long export(String table, Path file) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            Long rows = readOnlyTransaction.execute(status -> {
+                try (Cursor<OperationLog> cursor = partitionMapper.streamTable(table);
+                     RowStreamWriter<OperationLog> writer = new RowStreamWriter<>(out, ExportFormat.NDJSON, true,
+                             ARCHIVE_COLUMNS, objectMapper)) {
+                    for (OperationLog row : cursor) {
+                        writer.write(row);
+                    }
+                    return writer.rows();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            return rows != null ? rows : 0;
+        }
+    }
+
+    /**
+     * 需要建立的月份：最後一個月分區之後，到本月加 premakeMonths 為止
+     */
+    static List<YearMonth> missingMonths(List<TablePartition> partitions, YearMonth current, int premakeMonths) {
+        LocalDateTime highestBound = null;
+        for (TablePartition partition : partitions) {
+            LocalDateTime bound = partition.upperBound();
+            if (bound != null && (highestBound == null || bound.isAfter(highestBound))) {
+                highestBound = bound;
+            }
+        }
+        YearMonth first = highestBound == null ? current : YearMonth.from(highestBound);
+        if (first.isBefore(current)) {
+            first = current;
+        }
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month = first; !month.isAfter(current.plusMonths(premakeMonths)); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        return months;
+    }
+
+    /**
+     * 已超過保留期的分區：上界不晚於（本月 - retentionMonths）的第一天
+     */
+    static List<TablePartition> expiredPartitions(List<TablePartition> partitions, YearMonth current,
+                                                  int retentionMonths) {
+        LocalDateTime cutoff = current.minusMonths(retentionMonths).atDay(1).atStartOfDay();
+        List<TablePartition> expired = new ArrayList<>();
+        for (TablePartition partition : partitions) {
+            LocalDateTime bound = partition.upperBound();
+            if (bound != null && !bound.isAfter(cutoff)) {
+                expired.add(partition);
+            }
+        }
+        return expired;
+    }
+
+    static String partitionName(YearMonth month) {
+        return "p" + month.format(PARTITION_SUFFIX);
+    }
+}
@@ -0,0 +1,344 @@
+package com.example.membersystem.audit;
+
+import com.example.membersystem.common.UuidV7;
+import com.example.membersystem.config.OperationLogProperties;
+import com.example.membersystem.config.OperationLogProperties.OverflowPolicy;
+import com.example.membersystem.entity.OperationLog;
+import com.example.membersystem.mapper.OperationLogMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 操作日誌非同步寫入管線
+ * 生產者將日誌放入有界無鎖環形緩衝區後立即返回，單一寫入執行緒批次取出並以多筆 INSERT 寫入。
+ * 緩衝區滿載時依 {@link OverflowPolicy} 阻塞、丟棄最舊日誌或溢寫至本地磁碟；
+ * 溢寫的日誌在緩衝區空閒時交由獨立的回放執行緒寫入資料庫，回放失敗時延後重試而不阻塞寫入執行緒。
+ * <p>
+ * 寫入執行緒在緩衝區為空時阻塞等待生產者喚醒，未滿一批時只等待到本批的刷新時間。
+ */
+@Slf4j
+@Component
+public class OperationLogPipeline {
+
+    private static final String SPILL_FILE = "operation-log.spill.ndjson";
+    private static final String REPLAY_FILE = "operation-log.replay.ndjson";
+
+    private final OperationLogMapper operationLogMapper;
+    private final OperationLogProperties properties;
+    private final ObjectMapper objectMapper;
+    private final BoundedRingBuffer<OperationLog> buffer;
+    private final Path spillFile;
+    private final Path replayFile;
+    private final Object spillLock = new Object();
+    private final ScheduledExecutorService replayExecutor;
+    private final AtomicBoolean replaying = new AtomicBoolean();
+
+    private final Counter droppedOverflow;
+    private final Counter droppedTimeout;
+    private final Counter droppedError;
+    private final Counter spilled;
+    private final DistributionSummary batchSizeSummary;
+    private final Timer flushTimer;
+
+    private volatile boolean running;
+    /**
+     * 寫入執行緒因緩衝區為空而等待中，生產者放入日誌後需喚醒
+     */
+    private volatile boolean waiting;
+    private volatile Thread writerThread;
+
+    public OperationLogPipeline(OperationLogMapper operationLogMapper,
+                                OperationLogProperties properties,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry) {
+        this.operationLogMapper = operationLogMapper;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.buffer = new BoundedRingBuffer<>(properties.getBufferSize());
+        Path spillDirectory = Paths.get(properties.getSpillDirectory());
+        this.spillFile = spillDirectory.resolve(SPILL_FILE);
+        this.replayFile = spillDirectory.resolve(REPLAY_FILE);
+        this.replayExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "operation-log-replay");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("member.audit.queue.depth", buffer, BoundedRingBuffer::size)
+                .description("操作日誌緩衝區待寫入筆數")
+                .register(meterRegistry);
+        Gauge.builder("member.audit.queue.capacity", buffer, BoundedRingBuffer::capacity)
+                .description("操作日誌緩衝區容量")
+                .register(meterRegistry);
+        this.droppedOverflow = droppedCounter(meterRegistry, "overflow");
+        this.droppedTimeout = droppedCounter(meterRegistry, "timeout");
+        this.droppedError = droppedCounter(meterRegistry, "error");
+        this.spilled = Counter.builder("member.audit.spilled")
+                .description("溢寫至本地磁碟的操作日誌筆數")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("member.audit.batch.size")
+                .description("操作日誌每批寫入筆數")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("member.audit.flush")
+                .description("操作日誌批次寫入耗時")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::runWriter, "operation-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writerThread != null) {
+            LockSupport.unpark(writerThread);
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        replayExecutor.shutdownNow();
+    }
+
+    /**
+     * 提交一筆操作日誌，不等待寫入
+     *
+     * @return 是否已進入緩衝區或溢寫檔（被丟棄時返回 false）
+     */
+    public boolean submit(OperationLog operationLog) {
+        if (operationLog.getId() == null) {
+            operationLog.setId(UuidV7.generate());
+        }
+        if (operationLog.getCreateTime() == null) {
+            operationLog.setCreateTime(LocalDateTime.now());
+        }
+        if (buffer.offer(operationLog)) {
+            signalWriter();
+            return true;
+        }
+        return switch (properties.getOverflowPolicy()) {
+            case BLOCK -> offerBlocking(operationLog);
+            case DROP_OLDEST -> offerDroppingOldest(operationLog);
+            case SPILL -> spill(List.of(operationLog));
+        };
+    }
+
+    /**
+     * 緩衝區待寫入筆數
+     */
+    public int queueDepth() {
+        return buffer.size();
+    }
+
+    private boolean offerBlocking(OperationLog operationLog) {
+        long deadline = System.nanoTime() + properties.getBlockTimeout().toNanos();
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(50_000);
+            if (buffer.offer(operationLog)) {
+                signalWriter();
+                return true;
+            }
+        }
+        droppedTimeout.increment();
+        return false;
+    }
+
+    private boolean offerDroppingOldest(OperationLog operationLog) {
+        while (!buffer.offer(operationLog)) {
+            if (buffer.poll() != null) {
+                droppedOverflow.increment();
+            }
+        }
+        signalWriter();
+        return true;
+    }
+
+    private void runWriter() {
+        int batchSize = properties.getBatchSize();
+        long flushIntervalNanos = properties.getFlushInterval().toNanos();
+        List<OperationLog> batch = new ArrayList<>(batchSize);
+        long batchStart = 0;
+        while (running || buffer.size() > 0 || !batch.isEmpty()) {
+            if (batch.isEmpty()) {
+                batchStart = System.nanoTime();
+            }
+            buffer.drainTo(batch, batchSize - batch.size());
+            boolean full = batch.size() >= batchSize;
+            boolean due = !batch.isEmpty() && System.nanoTime() - batchStart >= flushIntervalNanos;
+            if (full || due || (!running && !batch.isEmpty())) {
+                write(batch);
+                batch.clear();
+            } else if (batch.isEmpty()) {
+                requestReplay();
+                awaitSignal();
+            } else {
+                LockSupport.parkNanos(flushIntervalNanos - (System.nanoTime() - batchStart));
+            }
+        }
+    }
+
+    /**
+     * 緩衝區為空時阻塞，直到生產者放入日誌或停止
+     * 先設定等待旗標再檢查緩衝區，與生產者「先放入再檢查旗標」配合，不會遺漏喚醒。
+     */
+    private void awaitSignal() {
+        waiting = true;
+        try {
+            if (running && buffer.size() == 0) {
+                LockSupport.park(this);
+            }
+        } finally {
+            waiting = false;
+        }
+    }
+
+    private void signalWriter() {
+        if (waiting) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    private void write(List<OperationLog> batch) {
+        Timer.Sample sample = Timer.start();
+        try {
+            operationLogMapper.insertBatch(batch);
+            batchSizeSummary.record(batch.size());
+        } catch (RuntimeException e) {
+            log.error("操作日誌批次寫入失敗 - 筆數: {}, 錯誤: {}", batch.size(), e.getMessage());
+            if (properties.getOverflowPolicy() != OverflowPolicy.SPILL || !spill(batch)) {
+                droppedError.increment(batch.size());
+            }
+        } finally {
+            sample.stop(flushTimer);
+        }
+    }
+
+    /**
+     * 以 NDJSON 追加寫入溢寫檔
+     */
+    private boolean spill(List<OperationLog> operationLogs) {
+        synchronized (spillLock) {
+            try {
+                Files.createDirectories(spillFile.getParent());
+                try (BufferedWriter writer = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    for (OperationLog operationLog : operationLogs) {
+                        writer.write(objectMapper.writeValueAsString(operationLog));
+                        writer.newLine();
+                    }
+                }
+                spilled.increment(operationLogs.size());
+                return true;
+            } catch (IOException e) {
+                log.error("操作日誌溢寫失敗 - 筆數: {}, 錯誤: {}", operationLogs.size(), e.getMessage());
+                droppedOverflow.increment(operationLogs.size());
+                return false;
+            }
+        }
+    }
+
+    /**
+     * 有待回放的溢寫檔且未在回放中時，交由回放執行緒處理
+     */
+    private void requestReplay() {
+        if (replaying.get() || (!Files.exists(replayFile) && !Files.exists(spillFile))) {
+            return;
+        }
+        if (replaying.compareAndSet(false, true)) {
+            replayExecutor.execute(this::runReplay);
+        }
+    }
+
+    private void runReplay() {
+        if (replaySpill() || !running) {
+            replaying.set(false);
+            return;
+        }
+        long retryInterval = properties.getReplayRetryInterval().toMillis();
+        try {
+            replayExecutor.schedule(this::runReplay, retryInterval, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            replaying.set(false);
+        }
+    }
+
+    /**
+     * 回放溢寫檔，返回是否成功（沒有溢寫檔時也視為成功）
+     */
+    private boolean replaySpill() {
+        if (!Files.exists(replayFile)) {
+            synchronized (spillLock) {
+                if (!Files.exists(spillFile)) {
+                    return true;
+                }
+                try {
+                    Files.move(spillFile, replayFile, StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException e) {
+                    log.error("操作日誌溢寫檔輪替失敗: {}", e.getMessage());
+                    return false;
+                }
+            }
+        }
+        int batchSize = properties.getBatchSize();
+        List<OperationLog> batch = new ArrayList<>(batchSize);
+        try (BufferedReader reader = Files.newBufferedReader(replayFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                batch.add(objectMapper.readValue(line, OperationLog.class));
+                if (batch.size() >= batchSize) {
+                    operationLogMapper.insertBatchIgnoreDuplicates(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                operationLogMapper.insertBatchIgnoreDuplicates(batch);
+            }
+            Files.delete(replayFile);
+            log.info("操作日誌溢寫檔已回放完成");
+            return true;
+        } catch (IOException | RuntimeException e) {
+            // 保留回放檔稍後重試，已寫入的部分以 INSERT IGNORE 略過
+            log.error("操作日誌溢寫檔回放失敗，{} 後重試: {}", properties.getReplayRetryInterval(), e.getMessage());
+            return false;
+        }
+    }
+
+    private static Counter droppedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("member.audit.dropped")
+                .description("被丟棄的操作日誌筆數")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
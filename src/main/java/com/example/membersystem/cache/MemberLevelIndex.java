@@ -0,0 +1,92 @@
+package com.example.membersystem.cache;
+
+import com.example.membersystem.entity.MemberLevel;
+import com.example.membersystem.exception.ConfigurationException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 會員等級區間索引（不可變）
+ * 以 minPoints 排序的原始 long 陣列做二分搜尋，建立時檢查區間不可重疊也不可有缺口，
+ * 只有最高等級可以不設 maxPoints。
+ */
+public final class MemberLevelIndex {
+
+    public static final MemberLevelIndex EMPTY = new MemberLevelIndex(new long[0], new long[0], new MemberLevel[0]);
+
+    private final long[] minPoints;
+    private final long[] maxPoints;
+    private final MemberLevel[] levels;
+
+    private MemberLevelIndex(long[] minPoints, long[] maxPoints, MemberLevel[] levels) {
+        this.minPoints = minPoints;
+        this.maxPoints = maxPoints;
+        this.levels = levels;
+    }
+
+    /**
+     * 由等級配置建立索引，只納入啟用且未刪除的等級
+     *
+     * @throws ConfigurationException 區間重疊、有缺口或上下限不合法
+     */
+    public static MemberLevelIndex of(List<MemberLevel> memberLevels) {
+        List<MemberLevel> active = new ArrayList<>();
+        for (MemberLevel level : memberLevels) {
+            if (Integer.valueOf(1).equals(level.getStatus()) && !Integer.valueOf(1).equals(level.getDeleted())) {
+                active.add(level);
+            }
+        }
+        active.sort(Comparator.comparing(level -> level.getMinPoints() != null ? level.getMinPoints() : 0L));
+
+        int size = active.size();
+        long[] mins = new long[size];
+        long[] maxes = new long[size];
+        for (int i = 0; i < size; i++) {
+            MemberLevel level = active.get(i);
+            mins[i] = level.getMinPoints() != null ? level.getMinPoints() : 0L;
+            maxes[i] = level.getMaxPoints() != null ? level.getMaxPoints() : Long.MAX_VALUE;
+            if (mins[i] > maxes[i]) {
+                throw new ConfigurationException(String.format("會員等級 '%s' 的最小積分 %d 大於最大積分 %d",
+                        level.getName(), mins[i], maxes[i]));
+            }
+            if (i == 0) {
+                continue;
+            }
+            MemberLevel previous = active.get(i - 1);
+            if (maxes[i - 1] == Long.MAX_VALUE) {
+                throw new ConfigurationException(String.format("會員等級 '%s' 未設定最大積分，但不是最高等級",
+                        previous.getName()));
+            }
+            if (mins[i] <= maxes[i - 1]) {
+                throw new ConfigurationException(String.format("會員等級 '%s' 與 '%s' 的積分區間重疊",
+                        previous.getName(), level.getName()));
+            }
+            if (mins[i] != maxes[i - 1] + 1) {
+                throw new ConfigurationException(String.format("會員等級 '%s' 與 '%s' 的積分區間之間有缺口",
+                        previous.getName(), level.getName()));
+            }
+        }
+        return new MemberLevelIndex(mins, maxes, active.toArray(new MemberLevel[0]));
+    }
+
+    /**
+     * 查詢積分所屬的等級，低於最低等級時返回 null
+     */
+    public MemberLevel resolve(long points) {
+        int index = Arrays.binarySearch(minPoints, points);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        return index >= 0 && points <= maxPoints[index] ? levels[index] : null;
+    }
+
+    /**
+     * 已排序的有效等級
+     */
+    public List<MemberLevel> levels() {
+        return List.of(levels);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.membersystem.cache;
+
+import com.example.membersystem.common.UuidV7;
+import com.example.membersystem.config.PointsBalanceProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 積分餘額本地讀取快取
+ * 只用於查詢餘額，積分寫入以資料庫中鎖定的 user_points_balance 為準，不讀取此快取。
+ * 寫入器提交後更新本節點的快取，並透過 Redis pub/sub 通知其他節點清除；
+ * 通知遺失時由 expireAfterWrite 限制過期資料的存活時間。
+ */
+@Slf4j
+@Component
+public class PointsBalanceCache {
+
+    /**
+     * 清除全部快取的通知內容
+     */
+    private static final String EVICT_ALL = "*";
+
+    private final Cache<String, Long> cache;
+    private final PointsBalanceProperties properties;
+    private final StringRedisTemplate redisTemplate;
+    /**
+     * 本節點標識，收到自己發出的通知時略過（本節點的快取已是提交後的值）
+     */
+    private final String nodeId = UuidV7.generate();
+
+    public PointsBalanceCache(PointsBalanceProperties properties,
+                              MeterRegistry meterRegistry,
+                              ObjectProvider<StringRedisTemplate> redisTemplateProvider,
+                              ObjectProvider<RedisMessageListenerContainer> listenerContainerProvider) {
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheMaximumSize())
+                .expireAfterWrite(properties.getCacheExpireAfterWrite())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "pointsBalance");
+
+        RedisMessageListenerContainer listenerContainer = listenerContainerProvider.getIfAvailable();
+        this.redisTemplate = listenerContainer != null ? redisTemplateProvider.getIfAvailable() : null;
+        if (this.redisTemplate != null) {
+            listenerContainer.addMessageListener(
+                    (message, pattern) -> onInvalidation(new String(message.getBody(), StandardCharsets.UTF_8)),
+                    new ChannelTopic(properties.getInvalidationChannel()));
+        }
+    }
+
+    /**
+     * 讀取餘額，未命中時由 loader 載入
+     */
+    public long get(String userId, Function<String, Long> loader) {
+        return cache.get(userId, loader);
+    }
+
+    /**
+     * 寫入本節點已提交的餘額，並通知其他節點清除
+     */
+    public void putAll(Map<String, Long> balances) {
+        cache.putAll(balances);
+        publish(String.join(",", balances.keySet()));
+    }
+
+    /**
+     * 清除指定用戶的快取並通知其他節點
+     */
+    public void invalidate(Collection<String> userIds) {
+        cache.invalidateAll(userIds);
+        publish(String.join(",", userIds));
+    }
+
+    /**
+     * 清除全部快取並通知其他節點
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+        publish(EVICT_ALL);
+    }
+
+    private void publish(String payload) {
+        if (redisTemplate == null || payload.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(properties.getInvalidationChannel(), nodeId + "|" + payload);
+        } catch (RuntimeException e) {
+            log.warn("發送積分餘額快取失效通知失敗 - 錯誤: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 收到失效通知，內容為 節點標識|用戶ID（逗號分隔）或 節點標識|*
+     */
+    private void onInvalidation(String message) {
+        int separator = message.indexOf('|');
+        if (separator < 0 || message.startsWith(nodeId + "|")) {
+            return;
+        }
+        String payload = message.substring(separator + 1);
+        if (EVICT_ALL.equals(payload)) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidateAll(Arrays.asList(payload.split(",")));
+        }
+    }
+}
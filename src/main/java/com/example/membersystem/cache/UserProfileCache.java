@@ -0,0 +1,268 @@
+package com.example.membersystem.cache;
+
+import com.example.membersystem.config.UserProfileCacheProperties;
+import com.example.membersystem.entity.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 用戶資料二級快取
+ * L1 為本地 Caffeine 快取，L2 為 Redis 快取，兩者皆未命中時透過 loader 從資料庫組裝。
+ * 資料變更時透過 Redis pub/sub 通知所有節點清除 L1。
+ * <p>
+ * L2 回寫以世代號防止 cache-aside 競態：讀取 L2 時一併讀取該用戶與全域的世代號，
+ * 清除時先遞增世代號再刪除快取；從資料庫載入後只在世代號未變時才寫入 L2，
+ * 載入期間已提交並清除的變更不會被舊資料蓋回。
+ * 未啟用 Redis 時退化為單層本地快取。
+ */
+@Slf4j
+@Component
+public class UserProfileCache {
+
+    /**
+     * 清除全部快取的通知內容
+     */
+    private static final String EVICT_ALL = "*";
+
+    /**
+     * 全域世代號鍵的後綴（清除全部快取時遞增）
+     */
+    private static final String GLOBAL_GENERATION = "all";
+
+    /**
+     * 用戶與全域世代號皆與載入前相同時才寫入（不存在的世代號以空字串表示）
+     * KEYS: 快取鍵、用戶世代號鍵、全域世代號鍵；ARGV: 用戶世代號、全域世代號、JSON、TTL 毫秒
+     */
+    private static final RedisScript<Long> SET_IF_GENERATION_UNCHANGED = new DefaultRedisScript<>("""
+            if (redis.call('GET', KEYS[2]) or '') == ARGV[1] and (redis.call('GET', KEYS[3]) or '') == ARGV[2] then
+                redis.call('SET', KEYS[1], ARGV[3], 'PX', ARGV[4])
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    /**
+     * 遞增用戶世代號並刪除快取；世代號保留一個 L2 TTL，足以涵蓋進行中的載入
+     * KEYS: 快取鍵、用戶世代號鍵；ARGV: TTL 毫秒
+     */
+    private static final RedisScript<Long> BUMP_GENERATION_AND_DELETE = new DefaultRedisScript<>("""
+            redis.call('INCR', KEYS[2])
+            redis.call('PEXPIRE', KEYS[2], ARGV[1])
+            return redis.call('DEL', KEYS[1])
+            """, Long.class);
+
+    private final UserProfileCacheProperties properties;
+    private final ObjectMapper objectMapper;
+    private final StringRedisTemplate redisTemplate;
+    private final Cache<String, User> localCache;
+    private final Counter redisHitCounter;
+    private final Counter redisMissCounter;
+    private final Timer loadTimer;
+
+    public UserProfileCache(UserProfileCacheProperties properties,
+                            ObjectMapper objectMapper,
+                            ObjectProvider<StringRedisTemplate> redisTemplateProvider,
+                            ObjectProvider<RedisMessageListenerContainer> listenerContainerProvider,
+                            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(properties.getLocalMaximumSize())
+                .expireAfterWrite(properties.getLocalTtl())
+                .recordStats()
+                .build();
+
+        RedisMessageListenerContainer listenerContainer = listenerContainerProvider.getIfAvailable();
+        this.redisTemplate = listenerContainer != null ? redisTemplateProvider.getIfAvailable() : null;
+        if (this.redisTemplate != null) {
+            listenerContainer.addMessageListener(
+                    (message, pattern) -> onInvalidation(new String(message.getBody(), StandardCharsets.UTF_8)),
+                    new ChannelTopic(properties.getInvalidationChannel()));
+        } else {
+            log.info("未啟用 Redis，用戶資料快取僅使用本地 L1");
+        }
+
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "userProfile");
+        this.redisHitCounter = Counter.builder("member.cache.user.profile.redis")
+                .description("用戶資料 L2 快取查詢次數")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.redisMissCounter = Counter.builder("member.cache.user.profile.redis")
+                .description("用戶資料 L2 快取查詢次數")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.loadTimer = Timer.builder("member.cache.user.profile.load")
+                .description("用戶資料從資料庫組裝耗時")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 讀取用戶資料（read-through）
+     * 返回的物件為共享實例，呼叫方不可修改
+     *
+     * @param userId 用戶ID
+     * @param loader 兩級快取皆未命中時的資料來源，返回 null 表示用戶不存在（不快取）
+     */
+    public User get(String userId, Function<String, User> loader) {
+        return localCache.get(userId, id -> loadFromRedisOrSource(id, loader));
+    }
+
+    /**
+     * 清除單一用戶的快取並通知其他節點
+     */
+    public void evict(String userId) {
+        if (redisTemplate != null) {
+            try {
+                redisTemplate.execute(BUMP_GENERATION_AND_DELETE, List.of(redisKey(userId), generationKey(userId)),
+                        String.valueOf(properties.getRedisTtl().toMillis()));
+                redisTemplate.convertAndSend(properties.getInvalidationChannel(), userId);
+            } catch (RuntimeException e) {
+                log.warn("清除 Redis 用戶資料快取失敗 - userId: {}, 錯誤: {}", userId, e.getMessage());
+            }
+        }
+        localCache.invalidate(userId);
+    }
+
+    /**
+     * 清除全部用戶的快取並通知其他節點
+     * 用於角色、權限或會員等級等影響大量用戶的變更
+     */
+    public void evictAll() {
+        if (redisTemplate != null) {
+            try {
+                // 先遞增全域世代號，掃描期間載入的資料不會再寫回
+                redisTemplate.opsForValue().increment(generationKey(GLOBAL_GENERATION));
+                ScanOptions options = ScanOptions.scanOptions()
+                        .match(properties.getKeyPrefix() + "*")
+                        .count(1000)
+                        .build();
+                List<String> keys = new ArrayList<>();
+                try (Cursor<String> cursor = redisTemplate.scan(options)) {
+                    while (cursor.hasNext()) {
+                        keys.add(cursor.next());
+                        if (keys.size() >= 1000) {
+                            redisTemplate.delete(keys);
+                            keys.clear();
+                        }
+                    }
+                }
+                if (!keys.isEmpty()) {
+                    redisTemplate.delete(keys);
+                }
+                redisTemplate.convertAndSend(properties.getInvalidationChannel(), EVICT_ALL);
+            } catch (RuntimeException e) {
+                log.warn("清除 Redis 用戶資料快取失敗 - 錯誤: {}", e.getMessage());
+            }
+        }
+        localCache.invalidateAll();
+    }
+
+    /**
+     * 收到其他節點（或本節點）的失效通知
+     */
+    private void onInvalidation(String userId) {
+        if (EVICT_ALL.equals(userId)) {
+            localCache.invalidateAll();
+        } else {
+            localCache.invalidate(userId);
+        }
+    }
+
+    private User loadFromRedisOrSource(String userId, Function<String, User> loader) {
+        List<String> generations = null;
+        if (redisTemplate != null) {
+            List<String> values = readFromRedis(userId);
+            if (values != null) {
+                User cached = parse(userId, values.get(0));
+                if (cached != null) {
+                    redisHitCounter.increment();
+                    return cached;
+                }
+                generations = values.subList(1, 3);
+            }
+        }
+        redisMissCounter.increment();
+
+        User loaded = loadTimer.record(() -> loader.apply(userId));
+        if (loaded != null && generations != null) {
+            writeToRedis(userId, loaded, generations);
+        }
+        return loaded;
+    }
+
+    /**
+     * 一次讀取快取內容、用戶世代號與全域世代號（不存在者為空字串）；Redis 失敗時返回 null
+     */
+    private List<String> readFromRedis(String userId) {
+        try {
+            List<String> values = redisTemplate.opsForValue().multiGet(
+                    List.of(redisKey(userId), generationKey(userId), generationKey(GLOBAL_GENERATION)));
+            if (values == null || values.size() != 3) {
+                return null;
+            }
+            List<String> result = new ArrayList<>(3);
+            result.add(values.get(0));
+            result.add(values.get(1) != null ? values.get(1) : "");
+            result.add(values.get(2) != null ? values.get(2) : "");
+            return result;
+        } catch (RuntimeException e) {
+            log.warn("讀取 Redis 用戶資料快取失敗 - userId: {}, 錯誤: {}", userId, e.getMessage());
+            return null;
+        }
+    }
+
+    private User parse(String userId, String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, User.class);
+        } catch (JsonProcessingException e) {
+            log.warn("解析 Redis 用戶資料快取失敗 - userId: {}, 錯誤: {}", userId, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeToRedis(String userId, User user, List<String> generations) {
+        try {
+            Long written = redisTemplate.execute(SET_IF_GENERATION_UNCHANGED,
+                    List.of(redisKey(userId), generationKey(userId), generationKey(GLOBAL_GENERATION)),
+                    generations.get(0), generations.get(1), objectMapper.writeValueAsString(user),
+                    String.valueOf(properties.getRedisTtl().toMillis()));
+            if (written == null || written == 0) {
+                log.debug("用戶資料載入期間已被清除，不寫入 Redis - userId: {}", userId);
+            }
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("寫入 Redis 用戶資料快取失敗 - userId: {}, 錯誤: {}", userId, e.getMessage());
+        }
+    }
+
+    private String redisKey(String userId) {
+        return properties.getKeyPrefix() + userId;
+    }
+
+    private String generationKey(String suffix) {
+        return properties.getGenerationKeyPrefix() + suffix;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.membersystem.common;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 游標分頁的位置（最後一筆的 create_time + id）
+ * 對外以 Base64URL 編碼的不透明字串傳遞
+ */
+public record PageCursor(LocalDateTime createTime, String id) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * 編碼為不透明字串
+     */
+    public String encode() {
+        String raw = createTime + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析不透明字串
+     *
+     * @throws IllegalArgumentException 游標格式錯誤
+     */
+    public static PageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int index = raw.indexOf(SEPARATOR);
+            if (index <= 0 || index == raw.length() - 1) {
+                throw new IllegalArgumentException("無效的分頁游標");
+            }
+            return new PageCursor(LocalDateTime.parse(raw.substring(0, index)), raw.substring(index + 1));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("無效的分頁游標", e);
+        }
+    }
+}
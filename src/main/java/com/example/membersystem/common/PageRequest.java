@@ -1,5 +1,6 @@
 package com.example.membersystem.common;
 
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
@@ -7,12 +8,25 @@ import lombok.Data;
 
 /**
  * 分頁請求參數
+ * 支援 offset 分頁（預設）與游標分頁兩種模式，游標分頁以 (create_time, id) 為排序鍵
  */
 @Data
 @Schema(description = "分頁請求參數")
 public class PageRequest {
 
-    @Schema(description = "頁碼，從 1 開始", example = "1")
+    /**
+     * offset 分頁模式
+     */
+    public static final String MODE_OFFSET = "offset";
+
+    /**
+     * 游標分頁模式
+     */
+    public static final String MODE_CURSOR = "cursor";
+
+    private static final String CURSOR_SORT_FIELD = "create_time";
+
+    @Schema(description = "頁碼，從 1 開始（offset 模式）", example = "1")
     @Min(value = 1, message = "頁碼必須大於 0")
     private Long current = 1L;
 
@@ -27,10 +41,52 @@ public class PageRequest {
     @Schema(description = "排序方向：asc 或 desc", example = "desc")
     private String sortOrder = "desc";
 
+    @Schema(description = "分頁模式：offset 或 cursor", example = "offset")
+    private String mode = MODE_OFFSET;
+
+    @Schema(description = "游標（cursor 模式，取自上一頁的 nextCursor，第一頁留空）")
+    private String cursor;
+
+    @Schema(description = "是否返回總記錄數（cursor 模式，為估算值）", example = "false")
+    private Boolean withTotal = false;
+
     /**
      * 轉換為 MyBatis Plus 的 Page 對象
      */
     public com.baomidou.mybatisplus.extension.plugins.pagination.Page<Object> toPage() {
         return new com.baomidou.mybatisplus.extension.plugins.pagination.Page<>(current, size);
     }
-}
\ No newline at end of file
+
+    /**
+     * 是否為游標分頁模式
+     */
+    public boolean isCursorMode() {
+        return MODE_CURSOR.equalsIgnoreCase(mode);
+    }
+
+    /**
+     * 為查詢加上游標條件、排序與 LIMIT size + 1（多取一筆用於判斷是否有下一頁）
+     *
+     * @throws IllegalArgumentException 游標格式錯誤或排序字段不是 create_time
+     */
+    public <T> QueryWrapper<T> applyCursor(QueryWrapper<T> wrapper) {
+        if (sortField != null && !CURSOR_SORT_FIELD.equals(sortField)) {
+            throw new IllegalArgumentException("游標分頁只支援以 create_time 排序");
+        }
+        boolean ascending = "asc".equalsIgnoreCase(sortOrder);
+        if (cursor != null && !cursor.isEmpty()) {
+            PageCursor position = PageCursor.decode(cursor);
+            wrapper.and(w -> {
+                if (ascending) {
+                    w.gt(CURSOR_SORT_FIELD, position.createTime())
+                            .or(o -> o.eq(CURSOR_SORT_FIELD, position.createTime()).gt("id", position.id()));
+                } else {
+                    w.lt(CURSOR_SORT_FIELD, position.createTime())
+                            .or(o -> o.eq(CURSOR_SORT_FIELD, position.createTime()).lt("id", position.id()));
+                }
+            });
+        }
+        return wrapper.orderBy(true, ascending, CURSOR_SORT_FIELD, "id")
+                .last("LIMIT " + (size + 1));
+    }
+}
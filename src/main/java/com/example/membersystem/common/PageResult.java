@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.experimental.Accessors;
 
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * 分頁返回結果
@@ -18,7 +19,7 @@ public class PageResult<T> {
     @Schema(description = "資料列表")
     private List<T> records;
 
-    @Schema(description = "總記錄數", example = "100")
+    @Schema(description = "總記錄數（cursor 模式為估算值或空）", example = "100")
     private Long total;
 
     @Schema(description = "每頁大小", example = "10")
@@ -36,6 +37,9 @@ public class PageResult<T> {
     @Schema(description = "是否有下一頁", example = "true")
     private Boolean hasNext;
 
+    @Schema(description = "下一頁游標（cursor 模式）")
+    private String nextCursor;
+
     /**
      * 從 MyBatis Plus 的 IPage 轉換
      */
@@ -50,6 +54,27 @@ public class PageResult<T> {
                 .setHasNext(page.getCurrent() < page.getPages());  // 手動計算是否有下一頁
     }
 
+    /**
+     * 由游標查詢結果建立（rows 為 {@link PageRequest#applyCursor} 多取一筆的結果）
+     *
+     * @param cursorOf       取得記錄排序鍵的函數
+     * @param estimatedTotal 估算的總記錄數，可為 null
+     */
+    public static <T> PageResult<T> ofCursor(List<T> rows, PageRequest request,
+                                             Function<T, PageCursor> cursorOf, Long estimatedTotal) {
+        int size = request.getSize().intValue();
+        boolean hasNext = rows.size() > size;
+        List<T> records = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(records.get(records.size() - 1)).encode() : null;
+        return new PageResult<T>()
+                .setRecords(records)
+                .setTotal(estimatedTotal)
+                .setSize(request.getSize())
+                .setHasPrevious(request.getCursor() != null && !request.getCursor().isEmpty())
+                .setHasNext(hasNext)
+                .setNextCursor(nextCursor);
+    }
+
     /**
      * 建立空的分頁結果
      */
@@ -0,0 +1,29 @@
+package com.example.membersystem.config;
+
+import com.example.membersystem.security.PasswordHashCalibrator;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * 認證相關配置類
+ */
+@Configuration
+@EnableConfigurationProperties({
+        JwtProperties.class,
+        TokenRevocationProperties.class,
+        PasswordHashProperties.class,
+        RateLimitProperties.class
+})
+public class AuthConfig {
+
+    /**
+     * 密碼雜湊 (BCrypt)，強度於啟動時依目標耗時校準
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(PasswordHashProperties properties) {
+        return new BCryptPasswordEncoder(PasswordHashCalibrator.resolveStrength(properties));
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.membersystem.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 快取、積分、日誌與匯入相關配置類
+ */
+@Configuration
+@EnableConfigurationProperties({
+        UserProfileCacheProperties.class,
+        PointsLedgerProperties.class,
+        PointsBalanceProperties.class,
+        PointsArchiveProperties.class,
+        PointsLeaderboardProperties.class,
+        CheckInProperties.class,
+        PointsIdempotencyProperties.class,
+        PointsCampaignProperties.class,
+        OperationLogProperties.class,
+        OperationLogPartitionProperties.class,
+        UserImportProperties.class
+})
+public class CacheConfig {
+}
@@ -0,0 +1,49 @@
+package com.example.membersystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 每日簽到配置
+ */
+@Data
+@ConfigurationProperties(prefix = "member.points.check-in")
+public class CheckInProperties {
+
+    /**
+     * 簽到位圖 Redis 鍵前綴，完整鍵為 前綴 + 用戶ID + ":" + yyyyMM
+     */
+    private String redisKeyPrefix = "member:checkin:";
+
+    /**
+     * 每月位圖的存活時間
+     */
+    private Duration keyTtl = Duration.ofDays(400);
+
+    /**
+     * 每次簽到的基本積分
+     */
+    private long basePoints = 10;
+
+    /**
+     * 連續簽到每多一天額外獎勵的積分
+     */
+    private long streakBonusPoints = 2;
+
+    /**
+     * 連續簽到獎勵最多累計的天數
+     */
+    private int maxStreakBonusDays = 7;
+
+    /**
+     * 計算連續簽到天數時最多回溯的月數
+     */
+    private int streakLookbackMonths = 12;
+
+    /**
+     * 未啟用 Redis 時本地簽到日曆的最大用戶數
+     */
+    private long localCacheMaximumSize = 100_000;
+}
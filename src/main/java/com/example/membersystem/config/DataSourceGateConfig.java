@@ -0,0 +1,40 @@
+package com.example.membersystem.config;
+
+import com.example.membersystem.datasource.ConnectionGatedDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 資料庫連線許可閘門配置類
+ * 以 MEMBER_VIRTUAL_THREADS=true 啟用虛擬執行緒模式時一併啟用，將連線池包裝為 {@link ConnectionGatedDataSource}
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(DataSourceGateProperties.class)
+@ConditionalOnProperty(prefix = "member.datasource.gate", name = "enabled", havingValue = "true")
+public class DataSourceGateConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionGatePostProcessor(ObjectProvider<DataSourceGateProperties> properties,
+                                                                ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikari)) {
+                    return bean;
+                }
+                DataSourceGateProperties gate = properties.getObject();
+                int permits = gate.getPermits() > 0 ? gate.getPermits() : hikari.getMaximumPoolSize();
+                log.info("資料庫連線許可閘門已啟用 - 資料來源: {}, 許可數: {}", beanName, permits);
+                return new ConnectionGatedDataSource(hikari, permits, gate.getAcquireTimeout(), meterRegistry.getObject());
+            }
+        };
+    }
+}
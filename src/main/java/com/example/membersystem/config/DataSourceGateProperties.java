@@ -0,0 +1,29 @@
+package com.example.membersystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 資料庫連線許可閘門配置（虛擬執行緒模式使用）
+ */
+@Data
+@ConfigurationProperties(prefix = "member.datasource.gate")
+public class DataSourceGateProperties {
+
+    /**
+     * 是否啟用
+     */
+    private boolean enabled = false;
+
+    /**
+     * 許可數，0 表示與連線池最大連線數一致
+     */
+    private int permits = 0;
+
+    /**
+     * 等待許可的逾時時間
+     */
+    private Duration acquireTimeout = Duration.ofSeconds(30);
+}
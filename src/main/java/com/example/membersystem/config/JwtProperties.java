@@ -0,0 +1,63 @@
+package com.example.membersystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JWT 簽發與驗證配置
+ */
+@Data
+@ConfigurationProperties(prefix = "member.security.jwt")
+public class JwtProperties {
+
+    /**
+     * 簽發者
+     */
+    private String issuer = "member-system";
+
+    /**
+     * Access Token 有效期
+     */
+    private Duration accessTokenTtl = Duration.ofHours(2);
+
+    /**
+     * 允許的時鐘偏差
+     */
+    private Duration clockSkew = Duration.ofSeconds(30);
+
+    /**
+     * 簽發新 Token 使用的金鑰 ID (kid)
+     */
+    private String activeKeyId;
+
+    /**
+     * HMAC 金鑰：kid -> Base64 編碼的密鑰（至少 256 位）
+     * 輪換時先加入新金鑰並切換 active-key-id，舊金鑰保留至其簽發的 Token 全部過期後再移除
+     */
+    private Map<String, String> keys = new LinkedHashMap<>();
+
+    /**
+     * 外部金鑰檔案（properties 格式，內容同 active-key-id 與 keys.<kid>）
+     * 設定後定期檢查修改時間並熱載入，無需重啟即可輪換金鑰
+     */
+    private String keyFile;
+
+    /**
+     * 金鑰檔案檢查間隔
+     */
+    private Duration keyRefreshInterval = Duration.ofSeconds(30);
+
+    /**
+     * 已驗證 Token 快取最大條目數
+     */
+    private long verifiedCacheMaximumSize = 100_000;
+
+    /**
+     * 已驗證 Token 快取最長存活時間（另受 Token 的 exp 限制）
+     */
+    private Duration verifiedCacheMaxTtl = Duration.ofMinutes(30);
+}
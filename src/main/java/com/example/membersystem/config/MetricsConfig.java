@@ -0,0 +1,42 @@
+package com.example.membersystem.config;
+
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 監控指標配置
+ * 指標透過 /actuator/prometheus 暴露；以下過濾器限制標籤基數，避免單一指標因異常流量膨脹為大量時間序列
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * HTTP 請求的 uri 標籤來自 URI 模板（如 /user/{id}/profile），上限作為防護
+     */
+    private static final int MAX_URI_TAGS = 200;
+
+    /**
+     * MyBatis 語句數量有限，上限作為防護
+     */
+    private static final int MAX_STATEMENT_TAGS = 500;
+
+    @Bean
+    public MeterFilter httpUriTagLimitFilter() {
+        return MeterFilter.maximumAllowableTags("http.server.requests", "uri", MAX_URI_TAGS, MeterFilter.deny());
+    }
+
+    @Bean
+    public MeterFilter mybatisStatementTagLimitFilter() {
+        return MeterFilter.maximumAllowableTags("member.mybatis.statement", "statement", MAX_STATEMENT_TAGS,
+                MeterFilter.deny());
+    }
+
+    /**
+     * 丟棄任何以用戶身分為值的標籤，確保不會以用戶ID或用戶名建立時間序列
+     */
+    @Bean
+    public MeterFilter userIdentityTagFilter() {
+        return MeterFilter.ignoreTags("userId", "user_id", "username");
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.membersystem.config;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.core.incrementer.DefaultIdentifierGenerator;
+import com.baomidou.mybatisplus.core.incrementer.IdentifierGenerator;
+import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.example.membersystem.common.UuidV7;
+import com.example.membersystem.mybatis.StatementMetricsInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * MyBatis Plus 配置類
+ */
+@Configuration
+@EnableConfigurationProperties(SqlMonitorProperties.class)
+public class MybatisPlusConfig {
+
+    /**
+     * 分頁插件（offset 分頁模式使用）
+     */
+    @Bean
+    public MybatisPlusInterceptor mybatisPlusInterceptor() {
+        MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
+        PaginationInnerInterceptor pagination = new PaginationInnerInterceptor(DbType.MYSQL);
+        pagination.setMaxLimit(100L);
+        interceptor.addInnerInterceptor(pagination);
+        return interceptor;
+    }
+
+    /**
+     * 每條 MyBatis 語句的耗時指標、慢查詢與 N+1 偵測
+     */
+    @Bean
+    public StatementMetricsInterceptor statementMetricsInterceptor(MeterRegistry meterRegistry,
+                                                                   SqlMonitorProperties sqlMonitorProperties) {
+        return new StatementMetricsInterceptor(meterRegistry, sqlMonitorProperties);
+    }
+
+    /**
+     * 主鍵生成器
+     * IdType.ASSIGN_UUID 改用時間有序的 UUID v7，ASSIGN_ID 維持預設雪花演算法
+     */
+    @Bean
+    public IdentifierGenerator identifierGenerator() {
+        DefaultIdentifierGenerator defaultGenerator = DefaultIdentifierGenerator.getInstance();
+        return new IdentifierGenerator() {
+            @Override
+            public Number nextId(Object entity) {
+                return defaultGenerator.nextId(entity);
+            }
+
+            @Override
+            public String nextUUID(Object entity) {
+                return UuidV7.generate();
+            }
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.membersystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 操作日誌分區維護配置
+ */
+@Data
+@ConfigurationProperties(prefix = "member.audit.partition")
+public class OperationLogPartitionProperties {
+
+    /**
+     * 是否啟用分區維護任務
+     */
+    private boolean enabled = true;
+
+    /**
+     * 預先建立的未來月份數（不含本月）
+     */
+    private int premakeMonths = 3;
+
+    /**
+     * 保留的完整月份數，更早的分區匯出後刪除；0 表示不刪除
+     */
+    private int retentionMonths = 12;
+
+    /**
+     * 過期分區匯出目錄（gzip 壓縮的 NDJSON，每個分區一個檔案）
+     */
+    private String archiveDirectory = "logs/operation-log-archive";
+
+    /**
+     * 維護任務執行間隔（啟動後立即執行一次）
+     */
+    private Duration checkInterval = Duration.ofHours(6);
+}
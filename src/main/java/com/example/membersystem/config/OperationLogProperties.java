@@ -0,0 +1,70 @@
+package com.example.membersystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 操作日誌非同步寫入配置
+ */
+@Data
+@ConfigurationProperties(prefix = "member.audit")
+public class OperationLogProperties {
+
+    /**
+     * 環形緩衝區容量（向上取整為 2 的冪次）
+     */
+    private int bufferSize = 8192;
+
+    /**
+     * 每次批次插入的最大筆數
+     */
+    private int batchSize = 200;
+
+    /**
+     * 未滿一批時的最長等待時間
+     */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    /**
+     * 緩衝區滿載時的處理策略
+     */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+
+    /**
+     * BLOCK 策略的最長等待時間，逾時後丟棄
+     */
+    private Duration blockTimeout = Duration.ofMillis(100);
+
+    /**
+     * SPILL 策略的本地溢寫目錄
+     */
+    private String spillDirectory = "logs/audit-spill";
+
+    /**
+     * 溢寫檔回放失敗後的重試間隔
+     */
+    private Duration replayRetryInterval = Duration.ofSeconds(5);
+
+    /**
+     * 緩衝區滿載處理策略
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * 阻塞生產者直到有空間或逾時
+         */
+        BLOCK,
+
+        /**
+         * 丟棄最舊的日誌
+         */
+        DROP_OLDEST,
+
+        /**
+         * 溢寫至本地磁碟，待緩衝區空閒時回放
+         */
+        SPILL
+    }
+}
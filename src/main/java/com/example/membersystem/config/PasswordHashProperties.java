@@ -0,0 +1,44 @@
+package com.example.membersystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 密碼雜湊配置
+ */
+@Data
+@ConfigurationProperties(prefix = "member.security.password")
+public class PasswordHashProperties {
+
+    /**
+     * 雜湊專用執行緒數量，預設為 CPU 核心數
+     */
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * 等待雜湊的佇列容量，滿載時直接返回 503 而非讓請求排隊
+     */
+    private int queueCapacity = 64;
+
+    /**
+     * 單次雜湊的目標耗時，啟動時據此校準 BCrypt 強度
+     */
+    private Duration targetHashTime = Duration.ofMillis(100);
+
+    /**
+     * 校準強度下限
+     */
+    private int minStrength = 10;
+
+    /**
+     * 校準強度上限
+     */
+    private int maxStrength = 14;
+
+    /**
+     * 固定強度，設定後跳過啟動校準（多節點部署時建議固定，避免各節點強度不一致）
+     */
+    private Integer strength;
+}
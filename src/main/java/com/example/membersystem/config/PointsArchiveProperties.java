@@ -0,0 +1,51 @@
+package com.example.membersystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 積分流水冷資料歸檔配置
+ */
+@Data
+@ConfigurationProperties(prefix = "member.points.archive")
+public class PointsArchiveProperties {
+
+    /**
+     * 是否啟用歸檔任務，預設停用（停用時仍會讀取已登記月份的歸檔段檔案）
+     * 歸檔後流水會從共用的資料庫刪除，只能在所有節點都掛載同一歸檔目錄時啟用
+     */
+    private boolean enabled = false;
+
+    /**
+     * 歸檔段檔案目錄，必須為絕對路徑；多節點部署時應為各節點共用的掛載目錄
+     */
+    private String directory;
+
+    /**
+     * 保留在資料庫中的完整月份數，更早的月份歸檔後從 user_points 刪除
+     */
+    private int hotMonths = 12;
+
+    /**
+     * 歸檔任務執行間隔（啟動後立即執行一次）
+     */
+    private Duration checkInterval = Duration.ofHours(6);
+
+    /**
+     * 各節點重新讀取已登記月份並開啟新段檔案的間隔
+     */
+    private Duration refreshInterval = Duration.ofMinutes(1);
+
+    /**
+     * 月份登記後保留資料庫流水的時間，到期後的下一次歸檔任務才刪除；
+     * 必須大於 refresh-interval，確保所有節點都已改從歸檔段讀取該月份
+     */
+    private Duration deleteGracePeriod = Duration.ofMinutes(10);
+
+    /**
+     * 歸檔後每次刪除的流水筆數
+     */
+    private int deleteBatchSize = 5000;
+}
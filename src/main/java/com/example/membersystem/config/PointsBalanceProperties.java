@@ -0,0 +1,39 @@
+package com.example.membersystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 積分餘額讀取模型配置
+ */
+@Data
+@ConfigurationProperties(prefix = "member.points.balance")
+public class PointsBalanceProperties {
+
+    /**
+     * 本地餘額快取最大條目數
+     */
+    private long cacheMaximumSize = 100_000;
+
+    /**
+     * 本地餘額快取寫入後過期時間（其他節點的失效通知遺失時，過期資料最多存活這麼久）
+     */
+    private Duration cacheExpireAfterWrite = Duration.ofMinutes(1);
+
+    /**
+     * 餘額快取失效通知的 Redis 頻道
+     */
+    private String invalidationChannel = "member:points:balance:invalidate";
+
+    /**
+     * 重建快照時的並行度
+     */
+    private int rebuildParallelism = 4;
+
+    /**
+     * 重建快照時每批處理的用戶數
+     */
+    private int rebuildBatchSize = 1000;
+}
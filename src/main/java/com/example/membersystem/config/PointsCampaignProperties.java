@@ -0,0 +1,40 @@
+package com.example.membersystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 積分活動批次發放配置
+ */
+@Data
+@ConfigurationProperties(prefix = "member.points.campaign")
+public class PointsCampaignProperties {
+
+    /**
+     * 每個分片涵蓋的用戶數（按用戶ID順序切分，含不符合目標等級的用戶）
+     */
+    private int chunkSize = 1000;
+
+    /**
+     * 同時處理的分片數
+     * chunkSize * parallelism 應小於積分寫入通道的佇列總容量，否則提交會因佇列已滿而頻繁退避重試
+     */
+    private int parallelism = 4;
+
+    /**
+     * 寫入佇列已滿被拒絕時重新提交的初始退避時間，之後每次加倍（上限 1 秒）
+     */
+    private Duration submitRetryBackoff = Duration.ofMillis(50);
+
+    /**
+     * 單筆流水因寫入佇列已滿持續重試的最長時間；逾時後本次執行中止，活動保留為執行中，待下次檢查續跑
+     */
+    private Duration submitRetryTimeout = Duration.ofMinutes(2);
+
+    /**
+     * 檢查未完成活動（其他節點中斷後遺留）的間隔
+     */
+    private Duration resumeCheckInterval = Duration.ofMinutes(1);
+}
@@ -0,0 +1,29 @@
+package com.example.membersystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 積分變動冪等配置
+ */
+@Data
+@ConfigurationProperties(prefix = "member.points.idempotency")
+public class PointsIdempotencyProperties {
+
+    /**
+     * 已完成交易結果的保留時間，期間內以相同 (type, ref_id) 重試直接返回原結果
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * 本地結果快取最大條目數
+     */
+    private long localMaximumSize = 200_000;
+
+    /**
+     * 結果快取 Redis 鍵前綴，完整鍵為 前綴 + type + ":" + ref_id
+     */
+    private String redisKeyPrefix = "member:points:idempotency:";
+}
@@ -0,0 +1,39 @@
+package com.example.membersystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 積分排行榜配置
+ */
+@Data
+@ConfigurationProperties(prefix = "member.points.leaderboard")
+public class PointsLeaderboardProperties {
+
+    /**
+     * 排行榜 Redis 有序集合鍵
+     */
+    private String redisKey = "member:points:leaderboard";
+
+    /**
+     * 積分變動合併後寫入排行榜的間隔
+     */
+    private Duration flushInterval = Duration.ofMillis(100);
+
+    /**
+     * 單次查詢最多返回的名次數
+     */
+    private int maxRange = 1000;
+
+    /**
+     * 重建時每批讀取的餘額快照筆數
+     */
+    private int rebuildBatchSize = 5000;
+
+    /**
+     * 重建標記的存活時間，超過後視為重建中斷，可重新發起
+     */
+    private Duration rebuildTimeout = Duration.ofHours(1);
+}
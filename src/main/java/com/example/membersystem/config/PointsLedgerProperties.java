@@ -0,0 +1,34 @@
+package com.example.membersystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 積分流水寫入配置
+ */
+@Data
+@ConfigurationProperties(prefix = "member.points.ledger")
+public class PointsLedgerProperties {
+
+    /**
+     * 寫入通道數量，用戶依 ID 雜湊固定分配到其中一個通道
+     */
+    private int lanes = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * 每次群組提交的最大筆數
+     */
+    private int maxBatchSize = 500;
+
+    /**
+     * 群組提交前等待更多寫入的最長時間，0 表示不額外等待，只合併已排隊的寫入
+     */
+    private Duration maxBatchDelay = Duration.ZERO;
+
+    /**
+     * 每個通道的佇列容量，滿載時拒絕寫入
+     */
+    private int queueCapacity = 10_000;
+}
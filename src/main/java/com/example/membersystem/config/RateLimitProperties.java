@@ -0,0 +1,54 @@
+package com.example.membersystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 登入與註冊限流配置
+ */
+@Data
+@ConfigurationProperties(prefix = "member.security.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * 是否啟用限流
+     */
+    private boolean enabled = true;
+
+    /**
+     * 滑動視窗長度
+     */
+    private Duration window = Duration.ofMinutes(1);
+
+    /**
+     * 每個 IP 在視窗內允許的登入與註冊請求數
+     */
+    private int ipLimit = 60;
+
+    /**
+     * 每個用戶名在視窗內允許的登入與註冊嘗試次數
+     */
+    private int usernameLimit = 10;
+
+    /**
+     * 每條規則最多追蹤的鍵數量，達到上限時新鍵直接拒絕（不活躍的鍵於對帳時移除後恢復）
+     */
+    private int maxTrackedKeys = 1_000_000;
+
+    /**
+     * 與 Redis 對帳的間隔，間隔內各節點只看得到自己的計數與上次對帳時的叢集計數
+     */
+    private Duration syncInterval = Duration.ofSeconds(1);
+
+    /**
+     * 每個 Redis pipeline 對帳的鍵數量上限，活躍鍵較多時分批送出
+     */
+    private int syncBatchSize = 500;
+
+    /**
+     * Redis 計數鍵前綴，實際鍵為 前綴 + 規則名 + ":" + 視窗序號
+     */
+    private String redisKeyPrefix = "member:ratelimit:";
+}
@@ -0,0 +1,26 @@
+package com.example.membersystem.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Redis 配置類
+ * 可透過 member.redis.enabled=false 關閉（例如未啟用 Redis 自動配置時）
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "member.redis", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RedisConfig {
+
+    /**
+     * Redis 訊息監聽容器（用於跨節點 pub/sub 通知）
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+}
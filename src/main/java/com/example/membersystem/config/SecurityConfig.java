@@ -1,11 +1,17 @@
 package com.example.membersystem.config;
 
+import com.example.membersystem.security.JwtAuthenticationFilter;
+import com.example.membersystem.security.JwtTokenProvider;
+import com.example.membersystem.security.LoginRateLimitFilter;
+import com.example.membersystem.security.LoginRateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 /**
  * 開發環境安全配置
@@ -21,7 +27,9 @@ public class SecurityConfig {
      * 開發環境安全配置 - 允許所有請求
      */
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, JwtTokenProvider jwtTokenProvider,
+                                           LoginRateLimiter loginRateLimiter,
+                                           ObjectMapper objectMapper) throws Exception {
         http
                 // 禁用 CSRF 保護（開發環境）
                 .csrf(csrf -> csrf.disable())
@@ -49,7 +57,15 @@ public class SecurityConfig {
                 .httpBasic(basic -> basic.disable())
 
                 // 禁用 logout
-                .logout(logout -> logout.disable());
+                .logout(logout -> logout.disable())
+
+                // 攜帶 Bearer Token 的請求解析身分（不經 Spring Bean 註冊，避免在 Servlet 容器中重複掛載）
+                .addFilterBefore(new JwtAuthenticationFilter(jwtTokenProvider, objectMapper),
+                        UsernamePasswordAuthenticationFilter.class)
+
+                // 登入與註冊依 IP 限流，超限請求不進入後續過濾器與認證服務
+                .addFilterBefore(new LoginRateLimitFilter(loginRateLimiter, objectMapper),
+                        JwtAuthenticationFilter.class);
 
         return http.build();
     }
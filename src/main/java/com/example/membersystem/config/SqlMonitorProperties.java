@@ -0,0 +1,34 @@
+package com.example.membersystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * SQL 監控配置（慢查詢與 N+1 偵測）
+ */
+@Data
+@ConfigurationProperties(prefix = "member.mybatis.monitor")
+public class SqlMonitorProperties {
+
+    /**
+     * 慢查詢門檻，超過時以警告記錄 Mapper 方法、耗時與 SQL（不含參數值）
+     */
+    private Duration slowThreshold = Duration.ofMillis(200);
+
+    /**
+     * 單一 HTTP 請求內同一語句執行次數達到此值時視為疑似 N+1
+     */
+    private int repeatedStatementThreshold = 10;
+
+    /**
+     * 單一 HTTP 請求內語句總數達到此值時記錄警告
+     */
+    private int requestStatementThreshold = 50;
+
+    /**
+     * 慢查詢日誌中 SQL 的最大長度
+     */
+    private int maxLoggedSqlLength = 500;
+}
@@ -0,0 +1,44 @@
+package com.example.membersystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Token 撤銷清單配置
+ */
+@Data
+@ConfigurationProperties(prefix = "member.security.revocation")
+public class TokenRevocationProperties {
+
+    /**
+     * Redis 中撤銷清單的 ZSET 鍵（member = jti，score = Token 過期時間毫秒）
+     */
+    private String redisKey = "member:token:revoked";
+
+    /**
+     * 跨節點撤銷通知頻道
+     */
+    private String channel = "member:token:revoked";
+
+    /**
+     * Bloom 時間桶寬度，應小於 Token 有效期
+     */
+    private Duration bucketWidth = Duration.ofMinutes(30);
+
+    /**
+     * 每個時間桶預期撤銷數
+     */
+    private int expectedRevocationsPerBucket = 100_000;
+
+    /**
+     * Bloom 目標誤判率
+     */
+    private double falsePositiveRate = 0.001;
+
+    /**
+     * 全量重新同步間隔（補償遺失的 pub/sub 通知並清理過期條目）
+     */
+    private Duration resyncInterval = Duration.ofMinutes(5);
+}
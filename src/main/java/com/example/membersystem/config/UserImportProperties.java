@@ -0,0 +1,32 @@
+package com.example.membersystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 用戶批量匯入配置
+ */
+@Data
+@ConfigurationProperties(prefix = "member.import.user")
+public class UserImportProperties {
+
+    /**
+     * 每批多行插入的行數
+     */
+    private int batchSize = 1000;
+
+    /**
+     * 並行寫入的工作執行緒數（每個執行緒使用獨立連線，需小於連線池大小）
+     */
+    private int parallelism = 4;
+
+    /**
+     * 載入既有用戶名/郵箱時每頁的行數
+     */
+    private int identityPageSize = 10_000;
+
+    /**
+     * 拒絕行報告輸出目錄
+     */
+    private String reportDirectory = "logs/import-reports";
+}
@@ -0,0 +1,44 @@
+package com.example.membersystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 用戶資料快取配置
+ */
+@Data
+@ConfigurationProperties(prefix = "member.cache.user-profile")
+public class UserProfileCacheProperties {
+
+    /**
+     * L1 (Caffeine) 最大條目數
+     */
+    private long localMaximumSize = 10_000;
+
+    /**
+     * L1 (Caffeine) 寫入後過期時間
+     */
+    private Duration localTtl = Duration.ofMinutes(5);
+
+    /**
+     * L2 (Redis) 過期時間
+     */
+    private Duration redisTtl = Duration.ofMinutes(30);
+
+    /**
+     * L2 (Redis) 鍵前綴
+     */
+    private String keyPrefix = "member:user:profile:";
+
+    /**
+     * L2 (Redis) 世代號鍵前綴，不可落在 keyPrefix 之下（清除全部快取時會掃描刪除 keyPrefix*）
+     */
+    private String generationKeyPrefix = "member:user:profile-gen:";
+
+    /**
+     * 跨節點失效通知頻道
+     */
+    private String invalidationChannel = "member:user:profile:invalidate";
+}
@@ -0,0 +1,27 @@
+package com.example.membersystem.config;
+
+import com.example.membersystem.audit.OperationLogInterceptor;
+import com.example.membersystem.mybatis.RequestStatementInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Web MVC 配置類
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final OperationLogInterceptor operationLogInterceptor;
+    private final RequestStatementInterceptor requestStatementInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // 操作日誌（只處理標記 @OperationAudit 的方法）
+        registry.addInterceptor(operationLogInterceptor);
+        // 每個請求的 SQL 語句計數（N+1 偵測）
+        registry.addInterceptor(requestStatementInterceptor);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.membersystem.controller;
+
+import com.example.membersystem.audit.OperationAudit;
+import com.example.membersystem.common.ApiResult;
+import com.example.membersystem.dto.LoginRequest;
+import com.example.membersystem.dto.LoginResult;
+import com.example.membersystem.dto.RegisterRequest;
+import com.example.membersystem.exception.UnauthorizedException;
+import com.example.membersystem.security.JwtPrincipal;
+import com.example.membersystem.service.AuthService;
+import com.example.membersystem.service.TokenRevocationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 認證控制器
+ */
+@RestController
+@RequestMapping("/auth")
+@RequiredArgsConstructor
+@Tag(name = "認證 API", description = "登入、登出等認證相關的 API 端點")
+public class AuthController {
+
+    private final AuthService authService;
+    private final TokenRevocationService tokenRevocationService;
+
+    @PostMapping("/login")
+    @Operation(summary = "登入", description = "以用戶名與密碼登入，成功返回 Access Token")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "登入成功"),
+            @ApiResponse(responseCode = "401", description = "用戶名或密碼錯誤"),
+            @ApiResponse(responseCode = "403", description = "用戶已被禁用"),
+            @ApiResponse(responseCode = "503", description = "密碼運算繁忙，請稍後重試")
+    })
+    public ApiResult<LoginResult> login(@Valid @RequestBody LoginRequest request) {
+        return ApiResult.success(authService.login(request));
+    }
+
+    @PostMapping("/register")
+    @Operation(summary = "註冊", description = "註冊新用戶，返回新用戶ID")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "註冊成功"),
+            @ApiResponse(responseCode = "409", description = "用戶名或郵箱已被註冊"),
+            @ApiResponse(responseCode = "503", description = "密碼運算繁忙，請稍後重試")
+    })
+    @OperationAudit("註冊")
+    public ApiResult<String> register(@Valid @RequestBody RegisterRequest request) {
+        return ApiResult.success(authService.register(request));
+    }
+
+    @PostMapping("/logout")
+    @Operation(summary = "登出", description = "撤銷當前請求攜帶的 Token，所有節點立即拒絕該 Token")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "登出成功"),
+            @ApiResponse(responseCode = "401", description = "未攜帶有效 Token")
+    })
+    @OperationAudit("登出")
+    public ApiResult<Void> logout() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof JwtPrincipal principal)) {
+            throw new UnauthorizedException();
+        }
+        tokenRevocationService.revoke(principal.tokenId(), principal.expiresAt());
+        return ApiResult.success();
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.membersystem.controller;
+
+import com.example.membersystem.audit.OperationAudit;
+import com.example.membersystem.common.ApiResult;
+import com.example.membersystem.dto.CheckInCalendar;
+import com.example.membersystem.dto.CheckInResult;
+import com.example.membersystem.exception.UnauthorizedException;
+import com.example.membersystem.security.JwtPrincipal;
+import com.example.membersystem.service.CheckInService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+
+/**
+ * 每日簽到控制器
+ */
+@RestController
+@RequestMapping("/check-in")
+@RequiredArgsConstructor
+@Tag(name = "簽到 API", description = "每日簽到與簽到日曆相關的 API 端點")
+public class CheckInController {
+
+    private final CheckInService checkInService;
+
+    @PostMapping
+    @Operation(summary = "每日簽到", description = "首次簽到依連續天數發放積分，當天重複簽到不發放")
+    @OperationAudit("每日簽到")
+    public ApiResult<CheckInResult> checkIn() {
+        return ApiResult.success(checkInService.checkIn(currentUserId()));
+    }
+
+    @GetMapping("/calendar")
+    @Operation(summary = "查詢簽到日曆", description = "返回指定月份已簽到的日期、月簽到天數與連續簽到天數")
+    public ApiResult<CheckInCalendar> calendar(
+            @Parameter(description = "月份，預設為本月", example = "2026-10")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
+        return ApiResult.success(checkInService.calendar(currentUserId(), month != null ? month : YearMonth.now()));
+    }
+
+    private static String currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof JwtPrincipal principal)) {
+            throw new UnauthorizedException();
+        }
+        return principal.userId();
+    }
+}
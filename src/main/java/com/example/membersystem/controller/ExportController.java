@@ -0,0 +1,68 @@
+package com.example.membersystem.controller;
+
+import com.example.membersystem.audit.OperationAudit;
+import com.example.membersystem.dto.ExportRequest;
+import com.example.membersystem.export.ExportFormat;
+import com.example.membersystem.service.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 資料匯出控制器
+ * 回應以 StreamingResponseBody 邊查詢邊寫出，不在記憶體中累積結果
+ */
+@RestController
+@RequestMapping("/export")
+@RequiredArgsConstructor
+@Tag(name = "資料匯出 API", description = "用戶、積分流水與操作日誌的串流匯出")
+public class ExportController {
+
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    private final ExportService exportService;
+
+    @GetMapping("/users")
+    @Operation(summary = "匯出用戶", description = "依建立時間範圍串流匯出用戶（不含密碼），支援 CSV / NDJSON 與 gzip")
+    @OperationAudit("匯出用戶")
+    public ResponseEntity<StreamingResponseBody> exportUsers(ExportRequest request) {
+        return stream("users", request, out -> exportService.exportUsers(request, out));
+    }
+
+    @GetMapping("/points")
+    @Operation(summary = "匯出積分流水", description = "依建立時間範圍與用戶串流匯出積分流水，支援 CSV / NDJSON 與 gzip")
+    @OperationAudit("匯出積分流水")
+    public ResponseEntity<StreamingResponseBody> exportPoints(ExportRequest request) {
+        return stream("points", request, out -> exportService.exportPoints(request, out));
+    }
+
+    @GetMapping("/operation-logs")
+    @Operation(summary = "匯出操作日誌", description = "依建立時間範圍與用戶串流匯出操作日誌，支援 CSV / NDJSON 與 gzip")
+    @OperationAudit("匯出操作日誌")
+    public ResponseEntity<StreamingResponseBody> exportOperationLogs(ExportRequest request) {
+        return stream("operation-logs", request, out -> exportService.exportOperationLogs(request, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(String name, ExportRequest request, StreamingResponseBody body) {
+        request.validateTimeRange();
+        ExportFormat format = ExportFormat.resolve(request.getFormat());
+        boolean gzip = Boolean.TRUE.equals(request.getGzip());
+        String fileName = name + "-" + LocalDateTime.now().format(FILE_TIME) + "." + format.getExtension()
+                + (gzip ? ".gz" : "");
+        MediaType contentType = gzip
+                ? MediaType.parseMediaType("application/gzip")
+                : MediaType.parseMediaType(format.getContentType() + ";charset=UTF-8");
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.membersystem.controller;
+
+import com.example.membersystem.audit.OperationAudit;
+import com.example.membersystem.common.ApiResult;
+import com.example.membersystem.entity.MemberLevel;
+import com.example.membersystem.service.MemberLevelService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 會員等級控制器
+ */
+@RestController
+@RequestMapping("/member-level")
+@RequiredArgsConstructor
+@Tag(name = "會員等級 API", description = "會員等級相關的 API 端點")
+public class MemberLevelController {
+
+    private final MemberLevelService memberLevelService;
+
+    @GetMapping
+    @Operation(summary = "獲取會員等級", description = "獲取依積分區間排序的有效會員等級")
+    public ApiResult<List<MemberLevel>> getLevels() {
+        return ApiResult.success(memberLevelService.getLevels());
+    }
+
+    @GetMapping("/resolve")
+    @Operation(summary = "查詢積分對應等級", description = "根據積分餘額查詢所屬的會員等級")
+    public ApiResult<MemberLevel> resolve(
+            @Parameter(description = "積分餘額", example = "1500")
+            @RequestParam long points) {
+        return ApiResult.success(memberLevelService.resolve(points));
+    }
+
+    @PostMapping("/reload")
+    @Operation(summary = "重新載入會員等級", description = "等級配置變更後重新載入，區間重疊或有缺口時拒絕並保留原有配置")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "重新載入成功"),
+            @ApiResponse(responseCode = "500", description = "等級配置不合法")
+    })
+    @OperationAudit("重新載入會員等級")
+    public ApiResult<Void> reload() {
+        memberLevelService.reload();
+        return ApiResult.success();
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.membersystem.controller;
+
+import com.example.membersystem.common.ApiResult;
+import com.example.membersystem.common.PageRequest;
+import com.example.membersystem.common.PageResult;
+import com.example.membersystem.entity.OperationLog;
+import com.example.membersystem.service.OperationLogService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 操作日誌控制器
+ */
+@RestController
+@RequestMapping("/operation-log")
+@RequiredArgsConstructor
+@Tag(name = "操作日誌 API", description = "操作日誌查詢相關的 API 端點")
+public class OperationLogController {
+
+    private final OperationLogService operationLogService;
+
+    @GetMapping
+    @Operation(summary = "分頁查詢操作日誌",
+            description = "mode=cursor 時以游標分頁，不執行 OFFSET 與 COUNT(*)；深分頁請使用游標模式；"
+                    + "指定 from/to 時只掃描對應月份的分區")
+    public ApiResult<PageResult<OperationLog>> page(
+            @Valid PageRequest pageRequest,
+            @Parameter(description = "操作用戶 ID (UUID)")
+            @RequestParam(required = false) String userId,
+            @Parameter(description = "起始時間（含），例如 2025-01-01T00:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "結束時間（不含）")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ApiResult.success(operationLogService.page(pageRequest, userId, from, to));
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.membersystem.controller;
+
+import com.example.membersystem.common.ApiResult;
+import com.example.membersystem.entity.Permission;
+import com.example.membersystem.enums.PermissionType;
+import com.example.membersystem.service.PermissionTreeService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 權限控制器
+ */
+@RestController
+@RequestMapping("/permission")
+@RequiredArgsConstructor
+@Tag(name = "權限 API", description = "權限樹相關的 API 端點")
+public class PermissionController {
+
+    private final PermissionTreeService permissionTreeService;
+
+    @GetMapping("/tree")
+    @Operation(summary = "獲取權限樹", description = "獲取完整且已排序的權限樹")
+    public ApiResult<List<Permission>> getTree() {
+        return ApiResult.success(permissionTreeService.getTree());
+    }
+
+    @GetMapping("/tree/user/{userId}")
+    @Operation(summary = "獲取用戶權限樹", description = "依用戶擁有的權限裁剪權限樹，可指定類型（1=菜單, 2=按鈕, 3=API）")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "成功返回用戶權限樹"),
+            @ApiResponse(responseCode = "404", description = "用戶不存在")
+    })
+    public ApiResult<List<Permission>> getUserTree(
+            @Parameter(description = "用戶 ID (UUID)", example = "550e8400-e29b-41d4-a716-446655440000")
+            @PathVariable String userId,
+            @Parameter(description = "權限類型：1=菜單, 2=按鈕, 3=API", example = "1")
+            @RequestParam(required = false) Integer type) {
+        return ApiResult.success(permissionTreeService.getUserTree(userId, PermissionType.getByCode(type)));
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.membersystem.controller;
+
+import com.example.membersystem.audit.OperationAudit;
+import com.example.membersystem.common.ApiResult;
+import com.example.membersystem.dto.PointsCampaignProgress;
+import com.example.membersystem.dto.PointsCampaignRequest;
+import com.example.membersystem.service.PointsCampaignService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 積分活動批次發放控制器
+ */
+@RestController
+@RequestMapping("/points/campaigns")
+@RequiredArgsConstructor
+@Tag(name = "積分活動 API", description = "積分活動批次發放與進度查詢的 API 端點")
+public class PointsCampaignController {
+
+    private final PointsCampaignService pointsCampaignService;
+
+    @PostMapping
+    @Operation(summary = "建立積分活動", description = "向目標會員等級（或所有用戶）的每位用戶發放積分，於背景分片並行執行")
+    @OperationAudit("建立積分活動")
+    public ApiResult<PointsCampaignProgress> create(@Valid @RequestBody PointsCampaignRequest request) {
+        return ApiResult.success(pointsCampaignService.create(request));
+    }
+
+    @GetMapping
+    @Operation(summary = "積分活動列表", description = "最近建立的活動與進度，由新到舊")
+    public ApiResult<List<PointsCampaignProgress>> list(
+            @Parameter(description = "返回筆數（上限 100）")
+            @RequestParam(defaultValue = "20") int limit) {
+        return ApiResult.success(pointsCampaignService.listRecent(limit));
+    }
+
+    @GetMapping("/{campaignId}")
+    @Operation(summary = "查詢積分活動進度", description = "已完成分片、已發放用戶數；執行節點另提供即時速率與預估剩餘時間")
+    public ApiResult<PointsCampaignProgress> getProgress(
+            @Parameter(description = "活動 ID (UUID)") @PathVariable String campaignId) {
+        return ApiResult.success(pointsCampaignService.getProgress(campaignId));
+    }
+
+    @PostMapping("/{campaignId}/resume")
+    @Operation(summary = "續跑積分活動", description = "只處理未完成的分片，已入帳的用戶不會重複發放")
+    @OperationAudit("續跑積分活動")
+    public ApiResult<PointsCampaignProgress> resume(
+            @Parameter(description = "活動 ID (UUID)") @PathVariable String campaignId) {
+        return ApiResult.success(pointsCampaignService.resume(campaignId));
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.membersystem.controller;
+
+import com.example.membersystem.audit.OperationAudit;
+import com.example.membersystem.common.ApiResult;
+import com.example.membersystem.dto.LeaderboardEntry;
+import com.example.membersystem.dto.LeaderboardRebuildResult;
+import com.example.membersystem.dto.PointsBalanceRebuildResult;
+import com.example.membersystem.entity.UserPoints;
+import com.example.membersystem.service.LeaderboardService;
+import com.example.membersystem.service.PointsBalanceService;
+import com.example.membersystem.service.PointsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 積分控制器
+ */
+@RestController
+@RequestMapping("/points")
+@RequiredArgsConstructor
+@Tag(name = "積分 API", description = "積分相關的 API 端點")
+public class PointsController {
+
+    private final PointsBalanceService pointsBalanceService;
+    private final PointsService pointsService;
+    private final LeaderboardService leaderboardService;
+
+    @GetMapping("/balance/{userId}")
+    @Operation(summary = "查詢積分餘額", description = "查詢用戶當前積分餘額")
+    public ApiResult<Long> getBalance(
+            @Parameter(description = "用戶 ID (UUID)", example = "550e8400-e29b-41d4-a716-446655440000")
+            @PathVariable String userId) {
+        return ApiResult.success(pointsBalanceService.getBalance(userId));
+    }
+
+    @GetMapping("/history/{userId}")
+    @Operation(summary = "查詢積分流水", description = "依時間由新到舊返回，近期流水與已歸檔的冷資料合併查詢")
+    public ApiResult<List<UserPoints>> getHistory(
+            @Parameter(description = "用戶 ID (UUID)", example = "550e8400-e29b-41d4-a716-446655440000")
+            @PathVariable String userId,
+            @Parameter(description = "起始時間（含），例如 2024-01-01T00:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "結束時間（不含）")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "最多返回筆數（上限 500）")
+            @RequestParam(defaultValue = "50") int limit) {
+        return ApiResult.success(pointsService.history(userId, from, to, limit));
+    }
+
+    @PostMapping("/balance/rebuild")
+    @Operation(summary = "重建積分餘額快照", description = "由積分流水並行重建所有用戶的餘額快照，應於暫停積分寫入時執行")
+    @OperationAudit("重建積分餘額快照")
+    public ApiResult<PointsBalanceRebuildResult> rebuildBalance() {
+        return ApiResult.success(pointsBalanceService.rebuild());
+    }
+
+    @GetMapping("/leaderboard")
+    @Operation(summary = "積分排行榜", description = "積分最高的前 N 名")
+    public ApiResult<List<LeaderboardEntry>> getLeaderboard(
+            @Parameter(description = "返回名次數（上限見 member.points.leaderboard.max-range）")
+            @RequestParam(defaultValue = "100") int limit) {
+        return ApiResult.success(leaderboardService.top(limit));
+    }
+
+    @GetMapping("/leaderboard/{userId}")
+    @Operation(summary = "查詢用戶名次", description = "未上榜時名次為 null")
+    public ApiResult<LeaderboardEntry> getRank(
+            @Parameter(description = "用戶 ID (UUID)", example = "550e8400-e29b-41d4-a716-446655440000")
+            @PathVariable String userId) {
+        return ApiResult.success(leaderboardService.rankOf(userId));
+    }
+
+    @GetMapping("/leaderboard/{userId}/around")
+    @Operation(summary = "查詢用戶附近名次", description = "用戶名次前後各 radius 名，含用戶本身")
+    public ApiResult<List<LeaderboardEntry>> getAround(
+            @Parameter(description = "用戶 ID (UUID)", example = "550e8400-e29b-41d4-a716-446655440000")
+            @PathVariable String userId,
+            @Parameter(description = "前後各取的名次數")
+            @RequestParam(defaultValue = "5") int radius) {
+        return ApiResult.success(leaderboardService.around(userId, radius));
+    }
+
+    @PostMapping("/leaderboard/rebuild")
+    @Operation(summary = "重建積分排行榜", description = "由餘額快照重建排行榜，重建期間的積分變動仍即時生效")
+    @OperationAudit("重建積分排行榜")
+    public ApiResult<LeaderboardRebuildResult> rebuildLeaderboard() {
+        return ApiResult.success(leaderboardService.rebuild());
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.membersystem.controller;
+
+import com.example.membersystem.audit.OperationAudit;
+import com.example.membersystem.common.ApiResult;
+import com.example.membersystem.converter.UserProfileConverter;
+import com.example.membersystem.dto.UserImportResult;
+import com.example.membersystem.dto.UserProfileDTO;
+import com.example.membersystem.service.UserImportService;
+import com.example.membersystem.service.UserImportService.ImportFormat;
+import com.example.membersystem.service.UserProfileService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * 用戶控制器
+ */
+@RestController
+@RequestMapping("/user")
+@RequiredArgsConstructor
+@Tag(name = "用戶 API", description = "用戶資料相關的 API 端點")
+public class UserController {
+
+    private final UserProfileService userProfileService;
+    private final UserProfileConverter userProfileConverter;
+    private final UserImportService userImportService;
+
+    @GetMapping("/{id}/profile")
+    @Operation(summary = "獲取用戶資料", description = "獲取包含角色、權限、積分與會員等級的完整用戶資料")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "成功返回用戶資料"),
+            @ApiResponse(responseCode = "404", description = "用戶不存在")
+    })
+    public ApiResult<UserProfileDTO> getProfile(
+            @Parameter(description = "用戶 ID (UUID)", example = "550e8400-e29b-41d4-a716-446655440000")
+            @PathVariable String id) {
+        return ApiResult.success(userProfileConverter.toProfile(userProfileService.getProfile(id)));
+    }
+
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson", MediaType.TEXT_PLAIN_VALUE,
+            MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    @Operation(summary = "批量匯入用戶", description = "請求體直接串流 CSV 或 JSONL 檔案；重複或不合法的行記入拒絕行報告，不中斷匯入",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(content = {
+                    @Content(mediaType = "text/csv"), @Content(mediaType = "application/x-ndjson")}))
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "匯入完成，返回統計與報告ID"),
+            @ApiResponse(responseCode = "409", description = "已有匯入任務執行中")
+    })
+    @OperationAudit("批量匯入用戶")
+    public ApiResult<UserImportResult> importUsers(
+            @Parameter(description = "檔案格式：csv / jsonl", example = "csv")
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletRequest request) throws IOException {
+        return ApiResult.success(userImportService.importUsers(request.getInputStream(), ImportFormat.resolve(format)));
+    }
+
+    @GetMapping("/import/{importId}/report")
+    @Operation(summary = "下載匯入拒絕行報告", description = "CSV 格式：line,username,email,reason")
+    public ResponseEntity<Resource> getImportReport(
+            @Parameter(description = "匯入任務ID")
+            @PathVariable String importId) {
+        Path report = userImportService.getRejectedReport(importId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/csv;charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + report.getFileName() + "\"")
+                .body(new FileSystemResource(report));
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.membersystem.converter;
+
+import com.example.membersystem.dto.UserProfileDTO;
+import com.example.membersystem.entity.Permission;
+import com.example.membersystem.entity.Role;
+import com.example.membersystem.entity.User;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+/**
+ * 用戶實體與資料回應的轉換（編譯期產生實作）
+ */
+@Mapper(componentModel = "spring")
+public interface UserProfileConverter {
+
+    @Mapping(target = "roleCodes", source = "roles")
+    @Mapping(target = "permissionCodes", source = "permissions")
+    @Mapping(target = "memberLevelName", source = "memberLevel.name")
+    @Mapping(target = "memberLevel", source = "memberLevel.level")
+    @Mapping(target = "discountRate", source = "memberLevel.discountRate")
+    UserProfileDTO toProfile(User user);
+
+    List<String> toRoleCodes(List<Role> roles);
+
+    List<String> toPermissionCodes(List<Permission> permissions);
+
+    default String toCode(Role role) {
+        return role.getCode();
+    }
+
+    default String toCode(Permission permission) {
+        return permission.getCode();
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.membersystem.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 以公平信號量限制同時借出連線數的資料來源
+ * 虛擬執行緒模式下數千個請求可能同時取連線：在信號量上排隊的虛擬執行緒只是掛起的 continuation，
+ * 不佔用平台執行緒，也不會全部擠進連線池內部的等待佇列。許可數與連線池大小一致，連線關閉時歸還許可。
+ * <p>
+ * 取代連線池成為資料來源 Bean 後，由容器關閉時呼叫 {@link #close()} 一併關閉底層連線池。
+ */
+public class ConnectionGatedDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Timer waitTimer;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    public ConnectionGatedDataSource(DataSource target, int permits, Duration acquireTimeout,
+                                     MeterRegistry meterRegistry) {
+        super(target);
+        this.permits = new Semaphore(permits, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.waitTimer = Timer.builder("member.datasource.gate.wait")
+                .description("等待資料庫連線許可的時間")
+                .register(meterRegistry);
+        Gauge.builder("member.datasource.gate.waiting", waiting, AtomicInteger::get)
+                .description("等待資料庫連線許可的請求數")
+                .register(meterRegistry);
+        Gauge.builder("member.datasource.gate.available", this.permits, Semaphore::availablePermits)
+                .description("剩餘資料庫連線許可數")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return gate(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return gate(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 關閉底層連線池（只關閉一次）
+     */
+    @Override
+    public void close() throws Exception {
+        if (closed.compareAndSet(false, true) && getTargetDataSource() instanceof AutoCloseable pool) {
+            pool.close();
+        }
+    }
+
+    /**
+     * 目前等待許可的請求數
+     */
+    public int getWaiting() {
+        return waiting.get();
+    }
+
+    private void acquire() throws SQLException {
+        long start = System.nanoTime();
+        waiting.incrementAndGet();
+        try {
+            if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "等待資料庫連線逾時 (" + TimeUnit.NANOSECONDS.toMillis(acquireTimeoutNanos) + "ms)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("等待資料庫連線時被中斷", e);
+        } finally {
+            waiting.decrementAndGet();
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Connection gate(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                        try {
+                            connection.close();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                permits.release();
+                            }
+                        }
+                        return null;
+                    }
+                    if ("unwrap".equals(method.getName()) && ((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
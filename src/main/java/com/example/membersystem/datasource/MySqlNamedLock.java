@@ -0,0 +1,52 @@
+package com.example.membersystem.datasource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * MySQL 命名鎖（GET_LOCK / RELEASE_LOCK）
+ * 鎖綁定在連線上，持有期間佔用一條專用連線；用於多節點部署時讓背景維護任務同一時間只在一個節點執行。
+ */
+public final class MySqlNamedLock implements AutoCloseable {
+
+    private final Connection connection;
+    private final String name;
+
+    private MySqlNamedLock(Connection connection, String name) {
+        this.connection = connection;
+        this.name = name;
+    }
+
+    /**
+     * 嘗試取得鎖，不等待
+     *
+     * @return 取得時返回鎖物件（以 try-with-resources 釋放）；已被其他連線持有時返回 null
+     */
+    public static MySqlNamedLock tryAcquire(DataSource dataSource, String name) throws SQLException {
+        Connection connection = dataSource.getConnection();
+        try (PreparedStatement statement = connection.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+            statement.setString(1, name);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (resultSet.next() && resultSet.getInt(1) == 1) {
+                    return new MySqlNamedLock(connection, name);
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+        connection.close();
+        return null;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try (connection; PreparedStatement statement = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            statement.setString(1, name);
+            statement.execute();
+        }
+    }
+}
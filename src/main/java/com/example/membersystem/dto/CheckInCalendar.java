@@ -0,0 +1,31 @@
+package com.example.membersystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.util.List;
+
+/**
+ * 月簽到日曆
+ */
+@Data
+@Accessors(chain = true)
+@Schema(description = "月簽到日曆")
+public class CheckInCalendar {
+
+    @Schema(description = "月份", example = "2026-10")
+    private String month;
+
+    @Schema(description = "已簽到的日期（當月第幾天）", example = "[1, 2, 5]")
+    private List<Integer> days;
+
+    @Schema(description = "本月簽到天數", example = "3")
+    private Integer monthTotal;
+
+    @Schema(description = "截至今天的連續簽到天數", example = "2")
+    private Integer streak;
+
+    @Schema(description = "今天是否已簽到", example = "true")
+    private Boolean checkedInToday;
+}
@@ -0,0 +1,34 @@
+package com.example.membersystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.time.LocalDate;
+
+/**
+ * 簽到結果
+ */
+@Data
+@Accessors(chain = true)
+@Schema(description = "簽到結果")
+public class CheckInResult {
+
+    @Schema(description = "簽到日期", example = "2026-10-17")
+    private LocalDate date;
+
+    @Schema(description = "今天是否已簽到過（重複簽到不發放積分）", example = "false")
+    private Boolean alreadyCheckedIn;
+
+    @Schema(description = "本次獲得的積分", example = "14")
+    private Long awardedPoints;
+
+    @Schema(description = "連續簽到天數", example = "3")
+    private Integer streak;
+
+    @Schema(description = "本月簽到天數", example = "12")
+    private Integer monthTotal;
+
+    @Schema(description = "簽到後積分餘額", example = "1280")
+    private Long balance;
+}
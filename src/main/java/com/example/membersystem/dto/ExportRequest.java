@@ -0,0 +1,42 @@
+package com.example.membersystem.dto;
+
+import com.example.membersystem.exception.BusinessException;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * 匯出請求參數
+ */
+@Data
+@Schema(description = "匯出請求參數")
+public class ExportRequest {
+
+    @Schema(description = "檔案格式：csv / ndjson", example = "csv", defaultValue = "csv")
+    private String format = "csv";
+
+    @Schema(description = "是否以 gzip 壓縮", example = "false", defaultValue = "false")
+    private Boolean gzip = false;
+
+    @Schema(description = "建立時間起（含）", example = "2025-06-01T00:00:00")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    @Schema(description = "建立時間迄（不含）", example = "2025-07-01T00:00:00")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    @Schema(description = "用戶 ID (UUID)，僅積分流水與操作日誌適用")
+    private String userId;
+
+    /**
+     * 校驗時間範圍（須在開始寫出回應前呼叫，串流開始後無法再返回錯誤狀態碼）
+     */
+    public void validateTimeRange() {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new BusinessException(400, "建立時間起必須早於建立時間迄");
+        }
+    }
+}
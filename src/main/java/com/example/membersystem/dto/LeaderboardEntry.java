@@ -0,0 +1,26 @@
+package com.example.membersystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * 積分排行榜項目
+ */
+@Data
+@Accessors(chain = true)
+@Schema(description = "積分排行榜項目")
+public class LeaderboardEntry {
+
+    @Schema(description = "名次（從 1 開始），未上榜時為 null", example = "1")
+    private Long rank;
+
+    @Schema(description = "用戶 ID (UUID)", example = "550e8400-e29b-41d4-a716-446655440000")
+    private String userId;
+
+    @Schema(description = "用戶名", example = "john_doe")
+    private String username;
+
+    @Schema(description = "積分餘額", example = "12800")
+    private Long points;
+}
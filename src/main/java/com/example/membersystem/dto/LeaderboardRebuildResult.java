@@ -0,0 +1,23 @@
+package com.example.membersystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * 積分排行榜重建結果
+ */
+@Data
+@Accessors(chain = true)
+@Schema(description = "積分排行榜重建結果")
+public class LeaderboardRebuildResult {
+
+    @Schema(description = "載入的用戶數", example = "100000")
+    private Long users;
+
+    @Schema(description = "重建後排行榜中的用戶數（含重建期間新增的用戶）", example = "100012")
+    private Long size;
+
+    @Schema(description = "耗時(毫秒)", example = "3500")
+    private Long elapsedMillis;
+}
@@ -0,0 +1,24 @@
+package com.example.membersystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/**
+ * 登入請求
+ */
+@Data
+@Schema(description = "登入請求")
+public class LoginRequest {
+
+    @NotBlank(message = "用戶名不能為空")
+    @Size(max = 50, message = "用戶名不能超過 50 字元")
+    @Schema(description = "用戶名", example = "alice")
+    private String username;
+
+    @NotBlank(message = "密碼不能為空")
+    @Size(max = 72, message = "密碼不能超過 72 字元")
+    @Schema(description = "密碼", example = "secret123")
+    private String password;
+}
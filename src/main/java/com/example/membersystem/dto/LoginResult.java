@@ -0,0 +1,26 @@
+package com.example.membersystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * 登入結果
+ */
+@Data
+@Accessors(chain = true)
+@Schema(description = "登入結果")
+public class LoginResult {
+
+    @Schema(description = "用戶ID")
+    private String userId;
+
+    @Schema(description = "Access Token")
+    private String accessToken;
+
+    @Schema(description = "Token 類型", example = "Bearer")
+    private String tokenType;
+
+    @Schema(description = "有效期(秒)", example = "7200")
+    private Long expiresIn;
+}
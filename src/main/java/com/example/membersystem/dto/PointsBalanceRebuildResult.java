@@ -0,0 +1,23 @@
+package com.example.membersystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * 積分餘額快照重建結果
+ */
+@Data
+@Accessors(chain = true)
+@Schema(description = "積分餘額快照重建結果")
+public class PointsBalanceRebuildResult {
+
+    @Schema(description = "處理的用戶數", example = "100000")
+    private Long users;
+
+    @Schema(description = "處理的批次數", example = "100")
+    private Long batches;
+
+    @Schema(description = "耗時(毫秒)", example = "3500")
+    private Long elapsedMillis;
+}
@@ -0,0 +1,61 @@
+package com.example.membersystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.time.LocalDateTime;
+
+/**
+ * 積分活動發放進度
+ */
+@Data
+@Accessors(chain = true)
+@Schema(description = "積分活動發放進度")
+public class PointsCampaignProgress {
+
+    @Schema(description = "活動 ID")
+    private String id;
+
+    @Schema(description = "活動名稱", example = "週年慶回饋")
+    private String name;
+
+    @Schema(description = "每位用戶發放的積分", example = "100")
+    private Long points;
+
+    @Schema(description = "目標會員等級 ID，空表示所有用戶")
+    private String levelId;
+
+    @Schema(description = "狀態：PLANNING / RUNNING / COMPLETED / FAILED", example = "RUNNING")
+    private String status;
+
+    @Schema(description = "分片總數（切分中為 0）", example = "5000")
+    private Integer totalChunks;
+
+    @Schema(description = "已完成分片數", example = "1200")
+    private Integer completedChunks;
+
+    @Schema(description = "已發放用戶數", example = "1180000")
+    private Long awardedUsers;
+
+    @Schema(description = "完成百分比", example = "24.0")
+    private Double percent;
+
+    @Schema(description = "本次執行的發放速率（用戶/秒），僅由執行中的節點提供", example = "25000.0")
+    private Double usersPerSecond;
+
+    @Schema(description = "預估剩餘秒數，僅由執行中的節點提供", example = "152")
+    private Long estimatedRemainingSeconds;
+
+    @Schema(description = "最近一次失敗原因")
+    private String errorMsg;
+
+    @Schema(description = "創建時間")
+    private LocalDateTime createTime;
+
+    @Schema(description = "開始發放時間")
+    private LocalDateTime startTime;
+
+    @Schema(description = "結束時間")
+    private LocalDateTime finishTime;
+}
@@ -0,0 +1,29 @@
+package com.example.membersystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/**
+ * 積分活動批次發放請求
+ */
+@Data
+@Schema(description = "積分活動批次發放請求")
+public class PointsCampaignRequest {
+
+    @NotBlank(message = "活動名稱不能為空")
+    @Size(max = 100, message = "活動名稱不能超過 100 字元")
+    @Schema(description = "活動名稱（寫入積分流水描述）", example = "週年慶回饋")
+    private String name;
+
+    @NotNull(message = "發放積分不能為空")
+    @Positive(message = "發放積分必須大於 0")
+    @Schema(description = "每位用戶發放的積分", example = "100")
+    private Long points;
+
+    @Schema(description = "目標會員等級 ID，不填表示所有正常狀態的用戶")
+    private String levelId;
+}
@@ -0,0 +1,39 @@
+package com.example.membersystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/**
+ * 註冊請求
+ */
+@Data
+@Schema(description = "註冊請求")
+public class RegisterRequest {
+
+    @NotBlank(message = "用戶名不能為空")
+    @Size(max = 50, message = "用戶名不能超過 50 字元")
+    @Schema(description = "用戶名", example = "alice")
+    private String username;
+
+    @NotBlank(message = "郵箱不能為空")
+    @Email(message = "郵箱格式不正確")
+    @Size(max = 100, message = "郵箱不能超過 100 字元")
+    @Schema(description = "郵箱", example = "alice@example.com")
+    private String email;
+
+    @NotBlank(message = "密碼不能為空")
+    @Size(min = 6, max = 72, message = "密碼長度須為 6~72 字元")
+    @Schema(description = "密碼", example = "secret123")
+    private String password;
+
+    @Size(max = 20, message = "手機號碼不能超過 20 字元")
+    @Schema(description = "手機號碼", example = "0912345678")
+    private String phone;
+
+    @Size(max = 50, message = "暱稱不能超過 50 字元")
+    @Schema(description = "暱稱", example = "Alice")
+    private String nickname;
+}
@@ -0,0 +1,52 @@
+package com.example.membersystem.dto;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 資料表範圍分區資訊（information_schema.PARTITIONS）
+ */
+@Data
+@Accessors(chain = true)
+public class TablePartition {
+
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /**
+     * 分區名稱
+     */
+    private String name;
+
+    /**
+     * 分區上界（VALUES LESS THAN 的值，如 '2026-11-01 00:00:00' 或 MAXVALUE）
+     */
+    private String description;
+
+    /**
+     * InnoDB 統計的估算行數
+     */
+    private Long estimatedRows;
+
+    /**
+     * 是否為 MAXVALUE 兜底分區
+     */
+    public boolean isMaxValue() {
+        return description == null || "MAXVALUE".equalsIgnoreCase(description.trim());
+    }
+
+    /**
+     * 分區上界（不含），MAXVALUE 分區返回 null
+     */
+    public LocalDateTime upperBound() {
+        if (isMaxValue()) {
+            return null;
+        }
+        String value = description.trim().replace("'", "");
+        return value.length() == 10
+                ? LocalDateTime.parse(value + " 00:00:00", BOUND_FORMAT)
+                : LocalDateTime.parse(value, BOUND_FORMAT);
+    }
+}
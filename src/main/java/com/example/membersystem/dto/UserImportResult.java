@@ -0,0 +1,29 @@
+package com.example.membersystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * 用戶批量匯入結果
+ */
+@Data
+@Accessors(chain = true)
+@Schema(description = "用戶批量匯入結果")
+public class UserImportResult {
+
+    @Schema(description = "匯入任務ID，用於下載拒絕行報告")
+    private String importId;
+
+    @Schema(description = "讀取的資料行數", example = "1000000")
+    private Long total;
+
+    @Schema(description = "成功匯入行數", example = "998000")
+    private Long imported;
+
+    @Schema(description = "拒絕行數", example = "2000")
+    private Long rejected;
+
+    @Schema(description = "耗時(毫秒)", example = "42000")
+    private Long elapsedMillis;
+}
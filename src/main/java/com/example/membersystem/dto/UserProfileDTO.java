@@ -0,0 +1,58 @@
+package com.example.membersystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 用戶資料回應（不含密碼等敏感欄位）
+ */
+@Data
+@Schema(description = "用戶資料")
+public class UserProfileDTO {
+
+    @Schema(description = "用戶ID")
+    private String id;
+
+    @Schema(description = "用戶名")
+    private String username;
+
+    @Schema(description = "郵箱")
+    private String email;
+
+    @Schema(description = "手機號碼")
+    private String phone;
+
+    @Schema(description = "暱稱")
+    private String nickname;
+
+    @Schema(description = "頭像URL")
+    private String avatar;
+
+    @Schema(description = "狀態：1=正常, 0=禁用", example = "1")
+    private Integer status;
+
+    @Schema(description = "角色代碼列表")
+    private List<String> roleCodes;
+
+    @Schema(description = "權限代碼列表")
+    private List<String> permissionCodes;
+
+    @Schema(description = "當前積分餘額", example = "1200")
+    private Long currentPoints;
+
+    @Schema(description = "會員等級名稱")
+    private String memberLevelName;
+
+    @Schema(description = "會員等級")
+    private Integer memberLevel;
+
+    @Schema(description = "會員折扣率")
+    private BigDecimal discountRate;
+
+    @Schema(description = "註冊時間")
+    private LocalDateTime createTime;
+}
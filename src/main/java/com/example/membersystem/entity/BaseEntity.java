@@ -15,7 +15,7 @@ import java.time.LocalDateTime;
 public abstract class BaseEntity {
     /**
      * 主鍵ID (UUID)
-     * 使用 ASSIGN_UUID 策略自動生成 UUID
+     * 使用 ASSIGN_UUID 策略自動生成時間有序的 UUID v7（見 MybatisPlusConfig）
      */
     @TableId(value = "id", type = IdType.ASSIGN_UUID)
     private String id;
@@ -42,10 +42,10 @@ public class Permission extends BaseEntity {
     private String method;
 
     /**
-     * 父權限ID
+     * 父權限ID (UUID)
      */
     @TableField("parent_id")
-    private Long parentId;
+    private String parentId;
 
     /**
      * 類型：1=菜單, 2=按鈕, 3=API
@@ -0,0 +1,103 @@
+package com.example.membersystem.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.time.LocalDateTime;
+
+/**
+ * 積分活動批次發放實體類
+ */
+@Data
+@Accessors(chain = true)
+@TableName("points_campaign")
+public class PointsCampaign {
+
+    /**
+     * 活動ID (UUID)
+     */
+    @TableId(value = "id", type = IdType.ASSIGN_UUID)
+    private String id;
+
+    /**
+     * 活動名稱
+     */
+    @TableField("name")
+    private String name;
+
+    /**
+     * 每位用戶發放的積分
+     */
+    @TableField("points")
+    private Long points;
+
+    /**
+     * 目標會員等級ID，null 表示所有正常狀態的用戶
+     */
+    @TableField("level_id")
+    private String levelId;
+
+    /**
+     * 建立時目標等級的最小積分
+     */
+    @TableField("min_balance")
+    private Long minBalance;
+
+    /**
+     * 建立時目標等級的最大積分，null 表示無上限
+     */
+    @TableField("max_balance")
+    private Long maxBalance;
+
+    /**
+     * 狀態，見 {@link com.example.membersystem.enums.PointsCampaignStatus}
+     */
+    @TableField("status")
+    private Integer status;
+
+    /**
+     * 分片總數
+     */
+    @TableField("total_chunks")
+    private Integer totalChunks;
+
+    /**
+     * 已完成分片數
+     */
+    @TableField("completed_chunks")
+    private Integer completedChunks;
+
+    /**
+     * 已發放用戶數
+     */
+    @TableField("awarded_users")
+    private Long awardedUsers;
+
+    /**
+     * 最近一次失敗原因
+     */
+    @TableField("error_msg")
+    private String errorMsg;
+
+    /**
+     * 創建時間
+     */
+    @TableField("create_time")
+    private LocalDateTime createTime;
+
+    /**
+     * 開始發放時間
+     */
+    @TableField("start_time")
+    private LocalDateTime startTime;
+
+    /**
+     * 結束時間
+     */
+    @TableField("finish_time")
+    private LocalDateTime finishTime;
+}
@@ -0,0 +1,40 @@
+package com.example.membersystem.entity;
+
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * 積分活動發放分片實體類
+ * 覆蓋用戶ID區間 (startAfter, endId]
+ */
+@Data
+@Accessors(chain = true)
+@TableName("points_campaign_chunk")
+public class PointsCampaignChunk {
+
+    /**
+     * 活動ID
+     */
+    @TableField("campaign_id")
+    private String campaignId;
+
+    /**
+     * 分片序號
+     */
+    @TableField("chunk_no")
+    private Integer chunkNo;
+
+    /**
+     * 用戶ID下界（不含），第一個分片為空字串
+     */
+    @TableField("start_after")
+    private String startAfter;
+
+    /**
+     * 用戶ID上界（含）
+     */
+    @TableField("end_id")
+    private String endId;
+}
@@ -0,0 +1,37 @@
+package com.example.membersystem.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.time.LocalDateTime;
+
+/**
+ * 用戶積分餘額快照實體類
+ */
+@Data
+@Accessors(chain = true)
+@TableName("user_points_balance")
+public class UserPointsBalance {
+
+    /**
+     * 用戶ID (UUID)
+     */
+    @TableId(value = "user_id", type = IdType.INPUT)
+    private String userId;
+
+    /**
+     * 當前積分餘額
+     */
+    @TableField("balance")
+    private Long balance;
+
+    /**
+     * 更新時間
+     */
+    @TableField("update_time")
+    private LocalDateTime updateTime;
+}
@@ -0,0 +1,50 @@
+package com.example.membersystem.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 積分活動發放狀態枚舉
+ */
+@Getter
+@AllArgsConstructor
+public enum PointsCampaignStatus {
+
+    /**
+     * 切分用戶ID區間中
+     */
+    PLANNING(0, "切分中"),
+
+    /**
+     * 發放中
+     */
+    RUNNING(1, "執行中"),
+
+    /**
+     * 全部分片已完成
+     */
+    COMPLETED(2, "已完成"),
+
+    /**
+     * 分片失敗，可續跑
+     */
+    FAILED(3, "失敗");
+
+    private final Integer code;
+    private final String description;
+
+    /**
+     * 根據代碼獲取枚舉
+     */
+    public static PointsCampaignStatus getByCode(Integer code) {
+        if (code == null) {
+            return null;
+        }
+        for (PointsCampaignStatus status : values()) {
+            if (status.getCode().equals(code)) {
+                return status;
+            }
+        }
+        return null;
+    }
+}
@@ -3,6 +3,7 @@ package com.example.membersystem.exception;
 import com.example.membersystem.common.ApiResult;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindException;
@@ -42,6 +43,21 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(e.getCode()).body(result);
     }
 
+    /**
+     * 處理請求頻率超限異常
+     */
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ApiResult<Void>> handleRateLimitExceededException(
+            RateLimitExceededException e, HttpServletRequest request) {
+
+        log.warn("請求頻率超限 - URL: {}, 客戶端: {}", request.getRequestURL(), request.getRemoteAddr());
+
+        ApiResult<Void> result = ApiResult.error(e.getCode(), e.getMessage());
+        return ResponseEntity.status(e.getCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(result);
+    }
+
     /**
      * 處理參數驗證異常 (@Valid)
      */
@@ -0,0 +1,14 @@
+package com.example.membersystem.exception;
+
+/**
+ * 積分餘額不足異常
+ */
+public class InsufficientPointsException extends BusinessException {
+    public InsufficientPointsException(String message) {
+        super(400, message);
+    }
+
+    public InsufficientPointsException() {
+        super(400, "積分餘額不足");
+    }
+}
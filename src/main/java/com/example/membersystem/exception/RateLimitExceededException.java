@@ -0,0 +1,20 @@
+package com.example.membersystem.exception;
+
+import lombok.Getter;
+
+/**
+ * 請求頻率超限異常
+ */
+@Getter
+public class RateLimitExceededException extends BusinessException {
+
+    /**
+     * 建議的重試等待秒數
+     */
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(long retryAfterSeconds) {
+        super(429, "請求過於頻繁，請稍後再試");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.membersystem.export;
+
+import java.util.function.Function;
+
+/**
+ * 匯出欄位定義
+ *
+ * @param name   欄位名稱（CSV 標題 / JSON 屬性名）
+ * @param getter 取值函數
+ */
+public record ExportColumn<T>(String name, Function<T, ?> getter) {
+}
@@ -0,0 +1,34 @@
+package com.example.membersystem.export;
+
+/**
+ * 匯出檔案格式
+ */
+public enum ExportFormat {
+
+    CSV("text/csv", "csv"),
+
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * 依參數判斷格式，無法判斷時視為 CSV
+     */
+    public static ExportFormat resolve(String value) {
+        return value != null && (value.equalsIgnoreCase("ndjson") || value.equalsIgnoreCase("jsonl")) ? NDJSON : CSV;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.membersystem.importer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * 以 64 位指紋儲存字串的開放定址集合（非執行緒安全）
+ * 每個元素約佔 8~16 位元組，百萬級用戶名/郵箱只需十數 MB；
+ * 指紋碰撞機率約 n²/2⁶⁵（百萬級約一千萬分之一），碰撞只會造成誤拒並記入拒絕報告，不會寫入重複資料。
+ */
+public class FingerprintSet {
+
+    private static final double LOAD_FACTOR = 0.6;
+
+    private long[] table;
+    private int size;
+    private int threshold;
+
+    public FingerprintSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        this.table = new long[capacity];
+        this.threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * 不區分大小寫的指紋（與 utf8mb4_unicode_ci 唯一索引的大小寫規則一致）
+     */
+    public static long fingerprint(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : value.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001B3L;
+        }
+        hash = (hash ^ (hash >>> 33)) * 0xFF51AFD7ED558CCDL;
+        hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        // 0 保留為空槽標記
+        return hash == 0 ? 1 : hash;
+    }
+
+    public boolean contains(long fingerprint) {
+        int mask = table.length - 1;
+        for (int i = (int) fingerprint & mask; ; i = (i + 1) & mask) {
+            long slot = table[i];
+            if (slot == 0) {
+                return false;
+            }
+            if (slot == fingerprint) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 加入指紋
+     *
+     * @return 原本不存在時返回 true
+     */
+    public boolean add(long fingerprint) {
+        int mask = table.length - 1;
+        int i = (int) fingerprint & mask;
+        while (table[i] != 0) {
+            if (table[i] == fingerprint) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        table[i] = fingerprint;
+        if (++size > threshold) {
+            resize();
+        }
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void resize() {
+        long[] old = table;
+        table = new long[old.length << 1];
+        threshold = (int) (table.length * LOAD_FACTOR);
+        int mask = table.length - 1;
+        for (long fingerprint : old) {
+            if (fingerprint != 0) {
+                int i = (int) fingerprint & mask;
+                while (table[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                table[i] = fingerprint;
+            }
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.membersystem.importer;
+
+import com.example.membersystem.service.UserImportService.ImportFormat;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 逐行讀取 CSV / JSONL 格式的用戶匯入檔案，任何時刻只持有當前一行
+ * CSV 首行為標題（username,email,password,phone,nickname，順序不限），欄位可用雙引號包裹但不可跨行
+ */
+public class UserImportReader implements Closeable {
+
+    private static final List<String> COLUMNS = List.of("username", "email", "password", "phone", "nickname");
+
+    private final BufferedReader reader;
+    private final ImportFormat format;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Integer> columnIndex = new HashMap<>();
+    private long line;
+
+    public UserImportReader(InputStream input, ImportFormat format, ObjectMapper objectMapper) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 64 * 1024);
+        this.format = format;
+        this.objectMapper = objectMapper;
+        if (format == ImportFormat.CSV) {
+            readHeader();
+        }
+    }
+
+    /**
+     * 讀取下一行，檔案結束時返回 null；空行略過
+     *
+     * @throws MalformedRowException 該行無法解析（不影響後續行）
+     */
+    public UserImportRow next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+        } while (text.isBlank());
+        return format == ImportFormat.CSV ? parseCsv(text) : parseJson(text);
+    }
+
+    /**
+     * 最近一次讀取的行號
+     */
+    public long line() {
+        return line;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void readHeader() throws IOException {
+        String header = reader.readLine();
+        line++;
+        if (header == null) {
+            throw new IOException("CSV 檔案缺少標題行");
+        }
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+        List<String> names = splitCsv(header);
+        for (int i = 0; i < names.size(); i++) {
+            columnIndex.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("username", "email", "password")) {
+            if (!columnIndex.containsKey(required)) {
+                throw new IOException("CSV 標題缺少必要欄位: " + required + "，支援欄位 " + COLUMNS);
+            }
+        }
+    }
+
+    private UserImportRow parseCsv(String text) {
+        List<String> fields = splitCsv(text);
+        return new UserImportRow(line, csvField(fields, "username"), csvField(fields, "email"),
+                csvField(fields, "password"), csvField(fields, "phone"), csvField(fields, "nickname"));
+    }
+
+    private String csvField(List<String> fields, String name) {
+        Integer index = columnIndex.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private List<String> splitCsv(String text) {
+        List<String> fields = new ArrayList<>(COLUMNS.size());
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new MalformedRowException(line, "引號未閉合");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private UserImportRow parseJson(String text) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(text);
+        } catch (IOException e) {
+            throw new MalformedRowException(line, "JSON 格式錯誤");
+        }
+        if (node == null || !node.isObject()) {
+            throw new MalformedRowException(line, "每行必須是 JSON 物件");
+        }
+        return new UserImportRow(line, jsonField(node, "username"), jsonField(node, "email"),
+                jsonField(node, "password"), jsonField(node, "phone"), jsonField(node, "nickname"));
+    }
+
+    private static String jsonField(JsonNode node, String name) {
+        JsonNode value = node.get(name);
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        String text = value.asText().trim();
+        return text.isEmpty() ? null : text;
+    }
+
+    /**
+     * 單行解析失敗
+     */
+    public static class MalformedRowException extends RuntimeException {
+
+        private final long line;
+
+        public MalformedRowException(long line, String message) {
+            super(message);
+            this.line = line;
+        }
+
+        public long getLine() {
+            return line;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.membersystem.importer;
+
+/**
+ * 匯入檔案中的一行用戶資料
+ *
+ * @param line 檔案行號（從 1 起算，CSV 含標題行）
+ */
+public record UserImportRow(long line, String username, String email, String password,
+                            String phone, String nickname) {
+}
@@ -0,0 +1,13 @@
+package com.example.membersystem.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.example.membersystem.entity.MemberLevel;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * 會員等級 Mapper
+ * 等級查詢由 {@link com.example.membersystem.service.MemberLevelService} 的記憶體索引處理
+ */
+@Mapper
+public interface MemberLevelMapper extends BaseMapper<MemberLevel> {
+}
@@ -0,0 +1,48 @@
+package com.example.membersystem.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.example.membersystem.entity.OperationLog;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 操作日誌 Mapper
+ */
+@Mapper
+public interface OperationLogMapper extends BaseMapper<OperationLog> {
+
+    /**
+     * 多筆操作日誌一次插入
+     */
+    int insertBatch(@Param("records") List<OperationLog> records);
+
+    /**
+     * 多筆操作日誌一次插入，略過已存在的主鍵
+     */
+    int insertBatchIgnoreDuplicates(@Param("records") List<OperationLog> records);
+
+    /**
+     * 串流匯出操作日誌，逐行從伺服器讀取，須在交易內消費
+     */
+    @Select("""
+            <script>
+            SELECT id, user_id, username, operation, method, params, result, ip, user_agent, execution_time,
+                   status, error_msg, create_time FROM `operation_log`
+            <where>
+            <if test="userId != null">AND user_id = #{userId}</if>
+            <if test="from != null">AND create_time &gt;= #{from}</if>
+            <if test="to != null">AND create_time &lt; #{to}</if>
+            </where>
+            </script>
+            """)
+    @Options(fetchSize = Integer.MIN_VALUE, resultSetType = ResultSetType.FORWARD_ONLY)
+    Cursor<OperationLog> streamByCreateTime(@Param("userId") String userId,
+                                            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
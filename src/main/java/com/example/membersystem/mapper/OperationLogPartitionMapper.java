@@ -0,0 +1,97 @@
+package com.example.membersystem.mapper;
+
+import com.example.membersystem.dto.TablePartition;
+import com.example.membersystem.entity.OperationLog;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
+
+import java.util.List;
+
+/**
+ * 操作日誌分區維護 Mapper
+ * 分區名稱（p_history / pYYYYMM / p_future）與暫存表名稱由分區維護任務產生，不接受外部輸入
+ */
+@Mapper
+public interface OperationLogPartitionMapper {
+
+    /**
+     * operation_log 的分區，依分區順序排列；未分區時返回空列表
+     */
+    @Select("""
+            SELECT PARTITION_NAME AS name, PARTITION_DESCRIPTION AS description, TABLE_ROWS AS estimatedRows
+            FROM information_schema.PARTITIONS
+            WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'operation_log' AND PARTITION_NAME IS NOT NULL
+            ORDER BY PARTITION_ORDINAL_POSITION
+            """)
+    List<TablePartition> selectPartitions();
+
+    /**
+     * 從 p_future 拆分出新的月分區
+     *
+     * @param definitions 分區定義，如 PARTITION `p202701` VALUES LESS THAN ('2027-02-01')
+     */
+    @Update("ALTER TABLE `operation_log` REORGANIZE PARTITION `p_future` INTO "
+            + "(${definitions}, PARTITION `p_future` VALUES LESS THAN (MAXVALUE))")
+    void splitFuturePartition(@Param("definitions") String definitions);
+
+    /**
+     * 刪除分區（連同其資料）
+     */
+    @Update("ALTER TABLE `operation_log` DROP PARTITION `${partition}`")
+    void dropPartition(@Param("partition") String partition);
+
+    /**
+     * 以 operation_log 的結構建立歸檔暫存表（含分區定義，需再移除分區）
+     */
+    @Update("CREATE TABLE `${table}` LIKE `operation_log`")
+    void createArchiveTable(@Param("table") String table);
+
+    /**
+     * 移除暫存表的分區定義，EXCHANGE PARTITION 只接受未分區的表
+     */
+    @Update("ALTER TABLE `${table}` REMOVE PARTITIONING")
+    void removePartitioning(@Param("table") String table);
+
+    /**
+     * 將分區與空的暫存表原子交換，分區的資料移入暫存表，分區變為空
+     */
+    @Update("ALTER TABLE `operation_log` EXCHANGE PARTITION `${partition}` WITH TABLE `${table}`")
+    void exchangePartition(@Param("partition") String partition, @Param("table") String table);
+
+    /**
+     * 尚未匯出完成的歸檔暫存表（上次維護中斷時留下）
+     */
+    @Select("""
+            SELECT TABLE_NAME FROM information_schema.TABLES
+            WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME LIKE 'operation\\_log\\_archive\\_%'
+            ORDER BY TABLE_NAME
+            """)
+    List<String> selectArchiveTables();
+
+    /**
+     * 暫存表的行數
+     */
+    @Select("SELECT COUNT(*) FROM `${table}`")
+    long countTable(@Param("table") String table);
+
+    /**
+     * 串流讀取暫存表的全部資料，須在交易內消費
+     */
+    @Select("""
+            SELECT id, user_id, username, operation, method, params, result, ip, user_agent, execution_time,
+                   status, error_msg, create_time FROM `${table}`
+            """)
+    @Options(fetchSize = Integer.MIN_VALUE, resultSetType = ResultSetType.FORWARD_ONLY)
+    Cursor<OperationLog> streamTable(@Param("table") String table);
+
+    /**
+     * 刪除已匯出的暫存表
+     */
+    @Update("DROP TABLE `${table}`")
+    void dropTable(@Param("table") String table);
+}
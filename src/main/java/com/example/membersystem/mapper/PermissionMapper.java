@@ -0,0 +1,29 @@
+package com.example.membersystem.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.example.membersystem.entity.Permission;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
+
+/**
+ * 權限 Mapper
+ */
+@Mapper
+public interface PermissionMapper extends BaseMapper<Permission> {
+
+    /**
+     * 查詢用戶經由角色取得的有效權限
+     */
+    @Select("""
+            SELECT DISTINCT p.* FROM `permission` p
+            INNER JOIN `role_permission` rp ON rp.permission_id = p.id
+            INNER JOIN `user_role` ur ON ur.role_id = rp.role_id
+            INNER JOIN `role` r ON r.id = ur.role_id AND r.deleted = 0 AND r.status = 1
+            WHERE ur.user_id = #{userId} AND p.deleted = 0 AND p.status = 1
+            ORDER BY p.sort_order
+            """)
+    List<Permission> selectByUserId(@Param("userId") String userId);
+}
@@ -0,0 +1,41 @@
+package com.example.membersystem.mapper;
+
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
+
+/**
+ * 積分流水已歸檔月份 Mapper
+ */
+@Mapper
+public interface PointsArchiveMonthMapper {
+
+    /**
+     * 已歸檔的月份 (yyyy-MM)，由舊到新
+     */
+    @Select("SELECT archive_month FROM `points_archive_month` ORDER BY archive_month")
+    List<String> selectMonths();
+
+    /**
+     * 登記時間已超過指定秒數的月份 (yyyy-MM)，以資料庫時間計算，不受各節點時鐘影響
+     */
+    @Select("""
+            SELECT archive_month FROM `points_archive_month`
+            WHERE create_time <= NOW() - INTERVAL #{seconds} SECOND
+            ORDER BY archive_month
+            """)
+    List<String> selectMonthsRegisteredBefore(@Param("seconds") long seconds);
+
+    /**
+     * 登記已歸檔的月份（段檔案就位後、刪除流水前）
+     */
+    @Insert("""
+            INSERT INTO `points_archive_month` (archive_month, row_count, segment_file)
+            VALUES (#{month}, #{rowCount}, #{segmentFile})
+            """)
+    int insert(@Param("month") String month, @Param("rowCount") long rowCount,
+               @Param("segmentFile") String segmentFile);
+}
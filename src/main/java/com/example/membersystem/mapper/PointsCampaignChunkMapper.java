@@ -0,0 +1,49 @@
+package com.example.membersystem.mapper;
+
+import com.example.membersystem.entity.PointsCampaignChunk;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.List;
+
+/**
+ * 積分活動發放分片 Mapper
+ */
+@Mapper
+public interface PointsCampaignChunkMapper {
+
+    /**
+     * 多筆分片一次插入
+     */
+    int insertBatch(@Param("chunks") List<PointsCampaignChunk> chunks);
+
+    /**
+     * 刪除活動的全部分片（切分中斷後重新切分）
+     */
+    @Delete("DELETE FROM `points_campaign_chunk` WHERE campaign_id = #{campaignId}")
+    int deleteByCampaignId(@Param("campaignId") String campaignId);
+
+    /**
+     * 未完成的分片，依序號排序
+     */
+    @Select("""
+            SELECT campaign_id, chunk_no, start_after, end_id FROM `points_campaign_chunk`
+            WHERE campaign_id = #{campaignId} AND status = 0 ORDER BY chunk_no
+            """)
+    List<PointsCampaignChunk> selectPending(@Param("campaignId") String campaignId);
+
+    /**
+     * 寫入分片檢查點
+     *
+     * @return 0 表示分片已完成過（重複執行）
+     */
+    @Update("""
+            UPDATE `points_campaign_chunk` SET status = 1, awarded_users = #{awardedUsers}, finish_time = NOW()
+            WHERE campaign_id = #{campaignId} AND chunk_no = #{chunkNo} AND status = 0
+            """)
+    int markDone(@Param("campaignId") String campaignId, @Param("chunkNo") int chunkNo,
+                 @Param("awardedUsers") int awardedUsers);
+}
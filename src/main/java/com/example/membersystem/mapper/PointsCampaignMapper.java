@@ -0,0 +1,60 @@
+package com.example.membersystem.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.example.membersystem.entity.PointsCampaign;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.List;
+
+/**
+ * 積分活動批次發放 Mapper
+ */
+@Mapper
+public interface PointsCampaignMapper extends BaseMapper<PointsCampaign> {
+
+    /**
+     * 切分或執行中的活動（節點中斷後由任一節點續跑）
+     */
+    @Select("SELECT id FROM `points_campaign` WHERE status IN (0, 1) ORDER BY id")
+    List<String> selectUnfinishedIds();
+
+    /**
+     * 切分完成，開始發放
+     */
+    @Update("""
+            UPDATE `points_campaign` SET status = 1, total_chunks = #{totalChunks}, start_time = NOW()
+            WHERE id = #{id} AND status = 0
+            """)
+    int markRunning(@Param("id") String id, @Param("totalChunks") int totalChunks);
+
+    /**
+     * 累加已完成的分片與用戶數（與分片檢查點在同一交易內）
+     */
+    @Update("""
+            UPDATE `points_campaign` SET completed_chunks = completed_chunks + 1,
+                awarded_users = awarded_users + #{awardedUsers}
+            WHERE id = #{id}
+            """)
+    int addProgress(@Param("id") String id, @Param("awardedUsers") int awardedUsers);
+
+    /**
+     * 結束發放（完成或失敗）
+     */
+    @Update("""
+            UPDATE `points_campaign` SET status = #{status}, error_msg = #{errorMsg}, finish_time = NOW()
+            WHERE id = #{id}
+            """)
+    int markFinished(@Param("id") String id, @Param("status") int status, @Param("errorMsg") String errorMsg);
+
+    /**
+     * 失敗的活動重新進入執行中（已完成的分片不再處理）
+     */
+    @Update("""
+            UPDATE `points_campaign` SET status = 1, error_msg = NULL, finish_time = NULL
+            WHERE id = #{id} AND status = 3
+            """)
+    int markResumed(@Param("id") String id);
+}
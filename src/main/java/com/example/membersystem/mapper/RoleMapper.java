@@ -0,0 +1,26 @@
+package com.example.membersystem.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.example.membersystem.entity.Role;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
+
+/**
+ * 角色 Mapper
+ */
+@Mapper
+public interface RoleMapper extends BaseMapper<Role> {
+
+    /**
+     * 查詢用戶擁有的有效角色
+     */
+    @Select("""
+            SELECT r.* FROM `role` r
+            INNER JOIN `user_role` ur ON ur.role_id = r.id
+            WHERE ur.user_id = #{userId} AND r.deleted = 0 AND r.status = 1
+            """)
+    List<Role> selectByUserId(@Param("userId") String userId);
+}
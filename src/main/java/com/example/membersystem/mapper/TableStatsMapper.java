@@ -0,0 +1,21 @@
+package com.example.membersystem.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+/**
+ * 資料表統計 Mapper
+ */
+@Mapper
+public interface TableStatsMapper {
+
+    /**
+     * InnoDB 統計的估算行數（不需 COUNT(*) 全表掃描）
+     */
+    @Select("""
+            SELECT TABLE_ROWS FROM information_schema.TABLES
+            WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = #{tableName}
+            """)
+    Long estimateRows(@Param("tableName") String tableName);
+}
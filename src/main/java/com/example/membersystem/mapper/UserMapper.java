@@ -0,0 +1,95 @@
+package com.example.membersystem.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.example.membersystem.entity.User;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 用戶 Mapper
+ */
+@Mapper
+public interface UserMapper extends BaseMapper<User> {
+
+    /**
+     * 依主鍵順序分批查詢用戶ID（keyset）
+     *
+     * @param afterId 上一批最後一個ID，第一批傳空字串
+     */
+    @Select("SELECT id FROM `user` WHERE id > #{afterId} ORDER BY id LIMIT #{limit}")
+    List<String> selectIdsAfter(@Param("afterId") String afterId, @Param("limit") int limit);
+
+    /**
+     * afterId 之後第 offset 個（從 0 開始）用戶ID，只掃描主鍵索引；不存在時返回 null
+     * 用於按固定用戶數切分ID區間
+     */
+    @Select("SELECT id FROM `user` WHERE id > #{afterId} ORDER BY id LIMIT 1 OFFSET #{offset}")
+    String selectIdAtOffset(@Param("afterId") String afterId, @Param("offset") int offset);
+
+    /**
+     * 最大的用戶ID
+     */
+    @Select("SELECT MAX(id) FROM `user`")
+    String selectMaxId();
+
+    /**
+     * 用戶ID區間 (afterId, endId] 內的積分活動發放對象：正常狀態且餘額在範圍內（無快照視為 0）
+     * 已入帳此活動的用戶一併返回，中斷後重跑時名單與計數不因發放後的餘額變化而改變
+     *
+     * @param minBalance 最小餘額（含），可為 null
+     * @param maxBalance 最大餘額（含），可為 null
+     * @param refPrefix  此活動流水的 ref_id 前綴（campaign:活動ID:）
+     */
+    @Select("""
+            <script>
+            SELECT u.id FROM `user` u
+            LEFT JOIN `user_points_balance` b ON b.user_id = u.id
+            WHERE u.id &gt; #{afterId} AND u.id &lt;= #{endId} AND u.deleted = 0 AND u.status = 1
+            <if test="minBalance != null or maxBalance != null">
+            AND ((1 = 1
+                <if test="minBalance != null">AND COALESCE(b.balance, 0) &gt;= #{minBalance}</if>
+                <if test="maxBalance != null">AND COALESCE(b.balance, 0) &lt;= #{maxBalance}</if>)
+              OR EXISTS (SELECT 1 FROM `user_points` p
+                         WHERE p.type = #{type} AND p.ref_id = CONCAT(#{refPrefix}, u.id)))
+            </if>
+            ORDER BY u.id
+            </script>
+            """)
+    List<String> selectCampaignTargets(@Param("afterId") String afterId, @Param("endId") String endId,
+                                       @Param("minBalance") Long minBalance, @Param("maxBalance") Long maxBalance,
+                                       @Param("type") int type, @Param("refPrefix") String refPrefix);
+
+    /**
+     * 依主鍵順序分批查詢用戶名與郵箱（含邏輯刪除的用戶，與唯一索引範圍一致）
+     *
+     * @param afterId 上一批最後一個ID，第一批傳空字串
+     */
+    @Select("SELECT id, username, email FROM `user` WHERE id > #{afterId} ORDER BY id LIMIT #{limit}")
+    List<User> selectIdentitiesAfter(@Param("afterId") String afterId, @Param("limit") int limit);
+
+    /**
+     * 多筆用戶一次插入
+     */
+    int insertBatch(@Param("users") List<User> users);
+
+    /**
+     * 串流匯出用戶（不含密碼），逐行從伺服器讀取，須在交易內消費
+     */
+    @Select("""
+            <script>
+            SELECT id, username, email, phone, nickname, avatar, status, create_time, update_time FROM `user`
+            WHERE deleted = 0
+            <if test="from != null">AND create_time &gt;= #{from}</if>
+            <if test="to != null">AND create_time &lt; #{to}</if>
+            </script>
+            """)
+    @Options(fetchSize = Integer.MIN_VALUE, resultSetType = ResultSetType.FORWARD_ONLY)
+    Cursor<User> streamByCreateTime(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,48 @@
+package com.example.membersystem.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.example.membersystem.entity.UserPointsBalance;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
+
+/**
+ * 用戶積分餘額快照 Mapper
+ */
+@Mapper
+public interface UserPointsBalanceMapper extends BaseMapper<UserPointsBalance> {
+
+    /**
+     * 多筆餘額快照一次寫入（存在則覆蓋）
+     */
+    int upsertBatch(@Param("records") List<UserPointsBalance> records);
+
+    /**
+     * 為尚無快照的用戶建立餘額為 0 的資料列，已存在的資料列不變但同樣被鎖定
+     * 須在交易內呼叫，用戶ID應已排序以避免死鎖
+     */
+    int insertMissing(@Param("userIds") List<String> userIds);
+
+    /**
+     * 鎖定並讀取用戶的餘額快照（SELECT ... FOR UPDATE），須在交易內呼叫
+     * 鎖持有到交易結束，期間其他節點對同一用戶的積分寫入會等待
+     */
+    @Select("""
+            <script>
+            SELECT user_id, balance FROM `user_points_balance` WHERE user_id IN
+            <foreach collection="userIds" item="userId" open="(" separator="," close=")">#{userId}</foreach>
+            ORDER BY user_id FOR UPDATE
+            </script>
+            """)
+    List<UserPointsBalance> selectForUpdate(@Param("userIds") List<String> userIds);
+
+    /**
+     * 依主鍵順序分批查詢餘額快照（用於重建排行榜）
+     *
+     * @param afterUserId 上一批最後一個用戶ID，第一批傳空字串
+     */
+    @Select("SELECT user_id, balance FROM `user_points_balance` WHERE user_id > #{afterUserId} ORDER BY user_id LIMIT #{limit}")
+    List<UserPointsBalance> selectAfter(@Param("afterUserId") String afterUserId, @Param("limit") int limit);
+}
@@ -0,0 +1,114 @@
+package com.example.membersystem.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.example.membersystem.entity.UserPoints;
+import com.example.membersystem.entity.UserPointsBalance;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 用戶積分記錄 Mapper
+ * 當前餘額請查詢 {@link UserPointsBalanceMapper}
+ */
+@Mapper
+public interface UserPointsMapper extends BaseMapper<UserPoints> {
+
+    /**
+     * 由流水加總計算用戶餘額（用於重建餘額快照）
+     *
+     * @param since 只加總此時間（含）之後的流水，之前的已歸檔；可為 null
+     */
+    @Select("""
+            <script>
+            SELECT user_id, SUM(points) AS balance FROM `user_points`
+            WHERE user_id IN
+            <foreach collection="userIds" item="userId" open="(" separator="," close=")">#{userId}</foreach>
+            <if test="since != null">AND create_time &gt;= #{since}</if>
+            GROUP BY user_id
+            </script>
+            """)
+    List<UserPointsBalance> sumBalanceByUserIds(@Param("userIds") Collection<String> userIds,
+                                                @Param("since") LocalDateTime since);
+
+    /**
+     * 多筆積分流水一次插入
+     */
+    int insertBatch(@Param("records") List<UserPoints> records);
+
+    /**
+     * 串流匯出積分流水，逐行從伺服器讀取，須在交易內消費
+     */
+    @Select("""
+            <script>
+            SELECT id, user_id, points, balance, type, description, ref_id, create_time FROM `user_points`
+            <where>
+            <if test="userId != null">AND user_id = #{userId}</if>
+            <if test="from != null">AND create_time &gt;= #{from}</if>
+            <if test="to != null">AND create_time &lt; #{to}</if>
+            </where>
+            </script>
+            """)
+    @Options(fetchSize = Integer.MIN_VALUE, resultSetType = ResultSetType.FORWARD_ONLY)
+    Cursor<UserPoints> streamByCreateTime(@Param("userId") String userId,
+                                          @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * 最早一筆流水的時間
+     */
+    @Select("SELECT MIN(create_time) FROM `user_points`")
+    LocalDateTime selectMinCreateTime();
+
+    /**
+     * 時間範圍內的流水筆數
+     */
+    @Select("SELECT COUNT(*) FROM `user_points` WHERE create_time >= #{from} AND create_time < #{to}")
+    long countByCreateTime(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * 串流讀取待歸檔月份的流水，依用戶分組、組內依時間排序，須在交易內消費
+     */
+    @Select("""
+            SELECT id, user_id, points, balance, type, description, ref_id, create_time FROM `user_points`
+            WHERE create_time >= #{from} AND create_time < #{to}
+            ORDER BY user_id, create_time, id
+            """)
+    @Options(fetchSize = Integer.MIN_VALUE, resultSetType = ResultSetType.FORWARD_ONLY)
+    Cursor<UserPoints> streamForArchive(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * 分批刪除已歸檔的流水，避免單一大交易長時間持有鎖
+     */
+    @Delete("DELETE FROM `user_points` WHERE create_time >= #{from} AND create_time < #{to} LIMIT #{limit}")
+    int deleteByCreateTime(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                           @Param("limit") int limit);
+
+    /**
+     * 用戶某類型流水的創建時間（用於載入本地簽到日曆）
+     */
+    @Select("SELECT create_time FROM `user_points` WHERE user_id = #{userId} AND type = #{type} AND create_time >= #{since}")
+    List<LocalDateTime> selectCreateTimesByType(@Param("userId") String userId, @Param("type") int type,
+                                                @Param("since") LocalDateTime since);
+
+    /**
+     * 依 (type, ref_id) 查詢既有流水（唯一索引衝突時用於返回原交易）
+     *
+     * @param keys 只使用其中的 type 與 refId
+     */
+    @Select("""
+            <script>
+            SELECT id, user_id, points, balance, type, description, ref_id, create_time FROM `user_points`
+            WHERE (type, ref_id) IN
+            <foreach collection="keys" item="key" open="(" separator="," close=")">(#{key.type}, #{key.refId})</foreach>
+            </script>
+            """)
+    List<UserPoints> selectByTypeAndRefIds(@Param("keys") Collection<UserPoints> keys);
+}
@@ -0,0 +1,87 @@
+package com.example.membersystem.mybatis;
+
+import com.example.membersystem.config.SqlMonitorProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * 每個 HTTP 請求的 SQL 語句計數
+ * 以 URI 模板為標籤記錄每次請求執行的語句數；同一語句重複達到門檻時（典型 N+1，例如逐個用戶載入角色）
+ * 記錄結構化警告並計數，請求語句總數過多時同樣記錄警告
+ */
+@Slf4j
+@Component
+public class RequestStatementInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final SqlMonitorProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public RequestStatementInterceptor(SqlMonitorProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestStatementStats.begin();
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        // 非同步請求的後續處理不在此執行緒，放棄統計以免殘留在執行緒上
+        RequestStatementStats.end();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        RequestStatementStats stats = RequestStatementStats.end();
+        if (stats == null) {
+            return;
+        }
+        String uri = uriTemplate(request);
+        DistributionSummary.builder("member.http.statements")
+                .description("每個 HTTP 請求執行的 SQL 語句數")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getTotal());
+        if (stats.getTotal() == 0) {
+            return;
+        }
+        for (Map.Entry<String, Integer> entry : stats.counts().entrySet()) {
+            if (entry.getValue() >= properties.getRepeatedStatementThreshold()) {
+                String statement = StatementMetricsInterceptor.shortName(entry.getKey());
+                Counter.builder("member.mybatis.repeated")
+                        .description("同一請求內重複執行達到門檻的語句（疑似 N+1）")
+                        .tag("uri", uri)
+                        .tag("statement", statement)
+                        .register(meterRegistry)
+                        .increment();
+                log.warn("疑似 N+1 查詢 - uri: {} {}, statement: {}, count: {}, requestStatements: {}",
+                        request.getMethod(), uri, statement, entry.getValue(), stats.getTotal());
+            }
+        }
+        if (stats.getTotal() >= properties.getRequestStatementThreshold()) {
+            log.warn("單一請求 SQL 語句過多 - uri: {} {}, statements: {}, sqlTime: {}ms",
+                    request.getMethod(), uri, stats.getTotal(), stats.getTotalNanos() / 1_000_000);
+        }
+    }
+
+    private static String uriTemplate(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : UNKNOWN_URI;
+    }
+}
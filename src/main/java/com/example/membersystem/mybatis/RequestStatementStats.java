@@ -0,0 +1,71 @@
+package com.example.membersystem.mybatis;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 單一 HTTP 請求內的語句執行統計
+ * 由 {@link RequestStatementInterceptor} 在請求開始時綁定到當前執行緒，{@link StatementMetricsInterceptor} 逐條累加；
+ * 請求以外的執行緒（排程、匯入、串流匯出）沒有綁定，不做統計。
+ */
+public final class RequestStatementStats {
+
+    private static final ThreadLocal<RequestStatementStats> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Counter> statements = new HashMap<>();
+    private int total;
+    private long totalNanos;
+
+    private RequestStatementStats() {
+    }
+
+    /**
+     * 為當前執行緒開始新的統計
+     */
+    public static void begin() {
+        CURRENT.set(new RequestStatementStats());
+    }
+
+    /**
+     * 當前執行緒的統計，未綁定時返回 null
+     */
+    public static RequestStatementStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 結束並解除當前執行緒的統計
+     */
+    public static RequestStatementStats end() {
+        RequestStatementStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    void record(String statementId, long nanos) {
+        total++;
+        totalNanos += nanos;
+        statements.computeIfAbsent(statementId, id -> new Counter()).count++;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * 各語句的執行次數
+     */
+    public Map<String, Integer> counts() {
+        Map<String, Integer> counts = new HashMap<>(statements.size() * 2);
+        statements.forEach((id, counter) -> counts.put(id, counter.count));
+        return counts;
+    }
+
+    private static final class Counter {
+        int count;
+    }
+}
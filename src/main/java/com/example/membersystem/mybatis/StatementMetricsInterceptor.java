@@ -0,0 +1,121 @@
+package com.example.membersystem.mybatis;
+
+import com.example.membersystem.config.SqlMonitorProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MyBatis 語句耗時指標與慢查詢偵測（取代逐條輸出 SQL 的 StdOutImpl）
+ * 以 Mapper 方法（如 UserMapper.selectById）與 SQL 類型為標籤記錄每條語句的執行耗時，
+ * 標籤取值來自有限的 MappedStatement 集合，不含任何參數值。Cursor 查詢只計入開啟游標的耗時。
+ * <p>
+ * 超過慢查詢門檻的語句以警告記錄 Mapper 方法與 SQL；語句同時計入當前 HTTP 請求的統計，供 N+1 偵測。
+ * 未超過門檻時只有一次計時與計數，不產生日誌。
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "update",
+                args = {MappedStatement.class, Object.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class,
+                        CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "queryCursor",
+                args = {MappedStatement.class, Object.class, RowBounds.class})
+})
+@Slf4j
+public class StatementMetricsInterceptor implements Interceptor {
+
+    private final MeterRegistry meterRegistry;
+    private final SqlMonitorProperties properties;
+    private final long slowThresholdNanos;
+    private final Map<String, Timer> successTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> errorTimers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> slowCounters = new ConcurrentHashMap<>();
+
+    public StatementMetricsInterceptor(MeterRegistry meterRegistry, SqlMonitorProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+        this.slowThresholdNanos = properties.getSlowThreshold().toNanos();
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            Object result = invocation.proceed();
+            success = true;
+            return result;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            timer(success ? successTimers : errorTimers, statement, success ? "success" : "error")
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+            RequestStatementStats stats = RequestStatementStats.current();
+            if (stats != null) {
+                stats.record(statement.getId(), elapsed);
+            }
+            if (elapsed >= slowThresholdNanos) {
+                logSlow(statement, invocation.getArgs()[1], elapsed);
+            }
+        }
+    }
+
+    private void logSlow(MappedStatement statement, Object parameter, long elapsedNanos) {
+        String name = shortName(statement.getId());
+        slowCounters.computeIfAbsent(statement.getId(), id -> Counter.builder("member.mybatis.slow")
+                .description("超過慢查詢門檻的語句數")
+                .tag("statement", name)
+                .register(meterRegistry)).increment();
+        log.warn("慢查詢 - statement: {}, mapper: {}, elapsed: {}ms, sql: {}", name, statement.getId(),
+                elapsedNanos / 1_000_000, sql(statement, parameter));
+    }
+
+    /**
+     * 壓縮空白並截斷的 SQL，只含佔位符不含參數值
+     */
+    private String sql(MappedStatement statement, Object parameter) {
+        try {
+            String sql = statement.getBoundSql(parameter).getSql().replaceAll("\\s+", " ").trim();
+            int max = properties.getMaxLoggedSqlLength();
+            return sql.length() > max ? sql.substring(0, max) + "..." : sql;
+        } catch (RuntimeException e) {
+            return "<unavailable>";
+        }
+    }
+
+    private Timer timer(Map<String, Timer> timers, MappedStatement statement, String outcome) {
+        return timers.computeIfAbsent(statement.getId(), id -> Timer.builder("member.mybatis.statement")
+                .description("MyBatis 語句執行耗時")
+                .tag("statement", shortName(id))
+                .tag("command", statement.getSqlCommandType().name())
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    /**
+     * 去掉套件名，只保留「Mapper.方法」
+     */
+    static String shortName(String statementId) {
+        int method = statementId.lastIndexOf('.');
+        int mapper = method > 0 ? statementId.lastIndexOf('.', method - 1) : -1;
+        return mapper >= 0 ? statementId.substring(mapper + 1) : statementId;
+    }
+}
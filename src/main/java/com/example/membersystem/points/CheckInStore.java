@@ -0,0 +1,194 @@
+package com.example.membersystem.points;
+
+import com.example.membersystem.config.CheckInProperties;
+import com.example.membersystem.enums.PointsType;
+import com.example.membersystem.mapper.UserPointsMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.BitFieldSubCommands;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 簽到日曆
+ * 每個用戶每月一個 31 位元的位圖，第 d 天對應位元 d-1：
+ * 啟用 Redis 時為 SETBIT 寫入的字串鍵（SETBIT 返回舊值，重複簽到判斷為原子操作），
+ * 多個月份以 pipeline 的 BITFIELD GET u31 一次取回；未啟用 Redis 時為本地快取中的 int 遮罩，
+ * 首次存取時由積分流水中的簽到紀錄載入，重啟後不會重複發放。
+ * <p>
+ * 月簽到天數為遮罩的 popcount，連續簽到天數以位元運算逐月計算，每月 O(1)。
+ */
+@Component
+public class CheckInStore {
+
+    private static final BitFieldSubCommands READ_MONTH = BitFieldSubCommands.create()
+            .get(BitFieldSubCommands.BitFieldType.unsigned(31)).valueAt(0);
+
+    private final CheckInProperties properties;
+    private final StringRedisTemplate redisTemplate;
+    private final UserPointsMapper userPointsMapper;
+    private final Cache<String, LocalCalendar> localCalendars;
+
+    public CheckInStore(CheckInProperties properties,
+                        UserPointsMapper userPointsMapper,
+                        MeterRegistry meterRegistry,
+                        ObjectProvider<StringRedisTemplate> redisTemplateProvider,
+                        ObjectProvider<RedisMessageListenerContainer> listenerContainerProvider) {
+        this.properties = properties;
+        this.userPointsMapper = userPointsMapper;
+        this.redisTemplate = listenerContainerProvider.getIfAvailable() != null
+                ? redisTemplateProvider.getIfAvailable() : null;
+        this.localCalendars = Caffeine.newBuilder()
+                .maximumSize(properties.getLocalCacheMaximumSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, localCalendars, "checkInCalendar");
+    }
+
+    /**
+     * 標記用戶當天已簽到
+     *
+     * @return 當天首次簽到時返回 true，已簽到過返回 false
+     */
+    public boolean mark(String userId, LocalDate day) {
+        if (redisTemplate == null) {
+            return calendar(userId).set(YearMonth.from(day), day.getDayOfMonth(), true);
+        }
+        String key = key(userId, YearMonth.from(day));
+        long ttlSeconds = properties.getKeyTtl().toSeconds();
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            redis.setBit(key, day.getDayOfMonth() - 1, true);
+            redis.expire(key, ttlSeconds);
+            return null;
+        });
+        return !Boolean.TRUE.equals(results.get(0));
+    }
+
+    /**
+     * 撤銷簽到標記（發放積分失敗時補償）
+     */
+    public void unmark(String userId, LocalDate day) {
+        if (redisTemplate == null) {
+            calendar(userId).set(YearMonth.from(day), day.getDayOfMonth(), false);
+            return;
+        }
+        redisTemplate.opsForValue().setBit(key(userId, YearMonth.from(day)), day.getDayOfMonth() - 1, false);
+    }
+
+    /**
+     * 由 latest 往前共 months 個月的每日遮罩（索引 0 為 latest，第 d 天對應位元 d-1）
+     */
+    public int[] monthMasks(String userId, YearMonth latest, int months) {
+        int[] masks = new int[months];
+        if (redisTemplate == null) {
+            LocalCalendar calendar = calendar(userId);
+            for (int i = 0; i < months; i++) {
+                masks[i] = calendar.get(latest.minusMonths(i));
+            }
+            return masks;
+        }
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            for (int i = 0; i < months; i++) {
+                redis.bitfield(key(userId, latest.minusMonths(i)), READ_MONTH);
+            }
+            return null;
+        });
+        for (int i = 0; i < months; i++) {
+            if (results.get(i) instanceof List<?> values && !values.isEmpty() && values.get(0) instanceof Long value) {
+                masks[i] = fromBitField(value);
+            }
+        }
+        return masks;
+    }
+
+    /**
+     * 連續簽到天數：今天已簽到時從今天往前數，否則從昨天往前數
+     *
+     * @param masks 由今天所在月份往前的每日遮罩（見 {@link #monthMasks}）
+     */
+    public static int streak(int[] masks, LocalDate today) {
+        int day = today.getDayOfMonth();
+        int month = 0;
+        if ((masks[0] & (1 << (day - 1))) == 0) {
+            day--;
+            if (day == 0) {
+                month = 1;
+                day = YearMonth.from(today).minusMonths(1).lengthOfMonth();
+            }
+        }
+        int streak = 0;
+        YearMonth current = YearMonth.from(today).minusMonths(month);
+        for (; month < masks.length; month++, current = current.minusMonths(1)) {
+            // 第 1..day 天中最後一個未簽到的日子
+            int missing = ~masks[month] & (int) ((1L << day) - 1);
+            if (missing != 0) {
+                return streak + day - (32 - Integer.numberOfLeadingZeros(missing));
+            }
+            streak += day;
+            day = current.minusMonths(1).lengthOfMonth();
+        }
+        return streak;
+    }
+
+    /**
+     * BITFIELD GET u31 0 以高位在前返回位元 0..30，轉為第 d 天對應位元 d-1 的遮罩
+     */
+    static int fromBitField(long value) {
+        return Integer.reverse((int) (value << 1));
+    }
+
+    private String key(String userId, YearMonth month) {
+        return properties.getRedisKeyPrefix() + userId + ":"
+                + String.format("%04d%02d", month.getYear(), month.getMonthValue());
+    }
+
+    private LocalCalendar calendar(String userId) {
+        return localCalendars.get(userId, this::loadCalendar);
+    }
+
+    private LocalCalendar loadCalendar(String userId) {
+        LocalDateTime since = YearMonth.now().minusMonths(properties.getStreakLookbackMonths())
+                .atDay(1).atStartOfDay();
+        LocalCalendar calendar = new LocalCalendar();
+        for (LocalDateTime time : userPointsMapper.selectCreateTimesByType(userId, PointsType.CHECK_IN.getCode(),
+                since)) {
+            calendar.set(YearMonth.from(time), time.getDayOfMonth(), true);
+        }
+        return calendar;
+    }
+
+    /**
+     * 本地簽到日曆：月份 -> 每日遮罩
+     */
+    private static final class LocalCalendar {
+
+        private final Map<YearMonth, Integer> months = new HashMap<>();
+
+        synchronized boolean set(YearMonth month, int day, boolean checkedIn) {
+            int mask = months.getOrDefault(month, 0);
+            int bit = 1 << (day - 1);
+            int updated = checkedIn ? mask | bit : mask & ~bit;
+            months.put(month, updated);
+            return (mask & bit) == 0;
+        }
+
+        synchronized int get(YearMonth month) {
+            return months.getOrDefault(month, 0);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.membersystem.points;
+
+import com.example.membersystem.entity.UserPoints;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * 積分流水歸檔段（唯讀）
+ * 一個檔案保存一個月份的流水，整個檔案以記憶體映射開啟，查詢不經過堆內緩衝或系統呼叫。
+ * <pre>
+ * 檔頭（32 位元組）：magic | version | yyyyMM | 用戶數 | 流水筆數 | 索引位置
+ * 資料區：每個用戶一個 Deflate 壓縮區塊，區塊內為該用戶當月流水（依 create_time 升序）
+ * 索引區：依 user_id（UUID 的兩個 long）排序的定長項目，二分搜尋定位區塊
+ *        user_id 高位 | user_id 低位 | 區塊位置 | 壓縮長度 | 原始長度 | 筆數 | 積分合計
+ * </pre>
+ * 由 {@link PointsArchiveSegmentWriter} 產生。
+ */
+public final class PointsArchiveSegment implements Closeable {
+
+    static final int MAGIC = 0x50545347;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int INDEX_ENTRY_SIZE = 44;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final YearMonth month;
+    private final int userCount;
+    private final long rowCount;
+    private final int indexOffset;
+
+    private PointsArchiveSegment(Path file, FileChannel channel, MappedByteBuffer buffer) {
+        this.file = file;
+        this.channel = channel;
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalStateException("不是有效的積分歸檔段檔案: " + file);
+        }
+        int yearMonth = buffer.getInt(8);
+        this.month = YearMonth.of(yearMonth / 100, yearMonth % 100);
+        this.userCount = buffer.getInt(12);
+        this.rowCount = buffer.getLong(16);
+        this.indexOffset = Math.toIntExact(buffer.getLong(24));
+    }
+
+    /**
+     * 以記憶體映射開啟歸檔段
+     */
+    public static PointsArchiveSegment open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IllegalStateException("積分歸檔段檔案大小無效: " + file + " (" + size + " bytes)");
+            }
+            return new PointsArchiveSegment(file, channel, channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public YearMonth getMonth() {
+        return month;
+    }
+
+    public int getUserCount() {
+        return userCount;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * 讀取用戶在本月份的流水（依 create_time 升序），無資料時返回空列表
+     */
+    public List<UserPoints> read(String userId) {
+        int entry = find(userId);
+        return entry < 0 ? Collections.emptyList() : readBlock(entry, userId);
+    }
+
+    /**
+     * 依索引順序（user_id）逐一解壓各用戶的區塊，同一時間只持有一個用戶當月的流水
+     */
+    public void forEach(Consumer<UserPoints> action) {
+        for (int i = 0; i < userCount; i++) {
+            int entry = indexOffset + i * INDEX_ENTRY_SIZE;
+            String userId = new UUID(buffer.getLong(entry), buffer.getLong(entry + 8)).toString();
+            readBlock(entry, userId).forEach(action);
+        }
+    }
+
+    /**
+     * 用戶在本月份的積分變動合計，只讀索引不解壓區塊
+     */
+    public long sum(String userId) {
+        int entry = find(userId);
+        return entry < 0 ? 0 : buffer.getLong(entry + 36);
+    }
+
+    @Override
+    public void close() throws IOException {
+        // 映射區域隨緩衝區被回收時釋放
+        channel.close();
+    }
+
+    private List<UserPoints> readBlock(int entry, String userId) {
+        int offset = Math.toIntExact(buffer.getLong(entry + 16));
+        int compressedLength = buffer.getInt(entry + 24);
+        int rawLength = buffer.getInt(entry + 28);
+        int rows = buffer.getInt(entry + 32);
+        byte[] raw = inflate(buffer.slice(offset, compressedLength), rawLength);
+        List<UserPoints> result = new ArrayList<>(rows);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw))) {
+            for (int i = 0; i < rows; i++) {
+                result.add(readRow(in, userId));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("讀取積分歸檔段失敗: " + file, e);
+        }
+        return result;
+    }
+
+    /**
+     * 二分搜尋索引，返回索引項目的位置，找不到時返回 -1
+     */
+    private int find(String userId) {
+        UUID key;
+        try {
+            key = UUID.fromString(userId);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+        long msb = key.getMostSignificantBits();
+        long lsb = key.getLeastSignificantBits();
+        int low = 0;
+        int high = userCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int entry = indexOffset + mid * INDEX_ENTRY_SIZE;
+            int cmp = compareKey(buffer.getLong(entry), buffer.getLong(entry + 8), msb, lsb);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return entry;
+            }
+        }
+        return -1;
+    }
+
+    static int compareKey(long msb1, long lsb1, long msb2, long lsb2) {
+        int cmp = Long.compareUnsigned(msb1, msb2);
+        return cmp != 0 ? cmp : Long.compareUnsigned(lsb1, lsb2);
+    }
+
+    private byte[] inflate(ByteBuffer compressed, int rawLength) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] raw = new byte[rawLength];
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                int n = inflater.inflate(raw, read, rawLength - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != rawLength) {
+                throw new IllegalStateException("積分歸檔段區塊長度不符: " + file);
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("積分歸檔段區塊損毀: " + file, e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static UserPoints readRow(DataInputStream in, String userId) throws IOException {
+        UserPoints row = new UserPoints()
+                .setId(in.readUTF())
+                .setUserId(userId)
+                .setPoints(in.readLong())
+                .setBalance(in.readLong())
+                .setType((int) in.readByte())
+                .setDescription(readNullable(in))
+                .setRefId(readNullable(in));
+        long epochSecond = in.readLong();
+        int nano = in.readInt();
+        return row.setCreateTime(LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC));
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.membersystem.points;
+
+import com.example.membersystem.entity.UserPoints;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.Deflater;
+
+/**
+ * 積分流水歸檔段寫入器
+ * 流水須依 user_id 分組依序寫入（同一用戶的流水連續出現），每個用戶壓縮為一個區塊；
+ * {@link #finish()} 時將索引依 user_id 排序後寫在檔尾並回填檔頭。格式見 {@link PointsArchiveSegment}。
+ */
+public final class PointsArchiveSegmentWriter implements Closeable {
+
+    private final FileChannel channel;
+    private final YearMonth month;
+    private final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+    private final ByteArrayOutputStream block = new ByteArrayOutputStream(4096);
+    private final DataOutputStream blockOut = new DataOutputStream(block);
+    private final List<IndexEntry> index = new ArrayList<>();
+    private byte[] compressBuffer = new byte[4096];
+
+    private long position = PointsArchiveSegment.HEADER_SIZE;
+    private long rowCount;
+    private UUID currentUser;
+    private int currentRows;
+    private long currentSum;
+
+    public PointsArchiveSegmentWriter(Path file, YearMonth month) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        this.month = month;
+    }
+
+    /**
+     * 寫入一筆流水
+     *
+     * @throws IllegalStateException 同一用戶的流水不連續，或流水不屬於本月份
+     */
+    public void append(UserPoints row) throws IOException {
+        if (row.getCreateTime() == null || !YearMonth.from(row.getCreateTime()).equals(month)) {
+            throw new IllegalStateException("流水不屬於歸檔月份 " + month + ": " + row.getId());
+        }
+        UUID user = UUID.fromString(row.getUserId());
+        if (!user.equals(currentUser)) {
+            flushBlock();
+            currentUser = user;
+        }
+        blockOut.writeUTF(row.getId());
+        blockOut.writeLong(row.getPoints());
+        blockOut.writeLong(row.getBalance());
+        blockOut.writeByte(row.getType());
+        writeNullable(row.getDescription());
+        writeNullable(row.getRefId());
+        blockOut.writeLong(row.getCreateTime().toEpochSecond(ZoneOffset.UTC));
+        blockOut.writeInt(row.getCreateTime().getNano());
+        currentRows++;
+        currentSum += row.getPoints();
+        rowCount++;
+    }
+
+    /**
+     * 已寫入的流水筆數
+     */
+    public long rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * 寫入索引與檔頭並同步到磁碟
+     */
+    public void finish() throws IOException {
+        flushBlock();
+        IndexEntry[] entries = index.toArray(IndexEntry[]::new);
+        Arrays.sort(entries, (a, b) -> PointsArchiveSegment.compareKey(a.msb, a.lsb, b.msb, b.lsb));
+        for (int i = 1; i < entries.length; i++) {
+            if (entries[i - 1].msb == entries[i].msb && entries[i - 1].lsb == entries[i].lsb) {
+                throw new IllegalStateException("同一用戶的流水不連續，無法建立歸檔段: "
+                        + new UUID(entries[i].msb, entries[i].lsb));
+            }
+        }
+        long indexOffset = position;
+        ByteBuffer indexBuffer = ByteBuffer.allocate(entries.length * PointsArchiveSegment.INDEX_ENTRY_SIZE);
+        for (IndexEntry entry : entries) {
+            indexBuffer.putLong(entry.msb)
+                    .putLong(entry.lsb)
+                    .putLong(entry.offset)
+                    .putInt(entry.compressedLength)
+                    .putInt(entry.rawLength)
+                    .putInt(entry.rows)
+                    .putLong(entry.sum);
+        }
+        if (indexOffset + indexBuffer.capacity() > Integer.MAX_VALUE) {
+            throw new IllegalStateException("積分歸檔段超過 2GB，無法以記憶體映射讀取: " + month);
+        }
+        writeFully(indexBuffer.flip(), indexOffset);
+
+        ByteBuffer header = ByteBuffer.allocate(PointsArchiveSegment.HEADER_SIZE)
+                .putInt(PointsArchiveSegment.MAGIC)
+                .putInt(PointsArchiveSegment.VERSION)
+                .putInt(month.getYear() * 100 + month.getMonthValue())
+                .putInt(entries.length)
+                .putLong(rowCount)
+                .putLong(indexOffset);
+        writeFully(header.flip(), 0);
+        channel.force(true);
+    }
+
+    @Override
+    public void close() throws IOException {
+        deflater.end();
+        channel.close();
+    }
+
+    private void flushBlock() throws IOException {
+        if (currentUser == null || currentRows == 0) {
+            return;
+        }
+        blockOut.flush();
+        byte[] raw = block.toByteArray();
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        if (compressBuffer.length < raw.length + 64) {
+            compressBuffer = new byte[raw.length + 64];
+        }
+        int compressed = 0;
+        while (!deflater.finished()) {
+            if (compressed == compressBuffer.length) {
+                compressBuffer = Arrays.copyOf(compressBuffer, compressBuffer.length * 2);
+            }
+            compressed += deflater.deflate(compressBuffer, compressed, compressBuffer.length - compressed);
+        }
+        writeFully(ByteBuffer.wrap(compressBuffer, 0, compressed), position);
+        index.add(new IndexEntry(currentUser.getMostSignificantBits(), currentUser.getLeastSignificantBits(),
+                position, compressed, raw.length, currentRows, currentSum));
+        position += compressed;
+        block.reset();
+        currentRows = 0;
+        currentSum = 0;
+    }
+
+    private void writeNullable(String value) throws IOException {
+        blockOut.writeBoolean(value != null);
+        if (value != null) {
+            blockOut.writeUTF(value);
+        }
+    }
+
+    private void writeFully(ByteBuffer source, long at) throws IOException {
+        long offset = at;
+        while (source.hasRemaining()) {
+            offset += channel.write(source, offset);
+        }
+    }
+
+    private record IndexEntry(long msb, long lsb, long offset, int compressedLength, int rawLength, int rows,
+                              long sum) {
+    }
+}
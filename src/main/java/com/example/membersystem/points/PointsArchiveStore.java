@@ -0,0 +1,294 @@
+package com.example.membersystem.points;
+
+import com.example.membersystem.config.PointsArchiveProperties;
+import com.example.membersystem.entity.UserPoints;
+import com.example.membersystem.exception.ConfigurationException;
+import com.example.membersystem.mapper.PointsArchiveMonthMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 積分流水歸檔段目錄
+ * 依月份保存已開啟（記憶體映射）的歸檔段，提供歷史查詢與積分合計。
+ * 已歸檔的月份以資料庫 points_archive_month 為準，連續且都早於 {@link #archivedBefore()}，
+ * 該時間點之前的流水只從歸檔段讀取，之後的只從資料庫讀取。
+ * 登記的月份在本節點找不到段檔案時（目錄未掛載或檔案遺失），讀取該月份的查詢與餘額重建直接失敗，
+ * 不會以缺少流水的結果回應。
+ * <p>
+ * 每個 refresh-interval 重新讀取登記的月份；歸檔任務在登記後保留流水 delete-grace-period 才刪除，
+ * 其他節點在刪除前已改從歸檔段讀取該月份。
+ */
+@Slf4j
+@Component
+public class PointsArchiveStore {
+
+    private final PointsArchiveMonthMapper archiveMonthMapper;
+    /**
+     * 未設定目錄時為 null，此時無法讀取任何歸檔段
+     */
+    private final Path directory;
+    private final Timer lookupTimer;
+    private final Duration refreshInterval;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * 資料庫中登記的歸檔月份；與 segments 一起整體替換（copy-on-write），讀取不加鎖
+     */
+    private volatile NavigableSet<YearMonth> recorded = Collections.emptyNavigableSet();
+    private volatile NavigableMap<YearMonth, PointsArchiveSegment> segments = Collections.emptyNavigableMap();
+
+    public PointsArchiveStore(PointsArchiveMonthMapper archiveMonthMapper,
+                              PointsArchiveProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.archiveMonthMapper = archiveMonthMapper;
+        this.directory = StringUtils.hasText(properties.getDirectory()) ? Path.of(properties.getDirectory()) : null;
+        this.lookupTimer = Timer.builder("member.points.archive.lookup")
+                .description("積分歸檔段的用戶歷史查詢耗時")
+                .register(meterRegistry);
+        Gauge.builder("member.points.archive.segments", this, store -> store.segments.size())
+                .description("已載入的積分歸檔段數量")
+                .register(meterRegistry);
+        this.refreshInterval = properties.getRefreshInterval();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "points-archive-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        long interval = refreshInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::refreshQuietly, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        scheduler.shutdownNow();
+        for (PointsArchiveSegment segment : segments.values()) {
+            closeQuietly(segment);
+        }
+        segments = Collections.emptyNavigableMap();
+    }
+
+    /**
+     * 重新讀取資料庫中登記的歸檔月份，並開啟本節點尚未載入的段檔案（其他節點產生的段檔案經共用目錄出現時）
+     */
+    public synchronized void refresh() {
+        NavigableSet<YearMonth> months = new TreeSet<>();
+        for (String month : archiveMonthMapper.selectMonths()) {
+            months.add(YearMonth.parse(month));
+        }
+        NavigableMap<YearMonth, PointsArchiveSegment> next = new TreeMap<>(segments);
+        List<YearMonth> missing = new ArrayList<>();
+        for (YearMonth month : months) {
+            if (next.containsKey(month)) {
+                continue;
+            }
+            Path file = directory != null ? segmentPath(month) : null;
+            if (file == null || !Files.isRegularFile(file)) {
+                missing.add(month);
+                continue;
+            }
+            try {
+                next.put(month, PointsArchiveSegment.open(file));
+            } catch (IOException | RuntimeException e) {
+                log.error("開啟積分歸檔段失敗 - 檔案: {}, 錯誤: {}", file, e.getMessage());
+                missing.add(month);
+            }
+        }
+        if (!missing.isEmpty()) {
+            log.error("已登記的積分歸檔段在本節點不存在，相關月份的查詢將失敗 - 目錄: {}, 月份: {}", directory, missing);
+        }
+        if (next.size() != segments.size()) {
+            log.info("積分歸檔段已載入 - 月份: {}", next.keySet());
+        }
+        // 先替換 segments 再替換 recorded，讀取端先讀 recorded 時必能看到對應的段
+        segments = next;
+        recorded = Collections.unmodifiableNavigableSet(months);
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.error("載入積分歸檔月份失敗 - 錯誤: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 登記新產生的歸檔段（資料庫中已寫入該月份之後呼叫）
+     */
+    public synchronized void publish(PointsArchiveSegment segment) {
+        NavigableMap<YearMonth, PointsArchiveSegment> next = new TreeMap<>(segments);
+        PointsArchiveSegment previous = next.put(segment.getMonth(), segment);
+        NavigableSet<YearMonth> months = new TreeSet<>(recorded);
+        months.add(segment.getMonth());
+        segments = next;
+        recorded = Collections.unmodifiableNavigableSet(months);
+        if (previous != null) {
+            closeQuietly(previous);
+        }
+    }
+
+    /**
+     * 歸檔段檔案路徑
+     */
+    public Path segmentPath(YearMonth month) {
+        if (directory == null) {
+            throw new ConfigurationException("未設定積分歸檔目錄 member.points.archive.directory");
+        }
+        return directory.resolve(String.format("user_points_%04d%02d.seg", month.getYear(), month.getMonthValue()));
+    }
+
+    /**
+     * 月份是否已在資料庫登記為已歸檔
+     */
+    public boolean isRecorded(YearMonth month) {
+        return recorded.contains(month);
+    }
+
+    /**
+     * 本節點是否已載入該月份的歸檔段
+     */
+    public boolean isLoaded(YearMonth month) {
+        return segments.containsKey(month);
+    }
+
+    /**
+     * 歸檔涵蓋的時間上界（不含），尚無歸檔時返回 null
+     */
+    public LocalDateTime archivedBefore() {
+        NavigableSet<YearMonth> months = recorded;
+        return months.isEmpty() ? null : months.last().plusMonths(1).atDay(1).atStartOfDay();
+    }
+
+    /**
+     * 查詢用戶的歸檔流水，依 create_time 由新到舊
+     *
+     * @param from  起始時間（含），可為 null
+     * @param to    結束時間（不含），可為 null
+     * @param limit 最多返回筆數
+     */
+    public List<UserPoints> history(String userId, LocalDateTime from, LocalDateTime to, int limit) {
+        NavigableSet<YearMonth> months = recorded;
+        NavigableMap<YearMonth, PointsArchiveSegment> current = segments;
+        if (months.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        YearMonth first = from != null ? YearMonth.from(from) : months.first();
+        YearMonth last = to != null ? YearMonth.from(to) : months.last();
+        if (first.isAfter(last)) {
+            return Collections.emptyList();
+        }
+        long start = System.nanoTime();
+        List<UserPoints> result = new ArrayList<>();
+        for (YearMonth month : months.subSet(first, true, last, true).descendingSet()) {
+            List<UserPoints> rows = require(current, month).read(userId);
+            for (int i = rows.size() - 1; i >= 0 && result.size() < limit; i--) {
+                LocalDateTime time = rows.get(i).getCreateTime();
+                if ((from == null || !time.isBefore(from)) && (to == null || time.isBefore(to))) {
+                    result.add(rows.get(i));
+                }
+            }
+            if (result.size() >= limit) {
+                break;
+            }
+        }
+        lookupTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    /**
+     * 依月份由舊到新逐筆讀取歸檔流水（匯出用），月份內依 user_id 分組；
+     * 開始讀取前先確認範圍內的段都已載入，缺少段時不輸出任何一筆
+     *
+     * @param userId 用戶 ID，null 表示所有用戶
+     * @param from   起始時間（含），可為 null
+     * @param to     結束時間（不含），可為 null
+     */
+    public void forEach(String userId, LocalDateTime from, LocalDateTime to, Consumer<UserPoints> action) {
+        NavigableSet<YearMonth> months = recorded;
+        NavigableMap<YearMonth, PointsArchiveSegment> current = segments;
+        if (months.isEmpty()) {
+            return;
+        }
+        YearMonth first = from != null ? YearMonth.from(from) : months.first();
+        YearMonth last = to != null ? YearMonth.from(to) : months.last();
+        if (first.isAfter(last)) {
+            return;
+        }
+        List<PointsArchiveSegment> selected = new ArrayList<>();
+        for (YearMonth month : months.subSet(first, true, last, true)) {
+            selected.add(require(current, month));
+        }
+        Consumer<UserPoints> filtered = row -> {
+            LocalDateTime time = row.getCreateTime();
+            if ((from == null || !time.isBefore(from)) && (to == null || time.isBefore(to))) {
+                action.accept(row);
+            }
+        };
+        for (PointsArchiveSegment segment : selected) {
+            if (userId != null) {
+                segment.read(userId).forEach(filtered);
+            } else {
+                segment.forEach(filtered);
+            }
+        }
+    }
+
+    /**
+     * 用戶所有歸檔流水的積分合計（重建餘額快照時與資料庫中的流水合計相加）
+     */
+    public long archivedSum(String userId) {
+        NavigableSet<YearMonth> months = recorded;
+        NavigableMap<YearMonth, PointsArchiveSegment> current = segments;
+        long sum = 0;
+        for (YearMonth month : months) {
+            sum += require(current, month).sum(userId);
+        }
+        return sum;
+    }
+
+    private PointsArchiveSegment require(NavigableMap<YearMonth, PointsArchiveSegment> current, YearMonth month) {
+        PointsArchiveSegment segment = current.get(month);
+        if (segment == null) {
+            throw new ConfigurationException(String.format("積分流水 %s 已歸檔，但本節點找不到歸檔段（目錄: %s）",
+                    month, directory));
+        }
+        return segment;
+    }
+
+    private static void closeQuietly(PointsArchiveSegment segment) {
+        try {
+            segment.close();
+        } catch (IOException e) {
+            log.warn("關閉積分歸檔段失敗 - 檔案: {}, 錯誤: {}", segment.getFile(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,378 @@
+package com.example.membersystem.points;
+
+import com.example.membersystem.config.PointsCampaignProperties;
+import com.example.membersystem.datasource.MySqlNamedLock;
+import com.example.membersystem.entity.PointsCampaign;
+import com.example.membersystem.entity.PointsCampaignChunk;
+import com.example.membersystem.entity.UserPoints;
+import com.example.membersystem.enums.PointsCampaignStatus;
+import com.example.membersystem.enums.PointsType;
+import com.example.membersystem.exception.BusinessException;
+import com.example.membersystem.mapper.PointsCampaignChunkMapper;
+import com.example.membersystem.mapper.PointsCampaignMapper;
+import com.example.membersystem.mapper.UserMapper;
+import com.example.membersystem.service.UserProfileService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 積分活動批次發放
+ * 活動建立後先將 user 表按主鍵切分為每片 chunkSize 個用戶的ID區間（只掃描主鍵索引），
+ * 再由固定大小的執行緒池並行處理分片：查出區間內的目標用戶，提交到積分流水寫入器，
+ * 由各寫入通道以多筆 INSERT 群組提交；分片的全部流水持久化後，在同一交易內寫入分片檢查點與活動進度。
+ * <p>
+ * 任務中斷（節點重啟、分片失敗）後只重跑未完成的分片。流水的 ref_id 為 campaign:活動ID:用戶ID，
+ * 中斷前已入帳的用戶由唯一索引去重並返回原流水，不會重複發放。
+ * 寫入器因佇列已滿拒絕（503）時退避後重新提交；持續繁忙時本次執行中止但不標記失敗，活動保留為執行中待續跑。
+ * 多節點部署時以 MySQL 命名鎖保證同一活動只在一個節點執行，各節點定期檢查並接手未完成的活動。
+ */
+@Slf4j
+@Component
+public class PointsCampaignRunner {
+
+    private static final String LOCK_PREFIX = "member:points:campaign:";
+    private static final int PLAN_INSERT_BATCH = 1000;
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final long MAX_SUBMIT_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final PointsCampaignMapper campaignMapper;
+    private final PointsCampaignChunkMapper chunkMapper;
+    private final UserMapper userMapper;
+    private final PointsLedgerWriter pointsLedgerWriter;
+    private final UserProfileService userProfileService;
+    private final TransactionTemplate transactionTemplate;
+    private final DataSource dataSource;
+    private final PointsCampaignProperties properties;
+    private final ScheduledExecutorService coordinator;
+    private final Map<String, RunStats> runs = new ConcurrentHashMap<>();
+    private final Counter awardedCounter;
+    private final Timer chunkTimer;
+
+    public PointsCampaignRunner(PointsCampaignMapper campaignMapper,
+                                PointsCampaignChunkMapper chunkMapper,
+                                UserMapper userMapper,
+                                PointsLedgerWriter pointsLedgerWriter,
+                                UserProfileService userProfileService,
+                                TransactionTemplate transactionTemplate,
+                                DataSource dataSource,
+                                PointsCampaignProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.campaignMapper = campaignMapper;
+        this.chunkMapper = chunkMapper;
+        this.userMapper = userMapper;
+        this.pointsLedgerWriter = pointsLedgerWriter;
+        this.userProfileService = userProfileService;
+        this.transactionTemplate = transactionTemplate;
+        this.dataSource = dataSource;
+        this.properties = properties;
+        this.coordinator = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "points-campaign");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.awardedCounter = Counter.builder("member.points.campaign.awarded")
+                .description("積分活動已發放的用戶數")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("member.points.campaign.chunk")
+                .description("積分活動每個分片的發放耗時")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long interval = properties.getResumeCheckInterval().toMillis();
+        coordinator.scheduleWithFixedDelay(this::resumeUnfinished, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        coordinator.shutdownNow();
+    }
+
+    /**
+     * 排入背景執行（本節點同一時間只執行一個活動，其餘排隊）
+     */
+    public void submit(String campaignId) {
+        coordinator.execute(() -> runQuietly(campaignId));
+    }
+
+    /**
+     * 本節點正在執行的活動的即時統計，未在本節點執行時返回 null
+     */
+    public RunStats stats(String campaignId) {
+        return runs.get(campaignId);
+    }
+
+    /**
+     * 執行活動的切分與發放；其他節點正在執行、已完成或已失敗時直接返回
+     */
+    public void run(String campaignId) {
+        try (MySqlNamedLock lock = MySqlNamedLock.tryAcquire(dataSource, LOCK_PREFIX + campaignId)) {
+            if (lock == null) {
+                log.debug("其他節點正在執行積分活動 - 活動ID: {}", campaignId);
+                return;
+            }
+            PointsCampaign campaign = campaignMapper.selectById(campaignId);
+            PointsCampaignStatus status = campaign != null
+                    ? PointsCampaignStatus.getByCode(campaign.getStatus()) : null;
+            if (status == PointsCampaignStatus.PLANNING) {
+                plan(campaign);
+            } else if (status != PointsCampaignStatus.RUNNING) {
+                return;
+            }
+            award(campaign);
+        } catch (SQLException e) {
+            throw new IllegalStateException("取得積分活動鎖失敗", e);
+        }
+    }
+
+    private void runQuietly(String campaignId) {
+        try {
+            run(campaignId);
+        } catch (Exception e) {
+            log.error("積分活動執行失敗，待下次檢查續跑 - 活動ID: {}, 錯誤: {}", campaignId, e.getMessage(), e);
+        }
+    }
+
+    private void resumeUnfinished() {
+        try {
+            for (String campaignId : campaignMapper.selectUnfinishedIds()) {
+                runQuietly(campaignId);
+            }
+        } catch (Exception e) {
+            log.error("檢查未完成的積分活動失敗 - 錯誤: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 按用戶數切分ID區間；中斷的切分直接重來
+     */
+    private void plan(PointsCampaign campaign) {
+        String campaignId = campaign.getId();
+        chunkMapper.deleteByCampaignId(campaignId);
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        // 只涵蓋切分當下已存在的用戶
+        String maxId = userMapper.selectMaxId();
+        List<PointsCampaignChunk> buffer = new ArrayList<>(PLAN_INSERT_BATCH);
+        int chunkNo = 0;
+        String after = "";
+        while (maxId != null && after.compareTo(maxId) < 0) {
+            String end = userMapper.selectIdAtOffset(after, chunkSize - 1);
+            if (end == null || end.compareTo(maxId) > 0) {
+                end = maxId;
+            }
+            buffer.add(new PointsCampaignChunk()
+                    .setCampaignId(campaignId)
+                    .setChunkNo(chunkNo++)
+                    .setStartAfter(after)
+                    .setEndId(end));
+            if (buffer.size() >= PLAN_INSERT_BATCH) {
+                chunkMapper.insertBatch(buffer);
+                buffer.clear();
+            }
+            after = end;
+        }
+        if (!buffer.isEmpty()) {
+            chunkMapper.insertBatch(buffer);
+        }
+        campaignMapper.markRunning(campaignId, chunkNo);
+        campaign.setStatus(PointsCampaignStatus.RUNNING.getCode()).setTotalChunks(chunkNo);
+        log.info("積分活動切分完成 - 活動ID: {}, 分片數: {}", campaignId, chunkNo);
+    }
+
+    private void award(PointsCampaign campaign) {
+        String campaignId = campaign.getId();
+        List<PointsCampaignChunk> pending = chunkMapper.selectPending(campaignId);
+        RunStats stats = new RunStats(pending.size());
+        runs.put(campaignId, stats);
+        log.info("積分活動開始發放 - 活動ID: {}, 待處理分片: {}/{}", campaignId, pending.size(), campaign.getTotalChunks());
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, properties.getParallelism()), runnable -> {
+            Thread thread = new Thread(runnable, "points-campaign-worker-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Throwable failure = null;
+        try {
+            List<Future<?>> futures = new ArrayList<>(pending.size());
+            for (PointsCampaignChunk chunk : pending) {
+                futures.add(workers.submit(() -> awardChunk(campaign, chunk, stats)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("積分活動發放被中斷，未完成的分片待續跑 - 活動ID: {}", campaignId);
+            return;
+        } catch (ExecutionException e) {
+            failure = e.getCause() instanceof CompletionException && e.getCause().getCause() != null
+                    ? e.getCause().getCause() : e.getCause();
+        } finally {
+            workers.shutdownNow();
+            runs.remove(campaignId, stats);
+            // 用戶資料快取包含積分與會員等級
+            userProfileService.evictAllProfiles();
+        }
+
+        if (failure != null && isTransient(failure)) {
+            log.warn("積分寫入暫時無法受理，活動保留為執行中待續跑 - 活動ID: {}, 本次完成分片: {}, 錯誤: {}",
+                    campaignId, stats.completedChunks(), failure.getMessage());
+            return;
+        }
+        if (failure != null) {
+            String message = String.valueOf(failure.getMessage());
+            campaignMapper.markFinished(campaignId, PointsCampaignStatus.FAILED.getCode(),
+                    message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+            log.error("積分活動分片失敗，已完成的分片保留 - 活動ID: {}, 本次完成分片: {}, 錯誤: {}",
+                    campaignId, stats.completedChunks(), message, failure);
+            return;
+        }
+        campaignMapper.markFinished(campaignId, PointsCampaignStatus.COMPLETED.getCode(), null);
+        log.info("積分活動發放完成 - 活動ID: {}, 本次發放用戶: {}, 耗時: {} ms, 速率: {} 用戶/秒",
+                campaignId, stats.awardedUsers(), stats.elapsedMillis(), Math.round(stats.usersPerSecond()));
+    }
+
+    private void awardChunk(PointsCampaign campaign, PointsCampaignChunk chunk, RunStats stats) {
+        Timer.Sample sample = Timer.start();
+        String refPrefix = refPrefix(campaign.getId());
+        int type = PointsType.SYSTEM_ADJUSTMENT.getCode();
+        List<String> userIds = userMapper.selectCampaignTargets(chunk.getStartAfter(), chunk.getEndId(),
+                campaign.getMinBalance(), campaign.getMaxBalance(), type, refPrefix);
+        List<CompletableFuture<UserPoints>> futures = new ArrayList<>(userIds.size());
+        for (String userId : userIds) {
+            futures.add(submitThrottled(new UserPoints()
+                    .setUserId(userId)
+                    .setPoints(campaign.getPoints())
+                    .setType(type)
+                    .setDescription(campaign.getName())
+                    .setRefId(refPrefix + userId)));
+        }
+        // 分片的全部流水持久化後才寫入檢查點
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (chunkMapper.markDone(campaign.getId(), chunk.getChunkNo(), userIds.size()) > 0) {
+                campaignMapper.addProgress(campaign.getId(), userIds.size());
+            }
+        });
+        stats.record(userIds.size());
+        awardedCounter.increment(userIds.size());
+        sample.stop(chunkTimer);
+    }
+
+    /**
+     * 提交流水；寫入佇列已滿被拒絕時以指數退避重新提交，直到受理或超過 submitRetryTimeout
+     */
+    private CompletableFuture<UserPoints> submitThrottled(UserPoints record) {
+        long deadline = System.nanoTime() + properties.getSubmitRetryTimeout().toNanos();
+        long backoff = Math.max(1, properties.getSubmitRetryBackoff().toNanos());
+        while (true) {
+            CompletableFuture<UserPoints> future = pointsLedgerWriter.submit(record);
+            // 佇列已滿時 submit 立即以 503 完成，其餘情況 future 在寫入後才完成
+            Throwable rejection = future.isCompletedExceptionally() ? future.handle((r, e) -> e).join() : null;
+            if (rejection == null || !isTransient(rejection) || System.nanoTime() + backoff > deadline) {
+                return future;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return future;
+            }
+            backoff = Math.min(backoff * 2, MAX_SUBMIT_BACKOFF_NANOS);
+        }
+    }
+
+    /**
+     * 寫入器暫時無法受理（佇列已滿、服務停止中），稍後續跑即可完成
+     */
+    private static boolean isTransient(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause() : failure;
+        return cause instanceof BusinessException e && e.getCode() != null && e.getCode() == 503;
+    }
+
+    /**
+     * 活動流水的 ref_id 前綴，完整 ref_id 為 前綴 + 用戶ID
+     */
+    static String refPrefix(String campaignId) {
+        return "campaign:" + campaignId + ":";
+    }
+
+    /**
+     * 本次執行的即時統計（續跑時從零開始計算）
+     */
+    public static final class RunStats {
+
+        private final long startNanos = System.nanoTime();
+        private final int pendingChunks;
+        private final AtomicInteger completedChunks = new AtomicInteger();
+        private final AtomicLong awardedUsers = new AtomicLong();
+
+        RunStats(int pendingChunks) {
+            this.pendingChunks = pendingChunks;
+        }
+
+        void record(int users) {
+            awardedUsers.addAndGet(users);
+            completedChunks.incrementAndGet();
+        }
+
+        public int completedChunks() {
+            return completedChunks.get();
+        }
+
+        public long awardedUsers() {
+            return awardedUsers.get();
+        }
+
+        public long elapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        }
+
+        /**
+         * 本次執行的平均發放速率（用戶/秒）
+         */
+        public double usersPerSecond() {
+            long elapsed = System.nanoTime() - startNanos;
+            return elapsed > 0 ? awardedUsers.get() * 1e9 / elapsed : 0;
+        }
+
+        /**
+         * 依本次已完成分片的平均耗時估計剩餘秒數，尚無完成分片時返回 null
+         */
+        public Long estimatedRemainingSeconds() {
+            int completed = completedChunks.get();
+            if (completed == 0) {
+                return null;
+            }
+            long elapsed = System.nanoTime() - startNanos;
+            return TimeUnit.NANOSECONDS.toSeconds(elapsed / completed * (pendingChunks - completed));
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.membersystem.points;
+
+import com.example.membersystem.config.PointsIdempotencyProperties;
+import com.example.membersystem.entity.UserPoints;
+import com.example.membersystem.enums.PointsType;
+import com.example.membersystem.exception.BusinessException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 積分變動冪等檢查
+ * 以 (type, ref_id) 為鍵，依序查詢本地結果快取、本節點處理中的請求與 Redis 結果快取，
+ * 命中時直接返回原交易的流水，不進入寫入通道；未命中才提交寫入，成功後記錄結果（保留 ttl）。
+ * <p>
+ * 快取只是快速路徑，資料庫的唯一索引 uk_type_ref_id 才是最終保證：
+ * 快取過期、多節點同時提交等情況由寫入器捕捉重複鍵並返回既有流水（見 {@link PointsLedgerWriter}）。
+ * 各路徑的命中次數記錄於 member.points.idempotency.requests。
+ */
+@Slf4j
+@Component
+public class PointsIdempotencyGuard {
+
+    private final PointsIdempotencyProperties properties;
+    private final ObjectMapper objectMapper;
+    private final StringRedisTemplate redisTemplate;
+    private final Cache<String, UserPoints> localCache;
+    private final Map<String, CompletableFuture<UserPoints>> inflight = new ConcurrentHashMap<>();
+    private final Counter localHitCounter;
+    private final Counter redisHitCounter;
+    private final Counter inflightHitCounter;
+    private final Counter ledgerHitCounter;
+    private final Counter missCounter;
+
+    public PointsIdempotencyGuard(PointsIdempotencyProperties properties,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry,
+                                  ObjectProvider<StringRedisTemplate> redisTemplateProvider,
+                                  ObjectProvider<RedisMessageListenerContainer> listenerContainerProvider) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.redisTemplate = listenerContainerProvider.getIfAvailable() != null
+                ? redisTemplateProvider.getIfAvailable() : null;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(properties.getLocalMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "pointsIdempotency");
+        this.localHitCounter = requestCounter(meterRegistry, "local_hit");
+        this.redisHitCounter = requestCounter(meterRegistry, "redis_hit");
+        this.inflightHitCounter = requestCounter(meterRegistry, "inflight_hit");
+        this.ledgerHitCounter = requestCounter(meterRegistry, "ledger_hit");
+        this.missCounter = requestCounter(meterRegistry, "miss");
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("member.points.idempotency.requests")
+                .description("積分變動冪等檢查次數")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 以 (type, refId) 冪等執行積分變動
+     *
+     * @param refId  關聯業務ID，為 null 時不做冪等檢查
+     * @param action 未命中時提交寫入
+     * @return 原交易或本次寫入的流水；相同鍵已用於其他用戶或數量時以 409 失敗
+     */
+    public CompletableFuture<UserPoints> execute(PointsType type, String refId, String userId, long points,
+                                                 Supplier<CompletableFuture<UserPoints>> action) {
+        if (refId == null) {
+            return action.get();
+        }
+        String key = key(type.getCode(), refId);
+        UserPoints original = localCache.getIfPresent(key);
+        if (original != null) {
+            localHitCounter.increment();
+            return completedOrConflict(original, userId, points);
+        }
+
+        CompletableFuture<UserPoints> future = new CompletableFuture<>();
+        CompletableFuture<UserPoints> running = inflight.putIfAbsent(key, future);
+        if (running != null) {
+            inflightHitCounter.increment();
+            return running.thenApply(result -> verify(result, userId, points));
+        }
+        try {
+            original = readRedis(key);
+            if (original != null) {
+                redisHitCounter.increment();
+                localCache.put(key, original);
+                inflight.remove(key, future);
+                future.complete(original);
+                return completedOrConflict(original, userId, points);
+            }
+            missCounter.increment();
+            action.get().whenComplete((result, error) -> {
+                if (error == null) {
+                    remember(result);
+                }
+                inflight.remove(key, future);
+                if (error != null) {
+                    future.completeExceptionally(error);
+                } else {
+                    future.complete(result);
+                }
+            });
+        } catch (RuntimeException e) {
+            inflight.remove(key, future);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * 寫入時遇到唯一索引衝突，以既有流水作為本次結果（由寫入器呼叫）
+     *
+     * @return 既有流水；與本次請求的用戶或數量不一致時拋出 409
+     */
+    public UserPoints ledgerHit(UserPoints existing, String userId, long points) {
+        ledgerHitCounter.increment();
+        remember(existing);
+        return verify(existing, userId, points);
+    }
+
+    /**
+     * 記錄已完成的交易結果
+     */
+    public void remember(UserPoints record) {
+        if (record.getRefId() == null) {
+            return;
+        }
+        String key = key(record.getType(), record.getRefId());
+        localCache.put(key, record);
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(properties.getRedisKeyPrefix() + key,
+                    objectMapper.writeValueAsString(record), properties.getTtl());
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("寫入積分冪等結果快取失敗 - key: {}, 錯誤: {}", key, e.getMessage());
+        }
+    }
+
+    private UserPoints readRedis(String key) {
+        if (redisTemplate == null) {
+            return null;
+        }
+        try {
+            String json = redisTemplate.opsForValue().get(properties.getRedisKeyPrefix() + key);
+            return json != null ? objectMapper.readValue(json, UserPoints.class) : null;
+        } catch (JsonProcessingException | RuntimeException e) {
+            // Redis 不可用時由唯一索引保證冪等
+            log.warn("讀取積分冪等結果快取失敗 - key: {}, 錯誤: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private static CompletableFuture<UserPoints> completedOrConflict(UserPoints original, String userId,
+                                                                     long points) {
+        try {
+            return CompletableFuture.completedFuture(verify(original, userId, points));
+        } catch (BusinessException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * 重試必須與原交易是同一用戶、同一數量，否則視為業務ID誤用
+     */
+    static UserPoints verify(UserPoints original, String userId, long points) {
+        if (!Objects.equals(original.getUserId(), userId) || original.getPoints() == null
+                || original.getPoints() != points) {
+            throw new BusinessException(409, "關聯業務ID已用於其他積分變動");
+        }
+        return original;
+    }
+
+    private static String key(Integer type, String refId) {
+        return type + ":" + refId;
+    }
+}
@@ -0,0 +1,344 @@
+package com.example.membersystem.points;
+
+import com.example.membersystem.config.PointsLeaderboardProperties;
+import com.example.membersystem.exception.BusinessException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 積分排行榜
+ * 啟用 Redis 時以有序集合（ZSET）保存所有用戶的餘額，多節點共用；否則使用本地 {@link RankedSkipList}。
+ * 兩者的排名與區間查詢都是 O(log n)，與用戶數無關。
+ * <p>
+ * 積分寫入器在流水提交後呼叫 {@link #recordAll}，同一用戶在一個間隔內的多次變動只保留最新餘額，
+ * 由背景執行緒批次寫入（Redis 以 pipeline 一次往返），寫入通道不等待排行榜。
+ * <p>
+ * 重建（{@link #beginRebuild}）寫入新的集合，期間的即時更新同時寫入新舊集合，
+ * 批次載入只新增不存在的成員（ZADD NX），不會以較舊的快照覆蓋即時更新；完成後原子替換。
+ */
+@Slf4j
+@Component
+public class PointsLeaderboard {
+
+    private static final String REBUILD_MARKER_SUFFIX = ":rebuilding";
+
+    private final PointsLeaderboardProperties properties;
+    private final StringRedisTemplate redisTemplate;
+    private final Map<String, Long> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+    private final Timer flushTimer;
+
+    private volatile RankedSkipList local = new RankedSkipList();
+    private volatile RankedSkipList rebuilding;
+
+    public PointsLeaderboard(PointsLeaderboardProperties properties,
+                             MeterRegistry meterRegistry,
+                             ObjectProvider<StringRedisTemplate> redisTemplateProvider,
+                             ObjectProvider<RedisMessageListenerContainer> listenerContainerProvider) {
+        this.properties = properties;
+        this.redisTemplate = listenerContainerProvider.getIfAvailable() != null
+                ? redisTemplateProvider.getIfAvailable() : null;
+        this.flushTimer = Timer.builder("member.points.leaderboard.flush")
+                .description("積分排行榜批次更新耗時")
+                .register(meterRegistry);
+        Gauge.builder("member.points.leaderboard.pending", pending, Map::size)
+                .description("等待寫入排行榜的用戶數")
+                .register(meterRegistry);
+
+        long interval = properties.getFlushInterval().toMillis();
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "points-leaderboard");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flusher.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+        flushQuietly();
+    }
+
+    public boolean isRedisBacked() {
+        return redisTemplate != null;
+    }
+
+    /**
+     * 記錄用戶的最新餘額（非同步寫入排行榜）
+     */
+    public void recordAll(Map<String, Long> balances) {
+        pending.putAll(balances);
+    }
+
+    /**
+     * 排行榜中的用戶數
+     */
+    public long size() {
+        if (redisTemplate != null) {
+            Long size = redisTemplate.opsForZSet().zCard(properties.getRedisKey());
+            return size != null ? size : 0;
+        }
+        return local.size();
+    }
+
+    /**
+     * 用戶名次（從 0 開始），不在排行榜中時返回 -1
+     */
+    public long rank(String userId) {
+        if (redisTemplate != null) {
+            Long rank = redisTemplate.opsForZSet().reverseRank(properties.getRedisKey(), userId);
+            return rank != null ? rank : -1;
+        }
+        return local.rank(userId);
+    }
+
+    /**
+     * 用戶的名次與分數，不在排行榜中時返回 null
+     * Redis 以同一 pipeline 讀取 ZREVRANK 與 ZSCORE，本地在跳表的同一次鎖定內讀取，名次與分數屬於同一用戶與同一時刻
+     */
+    public RankedSkipList.Entry entry(String userId) {
+        if (redisTemplate == null) {
+            return local.entry(userId);
+        }
+        String key = properties.getRedisKey();
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            redis.zRevRank(key, userId);
+            redis.zScore(key, userId);
+            return null;
+        });
+        if (results.size() < 2 || !(results.get(0) instanceof Long rank)
+                || !(results.get(1) instanceof Double score)) {
+            return null;
+        }
+        return new RankedSkipList.Entry(userId, score.longValue(), rank);
+    }
+
+    /**
+     * 依名次取區間（含兩端，從 0 開始，分數由高到低）
+     */
+    public List<RankedSkipList.Entry> range(long start, long end) {
+        if (redisTemplate == null) {
+            return local.range(start, end);
+        }
+        long from = Math.max(0, start);
+        if (from > end) {
+            return Collections.emptyList();
+        }
+        Set<ZSetOperations.TypedTuple<String>> tuples =
+                redisTemplate.opsForZSet().reverseRangeWithScores(properties.getRedisKey(), from, end);
+        if (tuples == null) {
+            return Collections.emptyList();
+        }
+        List<RankedSkipList.Entry> entries = new ArrayList<>(tuples.size());
+        long rank = from;
+        for (ZSetOperations.TypedTuple<String> tuple : tuples) {
+            long score = tuple.getScore() != null ? tuple.getScore().longValue() : 0;
+            entries.add(new RankedSkipList.Entry(tuple.getValue(), score, rank++));
+        }
+        return entries;
+    }
+
+    /**
+     * 將合併後的待寫入餘額寫入排行榜（僅由背景執行緒呼叫，測試時可直接呼叫）
+     */
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<String, Long> batch = new HashMap<>();
+        for (Map.Entry<String, Long> entry : pending.entrySet()) {
+            // 只移除取出時的值，期間被覆蓋的新餘額留待下次寫入
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                batch.put(entry.getKey(), entry.getValue());
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        Timer.Sample sample = Timer.start();
+        try {
+            if (redisTemplate != null) {
+                flushToRedis(batch);
+            } else {
+                RankedSkipList target = rebuilding;
+                batch.forEach(local::put);
+                if (target != null) {
+                    batch.forEach(target::put);
+                }
+            }
+        } catch (RuntimeException e) {
+            batch.forEach(pending::putIfAbsent);
+            throw e;
+        } finally {
+            sample.stop(flushTimer);
+        }
+    }
+
+    private void flushToRedis(Map<String, Long> batch) {
+        String key = properties.getRedisKey();
+        String rebuildKey = redisTemplate.opsForValue().get(key + REBUILD_MARKER_SUFFIX);
+        long ttlSeconds = properties.getRebuildTimeout().toSeconds();
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            batch.forEach((userId, balance) -> redis.zAdd(key, balance, userId));
+            if (rebuildKey != null) {
+                batch.forEach((userId, balance) -> redis.zAdd(rebuildKey, balance, userId));
+                redis.expire(rebuildKey, ttlSeconds);
+            }
+            return null;
+        });
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("積分排行榜更新失敗，下次重試 - 錯誤: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 開始重建
+     *
+     * @throws BusinessException 已有重建進行中（409）
+     */
+    public Rebuild beginRebuild() {
+        if (redisTemplate != null) {
+            String key = properties.getRedisKey();
+            String rebuildKey = key + ":rebuild:" + System.currentTimeMillis();
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(key + REBUILD_MARKER_SUFFIX, rebuildKey,
+                    properties.getRebuildTimeout());
+            if (!Boolean.TRUE.equals(acquired)) {
+                throw new BusinessException(409, "排行榜重建進行中");
+            }
+            return new RedisRebuild(rebuildKey);
+        }
+        synchronized (this) {
+            if (rebuilding != null) {
+                throw new BusinessException(409, "排行榜重建進行中");
+            }
+            rebuilding = new RankedSkipList();
+            return new LocalRebuild(rebuilding);
+        }
+    }
+
+    /**
+     * 進行中的重建
+     */
+    public interface Rebuild {
+
+        /**
+         * 載入一批餘額，已由即時更新寫入的用戶保持不變
+         */
+        void load(Map<String, Long> balances);
+
+        /**
+         * 以重建結果替換目前的排行榜
+         */
+        void commit();
+
+        /**
+         * 放棄重建
+         */
+        void abort();
+    }
+
+    private final class RedisRebuild implements Rebuild {
+
+        private final String rebuildKey;
+        private long loaded;
+
+        private RedisRebuild(String rebuildKey) {
+            this.rebuildKey = rebuildKey;
+        }
+
+        @Override
+        public void load(Map<String, Long> balances) {
+            long ttlSeconds = properties.getRebuildTimeout().toSeconds();
+            RedisZSetCommands.ZAddArgs ifNotExists = RedisZSetCommands.ZAddArgs.ifNotExists();
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                balances.forEach((userId, balance) -> redis.zAdd(rebuildKey, balance, userId, ifNotExists));
+                redis.expire(rebuildKey, ttlSeconds);
+                return null;
+            });
+            loaded += balances.size();
+        }
+
+        /**
+         * @throws BusinessException 已載入用戶但重建集合已不存在（超過 rebuildTimeout 過期），保留目前的排行榜
+         */
+        @Override
+        public void commit() {
+            String key = properties.getRedisKey();
+            if (Boolean.TRUE.equals(redisTemplate.hasKey(rebuildKey))) {
+                redisTemplate.rename(rebuildKey, key);
+                redisTemplate.persist(key);
+            } else if (loaded == 0) {
+                // 沒有任何用戶，排行榜應為空
+                redisTemplate.delete(key);
+            } else {
+                throw new BusinessException(String.format("排行榜重建集合已過期（已載入 %d 位用戶），放棄重建", loaded));
+            }
+            redisTemplate.delete(key + REBUILD_MARKER_SUFFIX);
+        }
+
+        @Override
+        public void abort() {
+            redisTemplate.delete(List.of(rebuildKey, properties.getRedisKey() + REBUILD_MARKER_SUFFIX));
+        }
+    }
+
+    private final class LocalRebuild implements Rebuild {
+
+        private final RankedSkipList target;
+
+        private LocalRebuild(RankedSkipList target) {
+            this.target = target;
+        }
+
+        @Override
+        public void load(Map<String, Long> balances) {
+            balances.forEach(target::putIfAbsent);
+        }
+
+        @Override
+        public void commit() {
+            synchronized (PointsLeaderboard.this) {
+                local = target;
+                rebuilding = null;
+            }
+        }
+
+        @Override
+        public void abort() {
+            synchronized (PointsLeaderboard.this) {
+                rebuilding = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.membersystem.points;
+
+import com.example.membersystem.config.PointsArchiveProperties;
+import com.example.membersystem.datasource.MySqlNamedLock;
+import com.example.membersystem.entity.UserPoints;
+import com.example.membersystem.exception.ConfigurationException;
+import com.example.membersystem.mapper.PointsArchiveMonthMapper;
+import com.example.membersystem.mapper.UserPointsMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 積分流水冷資料歸檔
+ * 由最早的月份開始，將超過保留月數的流水寫成按月的歸檔段（見 {@link PointsArchiveSegment}），
+ * 核對筆數後在 points_archive_month 登記月份，再從 user_points 分批刪除，縮小 InnoDB 表與緩衝池中的冷資料。
+ * <p>
+ * 預設停用，啟用時歸檔目錄必須為絕對路徑。段檔案就位並登記後才刪除流水，
+ * 且要等登記超過 delete-grace-period（大於各節點的 refresh-interval）後的執行才刪除：
+ * 其他節點尚未重新讀取登記月份前仍從資料庫讀取該月份，流水必須還在。
+ * 刪除中途中斷時，下次執行會看到月份已登記而繼續刪除。本節點找不到已登記月份的段檔案時不刪除。
+ * 歸檔期間歷史查詢以 {@link PointsArchiveStore#archivedBefore()} 為界，不會重複讀到尚未刪除的流水。
+ * 多節點部署時以 MySQL 命名鎖保證同一時間只有一個節點執行。
+ */
+@Slf4j
+@Component
+public class PointsLedgerArchiver {
+
+    private static final String LOCK_NAME = "member:user_points:archive";
+
+    private final UserPointsMapper userPointsMapper;
+    private final PointsArchiveMonthMapper archiveMonthMapper;
+    private final PointsArchiveStore archiveStore;
+    private final PointsArchiveProperties properties;
+    private final DataSource dataSource;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ScheduledExecutorService scheduler;
+    private final Counter archivedRowsCounter;
+    private final Counter deletedRowsCounter;
+
+    public PointsLedgerArchiver(UserPointsMapper userPointsMapper,
+                                PointsArchiveMonthMapper archiveMonthMapper,
+                                PointsArchiveStore archiveStore,
+                                PointsArchiveProperties properties,
+                                DataSource dataSource,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry) {
+        if (properties.isEnabled()
+                && (!StringUtils.hasText(properties.getDirectory()) || !Path.of(properties.getDirectory()).isAbsolute())) {
+            throw new ConfigurationException(String.format(
+                    "啟用積分流水歸檔時 member.points.archive.directory 必須為絕對路徑，目前為 '%s'",
+                    properties.getDirectory()));
+        }
+        if (properties.isEnabled()
+                && properties.getDeleteGracePeriod().compareTo(properties.getRefreshInterval()) <= 0) {
+            throw new ConfigurationException(String.format(
+                    "member.points.archive.delete-grace-period (%s) 必須大於 refresh-interval (%s)",
+                    properties.getDeleteGracePeriod(), properties.getRefreshInterval()));
+        }
+        this.userPointsMapper = userPointsMapper;
+        this.archiveMonthMapper = archiveMonthMapper;
+        this.archiveStore = archiveStore;
+        this.properties = properties;
+        this.dataSource = dataSource;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "points-ledger-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.archivedRowsCounter = Counter.builder("member.points.archive.rows")
+                .description("寫入歸檔段的積分流水筆數")
+                .register(meterRegistry);
+        this.deletedRowsCounter = Counter.builder("member.points.archive.deleted")
+                .description("歸檔後從資料庫刪除的積分流水筆數")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long interval = properties.getCheckInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::runQuietly, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * 歸檔所有超過保留月數的月份；其他節點正在執行時直接返回
+     */
+    public void archive() {
+        YearMonth cutoff = YearMonth.now().minusMonths(properties.getHotMonths());
+        try (MySqlNamedLock lock = MySqlNamedLock.tryAcquire(dataSource, LOCK_NAME)) {
+            if (lock == null) {
+                log.debug("其他節點正在歸檔積分流水，略過本次執行");
+                return;
+            }
+            LocalDateTime oldest = userPointsMapper.selectMinCreateTime();
+            if (oldest == null) {
+                return;
+            }
+            Set<String> deletable = new HashSet<>(archiveMonthMapper.selectMonthsRegisteredBefore(
+                    properties.getDeleteGracePeriod().toSeconds()));
+            for (YearMonth month = YearMonth.from(oldest); month.isBefore(cutoff); month = month.plusMonths(1)) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                if (!archiveMonth(month, deletable.contains(month.toString()))) {
+                    return;
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("取得積分流水歸檔鎖失敗", e);
+        }
+    }
+
+    private void runQuietly() {
+        try {
+            archiveStore.refresh();
+            if (properties.isEnabled()) {
+                archive();
+            }
+        } catch (Exception e) {
+            log.error("積分流水歸檔失敗 - 錯誤: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 歸檔單一月份：尚未登記時寫出段檔案並登記，登記已超過保留時間時刪除資料庫中的流水
+     *
+     * @param deletable 月份登記是否已超過 delete-grace-period
+     * @return 完成時返回 true；匯出或核對失敗時返回 false，保留資料待下次重試
+     */
+    private boolean archiveMonth(YearMonth month, boolean deletable) {
+        long start = System.currentTimeMillis();
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+        long archived = 0;
+        if (archiveStore.isRecorded(month) && !archiveStore.isLoaded(month)) {
+            log.error("積分流水月份已登記歸檔，但本節點找不到歸檔段，暫不刪除 - 月份: {}, 檔案: {}",
+                    month, archiveStore.segmentPath(month));
+            return false;
+        }
+        if (!archiveStore.isRecorded(month)) {
+            Path target = archiveStore.segmentPath(month);
+            Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+            try {
+                Files.createDirectories(target.getParent());
+                archived = writeSegment(month, from, to, temp);
+                long rows = userPointsMapper.countByCreateTime(from, to);
+                if (rows != archived) {
+                    log.warn("積分流水筆數與歸檔段不一致，暫不歸檔 - 月份: {}, 歸檔: {}, 目前: {}", month, archived, rows);
+                    Files.deleteIfExists(temp);
+                    return false;
+                }
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                archiveMonthMapper.insert(month.toString(), archived, target.getFileName().toString());
+                archiveStore.publish(PointsArchiveSegment.open(target));
+                archivedRowsCounter.increment(archived);
+            } catch (IOException | UncheckedIOException e) {
+                log.error("積分流水歸檔段寫入失敗，保留資料待下次重試 - 月份: {}, 錯誤: {}", month, e.getMessage());
+                return false;
+            }
+        }
+
+        if (!deletable) {
+            log.info("積分流水月份已登記歸檔，保留期滿後刪除 - 月份: {}, 歸檔: {}, 保留: {}",
+                    month, archived, properties.getDeleteGracePeriod());
+            return true;
+        }
+        long deleted = 0;
+        int removed;
+        do {
+            removed = userPointsMapper.deleteByCreateTime(from, to, properties.getDeleteBatchSize());
+            deleted += removed;
+            deletedRowsCounter.increment(removed);
+        } while (removed > 0 && !Thread.currentThread().isInterrupted());
+        log.info("積分流水已歸檔 - 月份: {}, 歸檔: {}, 刪除: {}, 耗時: {}ms",
+                month, archived, deleted, System.currentTimeMillis() - start);
+        return true;
+    }
+
+    private long writeSegment(YearMonth month, LocalDateTime from, LocalDateTime to, Path file) throws IOException {
+        try (PointsArchiveSegmentWriter writer = new PointsArchiveSegmentWriter(file, month)) {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Cursor<UserPoints> cursor = userPointsMapper.streamForArchive(from, to)) {
+                    for (UserPoints row : cursor) {
+                        writer.append(row);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.finish();
+            return writer.rowCount();
+        }
+    }
+}
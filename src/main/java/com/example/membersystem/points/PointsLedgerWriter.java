@@ -0,0 +1,382 @@
+package com.example.membersystem.points;
+
+import com.example.membersystem.cache.PointsBalanceCache;
+import com.example.membersystem.common.UuidV7;
+import com.example.membersystem.config.PointsLedgerProperties;
+import com.example.membersystem.entity.UserPoints;
+import com.example.membersystem.entity.UserPointsBalance;
+import com.example.membersystem.exception.BusinessException;
+import com.example.membersystem.exception.DatabaseException;
+import com.example.membersystem.exception.InsufficientPointsException;
+import com.example.membersystem.mapper.UserPointsBalanceMapper;
+import com.example.membersystem.mapper.UserPointsMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 積分流水寫入器
+ * 用戶依 ID 雜湊固定分配到 N 個單執行緒寫入通道，每個通道將累積的流水以多筆 INSERT 群組提交：
+ * 交易內先依用戶ID順序鎖定批次內用戶的 user_points_balance 資料列（SELECT ... FOR UPDATE），
+ * 由鎖定的餘額計算每筆流水的變動後餘額，再寫入流水與快照，寫入持久化後才完成呼叫方的 future。
+ * <p>
+ * 同一用戶在本節點內的寫入由通道序列化，多節點同時寫入同一用戶時由資料列鎖序列化，
+ * 餘額永遠由資料庫中的最新值推算。{@link PointsBalanceCache} 只供查詢使用。
+ * <p>
+ * 同一批次中 (type, ref_id) 相同的流水只寫入第一筆，其餘共用其結果；
+ * 與既有流水違反唯一索引時整批回滾，已存在的流水直接返回原交易，其餘重新計算餘額後再提交。
+ */
+@Slf4j
+@Component
+public class PointsLedgerWriter {
+
+    /**
+     * 一個批次因唯一索引衝突而重新提交的最多次數（含第一次）
+     */
+    private static final int MAX_FLUSH_ATTEMPTS = 3;
+
+    private final UserPointsMapper userPointsMapper;
+    private final UserPointsBalanceMapper userPointsBalanceMapper;
+    private final PointsBalanceCache pointsBalanceCache;
+    private final PointsLeaderboard pointsLeaderboard;
+    private final PointsIdempotencyGuard pointsIdempotencyGuard;
+    private final TransactionTemplate transactionTemplate;
+    private final PointsLedgerProperties properties;
+    private final Lane[] lanes;
+    private final Timer flushTimer;
+    private final DistributionSummary batchSizeSummary;
+
+    private volatile boolean running;
+
+    public PointsLedgerWriter(UserPointsMapper userPointsMapper,
+                              UserPointsBalanceMapper userPointsBalanceMapper,
+                              PointsBalanceCache pointsBalanceCache,
+                              PointsLeaderboard pointsLeaderboard,
+                              PointsIdempotencyGuard pointsIdempotencyGuard,
+                              TransactionTemplate transactionTemplate,
+                              PointsLedgerProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.userPointsMapper = userPointsMapper;
+        this.userPointsBalanceMapper = userPointsBalanceMapper;
+        this.pointsBalanceCache = pointsBalanceCache;
+        this.pointsLeaderboard = pointsLeaderboard;
+        this.pointsIdempotencyGuard = pointsIdempotencyGuard;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.lanes = new Lane[Math.max(1, properties.getLanes())];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new Lane(i);
+        }
+        this.flushTimer = Timer.builder("member.points.ledger.flush")
+                .description("積分流水群組提交耗時")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("member.points.ledger.batch.size")
+                .description("積分流水每次群組提交筆數")
+                .register(meterRegistry);
+        Gauge.builder("member.points.ledger.queue.depth", this, PointsLedgerWriter::queueDepth)
+                .description("積分流水待寫入筆數")
+                .register(meterRegistry);
+        Gauge.builder("member.points.ledger.queue.capacity", this,
+                        writer -> (double) writer.lanes.length * writer.properties.getQueueCapacity())
+                .description("積分流水所有通道的佇列總容量")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (Lane lane : lanes) {
+            Thread thread = new Thread(lane, "points-ledger-lane-" + lane.index);
+            thread.setDaemon(true);
+            lane.thread = thread;
+            thread.start();
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Lane lane : lanes) {
+            if (lane.thread != null) {
+                lane.thread.join(TimeUnit.SECONDS.toMillis(10));
+            }
+        }
+    }
+
+    /**
+     * 提交一筆積分變動
+     * 餘額、ID 與創建時間由寫入器填入，future 於該筆流水寫入資料庫後完成；
+     * 餘額不足時以 {@link InsufficientPointsException} 失敗
+     */
+    public CompletableFuture<UserPoints> submit(UserPoints record) {
+        CompletableFuture<UserPoints> future = new CompletableFuture<>();
+        if (!running) {
+            future.completeExceptionally(new BusinessException(503, "積分寫入服務未啟動"));
+            return future;
+        }
+        Lane lane = lanes[Math.floorMod(record.getUserId().hashCode(), lanes.length)];
+        if (!lane.queue.offer(new PendingEntry(record, future))) {
+            future.completeExceptionally(new BusinessException(503, "積分寫入繁忙，請稍後重試"));
+        }
+        return future;
+    }
+
+    /**
+     * 所有通道待寫入的筆數
+     */
+    public int queueDepth() {
+        int depth = 0;
+        for (Lane lane : lanes) {
+            depth += lane.queue.size();
+        }
+        return depth;
+    }
+
+    private record PendingEntry(UserPoints record, CompletableFuture<UserPoints> future) {
+    }
+
+    /**
+     * 單執行緒寫入通道
+     */
+    private final class Lane implements Runnable {
+
+        final int index;
+        final BlockingQueue<PendingEntry> queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        Thread thread;
+
+        Lane(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public void run() {
+            int maxBatchSize = properties.getMaxBatchSize();
+            long maxDelayNanos = properties.getMaxBatchDelay().toNanos();
+            List<PendingEntry> batch = new ArrayList<>(maxBatchSize);
+            while (running || !queue.isEmpty()) {
+                try {
+                    PendingEntry first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    long deadline = System.nanoTime() + maxDelayNanos;
+                    while (batch.size() < maxBatchSize) {
+                        queue.drainTo(batch, maxBatchSize - batch.size());
+                        long remaining = deadline - System.nanoTime();
+                        if (batch.size() >= maxBatchSize || remaining <= 0) {
+                            break;
+                        }
+                        PendingEntry next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                    flush(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    failAll(batch, new BusinessException(503, "積分寫入服務已停止"));
+                    return;
+                } catch (RuntimeException e) {
+                    log.error("積分寫入通道 {} 發生未預期錯誤: {}", index, e.getMessage(), e);
+                    failAll(batch, new DatabaseException("積分寫入失敗", e));
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+
+        private void flush(List<PendingEntry> batch) {
+            List<PendingEntry> remaining = dedupe(batch);
+            for (int attempt = 1; !remaining.isEmpty(); attempt++) {
+                remaining = flushOnce(remaining, attempt < MAX_FLUSH_ATTEMPTS);
+            }
+        }
+
+        /**
+         * 同一批次中 (type, ref_id) 重複的流水以第一筆的結果完成
+         */
+        private List<PendingEntry> dedupe(List<PendingEntry> batch) {
+            Map<String, PendingEntry> firstByRef = new HashMap<>();
+            List<PendingEntry> unique = new ArrayList<>(batch.size());
+            for (PendingEntry entry : batch) {
+                UserPoints record = entry.record();
+                PendingEntry first = record.getRefId() != null
+                        ? firstByRef.putIfAbsent(record.getType() + ":" + record.getRefId(), entry)
+                        : null;
+                if (first == null) {
+                    unique.add(entry);
+                    continue;
+                }
+                first.future().whenComplete((result, error) -> {
+                    if (error != null) {
+                        entry.future().completeExceptionally(error);
+                        return;
+                    }
+                    try {
+                        entry.future().complete(PointsIdempotencyGuard.verify(result, record.getUserId(),
+                                record.getPoints()));
+                    } catch (BusinessException e) {
+                        entry.future().completeExceptionally(e);
+                    }
+                });
+            }
+            return unique;
+        }
+
+        /**
+         * 提交一批流水
+         *
+         * @param retryDuplicates 唯一索引衝突時是否以既有流水完成衝突項並返回其餘項重試
+         * @return 需要重新提交的流水，沒有時返回空列表
+         */
+        private List<PendingEntry> flushOnce(List<PendingEntry> batch, boolean retryDuplicates) {
+            List<String> userIds = batch.stream().map(entry -> entry.record().getUserId()).distinct().sorted().toList();
+            Map<String, Long> tentative = new HashMap<>();
+            List<PendingEntry> accepted = new ArrayList<>(batch.size());
+            List<UserPoints> records = new ArrayList<>(batch.size());
+
+            Timer.Sample sample = Timer.start();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    Map<String, Long> balances = lockBalances(userIds);
+                    LocalDateTime now = LocalDateTime.now();
+                    for (PendingEntry entry : batch) {
+                        UserPoints record = entry.record();
+                        String userId = record.getUserId();
+                        Long current = tentative.get(userId);
+                        if (current == null) {
+                            current = balances.get(userId);
+                        }
+                        long balance = current + record.getPoints();
+                        if (balance < 0) {
+                            // 餘額不足的流水不寫入，不影響同批次的其他流水
+                            entry.future().completeExceptionally(new InsufficientPointsException(
+                                    String.format("積分餘額不足，目前餘額 %d，本次變動 %d", current, record.getPoints())));
+                            continue;
+                        }
+                        tentative.put(userId, balance);
+                        record.setId(UuidV7.generate())
+                                .setBalance(balance)
+                                .setCreateTime(now);
+                        accepted.add(entry);
+                        records.add(record);
+                    }
+                    if (records.isEmpty()) {
+                        return;
+                    }
+                    List<UserPointsBalance> snapshots = new ArrayList<>(tentative.size());
+                    tentative.forEach((userId, balance) ->
+                            snapshots.add(new UserPointsBalance().setUserId(userId).setBalance(balance)));
+                    userPointsMapper.insertBatch(records);
+                    userPointsBalanceMapper.upsertBatch(snapshots);
+                });
+            } catch (RuntimeException e) {
+                List<PendingEntry> retry = e instanceof DuplicateKeyException && retryDuplicates
+                        ? resolveDuplicates(accepted) : null;
+                if (retry != null) {
+                    // 交易已回滾，其餘流水重新鎖定餘額後提交
+                    return retry;
+                }
+                log.error("積分流水群組提交失敗 - 通道: {}, 筆數: {}, 錯誤: {}", index, records.size(), e.getMessage());
+                failAll(accepted, new DatabaseException("積分寫入失敗", e));
+                return List.of();
+            } finally {
+                sample.stop(flushTimer);
+            }
+            if (accepted.isEmpty()) {
+                return List.of();
+            }
+            pointsBalanceCache.putAll(tentative);
+            pointsLeaderboard.recordAll(tentative);
+            batchSizeSummary.record(records.size());
+            for (PendingEntry entry : accepted) {
+                entry.future().complete(entry.record());
+            }
+            return List.of();
+        }
+
+        /**
+         * 以既有流水完成違反唯一索引的項目
+         *
+         * @return 其餘需要重試的項目；找不到衝突的既有流水時返回 null（不是 ref_id 衝突）
+         */
+        private List<PendingEntry> resolveDuplicates(List<PendingEntry> entries) {
+            List<UserPoints> keys = new ArrayList<>();
+            for (PendingEntry entry : entries) {
+                if (entry.record().getRefId() != null) {
+                    keys.add(entry.record());
+                }
+            }
+            if (keys.isEmpty()) {
+                return null;
+            }
+            Map<String, UserPoints> existing = new HashMap<>();
+            for (UserPoints row : userPointsMapper.selectByTypeAndRefIds(keys)) {
+                existing.put(row.getType() + ":" + row.getRefId(), row);
+            }
+            if (existing.isEmpty()) {
+                return null;
+            }
+            List<PendingEntry> retry = new ArrayList<>(entries.size());
+            for (PendingEntry entry : entries) {
+                UserPoints record = entry.record();
+                UserPoints original = record.getRefId() != null
+                        ? existing.get(record.getType() + ":" + record.getRefId())
+                        : null;
+                if (original == null) {
+                    retry.add(entry);
+                    continue;
+                }
+                try {
+                    entry.future().complete(pointsIdempotencyGuard.ledgerHit(original, record.getUserId(),
+                            record.getPoints()));
+                } catch (BusinessException e) {
+                    entry.future().completeExceptionally(e);
+                }
+            }
+            log.info("積分流水關聯業務ID重複 - 通道: {}, 返回既有流水: {} 筆, 重新提交: {} 筆",
+                    index, entries.size() - retry.size(), retry.size());
+            return retry;
+        }
+
+        /**
+         * 鎖定並讀取用戶的餘額，尚無快照的用戶先補建為 0（須在交易內呼叫）
+         */
+        private Map<String, Long> lockBalances(List<String> userIds) {
+            userPointsBalanceMapper.insertMissing(userIds);
+            Map<String, Long> balances = new HashMap<>(userIds.size() * 2);
+            for (String userId : userIds) {
+                balances.put(userId, 0L);
+            }
+            for (UserPointsBalance snapshot : userPointsBalanceMapper.selectForUpdate(userIds)) {
+                balances.put(snapshot.getUserId(), snapshot.getBalance());
+            }
+            return balances;
+        }
+
+        private void failAll(List<PendingEntry> entries, RuntimeException error) {
+            for (PendingEntry entry : entries) {
+                entry.future().completeExceptionally(error);
+            }
+        }
+    }
+}
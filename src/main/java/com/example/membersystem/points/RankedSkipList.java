@@ -0,0 +1,232 @@
+package com.example.membersystem.points;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 帶排名的跳表（同 Redis ZSET 的 zskiplist）
+ * 依分數由高到低、同分時依成員字串由大到小排序（與 ZREVRANGE 一致），
+ * 每層指標記錄跨越的節點數，排名與依排名取區間都是 O(log n)；另以雜湊表保存成員目前的分數。
+ * <p>
+ * 方法以物件鎖同步，讀取與單筆更新都只持有鎖 O(log n) 的時間。
+ */
+public class RankedSkipList {
+
+    private static final int MAX_LEVEL = 32;
+    private static final int LEVEL_PROBABILITY = 4;
+
+    private final Node head = new Node(null, Long.MAX_VALUE, MAX_LEVEL);
+    private final Map<String, Long> scores = new HashMap<>();
+    private int level = 1;
+    private int size;
+
+    /**
+     * 排行榜項目
+     *
+     * @param rank 名次（從 0 開始）
+     */
+    public record Entry(String member, long score, long rank) {
+    }
+
+    /**
+     * 設定成員分數（新增或更新）
+     */
+    public synchronized void put(String member, long score) {
+        Long current = scores.get(member);
+        if (current != null) {
+            if (current == score) {
+                return;
+            }
+            delete(member, current);
+        }
+        insert(member, score);
+        scores.put(member, score);
+    }
+
+    /**
+     * 成員不存在時才新增
+     *
+     * @return 是否新增
+     */
+    public synchronized boolean putIfAbsent(String member, long score) {
+        if (scores.containsKey(member)) {
+            return false;
+        }
+        insert(member, score);
+        scores.put(member, score);
+        return true;
+    }
+
+    public synchronized boolean remove(String member) {
+        Long current = scores.remove(member);
+        if (current == null) {
+            return false;
+        }
+        delete(member, current);
+        return true;
+    }
+
+    public synchronized Long score(String member) {
+        return scores.get(member);
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * 成員名次（從 0 開始），不存在時返回 -1
+     */
+    public synchronized long rank(String member) {
+        Long score = scores.get(member);
+        if (score == null) {
+            return -1;
+        }
+        long rank = 0;
+        Node node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && precedesOrEquals(node.next[i], member, score)) {
+                rank += node.span[i];
+                node = node.next[i];
+            }
+            if (node != head && node.member.equals(member)) {
+                return rank - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 成員的名次與分數（同一次鎖定內讀取，兩者一致），不存在時返回 null
+     */
+    public synchronized Entry entry(String member) {
+        Long score = scores.get(member);
+        return score != null ? new Entry(member, score, rank(member)) : null;
+    }
+
+    /**
+     * 依名次取區間（含兩端，從 0 開始），超出範圍的部分忽略
+     */
+    public synchronized List<Entry> range(long start, long end) {
+        long from = Math.max(0, start);
+        long to = Math.min(end, size - 1L);
+        if (from > to) {
+            return Collections.emptyList();
+        }
+        // 以跨度定位第 from 名（traversed 為已經過的節點數，目標為第 from + 1 個節點）
+        Node node = head;
+        long traversed = 0;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && traversed + node.span[i] <= from + 1) {
+                traversed += node.span[i];
+                node = node.next[i];
+            }
+        }
+        List<Entry> entries = new ArrayList<>((int) (to - from + 1));
+        for (long rank = from; rank <= to && node != null; rank++) {
+            entries.add(new Entry(node.member, node.score, rank));
+            node = node.next[0];
+        }
+        return entries;
+    }
+
+    private void insert(String member, long score) {
+        Node[] update = new Node[MAX_LEVEL];
+        long[] rank = new long[MAX_LEVEL];
+        Node node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (node.next[i] != null && precedes(node.next[i], member, score)) {
+                rank[i] += node.span[i];
+                node = node.next[i];
+            }
+            update[i] = node;
+        }
+        int newLevel = randomLevel();
+        if (newLevel > level) {
+            for (int i = level; i < newLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                update[i].span[i] = size;
+            }
+            level = newLevel;
+        }
+        Node created = new Node(member, score, newLevel);
+        for (int i = 0; i < newLevel; i++) {
+            created.next[i] = update[i].next[i];
+            update[i].next[i] = created;
+            created.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = rank[0] - rank[i] + 1;
+        }
+        for (int i = newLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+        size++;
+    }
+
+    private void delete(String member, long score) {
+        Node[] update = new Node[MAX_LEVEL];
+        Node node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && precedes(node.next[i], member, score)) {
+                node = node.next[i];
+            }
+            update[i] = node;
+        }
+        Node target = node.next[0];
+        if (target == null || target.score != score || !target.member.equals(member)) {
+            return;
+        }
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == target) {
+                update[i].span[i] += target.span[i] - 1;
+                update[i].next[i] = target.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        size--;
+    }
+
+    /**
+     * 節點是否排在 (member, score) 之前
+     */
+    private static boolean precedes(Node node, String member, long score) {
+        return node.score > score || (node.score == score && node.member.compareTo(member) > 0);
+    }
+
+    private static boolean precedesOrEquals(Node node, String member, long score) {
+        return node.score > score || (node.score == score && node.member.compareTo(member) >= 0);
+    }
+
+    private static int randomLevel() {
+        int level = 1;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (level < MAX_LEVEL && random.nextInt(LEVEL_PROBABILITY) == 0) {
+            level++;
+        }
+        return level;
+    }
+
+    private static final class Node {
+
+        final String member;
+        final long score;
+        final Node[] next;
+        final long[] span;
+
+        Node(String member, long score, int level) {
+            this.member = member;
+            this.score = score;
+            this.next = new Node[level];
+            this.span = new long[level];
+        }
+    }
+}
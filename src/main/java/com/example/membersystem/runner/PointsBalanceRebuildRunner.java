@@ -0,0 +1,30 @@
+package com.example.membersystem.runner;
+
+import com.example.membersystem.service.PointsBalanceService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * 積分餘額快照重建命令
+ * 以 --rebuild-points-balance 參數啟動時，於應用啟動後執行一次重建
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PointsBalanceRebuildRunner implements ApplicationRunner {
+
+    private static final String OPTION = "rebuild-points-balance";
+
+    private final PointsBalanceService pointsBalanceService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (args.containsOption(OPTION)) {
+            log.info("收到 --{} 參數，開始重建積分餘額快照", OPTION);
+            pointsBalanceService.rebuild();
+        }
+    }
+}
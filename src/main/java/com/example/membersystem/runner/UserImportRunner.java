@@ -0,0 +1,49 @@
+package com.example.membersystem.runner;
+
+import com.example.membersystem.dto.UserImportResult;
+import com.example.membersystem.service.UserImportService;
+import com.example.membersystem.service.UserImportService.ImportFormat;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * 用戶批量匯入命令
+ * 以 --import-users=<檔案路徑> 參數啟動時，於應用啟動後匯入一次；格式依副檔名判斷，或以 --import-format=csv|jsonl 指定
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserImportRunner implements ApplicationRunner {
+
+    private static final String OPTION = "import-users";
+    private static final String FORMAT_OPTION = "import-format";
+
+    private final UserImportService userImportService;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        List<String> files = args.getOptionValues(OPTION);
+        if (files == null) {
+            return;
+        }
+        List<String> formats = args.getOptionValues(FORMAT_OPTION);
+        for (String file : files) {
+            ImportFormat format = ImportFormat.resolve(formats != null && !formats.isEmpty() ? formats.get(0) : file);
+            log.info("收到 --{} 參數，開始匯入 {} ({})", OPTION, file, format);
+            try (InputStream input = Files.newInputStream(Path.of(file))) {
+                UserImportResult result = userImportService.importUsers(input, format);
+                log.info("匯入完成 - 匯入: {}, 拒絕: {}, 拒絕行報告任務ID: {}",
+                        result.getImported(), result.getRejected(), result.getImportId());
+            }
+        }
+    }
+}
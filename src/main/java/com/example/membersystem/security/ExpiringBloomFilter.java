@@ -0,0 +1,140 @@
+package com.example.membersystem.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 可按時間淘汰的 Bloom 過濾器
+ * 元素依到期時間落入固定寬度的時間桶，每個桶是一個獨立的 Bloom 過濾器；
+ * 桶的結束時間過後整桶丟棄，因此無需刪除單一元素即可讓過期條目自然退場。
+ * 無鎖、執行緒安全；可能誤判存在，但不會漏判。
+ */
+public class ExpiringBloomFilter {
+
+    private final long bucketWidthMillis;
+    private final int bitsPerBucket;
+    private final int hashFunctions;
+    private final ConcurrentSkipListMap<Long, Bucket> buckets = new ConcurrentSkipListMap<>();
+
+    /**
+     * @param bucketWidthMillis    時間桶寬度
+     * @param expectedPerBucket    每個桶預期元素數
+     * @param falsePositiveRate    目標誤判率
+     */
+    public ExpiringBloomFilter(long bucketWidthMillis, int expectedPerBucket, double falsePositiveRate) {
+        if (bucketWidthMillis <= 0 || expectedPerBucket <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("invalid bloom filter parameters");
+        }
+        this.bucketWidthMillis = bucketWidthMillis;
+        long bits = (long) Math.ceil(-expectedPerBucket * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        // 向上取整為 64 的倍數
+        this.bitsPerBucket = (int) Math.min(Integer.MAX_VALUE - 63, (bits + 63) & ~63L);
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitsPerBucket / expectedPerBucket * Math.log(2)));
+    }
+
+    /**
+     * 加入元素
+     *
+     * @param expiresAtMillis 元素到期時間，到期所在的桶過期後元素即被淘汰
+     */
+    public void put(String element, long expiresAtMillis) {
+        long bucketEnd = (Math.floorDiv(expiresAtMillis, bucketWidthMillis) + 1) * bucketWidthMillis;
+        buckets.computeIfAbsent(bucketEnd, end -> new Bucket(bitsPerBucket)).put(element, hashFunctions);
+    }
+
+    /**
+     * 元素是否可能存在（false 代表一定不存在）
+     */
+    public boolean mightContain(String element, long nowMillis) {
+        Map<Long, Bucket> live = buckets.tailMap(nowMillis, false);
+        if (live.isEmpty()) {
+            return false;
+        }
+        long hash1 = hash(element);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        for (Bucket bucket : live.values()) {
+            if (bucket.mightContain(hash1, hash2, hashFunctions)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 丟棄結束時間早於 now 的桶
+     */
+    public void expire(long nowMillis) {
+        buckets.headMap(nowMillis, true).clear();
+    }
+
+    /**
+     * 目前存活桶中的元素總數（含重複加入）
+     */
+    public long size() {
+        long size = 0;
+        for (Bucket bucket : buckets.values()) {
+            size += bucket.count.sum();
+        }
+        return size;
+    }
+
+    private static long hash(String element) {
+        // FNV-1a 後再做 64 位混合，分布足以支撐雙重雜湊
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : element.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return z ^ (z >>> 33);
+    }
+
+    private static final class Bucket {
+
+        private final AtomicLongArray words;
+        private final int bits;
+        private final LongAdder count = new LongAdder();
+
+        Bucket(int bits) {
+            this.bits = bits;
+            this.words = new AtomicLongArray(bits >>> 6);
+        }
+
+        void put(String element, int hashFunctions) {
+            long hash1 = hash(element);
+            long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+            for (int i = 0; i < hashFunctions; i++) {
+                int bit = index(hash1, hash2, i);
+                long mask = 1L << bit;
+                int word = bit >>> 6;
+                long current = words.get(word);
+                while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                    current = words.get(word);
+                }
+            }
+            count.increment();
+        }
+
+        boolean mightContain(long hash1, long hash2, int hashFunctions) {
+            for (int i = 0; i < hashFunctions; i++) {
+                int bit = index(hash1, hash2, i);
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int index(long hash1, long hash2, int i) {
+            return (int) Long.remainderUnsigned(hash1 + i * hash2, bits);
+        }
+    }
+}
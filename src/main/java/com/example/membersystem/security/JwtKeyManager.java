@@ -0,0 +1,190 @@
+package com.example.membersystem.security;
+
+import com.example.membersystem.config.JwtProperties;
+import com.example.membersystem.exception.ConfigurationException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.Key;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT 簽名金鑰管理
+ * 金鑰只在載入時解碼一次，與對應的解析器一起放入不可變的金鑰環；
+ * 輪換時整體替換金鑰環，驗證路徑只讀取 volatile 引用。
+ */
+@Slf4j
+@Component
+public class JwtKeyManager {
+
+    private static final String KEY_PREFIX = "keys.";
+
+    private final JwtProperties properties;
+
+    private volatile KeyRing keyRing;
+
+    private volatile FileTime keyFileModified;
+
+    private ScheduledExecutorService refresher;
+
+    public JwtKeyManager(JwtProperties properties) {
+        this.properties = properties;
+        this.keyRing = loadKeyRing();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (properties.getKeyFile() == null || properties.getKeyFile().isBlank()) {
+            return;
+        }
+        long interval = properties.getKeyRefreshInterval().toMillis();
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jwt-key-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleWithFixedDelay(this::reloadIfModified, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    /**
+     * 當前金鑰環
+     */
+    public KeyRing current() {
+        return keyRing;
+    }
+
+    /**
+     * 重新載入金鑰（配置錯誤時保留原金鑰環並拋出異常）
+     */
+    public synchronized void reload() {
+        KeyRing reloaded = loadKeyRing();
+        keyRing = reloaded;
+        log.info("JWT 金鑰已重新載入，當前 kid={}，可驗證金鑰 {}", reloaded.activeKeyId(), reloaded.keys().keySet());
+    }
+
+    private void reloadIfModified() {
+        try {
+            FileTime modified = Files.getLastModifiedTime(Path.of(properties.getKeyFile()));
+            if (!modified.equals(keyFileModified)) {
+                reload();
+            }
+        } catch (Exception e) {
+            log.error("JWT 金鑰檔案載入失敗，沿用現有金鑰: {}", e.getMessage());
+        }
+    }
+
+    private KeyRing loadKeyRing() {
+        String activeKeyId = properties.getActiveKeyId();
+        Map<String, String> encodedKeys = new LinkedHashMap<>(properties.getKeys());
+        if (properties.getKeyFile() != null && !properties.getKeyFile().isBlank()) {
+            Path keyFile = Path.of(properties.getKeyFile());
+            Properties fileProperties = new Properties();
+            try (Reader reader = Files.newBufferedReader(keyFile, StandardCharsets.UTF_8)) {
+                keyFileModified = Files.getLastModifiedTime(keyFile);
+                fileProperties.load(reader);
+            } catch (IOException e) {
+                throw new ConfigurationException("無法讀取 JWT 金鑰檔案: " + keyFile, e);
+            }
+            activeKeyId = fileProperties.getProperty("active-key-id", activeKeyId);
+            for (String name : fileProperties.stringPropertyNames()) {
+                if (name.startsWith(KEY_PREFIX)) {
+                    encodedKeys.put(name.substring(KEY_PREFIX.length()), fileProperties.getProperty(name));
+                }
+            }
+        }
+        return KeyRing.of(activeKeyId, encodedKeys, properties);
+    }
+
+    /**
+     * 不可變的金鑰環
+     *
+     * @param activeKeyId 簽發使用的 kid
+     * @param keys        已解碼的金鑰
+     * @param parser      綁定此金鑰環的解析器（執行緒安全，可重用）
+     */
+    public record KeyRing(String activeKeyId, Map<String, SecretKey> keys, JwtParser parser) {
+
+        static KeyRing of(String activeKeyId, Map<String, String> encodedKeys, JwtProperties properties) {
+            Map<String, SecretKey> keys = new LinkedHashMap<>();
+            encodedKeys.forEach((kid, encoded) -> {
+                if (encoded == null || encoded.isBlank()) {
+                    // 未提供的環境變數展開為空字串，視為未配置
+                    return;
+                }
+                try {
+                    keys.put(kid, Keys.hmacShaKeyFor(Decoders.BASE64.decode(encoded)));
+                } catch (RuntimeException e) {
+                    throw new ConfigurationException("JWT 金鑰 " + kid + " 無效: " + e.getMessage(), e);
+                }
+            });
+            if (keys.isEmpty()) {
+                throw new ConfigurationException("未配置任何 JWT 簽名金鑰 (member.security.jwt.keys)");
+            }
+            if (activeKeyId == null || !keys.containsKey(activeKeyId)) {
+                throw new ConfigurationException("JWT active-key-id 不存在於已配置的金鑰中: " + activeKeyId);
+            }
+            Map<String, SecretKey> frozen = Collections.unmodifiableMap(keys);
+            JwtParser parser = Jwts.parser()
+                    .keyLocator(new LocatorAdapter<Key>() {
+                        @Override
+                        protected Key locate(JwsHeader header) {
+                            SecretKey key = header.getKeyId() != null ? frozen.get(header.getKeyId()) : null;
+                            if (key == null) {
+                                throw new UnknownKeyException(header.getKeyId());
+                            }
+                            return key;
+                        }
+                    })
+                    .requireIssuer(properties.getIssuer())
+                    .clockSkewSeconds(properties.getClockSkew().toSeconds())
+                    .build();
+            return new KeyRing(activeKeyId, frozen, parser);
+        }
+
+        public SecretKey activeKey() {
+            return keys.get(activeKeyId);
+        }
+
+        public boolean contains(String keyId) {
+            return keys.containsKey(keyId);
+        }
+    }
+
+    /**
+     * Token 使用了未知或已移除的金鑰
+     */
+    public static class UnknownKeyException extends JwtException {
+        public UnknownKeyException(String keyId) {
+            super("未知的簽名金鑰: " + keyId);
+        }
+    }
+}
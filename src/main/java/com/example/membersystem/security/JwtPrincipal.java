@@ -0,0 +1,15 @@
+package com.example.membersystem.security;
+
+import java.time.Instant;
+
+/**
+ * 已驗證的 JWT 身分
+ *
+ * @param userId    用戶ID (sub)
+ * @param username  用戶名
+ * @param tokenId   Token ID (jti)
+ * @param keyId     簽名金鑰 ID (kid)
+ * @param expiresAt 過期時間 (exp)
+ */
+public record JwtPrincipal(String userId, String username, String tokenId, String keyId, Instant expiresAt) {
+}
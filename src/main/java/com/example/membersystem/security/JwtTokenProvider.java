@@ -0,0 +1,212 @@
+package com.example.membersystem.security;
+
+import com.example.membersystem.common.UuidV7;
+import com.example.membersystem.config.JwtProperties;
+import com.example.membersystem.entity.User;
+import com.example.membersystem.exception.InvalidTokenException;
+import com.example.membersystem.service.TokenRevocationService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT 簽發與驗證
+ * 驗證成功的 Token 以其 SHA-256 摘要為鍵快取，存活時間不超過 Token 的 exp；
+ * 重複請求命中快取時只需計算摘要，不再驗簽與解析 Claims。
+ * 快取項目記錄驗簽時使用的金鑰，命中時與當前金鑰環中同一 kid 的金鑰比對，
+ * kid 被移除或同一 kid 的金鑰內容被更換時立即失效。
+ * 撤銷檢查不進入快取，每次驗證都會經過（Bloom 未命中時不產生網路請求）。
+ */
+@Component
+public class JwtTokenProvider {
+
+    private static final String CLAIM_USERNAME = "username";
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final JwtKeyManager keyManager;
+    private final JwtProperties properties;
+    private final TokenRevocationService revocationService;
+    private final Cache<String, Verified> verified;
+    private final Timer hitTimer;
+    private final Timer missTimer;
+    private final Map<String, Counter> failures;
+
+    public JwtTokenProvider(JwtKeyManager keyManager, JwtProperties properties,
+                            TokenRevocationService revocationService, MeterRegistry meterRegistry) {
+        this.keyManager = keyManager;
+        this.properties = properties;
+        this.revocationService = revocationService;
+        long maxTtlNanos = properties.getVerifiedCacheMaxTtl().toNanos();
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(properties.getVerifiedCacheMaximumSize())
+                .expireAfter(new Expiry<String, Verified>() {
+                    @Override
+                    public long expireAfterCreate(String key, Verified entry, long currentTime) {
+                        long untilExpiry = (entry.principal().expiresAt().toEpochMilli()
+                                - System.currentTimeMillis()) * 1_000_000L;
+                        return Math.max(0, Math.min(untilExpiry, maxTtlNanos));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Verified entry, long currentTime,
+                                                  long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Verified entry, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "jwtVerified");
+        this.hitTimer = Timer.builder("member.jwt.verify")
+                .description("JWT 驗證耗時")
+                .tag("cache", "hit")
+                .register(meterRegistry);
+        this.missTimer = Timer.builder("member.jwt.verify")
+                .description("JWT 驗證耗時")
+                .tag("cache", "miss")
+                .register(meterRegistry);
+        this.failures = Map.of(
+                "expired", failureCounter(meterRegistry, "expired"),
+                "signature", failureCounter(meterRegistry, "signature"),
+                "unknown_key", failureCounter(meterRegistry, "unknown_key"),
+                "malformed", failureCounter(meterRegistry, "malformed"),
+                "revoked", failureCounter(meterRegistry, "revoked"));
+    }
+
+    /**
+     * 為用戶簽發 Access Token
+     */
+    public String issue(User user) {
+        JwtKeyManager.KeyRing ring = keyManager.current();
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .header().keyId(ring.activeKeyId()).and()
+                .id(UuidV7.generate())
+                .issuer(properties.getIssuer())
+                .subject(user.getId())
+                .claim(CLAIM_USERNAME, user.getUsername())
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plus(properties.getAccessTokenTtl())))
+                .signWith(ring.activeKey())
+                .compact();
+    }
+
+    /**
+     * 驗證 Token
+     *
+     * @throws InvalidTokenException Token 無效、已過期、已撤銷或簽名金鑰已被移除
+     */
+    public JwtPrincipal verify(String token) {
+        long start = System.nanoTime();
+        String digest = digest(token);
+        Verified cached = verified.getIfPresent(digest);
+        if (cached != null) {
+            // 金鑰輪換移除 kid 或更換其金鑰內容時立即失效，不必等待快取過期
+            if (cached.signedWith(keyManager.current()) && cached.principal().expiresAt().isAfter(Instant.now())) {
+                try {
+                    return checkRevoked(cached.principal());
+                } finally {
+                    hitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            }
+            verified.invalidate(digest);
+        }
+        try {
+            JwtKeyManager.KeyRing ring = keyManager.current();
+            JwtPrincipal principal = parse(token, ring);
+            verified.put(digest, new Verified(principal, ring.keys().get(principal.keyId())));
+            return checkRevoked(principal);
+        } finally {
+            missTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private JwtPrincipal checkRevoked(JwtPrincipal principal) {
+        if (principal.tokenId() != null && revocationService.isRevoked(principal.tokenId(), principal.expiresAt())) {
+            failures.get("revoked").increment();
+            throw new InvalidTokenException("Token 已被撤銷");
+        }
+        return principal;
+    }
+
+    private JwtPrincipal parse(String token, JwtKeyManager.KeyRing ring) {
+        try {
+            Jws<Claims> jws = ring.parser().parseSignedClaims(token);
+            Claims claims = jws.getPayload();
+            if (claims.getExpiration() == null) {
+                throw new MalformedJwtException("缺少 exp");
+            }
+            return new JwtPrincipal(claims.getSubject(), claims.get(CLAIM_USERNAME, String.class),
+                    claims.getId(), jws.getHeader().getKeyId(), claims.getExpiration().toInstant());
+        } catch (ExpiredJwtException e) {
+            failures.get("expired").increment();
+            throw new InvalidTokenException("Token 已過期");
+        } catch (SignatureException e) {
+            failures.get("signature").increment();
+            throw new InvalidTokenException();
+        } catch (JwtKeyManager.UnknownKeyException e) {
+            failures.get("unknown_key").increment();
+            throw new InvalidTokenException();
+        } catch (JwtException | IllegalArgumentException e) {
+            failures.get("malformed").increment();
+            throw new InvalidTokenException();
+        }
+    }
+
+    private static String digest(String token) {
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    }
+
+    /**
+     * 已驗證的 Token 與驗簽使用的金鑰
+     */
+    private record Verified(JwtPrincipal principal, SecretKey key) {
+
+        boolean signedWith(JwtKeyManager.KeyRing ring) {
+            SecretKey current = ring.keys().get(principal.keyId());
+            return current == key || (current != null && current.equals(key));
+        }
+    }
+
+    private static Counter failureCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("member.jwt.verify.failure")
+                .description("JWT 驗證失敗次數")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
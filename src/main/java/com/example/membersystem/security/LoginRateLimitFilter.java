@@ -0,0 +1,57 @@
+package com.example.membersystem.security;
+
+import com.example.membersystem.common.ApiResult;
+import com.example.membersystem.exception.RateLimitExceededException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * 登入與註冊的 IP 限流過濾器
+ * 在讀取請求體、查詢資料庫與雜湊密碼之前拒絕超限的請求；用戶名維度的限流在解析請求體後由認證服務執行
+ */
+public class LoginRateLimitFilter extends OncePerRequestFilter {
+
+    private static final Set<String> LIMITED_PATHS = Set.of("/auth/login", "/auth/register");
+
+    private final LoginRateLimiter loginRateLimiter;
+    private final ObjectMapper objectMapper;
+
+    public LoginRateLimitFilter(LoginRateLimiter loginRateLimiter, ObjectMapper objectMapper) {
+        this.loginRateLimiter = loginRateLimiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !loginRateLimiter.isEnabled()
+                || !HttpMethod.POST.matches(request.getMethod())
+                || !LIMITED_PATHS.contains(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try {
+            loginRateLimiter.checkIp(request.getRemoteAddr());
+        } catch (RateLimitExceededException e) {
+            response.setStatus(e.getCode());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            objectMapper.writeValue(response.getWriter(), ApiResult.error(e.getCode(), e.getMessage()));
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.membersystem.security;
+
+import com.example.membersystem.config.RateLimitProperties;
+import com.example.membersystem.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 登入與註冊限流
+ * 依 IP 與用戶名各自的滑動視窗計數，本地計數在熱路徑上判斷；
+ * 啟用 Redis 時定期將本地增量推送到 Redis 雜湊（HINCRBY）並取回叢集總數，讓各節點看到整個叢集的請求量；
+ * 只對帳上次同步後被存取過的鍵，增量為零時改以 HGET 讀取總數，並依 syncBatchSize 分批送出 pipeline。
+ * Redis 不可用時退化為各節點獨立限流。
+ */
+@Slf4j
+@Component
+public class LoginRateLimiter {
+
+    private final RateLimitProperties properties;
+    private final SlidingWindowRateLimiter ipLimiter;
+    private final SlidingWindowRateLimiter usernameLimiter;
+    private final StringRedisTemplate redisTemplate;
+    private final ScheduledExecutorService syncExecutor;
+
+    private final Counter ipRejectedCounter;
+    private final Counter usernameRejectedCounter;
+    private final Timer syncTimer;
+
+    public LoginRateLimiter(RateLimitProperties properties,
+                            MeterRegistry meterRegistry,
+                            ObjectProvider<StringRedisTemplate> redisTemplateProvider,
+                            ObjectProvider<RedisMessageListenerContainer> listenerContainerProvider) {
+        this.properties = properties;
+        long windowMillis = properties.getWindow().toMillis();
+        this.ipLimiter = new SlidingWindowRateLimiter("ip", properties.getIpLimit(), windowMillis,
+                properties.getMaxTrackedKeys());
+        this.usernameLimiter = new SlidingWindowRateLimiter("username", properties.getUsernameLimit(), windowMillis,
+                properties.getMaxTrackedKeys());
+
+        this.redisTemplate = listenerContainerProvider.getIfAvailable() != null
+                ? redisTemplateProvider.getIfAvailable() : null;
+
+        this.ipRejectedCounter = rejectedCounter(meterRegistry, ipLimiter);
+        this.usernameRejectedCounter = rejectedCounter(meterRegistry, usernameLimiter);
+        this.syncTimer = Timer.builder("member.ratelimit.sync")
+                .description("限流計數與 Redis 對帳耗時")
+                .register(meterRegistry);
+        for (SlidingWindowRateLimiter limiter : List.of(ipLimiter, usernameLimiter)) {
+            Gauge.builder("member.ratelimit.tracked.keys", limiter, SlidingWindowRateLimiter::trackedKeys)
+                    .description("限流追蹤中的鍵數量")
+                    .tag("rule", limiter.getName())
+                    .register(meterRegistry);
+        }
+
+        long interval = properties.getSyncInterval().toMillis();
+        this.syncExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rate-limit-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.syncExecutor.scheduleWithFixedDelay(this::syncQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        syncExecutor.shutdownNow();
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * 計入一次來自該 IP 的請求，超過限制時拋出 {@link RateLimitExceededException}
+     */
+    public void checkIp(String ip) {
+        check(ipLimiter, ipRejectedCounter, ip);
+    }
+
+    /**
+     * 計入一次針對該用戶名的嘗試，超過限制時拋出 {@link RateLimitExceededException}
+     */
+    public void checkUsername(String username) {
+        if (username != null) {
+            check(usernameLimiter, usernameRejectedCounter, username.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private void check(SlidingWindowRateLimiter limiter, Counter rejectedCounter, String key) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (!limiter.tryAcquire(key, now)) {
+            rejectedCounter.increment();
+            throw new RateLimitExceededException(
+                    Math.max(1, TimeUnit.MILLISECONDS.toSeconds(limiter.millisUntilNextWindow(now) + 999)));
+        }
+    }
+
+    /**
+     * 與 Redis 對帳：推送本地增量並取回叢集總數；未啟用 Redis 時只清理不活躍的鍵
+     */
+    public void sync() {
+        long now = System.currentTimeMillis();
+        for (SlidingWindowRateLimiter limiter : List.of(ipLimiter, usernameLimiter)) {
+            List<SlidingWindowRateLimiter.SyncEntry> entries = limiter.collectForSync(now);
+            if (redisTemplate == null || entries.isEmpty()) {
+                continue;
+            }
+            int batchSize = Math.max(1, properties.getSyncBatchSize());
+            syncTimer.record(() -> {
+                for (int from = 0; from < entries.size(); from += batchSize) {
+                    pushAndApply(limiter, entries.subList(from, Math.min(from + batchSize, entries.size())));
+                }
+            });
+        }
+    }
+
+    private void pushAndApply(SlidingWindowRateLimiter limiter, List<SlidingWindowRateLimiter.SyncEntry> entries) {
+        long index = entries.get(0).index();
+        String previousKey = properties.getRedisKeyPrefix() + limiter.getName() + ":" + (index - 1);
+        String currentKey = properties.getRedisKeyPrefix() + limiter.getName() + ":" + index;
+        long ttlSeconds = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(limiter.getWindowMillis() * 2));
+        List<Object> totals = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            boolean pushedPrevious = false;
+            boolean pushedCurrent = false;
+            for (SlidingWindowRateLimiter.SyncEntry entry : entries) {
+                pushedPrevious |= pushOrRead(redis, previousKey, entry.key(), entry.previousDelta());
+                pushedCurrent |= pushOrRead(redis, currentKey, entry.key(), entry.currentDelta());
+            }
+            if (pushedPrevious) {
+                redis.expire(previousKey, ttlSeconds);
+            }
+            if (pushedCurrent) {
+                redis.expire(currentKey, ttlSeconds);
+            }
+            return null;
+        });
+        for (int i = 0; i < entries.size(); i++) {
+            limiter.applySync(entries.get(i), toLong(totals.get(2 * i)), toLong(totals.get(2 * i + 1)));
+        }
+    }
+
+    /**
+     * 增量不為零時 HINCRBY 並取回總數，否則只以 HGET 讀取總數
+     *
+     * @return 是否寫入了增量
+     */
+    private static boolean pushOrRead(StringRedisConnection redis, String hashKey, String field, long delta) {
+        if (delta != 0) {
+            redis.hIncrBy(hashKey, field, delta);
+            return true;
+        }
+        redis.hGet(hashKey, field);
+        return false;
+    }
+
+    private static long toLong(Object total) {
+        if (total instanceof Long value) {
+            return value;
+        }
+        return total != null ? Long.parseLong(total.toString()) : 0;
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (Exception e) {
+            log.warn("限流計數與 Redis 對帳失敗，暫以本地計數限流 - 錯誤: {}", e.getMessage());
+        }
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, SlidingWindowRateLimiter limiter) {
+        return Counter.builder("member.ratelimit.rejected")
+                .description("被限流拒絕的請求數")
+                .tag("rule", limiter.getName())
+                .register(meterRegistry);
+    }
+}
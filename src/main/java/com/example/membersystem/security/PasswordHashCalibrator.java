@@ -0,0 +1,64 @@
+package com.example.membersystem.security;
+
+import com.example.membersystem.config.PasswordHashProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Arrays;
+
+/**
+ * BCrypt 強度校準
+ * 以下限強度實測單次雜湊耗時，強度每加 1 耗時加倍，據此推算最接近目標耗時的強度
+ */
+@Slf4j
+public final class PasswordHashCalibrator {
+
+    private static final int SAMPLES = 3;
+
+    private PasswordHashCalibrator() {
+    }
+
+    /**
+     * 依配置決定 BCrypt 強度：有固定強度時直接使用，否則實測校準
+     */
+    public static int resolveStrength(PasswordHashProperties properties) {
+        int min = Math.max(4, properties.getMinStrength());
+        int max = Math.min(31, Math.max(min, properties.getMaxStrength()));
+        if (properties.getStrength() != null) {
+            return Math.min(31, Math.max(4, properties.getStrength()));
+        }
+        long targetNanos = properties.getTargetHashTime().toNanos();
+        long baseNanos = measure(min);
+        int strength = calibrate(baseNanos, min, targetNanos, max);
+        log.info("BCrypt 強度校準完成 - 強度: {}, 強度 {} 實測: {}ms, 預估單次雜湊: {}ms", strength, min,
+                baseNanos / 1_000_000, (baseNanos << (strength - min)) / 1_000_000);
+        return strength;
+    }
+
+    /**
+     * 由基準耗時推算強度：取預估耗時與目標耗時比值（以 2 為底的對數）最接近 0 的強度
+     */
+    static int calibrate(long baseNanos, int baseStrength, long targetNanos, int maxStrength) {
+        if (baseNanos <= 0 || targetNanos <= baseNanos) {
+            return baseStrength;
+        }
+        int extra = (int) Math.round(Math.log((double) targetNanos / baseNanos) / Math.log(2));
+        return Math.min(maxStrength, baseStrength + extra);
+    }
+
+    /**
+     * 實測指定強度的單次雜湊耗時（先預熱一次，取多次中位數）
+     */
+    private static long measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        encoder.encode("calibration-warmup");
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode("calibration-" + i);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+}
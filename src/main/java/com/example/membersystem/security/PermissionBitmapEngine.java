@@ -0,0 +1,155 @@
+package com.example.membersystem.security;
+
+import com.example.membersystem.entity.Role;
+import com.example.membersystem.entity.User;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 權限位圖引擎
+ * 為每個權限代碼分配緊密的整數索引，並將每個角色編譯成位圖，
+ * 用戶的有效權限即為其角色位圖的聯集，權限判斷只需一次位元測試。
+ * <p>
+ * 狀態以不可變快照保存，更新時複製並只重新編譯受影響的角色後原子替換，
+ * 讀取端永遠不會被阻塞。已停用的權限代碼保留其索引直到下次 {@link #rebuild}。
+ */
+public class PermissionBitmapEngine {
+
+    private final Object writeLock = new Object();
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * 以完整的角色權限資料重建引擎
+     *
+     * @param rolePermissionCodes 角色ID → 權限代碼
+     */
+    public void rebuild(Map<String, ? extends Collection<String>> rolePermissionCodes) {
+        synchronized (writeLock) {
+            Map<String, Integer> codeIndex = new HashMap<>();
+            Map<String, PermissionBits> roleBits = new HashMap<>();
+            rolePermissionCodes.forEach((roleId, codes) ->
+                    roleBits.put(roleId, compileRole(codes, codeIndex)));
+            snapshot = new Snapshot(snapshot.version + 1, codeIndex, roleBits);
+        }
+    }
+
+    /**
+     * 只重新編譯受影響的角色
+     *
+     * @param changedRoles   角色ID → 最新的權限代碼（空集合表示角色已無有效權限）
+     * @param removedRoleIds 已刪除或停用的角色ID
+     */
+    public void updateRoles(Map<String, ? extends Collection<String>> changedRoles,
+                            Collection<String> removedRoleIds) {
+        synchronized (writeLock) {
+            Snapshot current = snapshot;
+            Map<String, Integer> codeIndex = new HashMap<>(current.codeIndex);
+            Map<String, PermissionBits> roleBits = new HashMap<>(current.roleBits);
+            changedRoles.forEach((roleId, codes) -> roleBits.put(roleId, compileRole(codes, codeIndex)));
+            removedRoleIds.forEach(roleBits::remove);
+            snapshot = new Snapshot(current.version + 1, codeIndex, roleBits);
+        }
+    }
+
+    /**
+     * 計算多個角色的有效權限位圖
+     */
+    public PermissionBits compile(Collection<String> roleIds) {
+        return compile(snapshot, roleIds);
+    }
+
+    /**
+     * 判斷用戶是否擁有指定權限（依據 {@link User#getRoles()}）
+     */
+    public boolean hasPermission(User user, String code) {
+        List<Role> roles = user.getRoles();
+        if (roles == null || roles.isEmpty()) {
+            return false;
+        }
+        Snapshot current = snapshot;
+        Integer index = current.codeIndex.get(code);
+        if (index == null) {
+            return false;
+        }
+        // 等價於先對角色位圖取聯集再測試，但不產生中間物件
+        for (Role role : roles) {
+            PermissionBits bits = current.roleBits.get(role.getId());
+            if (bits != null && bits.get(index)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 判斷權限位圖是否包含指定權限
+     */
+    public boolean hasPermission(PermissionBits bits, String code) {
+        Integer index = snapshot.codeIndex.get(code);
+        return index != null && bits.get(index);
+    }
+
+    /**
+     * 權限代碼對應的索引，不存在時返回 -1
+     */
+    public int indexOf(String code) {
+        return snapshot.codeIndex.getOrDefault(code, -1);
+    }
+
+    /**
+     * 已分配索引的權限代碼數量
+     */
+    public int permissionCount() {
+        return snapshot.codeIndex.size();
+    }
+
+    /**
+     * 快照版本，每次更新遞增
+     */
+    public long version() {
+        return snapshot.version;
+    }
+
+    private static PermissionBits compile(Snapshot current, Collection<String> roleIds) {
+        PermissionBits result = PermissionBits.EMPTY;
+        for (String roleId : roleIds) {
+            PermissionBits bits = current.roleBits.get(roleId);
+            if (bits != null) {
+                result = result.or(bits);
+            }
+        }
+        return result;
+    }
+
+    private static PermissionBits compileRole(Collection<String> codes, Map<String, Integer> codeIndex) {
+        int[] indexes = new int[codes.size()];
+        int i = 0;
+        for (String code : codes) {
+            indexes[i++] = codeIndex.computeIfAbsent(code, c -> codeIndex.size());
+        }
+        return PermissionBits.of(indexes);
+    }
+
+    /**
+     * 不可變快照
+     */
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(0, Collections.emptyMap(), Collections.emptyMap());
+
+        final long version;
+        final Map<String, Integer> codeIndex;
+        final Map<String, PermissionBits> roleBits;
+
+        Snapshot(long version, Map<String, Integer> codeIndex, Map<String, PermissionBits> roleBits) {
+            this.version = version;
+            this.codeIndex = codeIndex;
+            this.roleBits = roleBits;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.membersystem.security;
+
+import java.util.Arrays;
+
+/**
+ * 不可變的權限位圖
+ * 每個位元對應 {@link PermissionBitmapEngine} 分配給權限代碼的索引
+ */
+public final class PermissionBits {
+
+    public static final PermissionBits EMPTY = new PermissionBits(new long[0]);
+
+    private final long[] words;
+
+    private PermissionBits(long[] words) {
+        this.words = words;
+    }
+
+    /**
+     * 由權限索引建立位圖
+     */
+    static PermissionBits of(int[] indexes) {
+        if (indexes.length == 0) {
+            return EMPTY;
+        }
+        int max = 0;
+        for (int index : indexes) {
+            max = Math.max(max, index);
+        }
+        long[] words = new long[(max >>> 6) + 1];
+        for (int index : indexes) {
+            words[index >>> 6] |= 1L << index;
+        }
+        return new PermissionBits(words);
+    }
+
+    /**
+     * 測試指定索引的位元
+     */
+    public boolean get(int index) {
+        int word = index >>> 6;
+        return index >= 0 && word < words.length && (words[word] & (1L << index)) != 0;
+    }
+
+    /**
+     * 位元聯集
+     */
+    public PermissionBits or(PermissionBits other) {
+        if (other.words.length == 0) {
+            return this;
+        }
+        if (words.length == 0) {
+            return other;
+        }
+        long[] longer = words.length >= other.words.length ? words : other.words;
+        long[] shorter = longer == words ? other.words : words;
+        long[] result = Arrays.copyOf(longer, longer.length);
+        for (int i = 0; i < shorter.length; i++) {
+            result[i] |= shorter[i];
+        }
+        return new PermissionBits(result);
+    }
+
+    /**
+     * 已設定的位元數
+     */
+    public int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,263 @@
+package com.example.membersystem.security;
+
+import com.example.membersystem.entity.Permission;
+import com.example.membersystem.enums.PermissionType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 記憶體權限樹
+ * 一次建立整個權限森林，之後以單一節點為單位增量更新，
+ * 並可依用戶擁有的權限代碼裁剪出子樹而不需查詢資料庫。
+ * <p>
+ * 父節點尚未載入（或已移除）的節點暫存為孤兒，待父節點出現時自動掛回。
+ */
+public class PermissionTree {
+
+    private static final Comparator<Node> ORDER = Comparator
+            .comparingInt((Node node) -> node.sortOrder)
+            .thenComparing(node -> node.id);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Node> nodesById = new HashMap<>();
+    private final Map<String, Node> nodesByCode = new HashMap<>();
+    private final Map<String, List<Node>> orphansByParentId = new HashMap<>();
+    private final List<Node> roots = new ArrayList<>();
+
+    /**
+     * 以完整的權限資料重建
+     */
+    public void rebuild(Collection<Permission> permissions) {
+        lock.writeLock().lock();
+        try {
+            nodesById.clear();
+            nodesByCode.clear();
+            orphansByParentId.clear();
+            roots.clear();
+            for (Permission permission : permissions) {
+                Node node = new Node(permission);
+                nodesById.put(node.id, node);
+                nodesByCode.put(permission.getCode(), node);
+            }
+            for (Node node : nodesById.values()) {
+                attach(node, false);
+            }
+            roots.sort(ORDER);
+            for (Node node : nodesById.values()) {
+                node.children.sort(ORDER);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 新增或更新單一節點（父節點或排序變更時移動位置）
+     */
+    public void upsert(Permission permission) {
+        lock.writeLock().lock();
+        try {
+            Node existing = nodesById.get(permission.getId());
+            if (existing != null) {
+                detach(existing);
+                nodesByCode.remove(existing.permission.getCode());
+                existing.update(permission);
+                nodesByCode.put(permission.getCode(), existing);
+                attach(existing, true);
+                return;
+            }
+            Node node = new Node(permission);
+            nodesById.put(node.id, node);
+            nodesByCode.put(permission.getCode(), node);
+            List<Node> adopted = orphansByParentId.remove(node.id);
+            if (adopted != null) {
+                node.children.addAll(adopted);
+                node.children.sort(ORDER);
+            }
+            attach(node, true);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 移除單一節點，其子節點轉為孤兒
+     */
+    public void remove(String permissionId) {
+        lock.writeLock().lock();
+        try {
+            Node node = nodesById.remove(permissionId);
+            if (node == null) {
+                return;
+            }
+            detach(node);
+            nodesByCode.remove(node.permission.getCode());
+            if (!node.children.isEmpty()) {
+                orphansByParentId.computeIfAbsent(node.id, k -> new ArrayList<>()).addAll(node.children);
+                node.children.clear();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 完整的權限森林（深拷貝）
+     */
+    public List<Permission> snapshot() {
+        lock.readLock().lock();
+        try {
+            List<Permission> result = new ArrayList<>(roots.size());
+            for (Node root : roots) {
+                result.add(copy(root, null));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 依擁有的權限代碼裁剪子樹
+     * 擁有權限的節點及其所有祖先節點會被保留；成本與擁有的權限數及樹深度成正比，而非整棵樹的大小
+     *
+     * @param grantedCodes 用戶擁有的權限代碼
+     * @param types        只保留指定類型，未指定時保留所有類型
+     */
+    public List<Permission> prune(Collection<String> grantedCodes, Set<PermissionType> types) {
+        lock.readLock().lock();
+        try {
+            Map<Node, Boolean> visible = new IdentityHashMap<>();
+            for (String code : grantedCodes) {
+                Node node = nodesByCode.get(code);
+                if (node == null || !matches(node, types)) {
+                    continue;
+                }
+                // 向上標記祖先，遇到已標記的節點即可停止
+                while (node != null && visible.put(node, Boolean.TRUE) == null) {
+                    node = node.parentId != null ? nodesById.get(node.parentId) : null;
+                }
+            }
+            List<Permission> result = new ArrayList<>();
+            if (visible.isEmpty()) {
+                return result;
+            }
+            for (Node root : roots) {
+                if (visible.containsKey(root)) {
+                    result.add(copy(root, visible));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 節點數量（不含孤兒）
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodesById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean matches(Node node, Set<PermissionType> types) {
+        return types == null || types.isEmpty() || types.contains(PermissionType.getByCode(node.permission.getType()));
+    }
+
+    private void attach(Node node, boolean sorted) {
+        List<Node> siblings;
+        if (node.parentId == null) {
+            siblings = roots;
+        } else {
+            Node parent = nodesById.get(node.parentId);
+            siblings = parent != null
+                    ? parent.children
+                    : orphansByParentId.computeIfAbsent(node.parentId, k -> new ArrayList<>());
+        }
+        if (sorted) {
+            int index = Collections.binarySearch(siblings, node, ORDER);
+            siblings.add(index < 0 ? -index - 1 : index, node);
+        } else {
+            siblings.add(node);
+        }
+    }
+
+    private void detach(Node node) {
+        if (node.parentId == null) {
+            roots.remove(node);
+            return;
+        }
+        Node parent = nodesById.get(node.parentId);
+        if (parent != null) {
+            parent.children.remove(node);
+            return;
+        }
+        List<Node> orphans = orphansByParentId.get(node.parentId);
+        if (orphans != null) {
+            orphans.remove(node);
+            if (orphans.isEmpty()) {
+                orphansByParentId.remove(node.parentId);
+            }
+        }
+    }
+
+    private static Permission copy(Node node, Map<Node, Boolean> visible) {
+        Permission source = node.permission;
+        Permission target = new Permission()
+                .setName(source.getName())
+                .setCode(source.getCode())
+                .setResource(source.getResource())
+                .setMethod(source.getMethod())
+                .setParentId(source.getParentId())
+                .setType(source.getType())
+                .setSortOrder(source.getSortOrder())
+                .setStatus(source.getStatus());
+        target.setId(source.getId());
+        List<Permission> children = new ArrayList<>();
+        for (Node child : node.children) {
+            if (visible == null || visible.containsKey(child)) {
+                children.add(copy(child, visible));
+            }
+        }
+        return target.setChildren(children);
+    }
+
+    /**
+     * 樹節點，持有權限資料（不含 children）與排序後的子節點
+     */
+    private static final class Node {
+
+        final String id;
+        final List<Node> children = new ArrayList<>();
+        Permission permission;
+        String parentId;
+        int sortOrder;
+
+        Node(Permission permission) {
+            this.id = permission.getId();
+            update(permission);
+        }
+
+        void update(Permission permission) {
+            this.permission = permission.setChildren(null);
+            this.parentId = permission.getParentId() == null || permission.getParentId().isEmpty()
+                    || "0".equals(permission.getParentId()) ? null : permission.getParentId();
+            this.sortOrder = permission.getSortOrder() != null ? permission.getSortOrder() : 0;
+        }
+    }
+}
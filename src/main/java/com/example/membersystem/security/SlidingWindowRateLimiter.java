@@ -0,0 +1,230 @@
+package com.example.membersystem.security;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * 滑動視窗計數限流器
+ * 每個鍵保存上一個與當前固定視窗的計數，以「上一視窗計數 × 未經過比例 + 當前視窗計數」估算滑動視窗內的請求數。
+ * 視窗序號與兩個計數打包在同一個 long 中以 CAS 更新，熱路徑只有一次雜湊表查詢與一次 CAS，不加鎖。
+ * <p>
+ * 其他節點的計數由同步執行緒透過 {@link #collectForSync} / {@link #applySync} 合併，
+ * 限流判斷同時計入本地與其他節點的計數；只有上次同步後被存取過的鍵需要對帳。
+ * <p>
+ * 追蹤的鍵達到上限時新鍵一律拒絕（fail closed），避免攻擊者以大量隨機鍵讓後續請求繞過限流。
+ */
+public class SlidingWindowRateLimiter {
+
+    private static final int COUNT_BITS = 20;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final long INDEX_MASK = (1L << (64 - 2 * COUNT_BITS)) - 1;
+
+    private final String name;
+    private final int limit;
+    private final long windowMillis;
+    private final int maxTrackedKeys;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    /**
+     * @param name           限流規則名稱，同時作為 Redis 鍵的一部分
+     * @param limit          滑動視窗內允許的請求數
+     * @param windowMillis   視窗長度
+     * @param maxTrackedKeys 最多追蹤的鍵數量，達到上限時拒絕新鍵（防止以大量隨機鍵耗盡記憶體）
+     */
+    public SlidingWindowRateLimiter(String name, int limit, long windowMillis, int maxTrackedKeys) {
+        this.name = name;
+        this.limit = limit;
+        this.windowMillis = windowMillis;
+        this.maxTrackedKeys = maxTrackedKeys;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    /**
+     * 嘗試計入一次請求
+     *
+     * @return 未超過限制時返回 true 並計數；超過限制或追蹤的鍵已達上限時返回 false，不計數
+     */
+    public boolean tryAcquire(String key, long nowMillis) {
+        Window window = windows.get(key);
+        if (window == null) {
+            if (windows.size() >= maxTrackedKeys) {
+                return false;
+            }
+            window = windows.computeIfAbsent(key, k -> new Window());
+        }
+        if (!window.touched) {
+            window.touched = true;
+        }
+        long index = nowMillis / windowMillis;
+        double remaining = 1.0 - (double) (nowMillis - index * windowMillis) / windowMillis;
+        return window.tryAcquire(index & INDEX_MASK, remaining, limit);
+    }
+
+    /**
+     * 距離當前視窗結束的毫秒數，作為被限流時建議的重試等待時間
+     */
+    public long millisUntilNextWindow(long nowMillis) {
+        return windowMillis - nowMillis % windowMillis;
+    }
+
+    /**
+     * 目前追蹤的鍵數量
+     */
+    public int trackedKeys() {
+        return windows.size();
+    }
+
+    /**
+     * 收集需要同步的鍵（僅由同步執行緒呼叫）
+     * 只返回上次同步後被存取過（含被拒絕）或仍有未推送增量的鍵，同時移除上一視窗之前就不再活躍的鍵
+     */
+    public List<SyncEntry> collectForSync(long nowMillis) {
+        long index = nowMillis / windowMillis;
+        long masked = index & INDEX_MASK;
+        List<SyncEntry> entries = new ArrayList<>();
+        Iterator<Map.Entry<String, Window>> iterator = windows.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Window> entry = iterator.next();
+            Window window = entry.getValue();
+            boolean touched = window.touched;
+            if (touched) {
+                window.touched = false;
+            }
+            long state = window.local;
+            long previous = previousCount(state, masked);
+            long current = currentCount(state, masked);
+            if (previous == 0 && current == 0 && previousCount(window.remote, masked) == 0
+                    && currentCount(window.remote, masked) == 0) {
+                iterator.remove();
+                continue;
+            }
+            // 上次同步之後尚未推送的增量：同一視窗推送差額，跨視窗則上一視窗補推剩餘差額
+            long previousDelta;
+            long currentDelta;
+            if (window.syncedIndex == index) {
+                previousDelta = 0;
+                currentDelta = current - window.syncedCount;
+            } else if (window.syncedIndex == index - 1) {
+                previousDelta = previous - window.syncedCount;
+                currentDelta = current;
+            } else {
+                previousDelta = previous;
+                currentDelta = current;
+            }
+            previousDelta = Math.max(0, previousDelta);
+            currentDelta = Math.max(0, currentDelta);
+            if (!touched && previousDelta == 0 && currentDelta == 0) {
+                // 本節點沒有新的請求，不需要推送也不需要更新叢集計數
+                continue;
+            }
+            entries.add(new SyncEntry(entry.getKey(), window, index, previous, current, previousDelta, currentDelta));
+        }
+        return entries;
+    }
+
+    /**
+     * 套用叢集總計數（僅由同步執行緒呼叫）
+     *
+     * @param previousTotal 上一視窗的叢集總計數
+     * @param currentTotal  當前視窗的叢集總計數
+     */
+    public void applySync(SyncEntry entry, long previousTotal, long currentTotal) {
+        Window window = entry.window();
+        window.syncedIndex = entry.index();
+        window.syncedCount = entry.current();
+        window.remote = pack(entry.index() & INDEX_MASK,
+                Math.max(0, previousTotal - entry.previous()),
+                Math.max(0, currentTotal - entry.current()));
+    }
+
+    private static long pack(long index, long previous, long current) {
+        return index << (2 * COUNT_BITS)
+                | Math.min(previous, COUNT_MASK) << COUNT_BITS
+                | Math.min(current, COUNT_MASK);
+    }
+
+    private static long previousCount(long state, long index) {
+        long stateIndex = state >>> (2 * COUNT_BITS);
+        if (stateIndex == index) {
+            return (state >>> COUNT_BITS) & COUNT_MASK;
+        }
+        return stateIndex == ((index - 1) & INDEX_MASK) ? state & COUNT_MASK : 0;
+    }
+
+    private static long currentCount(long state, long index) {
+        return state >>> (2 * COUNT_BITS) == index ? state & COUNT_MASK : 0;
+    }
+
+    /**
+     * 待同步的鍵
+     *
+     * @param index         同步時的視窗序號
+     * @param previous      上一視窗本地計數
+     * @param current       當前視窗本地計數
+     * @param previousDelta 上一視窗尚未推送的本地增量
+     * @param currentDelta  當前視窗尚未推送的本地增量
+     */
+    public record SyncEntry(String key, Window window, long index, long previous, long current,
+                            long previousDelta, long currentDelta) {
+    }
+
+    /**
+     * 單一鍵的計數狀態
+     */
+    public static final class Window {
+
+        private static final AtomicLongFieldUpdater<Window> LOCAL =
+                AtomicLongFieldUpdater.newUpdater(Window.class, "local");
+
+        /**
+         * 本節點計數：視窗序號 | 上一視窗計數 | 當前視窗計數（以欄位更新器 CAS，省去一次 AtomicLong 間接存取）
+         */
+        private volatile long local;
+
+        /**
+         * 其他節點計數（同步執行緒寫入），格式同 local
+         */
+        private volatile long remote;
+
+        /**
+         * 上次同步的視窗序號與已推送的當前視窗計數（僅同步執行緒存取）
+         */
+        private long syncedIndex = -1;
+        private long syncedCount;
+
+        /**
+         * 上次同步後是否被存取過（未設定時才寫入，避免熱路徑上反覆寫同一快取行）
+         */
+        private volatile boolean touched;
+
+        private Window() {
+        }
+
+        private boolean tryAcquire(long index, double remaining, int limit) {
+            long remoteState = remote;
+            double remoteEstimate = previousCount(remoteState, index) * remaining + currentCount(remoteState, index);
+            while (true) {
+                long state = local;
+                long previous = previousCount(state, index);
+                long current = currentCount(state, index);
+                if (previous * remaining + current + remoteEstimate >= limit) {
+                    return false;
+                }
+                if (LOCAL.compareAndSet(this, state, pack(index, previous, current + 1))) {
+                    return true;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.membersystem.service;
+
+import com.example.membersystem.dto.LoginRequest;
+import com.example.membersystem.dto.LoginResult;
+import com.example.membersystem.dto.RegisterRequest;
+
+/**
+ * 認證服務
+ */
+public interface AuthService {
+
+    /**
+     * 用戶名密碼登入並簽發 Access Token
+     * 已存密碼雜湊強度低於目前強度時，登入成功後透明地重新雜湊
+     */
+    LoginResult login(LoginRequest request);
+
+    /**
+     * 註冊新用戶
+     *
+     * @return 新用戶ID
+     */
+    String register(RegisterRequest request);
+}
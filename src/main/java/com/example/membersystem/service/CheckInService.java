@@ -0,0 +1,22 @@
+package com.example.membersystem.service;
+
+import com.example.membersystem.dto.CheckInCalendar;
+import com.example.membersystem.dto.CheckInResult;
+
+import java.time.YearMonth;
+
+/**
+ * 每日簽到服務
+ */
+public interface CheckInService {
+
+    /**
+     * 今日簽到，首次簽到時依連續天數發放積分；重複簽到不寫入任何資料
+     */
+    CheckInResult checkIn(String userId);
+
+    /**
+     * 查詢用戶某月的簽到日曆
+     */
+    CheckInCalendar calendar(String userId, YearMonth month);
+}
@@ -0,0 +1,34 @@
+package com.example.membersystem.service;
+
+import com.example.membersystem.dto.ExportRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 資料匯出服務
+ * 以 MyBatis Cursor 逐行讀取並直接寫入輸出流，記憶體用量與資料量無關
+ */
+public interface ExportService {
+
+    /**
+     * 匯出用戶（不含密碼與已刪除用戶）
+     *
+     * @return 匯出的行數
+     */
+    long exportUsers(ExportRequest request, OutputStream out) throws IOException;
+
+    /**
+     * 匯出積分流水
+     *
+     * @return 匯出的行數
+     */
+    long exportPoints(ExportRequest request, OutputStream out) throws IOException;
+
+    /**
+     * 匯出操作日誌
+     *
+     * @return 匯出的行數
+     */
+    long exportOperationLogs(ExportRequest request, OutputStream out) throws IOException;
+}
@@ -0,0 +1,32 @@
+package com.example.membersystem.service;
+
+import com.example.membersystem.dto.LeaderboardEntry;
+import com.example.membersystem.dto.LeaderboardRebuildResult;
+
+import java.util.List;
+
+/**
+ * 積分排行榜服務
+ */
+public interface LeaderboardService {
+
+    /**
+     * 積分最高的前 N 名
+     */
+    List<LeaderboardEntry> top(int limit);
+
+    /**
+     * 用戶的名次與積分，未上榜時名次為 null
+     */
+    LeaderboardEntry rankOf(String userId);
+
+    /**
+     * 用戶名次前後各 radius 名（含用戶本身），未上榜時返回空列表
+     */
+    List<LeaderboardEntry> around(String userId, int radius);
+
+    /**
+     * 由餘額快照重建排行榜，重建期間的即時更新不會遺失
+     */
+    LeaderboardRebuildResult rebuild();
+}
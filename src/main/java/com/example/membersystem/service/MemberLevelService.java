@@ -0,0 +1,28 @@
+package com.example.membersystem.service;
+
+import com.example.membersystem.entity.MemberLevel;
+
+import java.util.List;
+
+/**
+ * 會員等級服務
+ */
+public interface MemberLevelService {
+
+    /**
+     * 查詢積分所屬的會員等級，低於最低等級時返回 null
+     */
+    MemberLevel resolve(long points);
+
+    /**
+     * 已排序的有效會員等級
+     */
+    List<MemberLevel> getLevels();
+
+    /**
+     * 等級配置變更後重新載入
+     *
+     * @throws com.example.membersystem.exception.ConfigurationException 配置不合法時拒絕載入並保留原有索引
+     */
+    void reload();
+}
@@ -0,0 +1,22 @@
+package com.example.membersystem.service;
+
+import com.example.membersystem.common.PageRequest;
+import com.example.membersystem.common.PageResult;
+import com.example.membersystem.entity.OperationLog;
+
+import java.time.LocalDateTime;
+
+/**
+ * 操作日誌查詢服務
+ */
+public interface OperationLogService {
+
+    /**
+     * 分頁查詢操作日誌（支援 offset 與游標模式）
+     *
+     * @param userId 操作用戶ID，可為 null
+     * @param from   起始時間（含），可為 null；指定時間範圍時只掃描對應月份的分區
+     * @param to     結束時間（不含），可為 null
+     */
+    PageResult<OperationLog> page(PageRequest pageRequest, String userId, LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,34 @@
+package com.example.membersystem.service;
+
+import com.example.membersystem.entity.Permission;
+import com.example.membersystem.enums.PermissionType;
+
+import java.util.List;
+
+/**
+ * 權限樹服務
+ */
+public interface PermissionTreeService {
+
+    /**
+     * 獲取完整的權限樹
+     */
+    List<Permission> getTree();
+
+    /**
+     * 獲取用戶可見的權限子樹
+     *
+     * @param type 只保留指定類型，為 null 時保留所有類型
+     */
+    List<Permission> getUserTree(String userId, PermissionType type);
+
+    /**
+     * 單一權限變更後增量更新權限樹
+     */
+    void refreshNode(String permissionId);
+
+    /**
+     * 從資料庫完整重建權限樹
+     */
+    void reload();
+}
@@ -0,0 +1,21 @@
+package com.example.membersystem.service;
+
+import com.example.membersystem.dto.PointsBalanceRebuildResult;
+
+/**
+ * 積分餘額讀取服務
+ * 餘額來自 user_points_balance 快照與本地快取，成本與流水長度無關
+ */
+public interface PointsBalanceService {
+
+    /**
+     * 查詢用戶當前積分餘額，無任何流水時為 0
+     */
+    long getBalance(String userId);
+
+    /**
+     * 由積分流水並行重建所有用戶的餘額快照
+     * 應於暫停積分寫入時執行，否則重建期間的寫入可能被覆蓋
+     */
+    PointsBalanceRebuildResult rebuild();
+}
@@ -0,0 +1,38 @@
+package com.example.membersystem.service;
+
+import com.example.membersystem.dto.PointsCampaignProgress;
+import com.example.membersystem.dto.PointsCampaignRequest;
+
+import java.util.List;
+
+/**
+ * 積分活動批次發放服務
+ */
+public interface PointsCampaignService {
+
+    /**
+     * 建立活動並於背景開始發放
+     *
+     * @throws com.example.membersystem.exception.BusinessException 目標會員等級不存在或未啟用（404）
+     */
+    PointsCampaignProgress create(PointsCampaignRequest request);
+
+    /**
+     * 查詢活動進度；由本節點執行時包含即時速率與預估剩餘時間
+     *
+     * @throws com.example.membersystem.exception.BusinessException 活動不存在（404）
+     */
+    PointsCampaignProgress getProgress(String campaignId);
+
+    /**
+     * 最近建立的活動，由新到舊
+     */
+    List<PointsCampaignProgress> listRecent(int limit);
+
+    /**
+     * 續跑失敗或中斷的活動，只處理未完成的分片
+     *
+     * @throws com.example.membersystem.exception.BusinessException 活動不存在（404）或已完成（409）
+     */
+    PointsCampaignProgress resume(String campaignId);
+}
@@ -0,0 +1,35 @@
+package com.example.membersystem.service;
+
+import com.example.membersystem.entity.UserPoints;
+import com.example.membersystem.enums.PointsType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 積分服務
+ */
+public interface PointsService {
+
+    /**
+     * 變動用戶積分
+     * 返回的 future 於流水寫入資料庫後完成，包含變動後的餘額；
+     * 相同 type 與 refId 的重複提交不會再次入帳，直接返回原交易的流水
+     *
+     * @param points 變動數量（正數為增加，負數為減少）
+     * @param refId  關聯業務ID（同一類型內唯一），可為 null
+     */
+    CompletableFuture<UserPoints> changePoints(String userId, long points, PointsType type,
+                                               String description, String refId);
+
+    /**
+     * 查詢用戶積分流水，依 create_time 由新到舊
+     * 資料庫中的近期流水與歸檔段中的冷資料合併返回
+     *
+     * @param from  起始時間（含），可為 null
+     * @param to    結束時間（不含），可為 null
+     * @param limit 最多返回筆數
+     */
+    List<UserPoints> history(String userId, LocalDateTime from, LocalDateTime to, int limit);
+}
@@ -0,0 +1,28 @@
+package com.example.membersystem.service;
+
+import java.time.Instant;
+
+/**
+ * Token 撤銷服務
+ * 本地 Bloom 過濾器過濾絕大多數未撤銷的 Token，只有 Bloom 命中時才查詢 Redis 撤銷清單
+ */
+public interface TokenRevocationService {
+
+    /**
+     * 撤銷 Token，條目保留至 Token 過期
+     *
+     * @param tokenId   Token ID (jti)
+     * @param expiresAt Token 過期時間
+     */
+    void revoke(String tokenId, Instant expiresAt);
+
+    /**
+     * Token 是否已被撤銷
+     */
+    boolean isRevoked(String tokenId, Instant expiresAt);
+
+    /**
+     * 從撤銷清單全量同步本地 Bloom 過濾器並清理過期條目
+     */
+    void resync();
+}
@@ -0,0 +1,45 @@
+package com.example.membersystem.service;
+
+import com.example.membersystem.dto.UserImportResult;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * 用戶批量匯入服務
+ */
+public interface UserImportService {
+
+    /**
+     * 串流匯入用戶；重複或不合法的行記入拒絕行報告，不中斷匯入
+     *
+     * @throws com.example.membersystem.exception.BusinessException 已有匯入任務執行中 (409) 或檔案無法讀取 (400)
+     */
+    UserImportResult importUsers(InputStream input, ImportFormat format);
+
+    /**
+     * 拒絕行報告檔案（CSV：line,username,email,reason）
+     *
+     * @throws com.example.membersystem.exception.BusinessException 報告不存在 (404)
+     */
+    Path getRejectedReport(String importId);
+
+    /**
+     * 匯入檔案格式
+     */
+    enum ImportFormat {
+        CSV,
+        JSONL;
+
+        /**
+         * 依參數或副檔名判斷格式，無法判斷時視為 CSV
+         */
+        public static ImportFormat resolve(String value) {
+            if (value == null) {
+                return CSV;
+            }
+            String lower = value.toLowerCase();
+            return lower.endsWith("jsonl") || lower.endsWith("ndjson") || lower.endsWith("json") ? JSONL : CSV;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.membersystem.service;
+
+import com.example.membersystem.entity.User;
+
+/**
+ * 用戶資料服務
+ * 提供包含角色、權限、積分與會員等級的完整用戶資料
+ */
+public interface UserProfileService {
+
+    /**
+     * 獲取完整用戶資料（經由二級快取）
+     *
+     * @throws com.example.membersystem.exception.UserNotFoundException 用戶不存在
+     */
+    User getProfile(String userId);
+
+    /**
+     * 用戶資料、角色或積分變更後清除快取
+     */
+    void evictProfile(String userId);
+
+    /**
+     * 角色、權限或會員等級配置變更後清除全部快取
+     */
+    void evictAllProfiles();
+}
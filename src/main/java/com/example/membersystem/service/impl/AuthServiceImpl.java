@@ -0,0 +1,133 @@
+package com.example.membersystem.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.example.membersystem.common.UuidV7;
+import com.example.membersystem.config.JwtProperties;
+import com.example.membersystem.dto.LoginRequest;
+import com.example.membersystem.dto.LoginResult;
+import com.example.membersystem.dto.RegisterRequest;
+import com.example.membersystem.entity.User;
+import com.example.membersystem.enums.UserStatus;
+import com.example.membersystem.exception.BusinessException;
+import com.example.membersystem.exception.InvalidPasswordException;
+import com.example.membersystem.exception.UserAlreadyExistsException;
+import com.example.membersystem.exception.UserStatusException;
+import com.example.membersystem.mapper.UserMapper;
+import com.example.membersystem.security.JwtTokenProvider;
+import com.example.membersystem.security.LoginRateLimiter;
+import com.example.membersystem.security.PasswordHasher;
+import com.example.membersystem.service.AuthService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * 認證服務實現
+ * 密碼雜湊與驗證一律經 {@link PasswordHasher} 的專用執行緒池執行；查詢資料庫前先檢查用戶名維度的限流
+ */
+@Slf4j
+@Service
+public class AuthServiceImpl implements AuthService {
+
+    private static final String TOKEN_TYPE = "Bearer";
+
+    private final UserMapper userMapper;
+    private final PasswordHasher passwordHasher;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final JwtProperties jwtProperties;
+    private final LoginRateLimiter loginRateLimiter;
+
+    /**
+     * 用戶不存在時用來比對的雜湊，讓「用戶不存在」與「密碼錯誤」耗時相同，避免以回應時間探測用戶名
+     */
+    private final String dummyHash;
+
+    public AuthServiceImpl(UserMapper userMapper,
+                           PasswordHasher passwordHasher,
+                           JwtTokenProvider jwtTokenProvider,
+                           JwtProperties jwtProperties,
+                           LoginRateLimiter loginRateLimiter) {
+        this.userMapper = userMapper;
+        this.passwordHasher = passwordHasher;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.jwtProperties = jwtProperties;
+        this.loginRateLimiter = loginRateLimiter;
+        this.dummyHash = passwordHasher.encode(UuidV7.generate());
+    }
+
+    @Override
+    public LoginResult login(LoginRequest request) {
+        loginRateLimiter.checkUsername(request.getUsername());
+        User user = userMapper.selectOne(new LambdaQueryWrapper<User>()
+                .eq(User::getUsername, request.getUsername()));
+        if (user == null) {
+            passwordHasher.matches(request.getPassword(), dummyHash);
+            throw new InvalidPasswordException("用戶名或密碼錯誤");
+        }
+        if (!passwordHasher.matches(request.getPassword(), user.getPassword())) {
+            throw new InvalidPasswordException("用戶名或密碼錯誤");
+        }
+        if (!UserStatus.NORMAL.getCode().equals(user.getStatus())) {
+            throw new UserStatusException("用戶已被禁用");
+        }
+        if (passwordHasher.needsUpgrade(user.getPassword())) {
+            upgradePassword(user, request.getPassword());
+        }
+        return new LoginResult()
+                .setUserId(user.getId())
+                .setAccessToken(jwtTokenProvider.issue(user))
+                .setTokenType(TOKEN_TYPE)
+                .setExpiresIn(jwtProperties.getAccessTokenTtl().toSeconds());
+    }
+
+    @Override
+    public String register(RegisterRequest request) {
+        loginRateLimiter.checkUsername(request.getUsername());
+        Long exists = userMapper.selectCount(new LambdaQueryWrapper<User>()
+                .eq(User::getUsername, request.getUsername())
+                .or()
+                .eq(User::getEmail, request.getEmail()));
+        if (exists > 0) {
+            throw new UserAlreadyExistsException("用戶名或郵箱已被註冊");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        User user = new User()
+                .setUsername(request.getUsername())
+                .setEmail(request.getEmail())
+                .setPassword(passwordHasher.encode(request.getPassword()))
+                .setPhone(request.getPhone())
+                .setNickname(request.getNickname())
+                .setStatus(UserStatus.NORMAL.getCode());
+        user.setDeleted(0);
+        user.setCreateTime(now);
+        user.setUpdateTime(now);
+        try {
+            userMapper.insert(user);
+        } catch (DuplicateKeyException e) {
+            throw new UserAlreadyExistsException("用戶名或郵箱已被註冊");
+        }
+        log.info("用戶註冊成功 - 用戶ID: {}, 用戶名: {}", user.getId(), user.getUsername());
+        return user.getId();
+    }
+
+    /**
+     * 以目前強度重新雜湊並寫回；以舊雜湊為條件更新，避免覆蓋同時發生的密碼修改。
+     * 升級失敗不影響本次登入，下次登入時再試
+     */
+    private void upgradePassword(User user, String rawPassword) {
+        try {
+            String upgraded = passwordHasher.encode(rawPassword);
+            userMapper.update(null, new LambdaUpdateWrapper<User>()
+                    .set(User::getPassword, upgraded)
+                    .eq(User::getId, user.getId())
+                    .eq(User::getPassword, user.getPassword()));
+            log.info("用戶密碼雜湊已升級 - 用戶ID: {}", user.getId());
+        } catch (BusinessException | DataAccessException e) {
+            log.warn("用戶密碼雜湊升級失敗，將於下次登入重試 - 用戶ID: {}, 錯誤: {}", user.getId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.membersystem.service.impl;
+
+import com.example.membersystem.config.CheckInProperties;
+import com.example.membersystem.dto.CheckInCalendar;
+import com.example.membersystem.dto.CheckInResult;
+import com.example.membersystem.entity.UserPoints;
+import com.example.membersystem.enums.PointsType;
+import com.example.membersystem.points.CheckInStore;
+import com.example.membersystem.service.CheckInService;
+import com.example.membersystem.service.PointsBalanceService;
+import com.example.membersystem.service.PointsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 每日簽到服務實現
+ * 重複簽到只查詢位圖，不存取資料庫；只有實際發放積分時才寫入流水
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CheckInServiceImpl implements CheckInService {
+
+    private final CheckInStore checkInStore;
+    private final CheckInProperties properties;
+    private final PointsService pointsService;
+    private final PointsBalanceService pointsBalanceService;
+
+    @Override
+    public CheckInResult checkIn(String userId) {
+        LocalDate today = LocalDate.now();
+        boolean first = checkInStore.mark(userId, today);
+        int[] masks = checkInStore.monthMasks(userId, YearMonth.from(today), lookbackMonths());
+        int streak = CheckInStore.streak(masks, today);
+        CheckInResult result = new CheckInResult()
+                .setDate(today)
+                .setAlreadyCheckedIn(!first)
+                .setStreak(streak)
+                .setMonthTotal(Integer.bitCount(masks[0]));
+        if (!first) {
+            return result.setAwardedPoints(0L).setBalance(pointsBalanceService.getBalance(userId));
+        }
+
+        long points = properties.getBasePoints()
+                + Math.min(streak - 1, properties.getMaxStreakBonusDays()) * properties.getStreakBonusPoints();
+        UserPoints record;
+        try {
+            record = pointsService.changePoints(userId, points, PointsType.CHECK_IN,
+                    String.format("每日簽到（連續 %d 天）", streak), "check-in:" + userId + ":" + today).join();
+        } catch (RuntimeException e) {
+            // 積分未發放，撤銷簽到標記讓用戶可以重試
+            checkInStore.unmark(userId, today);
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            log.warn("簽到積分發放失敗 - 用戶ID: {}, 錯誤: {}", userId, cause.getMessage());
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+        return result.setAwardedPoints(points).setBalance(record.getBalance());
+    }
+
+    @Override
+    public CheckInCalendar calendar(String userId, YearMonth month) {
+        LocalDate today = LocalDate.now();
+        YearMonth current = YearMonth.from(today);
+        int[] masks = checkInStore.monthMasks(userId, current, lookbackMonths());
+        int monthIndex = (int) month.until(current, ChronoUnit.MONTHS);
+        int mask = monthIndex >= 0 && monthIndex < masks.length
+                ? masks[monthIndex]
+                : checkInStore.monthMasks(userId, month, 1)[0];
+        List<Integer> days = new ArrayList<>(Integer.bitCount(mask));
+        for (int bits = mask; bits != 0; bits &= bits - 1) {
+            days.add(Integer.numberOfTrailingZeros(bits) + 1);
+        }
+        return new CheckInCalendar()
+                .setMonth(month.toString())
+                .setDays(days)
+                .setMonthTotal(days.size())
+                .setStreak(CheckInStore.streak(masks, today))
+                .setCheckedInToday((masks[0] & (1 << (today.getDayOfMonth() - 1))) != 0);
+    }
+
+    private int lookbackMonths() {
+        return Math.max(1, properties.getStreakLookbackMonths());
+    }
+}
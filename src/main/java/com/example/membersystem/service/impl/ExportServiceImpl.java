@@ -0,0 +1,176 @@
+package com.example.membersystem.service.impl;
+
+import com.example.membersystem.dto.ExportRequest;
+import com.example.membersystem.entity.OperationLog;
+import com.example.membersystem.entity.User;
+import com.example.membersystem.entity.UserPoints;
+import com.example.membersystem.export.ExportColumn;
+import com.example.membersystem.export.ExportFormat;
+import com.example.membersystem.export.RowStreamWriter;
+import com.example.membersystem.mapper.OperationLogMapper;
+import com.example.membersystem.mapper.UserMapper;
+import com.example.membersystem.mapper.UserPointsMapper;
+import com.example.membersystem.points.PointsArchiveStore;
+import com.example.membersystem.service.ExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 資料匯出服務實現
+ * Cursor 在唯讀交易內消費（交易結束前 SqlSession 保持開啟），
+ * 查詢使用 fetchSize = Integer.MIN_VALUE，MySQL 驅動逐行從伺服器串流而非整批載入結果集。
+ * 積分流水以 {@link PointsArchiveStore#archivedBefore()} 為界，之前的從歸檔段讀取、之後的從資料庫讀取，
+ * 與歷史查詢的切分方式相同，已歸檔的月份不會從匯出中消失，也不會與尚未刪除的流水重複。
+ */
+@Slf4j
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    private static final List<ExportColumn<User>> USER_COLUMNS = List.of(
+            new ExportColumn<>("id", User::getId),
+            new ExportColumn<>("username", User::getUsername),
+            new ExportColumn<>("email", User::getEmail),
+            new ExportColumn<>("phone", User::getPhone),
+            new ExportColumn<>("nickname", User::getNickname),
+            new ExportColumn<>("avatar", User::getAvatar),
+            new ExportColumn<>("status", User::getStatus),
+            new ExportColumn<>("createTime", User::getCreateTime),
+            new ExportColumn<>("updateTime", User::getUpdateTime));
+
+    private static final List<ExportColumn<UserPoints>> POINTS_COLUMNS = List.of(
+            new ExportColumn<>("id", UserPoints::getId),
+            new ExportColumn<>("userId", UserPoints::getUserId),
+            new ExportColumn<>("points", UserPoints::getPoints),
+            new ExportColumn<>("balance", UserPoints::getBalance),
+            new ExportColumn<>("type", UserPoints::getType),
+            new ExportColumn<>("description", UserPoints::getDescription),
+            new ExportColumn<>("refId", UserPoints::getRefId),
+            new ExportColumn<>("createTime", UserPoints::getCreateTime));
+
+    private static final List<ExportColumn<OperationLog>> OPERATION_LOG_COLUMNS = List.of(
+            new ExportColumn<>("id", OperationLog::getId),
+            new ExportColumn<>("userId", OperationLog::getUserId),
+            new ExportColumn<>("username", OperationLog::getUsername),
+            new ExportColumn<>("operation", OperationLog::getOperation),
+            new ExportColumn<>("method", OperationLog::getMethod),
+            new ExportColumn<>("params", OperationLog::getParams),
+            new ExportColumn<>("ip", OperationLog::getIp),
+            new ExportColumn<>("userAgent", OperationLog::getUserAgent),
+            new ExportColumn<>("executionTime", OperationLog::getExecutionTime),
+            new ExportColumn<>("status", OperationLog::getStatus),
+            new ExportColumn<>("errorMsg", OperationLog::getErrorMsg),
+            new ExportColumn<>("createTime", OperationLog::getCreateTime));
+
+    private final UserMapper userMapper;
+    private final UserPointsMapper userPointsMapper;
+    private final OperationLogMapper operationLogMapper;
+    private final PointsArchiveStore pointsArchiveStore;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ExportServiceImpl(UserMapper userMapper,
+                             UserPointsMapper userPointsMapper,
+                             OperationLogMapper operationLogMapper,
+                             PointsArchiveStore pointsArchiveStore,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager) {
+        this.userMapper = userMapper;
+        this.userPointsMapper = userPointsMapper;
+        this.operationLogMapper = operationLogMapper;
+        this.pointsArchiveStore = pointsArchiveStore;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public long exportUsers(ExportRequest request, OutputStream out) throws IOException {
+        return export("用戶", request, out, USER_COLUMNS,
+                cursor(() -> userMapper.streamByCreateTime(request.getFrom(), request.getTo())));
+    }
+
+    @Override
+    public long exportPoints(ExportRequest request, OutputStream out) throws IOException {
+        return export("積分流水", request, out, POINTS_COLUMNS, writer -> {
+            String userId = request.getUserId();
+            LocalDateTime from = request.getFrom();
+            LocalDateTime to = request.getTo();
+            LocalDateTime archivedBefore = pointsArchiveStore.archivedBefore();
+            if (archivedBefore != null && (from == null || from.isBefore(archivedBefore))) {
+                LocalDateTime coldTo = to == null || to.isAfter(archivedBefore) ? archivedBefore : to;
+                pointsArchiveStore.forEach(userId, from, coldTo, row -> {
+                    try {
+                        writer.write(row);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            if (archivedBefore == null || to == null || to.isAfter(archivedBefore)) {
+                LocalDateTime hotFrom = archivedBefore != null && (from == null || from.isBefore(archivedBefore))
+                        ? archivedBefore : from;
+                cursor(() -> userPointsMapper.streamByCreateTime(userId, hotFrom, to)).writeTo(writer);
+            }
+        });
+    }
+
+    @Override
+    public long exportOperationLogs(ExportRequest request, OutputStream out) throws IOException {
+        return export("操作日誌", request, out, OPERATION_LOG_COLUMNS,
+                cursor(() -> operationLogMapper.streamByCreateTime(request.getUserId(), request.getFrom(), request.getTo())));
+    }
+
+    private <T> long export(String name, ExportRequest request, OutputStream out,
+                            List<ExportColumn<T>> columns, RowSource<T> source) throws IOException {
+        request.validateTimeRange();
+        long start = System.currentTimeMillis();
+        ExportFormat format = ExportFormat.resolve(request.getFormat());
+        boolean gzip = Boolean.TRUE.equals(request.getGzip());
+        try {
+            Long rows = readOnlyTransaction.execute(status -> {
+                try (RowStreamWriter<T> writer = new RowStreamWriter<>(out, format, gzip, columns, objectMapper)) {
+                    source.writeTo(writer);
+                    return writer.rows();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            log.info("{}匯出完成 - 格式: {}, gzip: {}, 行數: {}, 耗時: {}ms",
+                    name, format, gzip, rows, System.currentTimeMillis() - start);
+            return rows != null ? rows : 0;
+        } catch (UncheckedIOException e) {
+            log.warn("{}匯出中斷 - 錯誤: {}", name, e.getCause().getMessage());
+            throw e.getCause();
+        }
+    }
+
+    private static <T> RowSource<T> cursor(Supplier<Cursor<T>> query) {
+        return writer -> {
+            try (Cursor<T> cursor = query.get()) {
+                for (T row : cursor) {
+                    writer.write(row);
+                }
+            }
+        };
+    }
+
+    /**
+     * 將一段資料逐行寫入匯出流
+     */
+    @FunctionalInterface
+    private interface RowSource<T> {
+
+        void writeTo(RowStreamWriter<T> writer) throws IOException;
+    }
+}
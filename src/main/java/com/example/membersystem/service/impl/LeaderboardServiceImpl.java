@@ -0,0 +1,144 @@
+package com.example.membersystem.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.example.membersystem.config.PointsLeaderboardProperties;
+import com.example.membersystem.dto.LeaderboardEntry;
+import com.example.membersystem.dto.LeaderboardRebuildResult;
+import com.example.membersystem.entity.User;
+import com.example.membersystem.entity.UserPointsBalance;
+import com.example.membersystem.exception.BusinessException;
+import com.example.membersystem.mapper.UserMapper;
+import com.example.membersystem.mapper.UserPointsBalanceMapper;
+import com.example.membersystem.points.PointsLeaderboard;
+import com.example.membersystem.points.RankedSkipList;
+import com.example.membersystem.service.LeaderboardService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 積分排行榜服務實現
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LeaderboardServiceImpl implements LeaderboardService {
+
+    private final PointsLeaderboard pointsLeaderboard;
+    private final PointsLeaderboardProperties properties;
+    private final UserPointsBalanceMapper userPointsBalanceMapper;
+    private final UserMapper userMapper;
+
+    /**
+     * 本地排行榜啟動時為空，Redis 中尚無排行榜時亦需初始化；於背景執行，不延遲啟動
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (pointsLeaderboard.isRedisBacked() && pointsLeaderboard.size() > 0) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (BusinessException e) {
+                log.info("排行榜初始化略過 - {}", e.getMessage());
+            } catch (Exception e) {
+                log.error("排行榜初始化失敗 - 錯誤: {}", e.getMessage(), e);
+            }
+        }, "points-leaderboard-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public List<LeaderboardEntry> top(int limit) {
+        int size = Math.min(Math.max(limit, 1), properties.getMaxRange());
+        return toEntries(pointsLeaderboard.range(0, size - 1L));
+    }
+
+    @Override
+    public LeaderboardEntry rankOf(String userId) {
+        RankedSkipList.Entry entry = pointsLeaderboard.entry(userId);
+        if (entry == null) {
+            return new LeaderboardEntry().setUserId(userId);
+        }
+        return toEntries(List.of(entry)).get(0);
+    }
+
+    @Override
+    public List<LeaderboardEntry> around(String userId, int radius) {
+        int clamped = Math.min(Math.max(radius, 0), properties.getMaxRange() / 2);
+        long rank = pointsLeaderboard.rank(userId);
+        if (rank < 0) {
+            return Collections.emptyList();
+        }
+        return toEntries(pointsLeaderboard.range(rank - clamped, rank + clamped));
+    }
+
+    @Override
+    public LeaderboardRebuildResult rebuild() {
+        long start = System.currentTimeMillis();
+        PointsLeaderboard.Rebuild rebuild = pointsLeaderboard.beginRebuild();
+        long users = 0;
+        try {
+            String afterUserId = "";
+            while (true) {
+                List<UserPointsBalance> rows = userPointsBalanceMapper.selectAfter(afterUserId,
+                        properties.getRebuildBatchSize());
+                if (rows.isEmpty()) {
+                    break;
+                }
+                Map<String, Long> balances = new HashMap<>(rows.size() * 2);
+                for (UserPointsBalance row : rows) {
+                    balances.put(row.getUserId(), row.getBalance());
+                }
+                rebuild.load(balances);
+                users += rows.size();
+                afterUserId = rows.get(rows.size() - 1).getUserId();
+            }
+            rebuild.commit();
+        } catch (RuntimeException e) {
+            rebuild.abort();
+            throw e;
+        }
+        LeaderboardRebuildResult result = new LeaderboardRebuildResult()
+                .setUsers(users)
+                .setSize(pointsLeaderboard.size())
+                .setElapsedMillis(System.currentTimeMillis() - start);
+        log.info("積分排行榜重建完成 - 載入用戶數: {}, 排行榜用戶數: {}, 耗時: {} ms",
+                result.getUsers(), result.getSize(), result.getElapsedMillis());
+        return result;
+    }
+
+    private List<LeaderboardEntry> toEntries(List<RankedSkipList.Entry> ranked) {
+        if (ranked.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> userIds = new ArrayList<>(ranked.size());
+        for (RankedSkipList.Entry entry : ranked) {
+            userIds.add(entry.member());
+        }
+        // 一次查詢取得整頁的用戶名
+        Map<String, String> usernames = new HashMap<>(ranked.size() * 2);
+        for (User user : userMapper.selectList(new QueryWrapper<User>().select("id", "username").in("id", userIds))) {
+            usernames.put(user.getId(), user.getUsername());
+        }
+        List<LeaderboardEntry> entries = new ArrayList<>(ranked.size());
+        for (RankedSkipList.Entry entry : ranked) {
+            entries.add(new LeaderboardEntry()
+                    .setRank(entry.rank() + 1)
+                    .setUserId(entry.member())
+                    .setUsername(usernames.get(entry.member()))
+                    .setPoints(entry.score()));
+        }
+        return entries;
+    }
+}
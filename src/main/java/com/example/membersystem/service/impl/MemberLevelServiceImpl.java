@@ -0,0 +1,103 @@
+package com.example.membersystem.service.impl;
+
+import com.example.membersystem.cache.MemberLevelIndex;
+import com.example.membersystem.cache.UserProfileCache;
+import com.example.membersystem.entity.MemberLevel;
+import com.example.membersystem.exception.ConfigurationException;
+import com.example.membersystem.mapper.MemberLevelMapper;
+import com.example.membersystem.service.MemberLevelService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 會員等級服務實現
+ * 等級配置載入為不可變的區間索引並原子替換，變更時透過 Redis pub/sub 通知其他節點重新載入。
+ */
+@Slf4j
+@Service
+public class MemberLevelServiceImpl implements MemberLevelService {
+
+    /**
+     * 跨節點等級配置變更通知頻道
+     */
+    private static final String CHANGE_CHANNEL = "member:level:changed";
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final MemberLevelMapper memberLevelMapper;
+    private final UserProfileCache userProfileCache;
+    private final StringRedisTemplate redisTemplate;
+
+    private volatile MemberLevelIndex index = MemberLevelIndex.EMPTY;
+
+    public MemberLevelServiceImpl(MemberLevelMapper memberLevelMapper,
+                                  UserProfileCache userProfileCache,
+                                  ObjectProvider<StringRedisTemplate> redisTemplateProvider,
+                                  ObjectProvider<RedisMessageListenerContainer> listenerContainerProvider) {
+        this.memberLevelMapper = memberLevelMapper;
+        this.userProfileCache = userProfileCache;
+
+        RedisMessageListenerContainer listenerContainer = listenerContainerProvider.getIfAvailable();
+        this.redisTemplate = listenerContainer != null ? redisTemplateProvider.getIfAvailable() : null;
+        if (this.redisTemplate != null) {
+            listenerContainer.addMessageListener((message, pattern) -> {
+                if (!nodeId.equals(new String(message.getBody(), StandardCharsets.UTF_8))) {
+                    reloadQuietly();
+                }
+            }, new ChannelTopic(CHANGE_CHANNEL));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reloadQuietly();
+    }
+
+    @Override
+    public MemberLevel resolve(long points) {
+        return index.resolve(points);
+    }
+
+    @Override
+    public List<MemberLevel> getLevels() {
+        return index.levels();
+    }
+
+    @Override
+    public void reload() {
+        reloadLocal();
+        // 快取中的用戶資料包含會員等級
+        userProfileCache.evictAll();
+        if (redisTemplate != null) {
+            try {
+                redisTemplate.convertAndSend(CHANGE_CHANNEL, nodeId);
+            } catch (RuntimeException e) {
+                log.warn("發送會員等級變更通知失敗 - 錯誤: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void reloadLocal() {
+        // selectList 已自動過濾邏輯刪除，狀態由索引過濾
+        index = MemberLevelIndex.of(memberLevelMapper.selectList(null));
+        log.info("會員等級索引已載入 - 等級數: {}", index.levels().size());
+    }
+
+    private void reloadQuietly() {
+        try {
+            reloadLocal();
+        } catch (ConfigurationException e) {
+            log.error("會員等級配置不合法，保留原有索引 - 錯誤: {}", e.getMessage());
+        }
+    }
+}
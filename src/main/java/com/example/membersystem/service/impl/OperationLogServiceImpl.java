@@ -0,0 +1,49 @@
+package com.example.membersystem.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.example.membersystem.common.PageCursor;
+import com.example.membersystem.common.PageRequest;
+import com.example.membersystem.common.PageResult;
+import com.example.membersystem.entity.OperationLog;
+import com.example.membersystem.mapper.OperationLogMapper;
+import com.example.membersystem.mapper.TableStatsMapper;
+import com.example.membersystem.service.OperationLogService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 操作日誌查詢服務實現
+ */
+@Service
+@RequiredArgsConstructor
+public class OperationLogServiceImpl implements OperationLogService {
+
+    private final OperationLogMapper operationLogMapper;
+    private final TableStatsMapper tableStatsMapper;
+
+    @Override
+    public PageResult<OperationLog> page(PageRequest pageRequest, String userId, LocalDateTime from,
+                                         LocalDateTime to) {
+        // create_time 是分區鍵，範圍條件讓 MySQL 裁剪掉其他月份的分區
+        QueryWrapper<OperationLog> wrapper = new QueryWrapper<OperationLog>()
+                .eq(userId != null, "user_id", userId)
+                .ge(from != null, "create_time", from)
+                .lt(to != null, "create_time", to);
+        boolean filtered = userId != null || from != null || to != null;
+        if (pageRequest.isCursorMode()) {
+            List<OperationLog> rows = operationLogMapper.selectList(pageRequest.applyCursor(wrapper));
+            // 有篩選條件時無法估算，只在全表查詢時返回估算值
+            Long total = Boolean.TRUE.equals(pageRequest.getWithTotal()) && !filtered
+                    ? tableStatsMapper.estimateRows("operation_log") : null;
+            return PageResult.ofCursor(rows, pageRequest,
+                    log -> new PageCursor(log.getCreateTime(), log.getId()), total);
+        }
+        wrapper.orderByDesc("create_time", "id");
+        Page<OperationLog> page = new Page<>(pageRequest.getCurrent(), pageRequest.getSize());
+        return PageResult.of(operationLogMapper.selectPage(page, wrapper));
+    }
+}
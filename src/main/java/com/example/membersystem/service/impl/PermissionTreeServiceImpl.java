@@ -0,0 +1,91 @@
+package com.example.membersystem.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.example.membersystem.entity.Permission;
+import com.example.membersystem.entity.User;
+import com.example.membersystem.enums.PermissionType;
+import com.example.membersystem.mapper.PermissionMapper;
+import com.example.membersystem.security.PermissionTree;
+import com.example.membersystem.service.PermissionTreeService;
+import com.example.membersystem.service.UserProfileService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 權限樹服務實現
+ */
+@Slf4j
+@Service
+public class PermissionTreeServiceImpl implements PermissionTreeService {
+
+    private final PermissionTree permissionTree = new PermissionTree();
+    private final PermissionMapper permissionMapper;
+    private final UserProfileService userProfileService;
+    private final Timer pruneTimer;
+
+    public PermissionTreeServiceImpl(PermissionMapper permissionMapper,
+                                     UserProfileService userProfileService,
+                                     MeterRegistry meterRegistry) {
+        this.permissionMapper = permissionMapper;
+        this.userProfileService = userProfileService;
+        this.pruneTimer = Timer.builder("member.permission.tree.prune")
+                .description("用戶權限子樹裁剪耗時")
+                .register(meterRegistry);
+        Gauge.builder("member.permission.tree.nodes", permissionTree, PermissionTree::size)
+                .description("權限樹節點數量")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reload();
+    }
+
+    @Override
+    public List<Permission> getTree() {
+        return permissionTree.snapshot();
+    }
+
+    @Override
+    public List<Permission> getUserTree(String userId, PermissionType type) {
+        User user = userProfileService.getProfile(userId);
+        List<Permission> permissions = user.getPermissions();
+        if (permissions == null || permissions.isEmpty()) {
+            return List.of();
+        }
+        List<String> grantedCodes = new ArrayList<>(permissions.size());
+        for (Permission permission : permissions) {
+            grantedCodes.add(permission.getCode());
+        }
+        Set<PermissionType> types = type != null ? Set.of(type) : Set.of();
+        return pruneTimer.record(() -> permissionTree.prune(grantedCodes, types));
+    }
+
+    @Override
+    public void refreshNode(String permissionId) {
+        // selectById 已自動過濾邏輯刪除
+        Permission permission = permissionMapper.selectById(permissionId);
+        if (permission == null || !Integer.valueOf(1).equals(permission.getStatus())) {
+            permissionTree.remove(permissionId);
+        } else {
+            permissionTree.upsert(permission);
+        }
+    }
+
+    @Override
+    public void reload() {
+        List<Permission> permissions = permissionMapper.selectList(new LambdaQueryWrapper<Permission>()
+                .eq(Permission::getStatus, 1));
+        permissionTree.rebuild(permissions);
+        log.info("權限樹已重建 - 節點數: {}", permissionTree.size());
+    }
+}
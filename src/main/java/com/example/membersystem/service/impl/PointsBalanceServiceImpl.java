@@ -0,0 +1,131 @@
+package com.example.membersystem.service.impl;
+
+import com.example.membersystem.cache.PointsBalanceCache;
+import com.example.membersystem.config.PointsBalanceProperties;
+import com.example.membersystem.dto.PointsBalanceRebuildResult;
+import com.example.membersystem.entity.UserPointsBalance;
+import com.example.membersystem.exception.BusinessException;
+import com.example.membersystem.exception.DatabaseException;
+import com.example.membersystem.mapper.UserMapper;
+import com.example.membersystem.mapper.UserPointsBalanceMapper;
+import com.example.membersystem.mapper.UserPointsMapper;
+import com.example.membersystem.points.PointsArchiveStore;
+import com.example.membersystem.service.PointsBalanceService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 積分餘額讀取服務實現
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PointsBalanceServiceImpl implements PointsBalanceService {
+
+    private final PointsBalanceCache pointsBalanceCache;
+    private final PointsBalanceProperties properties;
+    private final UserMapper userMapper;
+    private final UserPointsMapper userPointsMapper;
+    private final UserPointsBalanceMapper userPointsBalanceMapper;
+    private final PointsArchiveStore pointsArchiveStore;
+
+    @Override
+    public long getBalance(String userId) {
+        return pointsBalanceCache.get(userId, id -> {
+            UserPointsBalance snapshot = userPointsBalanceMapper.selectById(id);
+            return snapshot != null ? snapshot.getBalance() : 0L;
+        });
+    }
+
+    @Override
+    public PointsBalanceRebuildResult rebuild() {
+        long start = System.currentTimeMillis();
+        int parallelism = Math.max(1, properties.getRebuildParallelism());
+        int batchSize = properties.getRebuildBatchSize();
+        AtomicLong users = new AtomicLong();
+        long batches = 0;
+        // 以資料庫中最新登記的歸檔月份為準，本節點缺少其中任何段檔案時重建失敗
+        pointsArchiveStore.refresh();
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism,
+                runnable -> new Thread(runnable, "points-balance-rebuild-" + threadIndex.incrementAndGet()));
+        // 限制已讀取但尚未處理的批次數，避免用戶ID堆積在記憶體中
+        Semaphore inFlight = new Semaphore(parallelism * 2);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            String afterId = "";
+            while (true) {
+                List<String> userIds = userMapper.selectIdsAfter(afterId, batchSize);
+                if (userIds.isEmpty()) {
+                    break;
+                }
+                afterId = userIds.get(userIds.size() - 1);
+                inFlight.acquire();
+                futures.add(executor.submit(() -> {
+                    try {
+                        rebuildBatch(userIds);
+                        users.addAndGet(userIds.size());
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+                batches++;
+                futures.removeIf(Future::isDone);
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseException("積分餘額快照重建被中斷", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof BusinessException cause) {
+                throw cause;
+            }
+            throw new DatabaseException("積分餘額快照重建失敗", e.getCause());
+        } finally {
+            executor.shutdownNow();
+            pointsBalanceCache.invalidateAll();
+        }
+
+        PointsBalanceRebuildResult result = new PointsBalanceRebuildResult()
+                .setUsers(users.get())
+                .setBatches(batches)
+                .setElapsedMillis(System.currentTimeMillis() - start);
+        log.info("積分餘額快照重建完成 - 用戶數: {}, 批次數: {}, 耗時: {} ms",
+                result.getUsers(), result.getBatches(), result.getElapsedMillis());
+        return result;
+    }
+
+    private void rebuildBatch(List<String> userIds) {
+        // 已歸檔的流水不在資料庫中，以歸檔段索引中的合計補上
+        LocalDateTime archivedBefore = pointsArchiveStore.archivedBefore();
+        Map<String, Long> sums = new HashMap<>();
+        for (UserPointsBalance row : userPointsMapper.sumBalanceByUserIds(userIds, archivedBefore)) {
+            sums.put(row.getUserId(), row.getBalance());
+        }
+        List<UserPointsBalance> snapshots = new ArrayList<>(userIds.size());
+        for (String userId : userIds) {
+            long archived = archivedBefore != null ? pointsArchiveStore.archivedSum(userId) : 0L;
+            snapshots.add(new UserPointsBalance()
+                    .setUserId(userId)
+                    .setBalance(sums.getOrDefault(userId, 0L) + archived));
+        }
+        userPointsBalanceMapper.upsertBatch(snapshots);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.membersystem.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.example.membersystem.dto.PointsCampaignProgress;
+import com.example.membersystem.dto.PointsCampaignRequest;
+import com.example.membersystem.entity.MemberLevel;
+import com.example.membersystem.entity.PointsCampaign;
+import com.example.membersystem.enums.PointsCampaignStatus;
+import com.example.membersystem.exception.BusinessException;
+import com.example.membersystem.mapper.PointsCampaignMapper;
+import com.example.membersystem.points.PointsCampaignRunner;
+import com.example.membersystem.service.MemberLevelService;
+import com.example.membersystem.service.PointsCampaignService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 積分活動批次發放服務實現
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PointsCampaignServiceImpl implements PointsCampaignService {
+
+    private static final int MAX_LIST_LIMIT = 100;
+
+    private final PointsCampaignMapper pointsCampaignMapper;
+    private final PointsCampaignRunner pointsCampaignRunner;
+    private final MemberLevelService memberLevelService;
+
+    @Override
+    public PointsCampaignProgress create(PointsCampaignRequest request) {
+        PointsCampaign campaign = new PointsCampaign()
+                .setName(request.getName())
+                .setPoints(request.getPoints())
+                .setStatus(PointsCampaignStatus.PLANNING.getCode())
+                .setTotalChunks(0)
+                .setCompletedChunks(0)
+                .setAwardedUsers(0L);
+        if (request.getLevelId() != null) {
+            // 固定建立當下的積分區間，發放期間調整等級配置不影響目標範圍
+            MemberLevel level = memberLevelService.getLevels().stream()
+                    .filter(candidate -> request.getLevelId().equals(candidate.getId()))
+                    .findFirst()
+                    .orElseThrow(() -> new BusinessException(404, "會員等級不存在或未啟用"));
+            campaign.setLevelId(level.getId())
+                    .setMinBalance(level.getMinPoints() != null ? level.getMinPoints() : 0L)
+                    .setMaxBalance(level.getMaxPoints());
+        }
+        pointsCampaignMapper.insert(campaign);
+        log.info("積分活動已建立 - 活動ID: {}, 名稱: {}, 積分: {}, 等級: {}",
+                campaign.getId(), campaign.getName(), campaign.getPoints(), campaign.getLevelId());
+        pointsCampaignRunner.submit(campaign.getId());
+        return toProgress(pointsCampaignMapper.selectById(campaign.getId()));
+    }
+
+    @Override
+    public PointsCampaignProgress getProgress(String campaignId) {
+        return toProgress(requireCampaign(campaignId));
+    }
+
+    @Override
+    public List<PointsCampaignProgress> listRecent(int limit) {
+        int size = Math.min(Math.max(limit, 1), MAX_LIST_LIMIT);
+        // 主鍵為時間有序的 UUID v7
+        return pointsCampaignMapper.selectList(new QueryWrapper<PointsCampaign>()
+                        .orderByDesc("id")
+                        .last("LIMIT " + size))
+                .stream()
+                .map(this::toProgress)
+                .toList();
+    }
+
+    @Override
+    public PointsCampaignProgress resume(String campaignId) {
+        PointsCampaign campaign = requireCampaign(campaignId);
+        if (PointsCampaignStatus.COMPLETED.getCode().equals(campaign.getStatus())) {
+            throw new BusinessException(409, "積分活動已完成");
+        }
+        pointsCampaignMapper.markResumed(campaignId);
+        // 仍在其他節點執行時，本節點取不到活動鎖，不會重複執行
+        pointsCampaignRunner.submit(campaignId);
+        return toProgress(pointsCampaignMapper.selectById(campaignId));
+    }
+
+    private PointsCampaign requireCampaign(String campaignId) {
+        PointsCampaign campaign = pointsCampaignMapper.selectById(campaignId);
+        if (campaign == null) {
+            throw new BusinessException(404, "積分活動不存在");
+        }
+        return campaign;
+    }
+
+    private PointsCampaignProgress toProgress(PointsCampaign campaign) {
+        PointsCampaignStatus status = PointsCampaignStatus.getByCode(campaign.getStatus());
+        int total = campaign.getTotalChunks() != null ? campaign.getTotalChunks() : 0;
+        int completed = campaign.getCompletedChunks() != null ? campaign.getCompletedChunks() : 0;
+        double percent = total > 0 ? completed * 100.0 / total : status == PointsCampaignStatus.COMPLETED ? 100 : 0;
+        PointsCampaignProgress progress = new PointsCampaignProgress()
+                .setId(campaign.getId())
+                .setName(campaign.getName())
+                .setPoints(campaign.getPoints())
+                .setLevelId(campaign.getLevelId())
+                .setStatus(status != null ? status.name() : null)
+                .setTotalChunks(total)
+                .setCompletedChunks(completed)
+                .setAwardedUsers(campaign.getAwardedUsers())
+                .setPercent(Math.round(percent * 10) / 10.0)
+                .setErrorMsg(campaign.getErrorMsg())
+                .setCreateTime(campaign.getCreateTime())
+                .setStartTime(campaign.getStartTime())
+                .setFinishTime(campaign.getFinishTime());
+        PointsCampaignRunner.RunStats stats = pointsCampaignRunner.stats(campaign.getId());
+        if (stats != null) {
+            progress.setUsersPerSecond(Math.round(stats.usersPerSecond() * 10) / 10.0)
+                    .setEstimatedRemainingSeconds(stats.estimatedRemainingSeconds());
+        }
+        return progress;
+    }
+}
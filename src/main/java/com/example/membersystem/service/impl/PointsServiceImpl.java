@@ -0,0 +1,78 @@
+package com.example.membersystem.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.example.membersystem.entity.UserPoints;
+import com.example.membersystem.enums.PointsType;
+import com.example.membersystem.mapper.UserPointsMapper;
+import com.example.membersystem.points.PointsArchiveStore;
+import com.example.membersystem.points.PointsIdempotencyGuard;
+import com.example.membersystem.points.PointsLedgerWriter;
+import com.example.membersystem.service.PointsService;
+import com.example.membersystem.service.UserProfileService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 積分服務實現
+ */
+@Service
+@RequiredArgsConstructor
+public class PointsServiceImpl implements PointsService {
+
+    private static final int MAX_HISTORY_LIMIT = 500;
+
+    private final PointsLedgerWriter pointsLedgerWriter;
+    private final PointsIdempotencyGuard pointsIdempotencyGuard;
+    private final UserProfileService userProfileService;
+    private final UserPointsMapper userPointsMapper;
+    private final PointsArchiveStore pointsArchiveStore;
+
+    @Override
+    public CompletableFuture<UserPoints> changePoints(String userId, long points, PointsType type,
+                                                      String description, String refId) {
+        if (points == 0) {
+            throw new IllegalArgumentException("積分變動數量不能為 0");
+        }
+        UserPoints record = new UserPoints()
+                .setUserId(userId)
+                .setPoints(points)
+                .setType(type.getCode())
+                .setDescription(description)
+                .setRefId(refId);
+        // 相同 (type, refId) 的重試直接返回原交易；快取中的用戶資料包含積分與會員等級，於寫入通道外非同步清除
+        return pointsIdempotencyGuard.execute(type, refId, userId, points, () -> pointsLedgerWriter.submit(record))
+                .whenCompleteAsync((result, error) -> {
+                    if (error == null) {
+                        userProfileService.evictProfile(userId);
+                    }
+                });
+    }
+
+    @Override
+    public List<UserPoints> history(String userId, LocalDateTime from, LocalDateTime to, int limit) {
+        int size = Math.min(Math.max(limit, 1), MAX_HISTORY_LIMIT);
+        // 歸檔界線之前的流水只從歸檔段讀取，之後的只從資料庫讀取，兩段不重疊
+        LocalDateTime archivedBefore = pointsArchiveStore.archivedBefore();
+        List<UserPoints> rows = new ArrayList<>(size);
+        if (archivedBefore == null || to == null || to.isAfter(archivedBefore)) {
+            LocalDateTime hotFrom = archivedBefore != null && (from == null || from.isBefore(archivedBefore))
+                    ? archivedBefore : from;
+            rows.addAll(userPointsMapper.selectList(new QueryWrapper<UserPoints>()
+                    .eq("user_id", userId)
+                    .ge(hotFrom != null, "create_time", hotFrom)
+                    .lt(to != null, "create_time", to)
+                    .orderByDesc("create_time", "id")
+                    .last("LIMIT " + size)));
+        }
+        if (rows.size() < size && archivedBefore != null && (from == null || from.isBefore(archivedBefore))) {
+            LocalDateTime coldTo = to == null || to.isAfter(archivedBefore) ? archivedBefore : to;
+            rows.addAll(pointsArchiveStore.history(userId, from, coldTo, size - rows.size()));
+        }
+        return rows;
+    }
+}
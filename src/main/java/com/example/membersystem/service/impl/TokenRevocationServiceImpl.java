@@ -0,0 +1,187 @@
+package com.example.membersystem.service.impl;
+
+import com.example.membersystem.config.TokenRevocationProperties;
+import com.example.membersystem.security.ExpiringBloomFilter;
+import com.example.membersystem.service.TokenRevocationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token 撤銷服務實現
+ * Redis ZSET 為撤銷清單的權威來源（score 為 Token 過期時間），撤銷時透過 pub/sub 增量通知各節點加入本地 Bloom；
+ * 定期全量同步補償遺失的通知。未啟用 Redis 時以本地表作為權威來源（僅單節點有效）。
+ */
+@Slf4j
+@Service
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final TokenRevocationProperties properties;
+    private final StringRedisTemplate redisTemplate;
+    private final ExpiringBloomFilter bloomFilter;
+    private final Map<String, Long> localRevoked = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService resyncExecutor;
+
+    private final Counter negativeCounter;
+    private final Counter revokedCounter;
+    private final Counter falsePositiveCounter;
+
+    public TokenRevocationServiceImpl(TokenRevocationProperties properties,
+                                      MeterRegistry meterRegistry,
+                                      ObjectProvider<StringRedisTemplate> redisTemplateProvider,
+                                      ObjectProvider<RedisMessageListenerContainer> listenerContainerProvider) {
+        this.properties = properties;
+        this.bloomFilter = new ExpiringBloomFilter(properties.getBucketWidth().toMillis(),
+                properties.getExpectedRevocationsPerBucket(), properties.getFalsePositiveRate());
+
+        RedisMessageListenerContainer listenerContainer = listenerContainerProvider.getIfAvailable();
+        this.redisTemplate = listenerContainer != null ? redisTemplateProvider.getIfAvailable() : null;
+        if (this.redisTemplate != null) {
+            listenerContainer.addMessageListener((message, pattern) ->
+                    onRevoked(new String(message.getBody(), StandardCharsets.UTF_8)),
+                    new ChannelTopic(properties.getChannel()));
+        }
+
+        this.negativeCounter = checkCounter(meterRegistry, "negative");
+        this.revokedCounter = checkCounter(meterRegistry, "revoked");
+        this.falsePositiveCounter = checkCounter(meterRegistry, "false_positive");
+        Gauge.builder("member.token.revocation.bloom.size", bloomFilter, ExpiringBloomFilter::size)
+                .description("本地 Bloom 過濾器中的撤銷條目數")
+                .register(meterRegistry);
+
+        long interval = properties.getResyncInterval().toMillis();
+        this.resyncExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-revocation-resync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.resyncExecutor.scheduleWithFixedDelay(this::resyncQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        resyncQuietly();
+    }
+
+    @PreDestroy
+    public void stop() {
+        resyncExecutor.shutdownNow();
+    }
+
+    @Override
+    public void revoke(String tokenId, Instant expiresAt) {
+        long expiresAtMillis = expiresAt.toEpochMilli();
+        if (expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        if (redisTemplate != null) {
+            // 先寫權威來源再通知，其他節點收到通知時 Redis 中必定已存在
+            redisTemplate.opsForZSet().add(properties.getRedisKey(), tokenId, expiresAtMillis);
+            try {
+                redisTemplate.convertAndSend(properties.getChannel(), nodeId + "|" + tokenId + "|" + expiresAtMillis);
+            } catch (RuntimeException e) {
+                log.warn("發送 Token 撤銷通知失敗，等待定期同步 - 錯誤: {}", e.getMessage());
+            }
+        } else {
+            localRevoked.put(tokenId, expiresAtMillis);
+        }
+        bloomFilter.put(tokenId, expiresAtMillis);
+        log.info("Token 已撤銷 - jti: {}, 過期時間: {}", tokenId, expiresAt);
+    }
+
+    @Override
+    public boolean isRevoked(String tokenId, Instant expiresAt) {
+        long now = System.currentTimeMillis();
+        if (!bloomFilter.mightContain(tokenId, now)) {
+            negativeCounter.increment();
+            return false;
+        }
+        boolean revoked;
+        if (redisTemplate != null) {
+            try {
+                revoked = redisTemplate.opsForZSet().score(properties.getRedisKey(), tokenId) != null;
+            } catch (RuntimeException e) {
+                // 只有 Bloom 命中的 Token 會走到這裡，Redis 不可用時寧可拒絕
+                log.warn("查詢 Token 撤銷清單失敗，按已撤銷處理 - jti: {}, 錯誤: {}", tokenId, e.getMessage());
+                revoked = true;
+            }
+        } else {
+            Long revokedUntil = localRevoked.get(tokenId);
+            revoked = revokedUntil != null && revokedUntil > now;
+        }
+        (revoked ? revokedCounter : falsePositiveCounter).increment();
+        return revoked;
+    }
+
+    @Override
+    public void resync() {
+        long now = System.currentTimeMillis();
+        bloomFilter.expire(now);
+        if (redisTemplate == null) {
+            localRevoked.values().removeIf(expiresAt -> expiresAt <= now);
+            return;
+        }
+        redisTemplate.opsForZSet().removeRangeByScore(properties.getRedisKey(), Double.NEGATIVE_INFINITY, now);
+        Set<ZSetOperations.TypedTuple<String>> live = redisTemplate.opsForZSet()
+                .rangeByScoreWithScores(properties.getRedisKey(), now, Double.POSITIVE_INFINITY);
+        if (live == null) {
+            return;
+        }
+        // Bloom 加入是冪等的，直接併入現有過濾器，避免替換時遺漏同步期間收到的通知
+        for (ZSetOperations.TypedTuple<String> tuple : live) {
+            if (tuple.getValue() != null && tuple.getScore() != null) {
+                bloomFilter.put(tuple.getValue(), tuple.getScore().longValue());
+            }
+        }
+        log.debug("Token 撤銷清單已同步 - 有效條目: {}", live.size());
+    }
+
+    private void onRevoked(String payload) {
+        String[] parts = payload.split("\\|", 3);
+        if (parts.length != 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        try {
+            bloomFilter.put(parts[1], Long.parseLong(parts[2]));
+        } catch (NumberFormatException e) {
+            log.warn("忽略格式錯誤的 Token 撤銷通知: {}", payload);
+        }
+    }
+
+    private void resyncQuietly() {
+        try {
+            resync();
+        } catch (RuntimeException e) {
+            log.error("同步 Token 撤銷清單失敗 - 錯誤: {}", e.getMessage());
+        }
+    }
+
+    private static Counter checkCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("member.token.revocation.check")
+                .description("Token 撤銷檢查結果")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
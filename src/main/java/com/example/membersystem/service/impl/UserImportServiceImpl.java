@@ -0,0 +1,328 @@
+package com.example.membersystem.service.impl;
+
+import com.example.membersystem.common.UuidV7;
+import com.example.membersystem.config.UserImportProperties;
+import com.example.membersystem.dto.UserImportResult;
+import com.example.membersystem.entity.User;
+import com.example.membersystem.enums.UserStatus;
+import com.example.membersystem.exception.BusinessException;
+import com.example.membersystem.importer.FingerprintSet;
+import com.example.membersystem.importer.UserImportReader;
+import com.example.membersystem.importer.UserImportRow;
+import com.example.membersystem.mapper.UserMapper;
+import com.example.membersystem.service.UserImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * 用戶批量匯入服務實現
+ * 讀取執行緒逐行解析、校驗並以指紋集合判斷用戶名/郵箱是否與資料庫或檔案前文重複（先出現者優先），
+ * 通過的行湊滿一批後交給工作執行緒雜湊密碼並多行插入；以信號量限制在途批次數，記憶體與檔案大小無關。
+ */
+@Slf4j
+@Service
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+    private static final Pattern IMPORT_ID = Pattern.compile("^[0-9a-f-]{36}$");
+
+    private final UserMapper userMapper;
+    private final PasswordEncoder passwordEncoder;
+    private final UserImportProperties properties;
+    private final ObjectMapper objectMapper;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public UserImportServiceImpl(UserMapper userMapper,
+                                 PasswordEncoder passwordEncoder,
+                                 UserImportProperties properties,
+                                 ObjectMapper objectMapper) {
+        this.userMapper = userMapper;
+        this.passwordEncoder = passwordEncoder;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public UserImportResult importUsers(InputStream input, ImportFormat format) {
+        if (!running.compareAndSet(false, true)) {
+            throw new BusinessException(409, "已有用戶匯入任務執行中");
+        }
+        try {
+            return doImport(input, format);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @Override
+    public Path getRejectedReport(String importId) {
+        Path report = IMPORT_ID.matcher(importId).matches() ? reportPath(importId) : null;
+        if (report == null || !Files.isRegularFile(report)) {
+            throw new BusinessException(404, "匯入報告不存在: " + importId);
+        }
+        return report;
+    }
+
+    private UserImportResult doImport(InputStream input, ImportFormat format) {
+        long start = System.currentTimeMillis();
+        String importId = UuidV7.generate();
+        int parallelism = Math.max(1, properties.getParallelism());
+        int batchSize = Math.max(1, properties.getBatchSize());
+        LongAdder imported = new LongAdder();
+        long total = 0;
+
+        Semaphore inFlight = new Semaphore(parallelism * 2);
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "user-import-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (RejectReport rejects = new RejectReport(reportPath(importId));
+             UserImportReader reader = new UserImportReader(input, format, objectMapper)) {
+            FingerprintSet usernames = new FingerprintSet(1 << 16);
+            FingerprintSet emails = new FingerprintSet(1 << 16);
+            loadExistingIdentities(usernames, emails);
+
+            List<UserImportRow> batch = new ArrayList<>(batchSize);
+            try {
+                while (true) {
+                    UserImportRow row;
+                    try {
+                        row = reader.next();
+                    } catch (UserImportReader.MalformedRowException e) {
+                        total++;
+                        rejects.add(e.getLine(), null, null, e.getMessage());
+                        continue;
+                    }
+                    if (row == null) {
+                        break;
+                    }
+                    total++;
+                    String error = validate(row);
+                    if (error == null) {
+                        error = claim(row, usernames, emails);
+                    }
+                    if (error != null) {
+                        rejects.add(row.line(), row.username(), row.email(), error);
+                        continue;
+                    }
+                    batch.add(row);
+                    if (batch.size() == batchSize) {
+                        submit(workers, inFlight, batch, imported, rejects);
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    submit(workers, inFlight, batch, imported, rejects);
+                }
+            } finally {
+                // 等待所有在途批次完成
+                inFlight.acquireUninterruptibly(parallelism * 2);
+            }
+
+            UserImportResult result = new UserImportResult()
+                    .setImportId(importId)
+                    .setTotal(total)
+                    .setImported(imported.sum())
+                    .setRejected(rejects.count())
+                    .setElapsedMillis(System.currentTimeMillis() - start);
+            log.info("用戶批量匯入完成 - 任務: {}, 讀取: {}, 匯入: {}, 拒絕: {}, 耗時: {}ms",
+                    importId, result.getTotal(), result.getImported(), result.getRejected(), result.getElapsedMillis());
+            return result;
+        } catch (IOException e) {
+            log.error("用戶批量匯入讀取失敗 - 任務: {}, 已匯入: {}, 錯誤: {}", importId, imported.sum(), e.getMessage());
+            throw new BusinessException(400, "讀取匯入檔案失敗（已匯入 " + imported.sum() + " 行）: " + e.getMessage());
+        } finally {
+            workers.shutdown();
+        }
+    }
+
+    private void loadExistingIdentities(FingerprintSet usernames, FingerprintSet emails) {
+        String afterId = "";
+        while (true) {
+            List<User> page = userMapper.selectIdentitiesAfter(afterId, properties.getIdentityPageSize());
+            for (User user : page) {
+                usernames.add(FingerprintSet.fingerprint(user.getUsername()));
+                emails.add(FingerprintSet.fingerprint(user.getEmail()));
+            }
+            if (page.size() < properties.getIdentityPageSize()) {
+                break;
+            }
+            afterId = page.get(page.size() - 1).getId();
+        }
+        log.info("已載入既有用戶名/郵箱指紋 - 用戶數: {}", usernames.size());
+    }
+
+    private static String validate(UserImportRow row) {
+        if (row.username() == null) {
+            return "缺少用戶名";
+        }
+        if (row.username().length() > 50) {
+            return "用戶名超過 50 字元";
+        }
+        if (row.email() == null || row.email().length() > 100 || !EMAIL.matcher(row.email()).matches()) {
+            return "郵箱格式錯誤";
+        }
+        if (row.password() == null) {
+            return "缺少密碼";
+        }
+        if (!BCRYPT_HASH.matcher(row.password()).matches()
+                && (row.password().length() < 6 || row.password().getBytes(StandardCharsets.UTF_8).length > 72)) {
+            return "密碼長度須為 6~72 位元組";
+        }
+        if (row.phone() != null && row.phone().length() > 20) {
+            return "手機號碼超過 20 字元";
+        }
+        if (row.nickname() != null && row.nickname().length() > 50) {
+            return "暱稱超過 50 字元";
+        }
+        return null;
+    }
+
+    private static String claim(UserImportRow row, FingerprintSet usernames, FingerprintSet emails) {
+        long username = FingerprintSet.fingerprint(row.username());
+        long email = FingerprintSet.fingerprint(row.email());
+        if (usernames.contains(username)) {
+            return "用戶名已存在或在檔案中重複";
+        }
+        if (emails.contains(email)) {
+            return "郵箱已存在或在檔案中重複";
+        }
+        usernames.add(username);
+        emails.add(email);
+        return null;
+    }
+
+    private void submit(ExecutorService workers, Semaphore inFlight, List<UserImportRow> rows,
+                        LongAdder imported, RejectReport rejects) {
+        inFlight.acquireUninterruptibly();
+        try {
+            workers.execute(() -> {
+                try {
+                    writeBatch(rows, imported, rejects);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    private void writeBatch(List<UserImportRow> rows, LongAdder imported, RejectReport rejects) {
+        List<User> users = new ArrayList<>(rows.size());
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            for (UserImportRow row : rows) {
+                users.add(toUser(row, now));
+            }
+            imported.add(userMapper.insertBatch(users));
+        } catch (DuplicateKeyException e) {
+            // 匯入期間有其他途徑註冊了相同用戶名/郵箱，逐行重試找出衝突行
+            for (int i = 0; i < users.size(); i++) {
+                try {
+                    userMapper.insertBatch(List.of(users.get(i)));
+                    imported.increment();
+                } catch (DuplicateKeyException duplicate) {
+                    rejects.add(rows.get(i).line(), rows.get(i).username(), rows.get(i).email(), "資料庫唯一約束衝突");
+                } catch (RuntimeException failure) {
+                    rejects.add(rows.get(i).line(), rows.get(i).username(), rows.get(i).email(), "寫入失敗");
+                }
+            }
+        } catch (RuntimeException e) {
+            // 包含密碼雜湊等非資料庫錯誤，整批記為拒絕，不讓例外在工作執行緒中遺失
+            log.error("用戶匯入批次寫入失敗 - 行數: {}, 錯誤: {}", rows.size(), e.getMessage());
+            for (UserImportRow row : rows) {
+                rejects.add(row.line(), row.username(), row.email(), "寫入失敗");
+            }
+        }
+    }
+
+    private User toUser(UserImportRow row, LocalDateTime now) {
+        String password = BCRYPT_HASH.matcher(row.password()).matches()
+                ? row.password() : passwordEncoder.encode(row.password());
+        User user = new User()
+                .setUsername(row.username())
+                .setEmail(row.email())
+                .setPassword(password)
+                .setPhone(row.phone())
+                .setNickname(row.nickname())
+                .setStatus(UserStatus.NORMAL.getCode());
+        user.setId(UuidV7.generate());
+        user.setDeleted(0);
+        user.setCreateTime(now);
+        user.setUpdateTime(now);
+        return user;
+    }
+
+    private Path reportPath(String importId) {
+        return Path.of(properties.getReportDirectory(), importId + ".csv");
+    }
+
+    /**
+     * 拒絕行報告，逐行寫入檔案（多執行緒共用）
+     */
+    private static final class RejectReport implements Closeable {
+
+        private final BufferedWriter writer;
+        private final LongAdder count = new LongAdder();
+
+        RejectReport(Path path) throws IOException {
+            Files.createDirectories(path.getParent());
+            this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+            this.writer.write("line,username,email,reason\n");
+        }
+
+        synchronized void add(long line, String username, String email, String reason) {
+            count.increment();
+            try {
+                writer.write(line + "," + escape(username) + "," + escape(email) + "," + escape(reason) + "\n");
+            } catch (IOException e) {
+                log.warn("寫入匯入拒絕報告失敗 - 行號: {}, 錯誤: {}", line, e.getMessage());
+            }
+        }
+
+        long count() {
+            return count.sum();
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            writer.close();
+        }
+
+        private static String escape(String value) {
+            if (value == null) {
+                return "";
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+                return value;
+            }
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.membersystem.service.impl;
+
+import com.example.membersystem.cache.UserProfileCache;
+import com.example.membersystem.entity.User;
+import com.example.membersystem.exception.UserNotFoundException;
+import com.example.membersystem.mapper.PermissionMapper;
+import com.example.membersystem.mapper.RoleMapper;
+import com.example.membersystem.mapper.UserMapper;
+import com.example.membersystem.service.MemberLevelService;
+import com.example.membersystem.service.PointsBalanceService;
+import com.example.membersystem.service.UserProfileService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * 用戶資料服務實現
+ */
+@Service
+@RequiredArgsConstructor
+public class UserProfileServiceImpl implements UserProfileService {
+
+    private final UserProfileCache userProfileCache;
+    private final UserMapper userMapper;
+    private final RoleMapper roleMapper;
+    private final PermissionMapper permissionMapper;
+    private final PointsBalanceService pointsBalanceService;
+    private final MemberLevelService memberLevelService;
+
+    @Override
+    public User getProfile(String userId) {
+        User user = userProfileCache.get(userId, this::assembleProfile);
+        if (user == null) {
+            throw new UserNotFoundException("用戶 ID " + userId + " 不存在");
+        }
+        return user;
+    }
+
+    @Override
+    public void evictProfile(String userId) {
+        userProfileCache.evict(userId);
+    }
+
+    @Override
+    public void evictAllProfiles() {
+        userProfileCache.evictAll();
+    }
+
+    /**
+     * 從資料庫組裝完整用戶資料
+     */
+    private User assembleProfile(String userId) {
+        User user = userMapper.selectById(userId);
+        if (user == null) {
+            return null;
+        }
+        // 密碼雜湊不進入快取
+        user.setPassword(null);
+
+        long currentPoints = pointsBalanceService.getBalance(userId);
+        return user.setRoles(roleMapper.selectByUserId(userId))
+                .setPermissions(permissionMapper.selectByUserId(userId))
+                .setCurrentPoints(currentPoints)
+                .setMemberLevel(memberLevelService.resolve(currentPoints));
+    }
+}
@@ -0,0 +1,10 @@
+-- 積分流水已歸檔月份
+-- 歸檔段寫入完成後、刪除 user_points 中的流水之前登記月份；
+-- 各節點以此表判斷歷史資料的冷熱界線，登記的月份在本地找不到段檔案時拒絕讀取，避免返回缺少流水的結果。
+CREATE TABLE `points_archive_month` (
+    `archive_month` CHAR(7) CHARACTER SET ascii COLLATE ascii_bin NOT NULL COMMENT '歸檔月份 (yyyy-MM)',
+    `row_count` BIGINT NOT NULL COMMENT '歸檔段中的流水筆數',
+    `segment_file` VARCHAR(100) NOT NULL COMMENT '歸檔段檔案名稱',
+    `create_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '登記時間',
+    PRIMARY KEY (`archive_month`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='積分流水已歸檔月份';
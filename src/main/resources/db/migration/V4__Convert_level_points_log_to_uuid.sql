@@ -0,0 +1,87 @@
+-- 會員等級、積分記錄、操作日誌表改用 UUID 主鍵（與實體類一致）
+
+-- 會員等級表
+DROP TABLE IF EXISTS `member_level_new`;
+CREATE TABLE `member_level_new` (
+    `id` VARCHAR(36) PRIMARY KEY COMMENT '等級ID (UUID)',
+    `name` VARCHAR(50) NOT NULL COMMENT '等級名稱',
+    `level` INT NOT NULL UNIQUE COMMENT '等級數值',
+    `min_points` BIGINT DEFAULT 0 COMMENT '最小積分要求',
+    `max_points` BIGINT COMMENT '最大積分限制',
+    `discount_rate` DECIMAL(4,2) DEFAULT 1.00 COMMENT '折扣率',
+    `description` VARCHAR(200) COMMENT '等級描述',
+    `status` TINYINT DEFAULT 1 COMMENT '狀態: 1=啟用, 0=禁用',
+    `deleted` TINYINT DEFAULT 0 COMMENT '邏輯刪除: 0=未刪除, 1=已刪除',
+    `create_time` DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '創建時間',
+    `update_time` DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新時間',
+    INDEX `idx_level` (`level`),
+    INDEX `idx_points_range` (`min_points`, `max_points`),
+    INDEX `idx_status` (`status`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='會員等級表 (UUID)';
+
+-- 用戶積分記錄表（無外鍵約束）
+DROP TABLE IF EXISTS `user_points_new`;
+CREATE TABLE `user_points_new` (
+    `id` VARCHAR(36) PRIMARY KEY COMMENT '記錄ID (UUID)',
+    `user_id` VARCHAR(36) NOT NULL COMMENT '用戶ID',
+    `points` BIGINT NOT NULL COMMENT '積分變動數量 (正數為增加，負數為減少)',
+    `balance` BIGINT NOT NULL COMMENT '變動後積分餘額',
+    `type` TINYINT NOT NULL COMMENT '積分類型: 1=簽到, 2=消費, 3=兌換, 4=系統調整',
+    `description` VARCHAR(200) COMMENT '積分變動描述',
+    `ref_id` VARCHAR(100) COMMENT '關聯業務ID',
+    `create_time` DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '創建時間',
+    INDEX `idx_user_id` (`user_id`),
+    INDEX `idx_type` (`type`),
+    INDEX `idx_create_time` (`create_time`),
+    INDEX `idx_ref_id` (`ref_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='用戶積分記錄表 (UUID, 無FK)';
+
+-- 操作日誌表
+DROP TABLE IF EXISTS `operation_log_new`;
+CREATE TABLE `operation_log_new` (
+    `id` VARCHAR(36) PRIMARY KEY COMMENT '日誌ID (UUID)',
+    `user_id` VARCHAR(36) COMMENT '操作用戶ID',
+    `username` VARCHAR(50) COMMENT '操作用戶名',
+    `operation` VARCHAR(50) NOT NULL COMMENT '操作類型',
+    `method` VARCHAR(200) COMMENT '操作方法',
+    `params` TEXT COMMENT '請求參數',
+    `result` TEXT COMMENT '操作結果',
+    `ip` VARCHAR(45) COMMENT 'IP地址',
+    `user_agent` VARCHAR(500) COMMENT '用戶代理',
+    `execution_time` BIGINT COMMENT '執行時長(毫秒)',
+    `status` TINYINT DEFAULT 1 COMMENT '操作狀態: 1=成功, 0=失敗',
+    `error_msg` TEXT COMMENT '錯誤信息',
+    `create_time` DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '創建時間',
+    INDEX `idx_user_id` (`user_id`),
+    INDEX `idx_operation` (`operation`),
+    INDEX `idx_status` (`status`),
+    INDEX `idx_create_time` (`create_time`),
+    INDEX `idx_ip` (`ip`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='操作日誌表 (UUID)';
+
+-- 遷移既有資料（原自增ID轉為字串保留，新資料使用 UUID）
+INSERT INTO `member_level_new` (`id`, `name`, `level`, `min_points`, `max_points`, `discount_rate`, `description`,
+                                `status`, `deleted`, `create_time`, `update_time`)
+SELECT CAST(`id` AS CHAR), `name`, `level`, `min_points`, `max_points`, `discount_rate`, `description`,
+       `status`, `deleted`, `create_time`, `update_time`
+FROM `member_level`;
+
+INSERT INTO `user_points_new` (`id`, `user_id`, `points`, `balance`, `type`, `description`, `ref_id`, `create_time`)
+SELECT CAST(`id` AS CHAR), CAST(`user_id` AS CHAR), `points`, `balance`, `type`, `description`, `ref_id`,
+       `create_time`
+FROM `user_points`;
+
+INSERT INTO `operation_log_new` (`id`, `user_id`, `username`, `operation`, `method`, `params`, `result`, `ip`,
+                                 `user_agent`, `execution_time`, `status`, `error_msg`, `create_time`)
+SELECT CAST(`id` AS CHAR), CAST(`user_id` AS CHAR), `username`, `operation`, `method`, `params`, `result`, `ip`,
+       `user_agent`, `execution_time`, `status`, `error_msg`, `create_time`
+FROM `operation_log`;
+
+-- 刪除舊表，重命名新表
+DROP TABLE `member_level`;
+DROP TABLE `user_points`;
+DROP TABLE `operation_log`;
+
+RENAME TABLE `member_level_new` TO `member_level`;
+RENAME TABLE `user_points_new` TO `user_points`;
+RENAME TABLE `operation_log_new` TO `operation_log`;
@@ -0,0 +1,11 @@
+-- 用戶積分餘額快照表
+-- 與積分流水在同一交易中更新，讀取餘額只需主鍵查詢
+CREATE TABLE `user_points_balance` (
+    `user_id` VARCHAR(36) PRIMARY KEY COMMENT '用戶ID',
+    `balance` BIGINT NOT NULL DEFAULT 0 COMMENT '當前積分餘額',
+    `update_time` DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新時間'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='用戶積分餘額快照表';
+
+-- 由既有流水初始化快照
+INSERT INTO `user_points_balance` (`user_id`, `balance`)
+SELECT `user_id`, SUM(`points`) FROM `user_points` GROUP BY `user_id`;
@@ -0,0 +1,38 @@
+-- 主鍵與關聯鍵欄位改為定長 ASCII 二進位排序
+-- utf8mb4 的 VARCHAR(36) 在索引中按字元集寬度計算並做排序規則比較，
+-- UUID 只含 [0-9a-f-]，改為 CHAR(36) ascii_bin 後每個鍵固定 36 位元組、比較為逐位元組比較。
+-- ALTER TABLE 會重建表，順帶整理隨機 UUID 主鍵留下的頁碎片；之後新主鍵為時間有序的 UUID v7。
+
+ALTER TABLE `user`
+    MODIFY `id` CHAR(36) CHARACTER SET ascii COLLATE ascii_bin NOT NULL COMMENT '用戶ID (UUID v7)';
+
+ALTER TABLE `role`
+    MODIFY `id` CHAR(36) CHARACTER SET ascii COLLATE ascii_bin NOT NULL COMMENT '角色ID (UUID v7)';
+
+ALTER TABLE `permission`
+    MODIFY `id` CHAR(36) CHARACTER SET ascii COLLATE ascii_bin NOT NULL COMMENT '權限ID (UUID v7)',
+    MODIFY `parent_id` CHAR(36) CHARACTER SET ascii COLLATE ascii_bin DEFAULT NULL COMMENT '父權限ID (UUID)';
+
+ALTER TABLE `user_role`
+    MODIFY `id` CHAR(36) CHARACTER SET ascii COLLATE ascii_bin NOT NULL COMMENT '關聯ID (UUID v7)',
+    MODIFY `user_id` CHAR(36) CHARACTER SET ascii COLLATE ascii_bin NOT NULL COMMENT '用戶ID',
+    MODIFY `role_id` CHAR(36) CHARACTER SET ascii COLLATE ascii_bin NOT NULL COMMENT '角色ID';
+
+ALTER TABLE `role_permission`
+    MODIFY `id` CHAR(36) CHARACTER SET ascii COLLATE ascii_bin NOT NULL COMMENT '關聯ID (UUID v7)',
+    MODIFY `role_id` CHAR(36) CHARACTER SET ascii COLLATE ascii_bin NOT NULL COMMENT '角色ID',
+    MODIFY `permission_id` CHAR(36) CHARACTER SET ascii COLLATE ascii_bin NOT NULL COMMENT '權限ID';
+
+ALTER TABLE `member_level`
+    MODIFY `id` CHAR(36) CHARACTER SET ascii COLLATE ascii_bin NOT NULL COMMENT '等級ID (UUID v7)';
+
+ALTER TABLE `user_points`
+    MODIFY `id` CHAR(36) CHARACTER SET ascii COLLATE ascii_bin NOT NULL COMMENT '記錄ID (UUID v7)',
+    MODIFY `user_id` CHAR(36) CHARACTER SET ascii COLLATE ascii_bin NOT NULL COMMENT '用戶ID';
+
+ALTER TABLE `user_points_balance`
+    MODIFY `user_id` CHAR(36) CHARACTER SET ascii COLLATE ascii_bin NOT NULL COMMENT '用戶ID';
+
+ALTER TABLE `operation_log`
+    MODIFY `id` CHAR(36) CHARACTER SET ascii COLLATE ascii_bin NOT NULL COMMENT '日誌ID (UUID v7)',
+    MODIFY `user_id` CHAR(36) CHARACTER SET ascii COLLATE ascii_bin DEFAULT NULL COMMENT '操作用戶ID';
@@ -0,0 +1,54 @@
+-- 操作日誌按月範圍分區
+-- 分區鍵必須包含在主鍵中，主鍵改為 (id, create_time)，create_time 改為 NOT NULL；
+-- 每個分區各自維護二級索引，插入只更新當月分區的索引，帶時間範圍的查詢只掃描涵蓋的分區。
+-- 初始分區：本月之前的歷史資料 p_history、本月與之後兩個月、p_future 兜底；
+-- 後續月份由應用程式的分區維護任務從 p_future 拆分，過期分區匯出後刪除。
+DROP TABLE IF EXISTS `operation_log_new`;
+CREATE TABLE `operation_log_new` (
+    `id` CHAR(36) CHARACTER SET ascii COLLATE ascii_bin NOT NULL COMMENT '日誌ID (UUID v7)',
+    `user_id` CHAR(36) CHARACTER SET ascii COLLATE ascii_bin DEFAULT NULL COMMENT '操作用戶ID',
+    `username` VARCHAR(50) COMMENT '操作用戶名',
+    `operation` VARCHAR(50) NOT NULL COMMENT '操作類型',
+    `method` VARCHAR(200) COMMENT '操作方法',
+    `params` TEXT COMMENT '請求參數',
+    `result` TEXT COMMENT '操作結果',
+    `ip` VARCHAR(45) COMMENT 'IP地址',
+    `user_agent` VARCHAR(500) COMMENT '用戶代理',
+    `execution_time` BIGINT COMMENT '執行時長(毫秒)',
+    `status` TINYINT DEFAULT 1 COMMENT '操作狀態: 1=成功, 0=失敗',
+    `error_msg` TEXT COMMENT '錯誤信息',
+    `create_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '創建時間',
+    PRIMARY KEY (`id`, `create_time`),
+    INDEX `idx_user_id` (`user_id`),
+    INDEX `idx_operation` (`operation`),
+    INDEX `idx_status` (`status`),
+    INDEX `idx_create_time` (`create_time`),
+    INDEX `idx_ip` (`ip`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='操作日誌表（按月分區）';
+
+-- 依執行遷移當下的月份建立初始分區
+SET @month_start = DATE_FORMAT(CURRENT_DATE, '%Y-%m-01');
+SET @month_1 = DATE_ADD(@month_start, INTERVAL 1 MONTH);
+SET @month_2 = DATE_ADD(@month_start, INTERVAL 2 MONTH);
+SET @month_3 = DATE_ADD(@month_start, INTERVAL 3 MONTH);
+SET @partition_ddl = CONCAT(
+    'ALTER TABLE `operation_log_new` PARTITION BY RANGE COLUMNS(`create_time`) (',
+    'PARTITION `p_history` VALUES LESS THAN (''', @month_start, '''), ',
+    'PARTITION `p', DATE_FORMAT(@month_start, '%Y%m'), '` VALUES LESS THAN (''', @month_1, '''), ',
+    'PARTITION `p', DATE_FORMAT(@month_1, '%Y%m'), '` VALUES LESS THAN (''', @month_2, '''), ',
+    'PARTITION `p', DATE_FORMAT(@month_2, '%Y%m'), '` VALUES LESS THAN (''', @month_3, '''), ',
+    'PARTITION `p_future` VALUES LESS THAN (MAXVALUE))');
+PREPARE partition_stmt FROM @partition_ddl;
+EXECUTE partition_stmt;
+DEALLOCATE PREPARE partition_stmt;
+
+-- 遷移既有資料
+INSERT INTO `operation_log_new` (`id`, `user_id`, `username`, `operation`, `method`, `params`, `result`, `ip`,
+                                 `user_agent`, `execution_time`, `status`, `error_msg`, `create_time`)
+SELECT `id`, `user_id`, `username`, `operation`, `method`, `params`, `result`, `ip`,
+       `user_agent`, `execution_time`, `status`, `error_msg`, COALESCE(`create_time`, CURRENT_TIMESTAMP)
+FROM `operation_log`;
+
+-- 刪除舊表，重命名新表
+DROP TABLE `operation_log`;
+RENAME TABLE `operation_log_new` TO `operation_log`;
@@ -0,0 +1,26 @@
+-- 積分流水冪等：同一類型的同一業務ID只能入帳一次
+-- 唯一索引允許多筆 ref_id 為 NULL（無關聯業務的變動不受限制）。
+
+-- 簽到的業務ID原本只含日期，改為包含用戶ID，避免不同用戶同日簽到互相衝突
+UPDATE `user_points`
+SET `ref_id` = CONCAT('check-in:', `user_id`, ':', SUBSTRING(`ref_id`, 10))
+WHERE `type` = 1 AND `ref_id` LIKE 'check-in:____-__-__';
+
+-- 既有重複的 (type, ref_id) 保留最早入帳的一筆（依 create_time，同時間再依 id），
+-- 其餘在 ref_id 後附加流水ID，保留追溯資訊
+UPDATE `user_points` p
+JOIN (
+    SELECT `id`
+    FROM (
+        SELECT `id`, ROW_NUMBER() OVER (
+            PARTITION BY `type`, `ref_id`
+            ORDER BY `create_time` IS NULL, `create_time`, `id`) AS `seq`
+        FROM `user_points`
+        WHERE `ref_id` IS NOT NULL
+    ) ranked
+    WHERE `seq` > 1
+) d ON p.`id` = d.`id`
+SET p.`ref_id` = CONCAT(LEFT(p.`ref_id`, 63), '#', p.`id`);
+
+ALTER TABLE `user_points`
+    ADD UNIQUE INDEX `uk_type_ref_id` (`type`, `ref_id`);
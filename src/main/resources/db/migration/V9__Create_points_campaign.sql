@@ -0,0 +1,33 @@
+-- 積分活動批次發放
+-- points_campaign 記錄活動與整體進度；points_campaign_chunk 為按用戶ID區間切分的分片，
+-- 每個分片完成後寫入檢查點，任務中斷後只重跑未完成的分片。
+-- 流水的 ref_id 為 campaign:<活動ID>:<用戶ID>，重跑分片時已入帳的用戶由唯一索引 uk_type_ref_id 去重。
+CREATE TABLE `points_campaign` (
+    `id` CHAR(36) CHARACTER SET ascii COLLATE ascii_bin NOT NULL COMMENT '活動ID (UUID v7)',
+    `name` VARCHAR(100) NOT NULL COMMENT '活動名稱（寫入流水描述）',
+    `points` BIGINT NOT NULL COMMENT '每位用戶發放的積分',
+    `level_id` CHAR(36) CHARACTER SET ascii COLLATE ascii_bin DEFAULT NULL COMMENT '目標會員等級ID，NULL 表示所有正常狀態的用戶',
+    `min_balance` BIGINT DEFAULT NULL COMMENT '建立時目標等級的最小積分',
+    `max_balance` BIGINT DEFAULT NULL COMMENT '建立時目標等級的最大積分',
+    `status` TINYINT NOT NULL DEFAULT 0 COMMENT '狀態: 0=切分中, 1=執行中, 2=已完成, 3=失敗',
+    `total_chunks` INT NOT NULL DEFAULT 0 COMMENT '分片總數',
+    `completed_chunks` INT NOT NULL DEFAULT 0 COMMENT '已完成分片數',
+    `awarded_users` BIGINT NOT NULL DEFAULT 0 COMMENT '已發放用戶數',
+    `error_msg` VARCHAR(500) DEFAULT NULL COMMENT '最近一次失敗原因',
+    `create_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '創建時間',
+    `start_time` DATETIME DEFAULT NULL COMMENT '開始發放時間',
+    `finish_time` DATETIME DEFAULT NULL COMMENT '結束時間',
+    PRIMARY KEY (`id`),
+    INDEX `idx_status` (`status`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='積分活動批次發放表';
+
+CREATE TABLE `points_campaign_chunk` (
+    `campaign_id` CHAR(36) CHARACTER SET ascii COLLATE ascii_bin NOT NULL COMMENT '活動ID',
+    `chunk_no` INT NOT NULL COMMENT '分片序號',
+    `start_after` VARCHAR(36) CHARACTER SET ascii COLLATE ascii_bin NOT NULL COMMENT '用戶ID下界（不含），第一個分片為空字串',
+    `end_id` CHAR(36) CHARACTER SET ascii COLLATE ascii_bin NOT NULL COMMENT '用戶ID上界（含）',
+    `status` TINYINT NOT NULL DEFAULT 0 COMMENT '狀態: 0=待處理, 1=已完成',
+    `awarded_users` INT NOT NULL DEFAULT 0 COMMENT '已發放用戶數',
+    `finish_time` DATETIME DEFAULT NULL COMMENT '完成時間',
+    PRIMARY KEY (`campaign_id`, `chunk_no`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='積分活動發放分片（檢查點）';
@@ -0,0 +1,169 @@
+package com.example.membersystem.audit;
+
+import com.example.membersystem.config.OperationLogPartitionProperties;
+import com.example.membersystem.dto.TablePartition;
+import com.example.membersystem.entity.OperationLog;
+import com.example.membersystem.mapper.OperationLogPartitionMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.ibatis.cursor.Cursor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OperationLogPartitionManagerTest {
+
+    private static final YearMonth CURRENT = YearMonth.of(2026, 10);
+
+    @TempDir
+    Path archiveDirectory;
+
+    @Test
+    void premakesMonthsAfterHighestExistingBound() {
+        List<TablePartition> partitions = List.of(
+                partition("p_history", "'2026-10-01 00:00:00'"),
+                partition("p202610", "'2026-11-01 00:00:00'"),
+                partition("p_future", "MAXVALUE"));
+
+        assertEquals(List.of(YearMonth.of(2026, 11), YearMonth.of(2026, 12), YearMonth.of(2027, 1)),
+                OperationLogPartitionManager.missingMonths(partitions, CURRENT, 3));
+        assertEquals("p202611", OperationLogPartitionManager.partitionName(YearMonth.of(2026, 11)));
+    }
+
+    @Test
+    void skipsMonthsAlreadyCoveredAndStartsFromCurrentAfterLongPause() {
+        List<TablePartition> covered = List.of(
+                partition("p202701", "'2027-02-01'"),
+                partition("p_future", "MAXVALUE"));
+        assertTrue(OperationLogPartitionManager.missingMonths(covered, CURRENT, 3).isEmpty());
+
+        // 維護停擺多月後，舊月份的資料已落入 p_future，從本月開始補建
+        List<TablePartition> stale = List.of(
+                partition("p202601", "'2026-02-01 00:00:00'"),
+                partition("p_future", "MAXVALUE"));
+        assertEquals(List.of(CURRENT, CURRENT.plusMonths(1)),
+                OperationLogPartitionManager.missingMonths(stale, CURRENT, 1));
+    }
+
+    @Test
+    void expiresPartitionsWhoseUpperBoundIsBeforeRetentionCutoff() {
+        List<TablePartition> partitions = List.of(
+                partition("p_history", "'2025-09-01 00:00:00'"),
+                partition("p202509", "'2025-10-01 00:00:00'"),
+                partition("p202510", "'2025-11-01 00:00:00'"),
+                partition("p_future", "MAXVALUE"));
+
+        List<TablePartition> expired = OperationLogPartitionManager.expiredPartitions(partitions, CURRENT, 12);
+
+        assertEquals(List.of("p_history", "p202509"), expired.stream().map(TablePartition::getName).toList());
+    }
+
+    @Test
+    void exchangesPartitionIntoArchiveTableBeforeExporting() throws Exception {
+        OperationLogPartitionMapper mapper = mock(OperationLogPartitionMapper.class);
+        String table = "operation_log_archive_p202509";
+        when(mapper.countTable(table)).thenReturn(2L);
+        stream(mapper, table, List.of(operationLog("a"), operationLog("b")));
+
+        newManager(mapper).archive("p202509");
+
+        // 先原子交換並刪除分區，匯出的是交換後不再有寫入的暫存表
+        InOrder order = inOrder(mapper);
+        order.verify(mapper).createArchiveTable(table);
+        order.verify(mapper).removePartitioning(table);
+        order.verify(mapper).exchangePartition("p202509", table);
+        order.verify(mapper).dropPartition("p202509");
+        order.verify(mapper).streamTable(table);
+        order.verify(mapper).dropTable(table);
+        assertEquals(2, readLines(archiveDirectory.resolve("operation_log_p202509.ndjson.gz")).size());
+    }
+
+    @Test
+    void keepsArchiveTableWhenExportFails() throws Exception {
+        OperationLogPartitionMapper mapper = mock(OperationLogPartitionMapper.class);
+        String table = "operation_log_archive_p202509";
+        when(mapper.countTable(table)).thenReturn(1L);
+        stream(mapper, table, List.of(operationLog("a")));
+        // 歸檔目錄被同名檔案佔用，無法建立
+        Path blocked = archiveDirectory.resolve("blocked");
+        Files.writeString(blocked, "");
+        OperationLogPartitionProperties properties = new OperationLogPartitionProperties();
+        properties.setArchiveDirectory(blocked.toString());
+
+        newManager(mapper, properties).exportAndDropTable(table);
+
+        verify(mapper, never()).dropTable(anyString());
+    }
+
+    @Test
+    void dropsEmptyArchiveTableWithoutOverwritingArchive() throws Exception {
+        OperationLogPartitionMapper mapper = mock(OperationLogPartitionMapper.class);
+        String table = "operation_log_archive_p202509";
+        Path archived = archiveDirectory.resolve("operation_log_p202509.ndjson.gz");
+        Files.writeString(archived, "archived");
+
+        newManager(mapper).exportAndDropTable(table);
+
+        verify(mapper).dropTable(table);
+        verify(mapper, never()).streamTable(anyString());
+        assertEquals("archived", Files.readString(archived));
+        assertFalse(Files.exists(archiveDirectory.resolve("operation_log_p202509.ndjson.gz.tmp")));
+    }
+
+    private OperationLogPartitionManager newManager(OperationLogPartitionMapper mapper) {
+        OperationLogPartitionProperties properties = new OperationLogPartitionProperties();
+        properties.setArchiveDirectory(archiveDirectory.toString());
+        return newManager(mapper, properties);
+    }
+
+    private static OperationLogPartitionManager newManager(OperationLogPartitionMapper mapper,
+                                                           OperationLogPartitionProperties properties) {
+        return new OperationLogPartitionManager(mapper, properties, mock(DataSource.class),
+                mock(PlatformTransactionManager.class), new ObjectMapper().findAndRegisterModules(),
+                new SimpleMeterRegistry());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void stream(OperationLogPartitionMapper mapper, String table, List<OperationLog> rows) {
+        Cursor<OperationLog> cursor = mock(Cursor.class);
+        when(cursor.iterator()).thenReturn(rows.iterator());
+        when(mapper.streamTable(table)).thenReturn(cursor);
+    }
+
+    private static OperationLog operationLog(String id) {
+        return new OperationLog().setId(id).setOperation("login").setCreateTime(LocalDateTime.of(2025, 9, 1, 8, 0));
+    }
+
+    private static List<String> readLines(Path file) throws Exception {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            return reader.lines().toList();
+        }
+    }
+
+    private static TablePartition partition(String name, String description) {
+        return new TablePartition().setName(name).setDescription(description);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.membersystem.audit;
+
+import com.example.membersystem.config.OperationLogProperties;
+import com.example.membersystem.config.OperationLogProperties.OverflowPolicy;
+import com.example.membersystem.entity.OperationLog;
+import com.example.membersystem.mapper.OperationLogMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OperationLogPipelineTest {
+
+    @TempDir
+    Path spillDirectory;
+
+    private OperationLogPipeline pipeline;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (pipeline != null) {
+            pipeline.stop();
+        }
+    }
+
+    @Test
+    void idleWriterIsWokenBySubmit() throws Exception {
+        OperationLogMapper mapper = mock(OperationLogMapper.class);
+        pipeline = newPipeline(mapper, Duration.ofSeconds(5));
+        // 寫入執行緒進入閒置等待
+        Thread.sleep(100);
+
+        assertTrue(pipeline.submit(new OperationLog().setOperation("login")));
+        verify(mapper, timeout(1000)).insertBatch(anyList());
+    }
+
+    @Test
+    void failedReplayIsRetriedWithoutBlockingWrites() throws Exception {
+        OperationLogMapper mapper = mock(OperationLogMapper.class);
+        when(mapper.insertBatch(anyList()))
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenReturn(1);
+        when(mapper.insertBatchIgnoreDuplicates(anyList()))
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenReturn(1);
+        pipeline = newPipeline(mapper, Duration.ofSeconds(1));
+
+        // 第一筆寫入失敗後溢寫，回放也失敗並排程重試
+        pipeline.submit(new OperationLog().setOperation("login"));
+        verify(mapper, timeout(1000)).insertBatchIgnoreDuplicates(anyList());
+
+        // 等待重試期間新日誌照常寫入
+        pipeline.submit(new OperationLog().setOperation("logout"));
+        verify(mapper, timeout(500).times(2)).insertBatch(anyList());
+        verify(mapper, times(1)).insertBatchIgnoreDuplicates(anyList());
+
+        verify(mapper, timeout(3000).times(2)).insertBatchIgnoreDuplicates(anyList());
+        assertFalse(Files.exists(spillDirectory.resolve("operation-log.replay.ndjson")));
+    }
+
+    private OperationLogPipeline newPipeline(OperationLogMapper mapper, Duration replayRetryInterval) {
+        OperationLogProperties properties = new OperationLogProperties();
+        properties.setFlushInterval(Duration.ZERO);
+        properties.setOverflowPolicy(OverflowPolicy.SPILL);
+        properties.setSpillDirectory(spillDirectory.toString());
+        properties.setReplayRetryInterval(replayRetryInterval);
+        OperationLogPipeline operationLogPipeline = new OperationLogPipeline(mapper, properties,
+                new ObjectMapper().findAndRegisterModules(), new SimpleMeterRegistry());
+        operationLogPipeline.start();
+        return operationLogPipeline;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.membersystem.cache;
+
+import com.example.membersystem.entity.MemberLevel;
+import com.example.membersystem.exception.ConfigurationException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MemberLevelIndexTest {
+
+    @Test
+    void resolvesByBinarySearchAndSkipsInactiveLevels() {
+        MemberLevelIndex index = MemberLevelIndex.of(List.of(
+                level("gold", 1000L, null, 1, 0),
+                level("bronze", 0L, 499L, 1, 0),
+                level("silver", 500L, 999L, 1, 0),
+                level("legacy", 200L, 300L, 0, 0),
+                level("removed", 600L, 700L, 1, 1)));
+
+        assertEquals("bronze", index.resolve(0).getName());
+        assertEquals("bronze", index.resolve(499).getName());
+        assertEquals("silver", index.resolve(500).getName());
+        assertEquals("gold", index.resolve(Long.MAX_VALUE).getName());
+        assertNull(index.resolve(-1));
+        assertEquals(3, index.levels().size());
+    }
+
+    @Test
+    void rejectsOverlappingOrGappedRanges() {
+        assertThrows(ConfigurationException.class, () -> MemberLevelIndex.of(List.of(
+                level("bronze", 0L, 500L, 1, 0),
+                level("silver", 500L, 999L, 1, 0))));
+        assertThrows(ConfigurationException.class, () -> MemberLevelIndex.of(List.of(
+                level("bronze", 0L, 499L, 1, 0),
+                level("silver", 600L, 999L, 1, 0))));
+        assertThrows(ConfigurationException.class, () -> MemberLevelIndex.of(List.of(
+                level("bronze", 0L, null, 1, 0),
+                level("silver", 500L, 999L, 1, 0))));
+    }
+
+    private static MemberLevel level(String name, Long min, Long max, int status, int deleted) {
+        MemberLevel level = new MemberLevel()
+                .setName(name)
+                .setMinPoints(min)
+                .setMaxPoints(max)
+                .setStatus(status);
+        level.setDeleted(deleted);
+        return level;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.membersystem.cache;
+
+import com.example.membersystem.config.UserProfileCacheProperties;
+import com.example.membersystem.entity.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserProfileCacheTest {
+
+    private static final String PROFILE_KEY = "member:user:profile:u-1";
+
+    private final Map<String, String> redis = new ConcurrentHashMap<>();
+    private final CountDownLatch bumped = new CountDownLatch(1);
+
+    @Test
+    void loadedProfileIsSharedThroughRedis() {
+        StringRedisTemplate redisTemplate = redisTemplate();
+        UserProfileCache first = cache(redisTemplate);
+        UserProfileCache second = cache(redisTemplate);
+
+        assertEquals("alice", first.get("u-1", id -> user("alice")).getUsername());
+        assertTrue(redis.containsKey(PROFILE_KEY));
+        // 另一個節點 L1 未命中時由 L2 取得，不再呼叫 loader
+        assertEquals("alice", second.get("u-1", id -> {
+            throw new AssertionError("不應載入");
+        }).getUsername());
+    }
+
+    @Test
+    void evictionDuringLoadKeepsStaleProfileOutOfRedis() throws Exception {
+        UserProfileCache cache = cache(redisTemplate());
+        Thread[] evictor = new Thread[1];
+
+        cache.get("u-1", id -> {
+            // 載入讀到舊資料後，積分變動提交並清除快取
+            evictor[0] = new Thread(() -> cache.evict("u-1"));
+            evictor[0].start();
+            try {
+                assertTrue(bumped.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return user("stale");
+        });
+        evictor[0].join(5_000);
+
+        assertFalse(redis.containsKey(PROFILE_KEY));
+        assertEquals("fresh", cache.get("u-1", id -> user("fresh")).getUsername());
+        assertTrue(redis.get(PROFILE_KEY).contains("fresh"));
+    }
+
+    private UserProfileCache cache(StringRedisTemplate redisTemplate) {
+        return new UserProfileCache(new UserProfileCacheProperties(), new ObjectMapper(),
+                provider(redisTemplate), provider(mock(RedisMessageListenerContainer.class)),
+                new SimpleMeterRegistry());
+    }
+
+    /**
+     * 以記憶體 Map 模擬 Redis 的 MGET、INCR 與兩個腳本
+     */
+    @SuppressWarnings("unchecked")
+    private StringRedisTemplate redisTemplate() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> operations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(operations);
+        when(operations.multiGet(anyList())).thenAnswer(invocation ->
+                ((List<String>) invocation.getArgument(0)).stream().map(redis::get).toList());
+        when(operations.increment(anyString())).thenAnswer(invocation ->
+                Long.valueOf(redis.merge(invocation.getArgument(0), "1",
+                        (current, one) -> String.valueOf(Long.parseLong(current) + 1))));
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenAnswer(invocation -> {
+            List<String> keys = invocation.getArgument(1);
+            Object[] args = (Object[]) invocation.getRawArguments()[2];
+            if (keys.size() == 2) {
+                redis.merge(keys.get(1), "1", (current, one) -> String.valueOf(Long.parseLong(current) + 1));
+                redis.remove(keys.get(0));
+                bumped.countDown();
+                return 1L;
+            }
+            if (Objects.equals(redis.getOrDefault(keys.get(1), ""), args[0])
+                    && Objects.equals(redis.getOrDefault(keys.get(2), ""), args[1])) {
+                redis.put(keys.get(0), (String) args[2]);
+                return 1L;
+            }
+            return 0L;
+        });
+        return redisTemplate;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ObjectProvider<T> provider(T instance) {
+        ObjectProvider<T> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(instance);
+        return provider;
+    }
+
+    private static User user(String username) {
+        User user = new User().setUsername(username);
+        user.setId("u-1");
+        return user;
+    }
+}
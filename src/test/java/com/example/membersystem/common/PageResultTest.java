@@ -0,0 +1,45 @@
+package com.example.membersystem.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PageResultTest {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2025, 6, 22, 12, 0, 30);
+
+    @Test
+    void cursorRoundTrips() {
+        PageCursor cursor = new PageCursor(TIME, "abc-123");
+        assertEquals(cursor, PageCursor.decode(cursor.encode()));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("not-a-cursor"));
+    }
+
+    @Test
+    void cursorPageTrimsExtraRowAndEmitsNextCursor() {
+        PageRequest request = new PageRequest();
+        request.setMode(PageRequest.MODE_CURSOR);
+        request.setSize(2L);
+
+        PageResult<String> page = PageResult.ofCursor(List.of("a", "b", "c"), request,
+                id -> new PageCursor(TIME, id), null);
+        assertEquals(List.of("a", "b"), page.getRecords());
+        assertTrue(page.getHasNext());
+        assertFalse(page.getHasPrevious());
+        assertEquals("b", PageCursor.decode(page.getNextCursor()).id());
+        assertNull(page.getTotal());
+
+        request.setCursor(page.getNextCursor());
+        PageResult<String> last = PageResult.ofCursor(List.of("c"), request, id -> new PageCursor(TIME, id), null);
+        assertFalse(last.getHasNext());
+        assertTrue(last.getHasPrevious());
+        assertNull(last.getNextCursor());
+    }
+}
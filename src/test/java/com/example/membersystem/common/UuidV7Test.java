@@ -0,0 +1,56 @@
+package com.example.membersystem.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UuidV7Test {
+
+    @Test
+    void carriesVersionVariantAndTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7.next();
+        long after = System.currentTimeMillis();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        long timestamp = uuid.getMostSignificantBits() >>> 16;
+        assertTrue(timestamp >= before && timestamp <= after + 1);
+        assertEquals(36, UuidV7.generate().length());
+    }
+
+    @Test
+    void stringFormIsStrictlyIncreasingAcrossThreads() throws Exception {
+        ConcurrentLinkedQueue<List<String>> batches = new ConcurrentLinkedQueue<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                List<String> ids = new ArrayList<>(20_000);
+                for (int i = 0; i < 20_000; i++) {
+                    ids.add(UuidV7.generate());
+                }
+                batches.add(ids);
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        List<String> all = new ArrayList<>();
+        for (List<String> ids : batches) {
+            for (int i = 1; i < ids.size(); i++) {
+                assertTrue(ids.get(i - 1).compareTo(ids.get(i)) < 0, "同一執行緒內必須遞增");
+            }
+            all.addAll(ids);
+        }
+        assertEquals(all.size(), all.stream().distinct().count());
+    }
+}
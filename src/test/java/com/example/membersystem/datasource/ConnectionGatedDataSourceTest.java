@@ -0,0 +1,71 @@
+package com.example.membersystem.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConnectionGatedDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void limitsBorrowedConnectionsAndReleasesOnceOnClose() throws Exception {
+        DataSource target = mock(DataSource.class);
+        Connection physical = mock(Connection.class);
+        when(target.getConnection()).thenReturn(physical);
+        ConnectionGatedDataSource dataSource =
+                new ConnectionGatedDataSource(target, 2, Duration.ofMillis(50), meterRegistry);
+
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        first.close();
+        first.close();
+        verify(physical, times(2)).close();
+        assertEquals(1, meterRegistry.get("member.datasource.gate.available").gauge().value());
+
+        Connection third = dataSource.getConnection();
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        second.close();
+        third.close();
+        assertEquals(2, meterRegistry.get("member.datasource.gate.available").gauge().value());
+    }
+
+    @Test
+    void failedBorrowReturnsPermit() throws Exception {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+        ConnectionGatedDataSource dataSource =
+                new ConnectionGatedDataSource(target, 1, Duration.ofMillis(50), meterRegistry);
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+        assertThrows(SQLException.class, dataSource::getConnection);
+        assertEquals(1, meterRegistry.get("member.datasource.gate.available").gauge().value());
+        assertEquals(0, dataSource.getWaiting());
+    }
+
+    @Test
+    void closeShutsDownTargetPoolOnce() throws Exception {
+        HikariDataSource pool = mock(HikariDataSource.class);
+        ConnectionGatedDataSource dataSource =
+                new ConnectionGatedDataSource(pool, 1, Duration.ofMillis(50), meterRegistry);
+
+        dataSource.close();
+        dataSource.close();
+        verify(pool, times(1)).close();
+    }
+}
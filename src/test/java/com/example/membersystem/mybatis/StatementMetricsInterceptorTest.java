@@ -0,0 +1,89 @@
+package com.example.membersystem.mybatis;
+
+import com.example.membersystem.config.SqlMonitorProperties;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Invocation;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StatementMetricsInterceptorTest {
+
+    @Test
+    void recordsPerStatementTimersTaggedByOutcome() throws Throwable {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StatementMetricsInterceptor interceptor = new StatementMetricsInterceptor(meterRegistry, new SqlMonitorProperties());
+        MappedStatement statement = mock(MappedStatement.class);
+        when(statement.getId()).thenReturn("com.example.membersystem.mapper.UserMapper.selectById");
+        when(statement.getSqlCommandType()).thenReturn(SqlCommandType.SELECT);
+
+        Invocation success = mock(Invocation.class);
+        when(success.getArgs()).thenReturn(new Object[]{statement, "id"});
+        when(success.proceed()).thenReturn("row");
+        assertEquals("row", interceptor.intercept(success));
+        interceptor.intercept(success);
+
+        Invocation failure = mock(Invocation.class);
+        when(failure.getArgs()).thenReturn(new Object[]{statement, "id"});
+        when(failure.proceed()).thenThrow(new PersistenceException("timeout"));
+        assertThrows(PersistenceException.class, () -> interceptor.intercept(failure));
+
+        Timer ok = meterRegistry.get("member.mybatis.statement")
+                .tags("statement", "UserMapper.selectById", "command", "SELECT", "outcome", "success").timer();
+        Timer error = meterRegistry.get("member.mybatis.statement").tag("outcome", "error").timer();
+        assertEquals(2, ok.count());
+        assertEquals(1, error.count());
+    }
+
+    @Test
+    void flagsSlowStatementsAndCountsRepeatsPerRequest() throws Throwable {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SqlMonitorProperties properties = new SqlMonitorProperties();
+        properties.setSlowThreshold(Duration.ZERO);
+        properties.setRepeatedStatementThreshold(3);
+        StatementMetricsInterceptor interceptor = new StatementMetricsInterceptor(meterRegistry, properties);
+        RequestStatementInterceptor requestInterceptor = new RequestStatementInterceptor(properties, meterRegistry);
+
+        MappedStatement statement = mock(MappedStatement.class);
+        when(statement.getId()).thenReturn("com.example.membersystem.mapper.RoleMapper.selectByUserId");
+        when(statement.getSqlCommandType()).thenReturn(SqlCommandType.SELECT);
+        Invocation invocation = mock(Invocation.class);
+        when(invocation.getArgs()).thenReturn(new Object[]{statement, "user"});
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/user/list");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/user/list");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        requestInterceptor.preHandle(request, response, new Object());
+        // 逐個用戶載入角色
+        for (int i = 0; i < 5; i++) {
+            interceptor.intercept(invocation);
+        }
+        requestInterceptor.afterCompletion(request, response, new Object(), null);
+
+        assertNull(RequestStatementStats.current());
+        assertEquals(5, meterRegistry.get("member.mybatis.slow").counter().count());
+        assertEquals(1, meterRegistry.get("member.mybatis.repeated")
+                .tags("uri", "/user/list", "statement", "RoleMapper.selectByUserId").counter().count());
+        assertEquals(5, meterRegistry.get("member.http.statements").tag("uri", "/user/list").summary().totalAmount());
+    }
+
+    @Test
+    void shortensStatementIdToMapperAndMethod() {
+        assertEquals("UserMapper.selectById",
+                StatementMetricsInterceptor.shortName("com.example.membersystem.mapper.UserMapper.selectById"));
+        assertEquals("selectById", StatementMetricsInterceptor.shortName("selectById"));
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.membersystem.points;
+
+import com.example.membersystem.config.CheckInProperties;
+import com.example.membersystem.mapper.UserPointsMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CheckInStoreTest {
+
+    @Test
+    void countsStreakAcrossMonthBoundaries() {
+        LocalDate today = LocalDate.of(2026, 3, 3);
+        // 3 月 1-3 日、2 月 27-28 日（2 月共 28 天），2 月 26 日未簽到
+        int march = days(1, 2, 3);
+        int february = days(27, 28);
+        assertEquals(5, CheckInStore.streak(new int[]{march, february, 0}, today));
+
+        // 今天尚未簽到時從昨天往前數
+        assertEquals(4, CheckInStore.streak(new int[]{days(1, 2), february, 0}, today));
+        assertEquals(0, CheckInStore.streak(new int[]{days(1), february, 0}, today));
+
+        // 整月簽到時繼續往前一個月
+        int fullFebruary = (1 << 28) - 1;
+        assertEquals(3 + 28 + 1, CheckInStore.streak(new int[]{march, fullFebruary, days(31)}, today));
+    }
+
+    @Test
+    void startsFromPreviousMonthOnFirstDayBeforeCheckIn() {
+        LocalDate today = LocalDate.of(2026, 3, 1);
+        assertEquals(2, CheckInStore.streak(new int[]{0, days(27, 28)}, today));
+    }
+
+    @Test
+    void convertsBitFieldValueToDayMask() {
+        // BITFIELD GET u31 0：第 1 天（偏移 0）位於最高位（第 30 位）
+        long firstAndThirtyFirst = (1L << 30) | 1L;
+        assertEquals(days(1, 31), CheckInStore.fromBitField(firstAndThirtyFirst));
+    }
+
+    @Test
+    void localCalendarDetectsDuplicatesAndLoadsFromLedgerOnce() {
+        UserPointsMapper mapper = mock(UserPointsMapper.class);
+        LocalDate today = LocalDate.now();
+        LocalDate yesterday = today.minusDays(1);
+        when(mapper.selectCreateTimesByType(eq("u1"), anyInt(), any()))
+                .thenReturn(List.of(yesterday.atTime(9, 0), yesterday.minusDays(1).atTime(12, 0)));
+        CheckInStore store = new CheckInStore(new CheckInProperties(), mapper, new SimpleMeterRegistry(),
+                emptyProvider(), emptyProvider());
+
+        assertTrue(store.mark("u1", today));
+        assertFalse(store.mark("u1", today));
+        assertEquals(3, CheckInStore.streak(store.monthMasks("u1", YearMonth.from(today), 2), today));
+
+        store.unmark("u1", today);
+        assertTrue(store.mark("u1", today));
+        verify(mapper, times(1)).selectCreateTimesByType(eq("u1"), anyInt(), any());
+    }
+
+    private static int days(int... days) {
+        int mask = 0;
+        for (int day : days) {
+            mask |= 1 << (day - 1);
+        }
+        return mask;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ObjectProvider<T> emptyProvider() {
+        return mock(ObjectProvider.class);
+    }
+}
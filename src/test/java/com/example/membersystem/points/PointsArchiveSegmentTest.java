@@ -0,0 +1,88 @@
+package com.example.membersystem.points;
+
+import com.example.membersystem.common.UuidV7;
+import com.example.membersystem.entity.UserPoints;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PointsArchiveSegmentTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2024, 3);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsBackRowsAndSumsPerUser() throws Exception {
+        String alice = UuidV7.generate();
+        String bob = UuidV7.generate();
+        Path file = directory.resolve("user_points_202403.seg");
+        try (PointsArchiveSegmentWriter writer = new PointsArchiveSegmentWriter(file, MONTH)) {
+            // 依 user_id 分組寫入，順序與 UUID 排序無關
+            writer.append(row(bob, 100, 1));
+            writer.append(row(alice, 30, 1));
+            writer.append(row(alice, -10, 2).setDescription(null).setRefId("order-1"));
+            writer.finish();
+        }
+
+        try (PointsArchiveSegment segment = PointsArchiveSegment.open(file)) {
+            assertEquals(MONTH, segment.getMonth());
+            assertEquals(2, segment.getUserCount());
+            assertEquals(3, segment.getRowCount());
+
+            List<UserPoints> rows = segment.read(alice);
+            assertEquals(2, rows.size());
+            assertEquals(30L, rows.get(0).getPoints());
+            assertEquals(LocalDateTime.of(2024, 3, 1, 10, 0, 0, 123_000_000), rows.get(0).getCreateTime());
+            assertEquals(alice, rows.get(1).getUserId());
+            assertNull(rows.get(1).getDescription());
+            assertEquals("order-1", rows.get(1).getRefId());
+            assertEquals(20L, segment.sum(alice));
+            assertEquals(100L, segment.sum(bob));
+
+            assertTrue(segment.read(UuidV7.generate()).isEmpty());
+            assertTrue(segment.read("not-a-uuid").isEmpty());
+        }
+    }
+
+    @Test
+    void rejectsUsersWrittenInSeparateRuns() throws Exception {
+        String alice = UuidV7.generate();
+        String bob = UuidV7.generate();
+        try (PointsArchiveSegmentWriter writer = new PointsArchiveSegmentWriter(directory.resolve("bad.seg"), MONTH)) {
+            writer.append(row(alice, 1, 1));
+            writer.append(row(bob, 1, 1));
+            writer.append(row(alice, 1, 1));
+            assertThrows(IllegalStateException.class, writer::finish);
+        }
+    }
+
+    @Test
+    void rejectsRowsOutsideSegmentMonth() throws Exception {
+        try (PointsArchiveSegmentWriter writer = new PointsArchiveSegmentWriter(directory.resolve("bad.seg"), MONTH)) {
+            UserPoints row = row(UuidV7.generate(), 1, 1).setCreateTime(LocalDateTime.of(2024, 4, 1, 0, 0));
+            assertThrows(IllegalStateException.class, () -> writer.append(row));
+        }
+    }
+
+    private static UserPoints row(String userId, long points, int type) {
+        return new UserPoints()
+                .setId(UuidV7.generate())
+                .setUserId(userId)
+                .setPoints(points)
+                .setBalance(points)
+                .setType(type)
+                .setDescription("簽到")
+                .setCreateTime(LocalDateTime.of(2024, 3, 1, 10, 0, 0, 123_000_000));
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.membersystem.points;
+
+import com.example.membersystem.common.UuidV7;
+import com.example.membersystem.config.PointsArchiveProperties;
+import com.example.membersystem.entity.UserPoints;
+import com.example.membersystem.exception.ConfigurationException;
+import com.example.membersystem.mapper.PointsArchiveMonthMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PointsArchiveStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private PointsArchiveStore store;
+
+    @AfterEach
+    void tearDown() {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    @Test
+    void readsRecordedMonthsFromLocalSegments() throws Exception {
+        String alice = UuidV7.generate();
+        writeSegment(YearMonth.of(2024, 3), alice, 30);
+        store = newStore(directory, List.of("2024-03"));
+
+        assertEquals(LocalDateTime.of(2024, 4, 1, 0, 0), store.archivedBefore());
+        assertEquals(30L, store.archivedSum(alice));
+        assertEquals(1, store.history(alice, null, null, 10).size());
+    }
+
+    @Test
+    void failsReadsWhenRecordedSegmentIsMissingLocally() throws Exception {
+        String alice = UuidV7.generate();
+        writeSegment(YearMonth.of(2024, 3), alice, 30);
+        // 2024-04 已由其他節點登記歸檔，但段檔案不在本節點
+        store = newStore(directory, List.of("2024-03", "2024-04"));
+
+        assertEquals(LocalDateTime.of(2024, 5, 1, 0, 0), store.archivedBefore());
+        assertThrows(ConfigurationException.class, () -> store.archivedSum(alice));
+        assertThrows(ConfigurationException.class, () -> store.history(alice, null, null, 10));
+        // 只讀取已載入月份的查詢不受影響
+        assertEquals(1, store.history(alice, null, LocalDateTime.of(2024, 3, 31, 0, 0), 10).size());
+    }
+
+    @Test
+    void iteratesAllUsersWithinRangeForExport() throws Exception {
+        String alice = UuidV7.generate();
+        String bob = UuidV7.generate();
+        writeSegment(YearMonth.of(2024, 3), alice, 30);
+        writeSegment(YearMonth.of(2024, 4), bob, 40);
+        store = newStore(directory, List.of("2024-03", "2024-04"));
+        List<UserPoints> rows = new ArrayList<>();
+
+        store.forEach(null, null, null, rows::add);
+        assertEquals(List.of(alice, bob), rows.stream().map(UserPoints::getUserId).toList());
+
+        rows.clear();
+        store.forEach(null, LocalDateTime.of(2024, 4, 1, 0, 0), null, rows::add);
+        assertEquals(List.of(bob), rows.stream().map(UserPoints::getUserId).toList());
+
+        rows.clear();
+        store.forEach(alice, null, null, rows::add);
+        assertEquals(List.of(alice), rows.stream().map(UserPoints::getUserId).toList());
+    }
+
+    @Test
+    void failsReadsWhenDirectoryIsNotConfigured() {
+        store = newStore(null, List.of("2024-03"));
+
+        assertThrows(ConfigurationException.class, () -> store.archivedSum(UuidV7.generate()));
+    }
+
+    private PointsArchiveStore newStore(Path directory, List<String> recordedMonths) {
+        PointsArchiveMonthMapper mapper = mock(PointsArchiveMonthMapper.class);
+        when(mapper.selectMonths()).thenReturn(recordedMonths);
+        PointsArchiveProperties properties = new PointsArchiveProperties();
+        properties.setDirectory(directory != null ? directory.toString() : null);
+        PointsArchiveStore archiveStore = new PointsArchiveStore(mapper, properties, new SimpleMeterRegistry());
+        archiveStore.refresh();
+        return archiveStore;
+    }
+
+    private void writeSegment(YearMonth month, String userId, long points) throws Exception {
+        Path file = directory.resolve(String.format("user_points_%04d%02d.seg", month.getYear(), month.getMonthValue()));
+        try (PointsArchiveSegmentWriter writer = new PointsArchiveSegmentWriter(file, month)) {
+            writer.append(new UserPoints()
+                    .setId(UuidV7.generate())
+                    .setUserId(userId)
+                    .setPoints(points)
+                    .setBalance(points)
+                    .setType(1)
+                    .setCreateTime(month.atDay(1).atTime(10, 0)));
+            writer.finish();
+        }
+    }
+}
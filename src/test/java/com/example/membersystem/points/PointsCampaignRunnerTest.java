@@ -0,0 +1,184 @@
+package com.example.membersystem.points;
+
+import com.example.membersystem.config.PointsCampaignProperties;
+import com.example.membersystem.entity.PointsCampaign;
+import com.example.membersystem.entity.PointsCampaignChunk;
+import com.example.membersystem.entity.UserPoints;
+import com.example.membersystem.enums.PointsCampaignStatus;
+import com.example.membersystem.exception.BusinessException;
+import com.example.membersystem.exception.DatabaseException;
+import com.example.membersystem.mapper.PointsCampaignChunkMapper;
+import com.example.membersystem.mapper.PointsCampaignMapper;
+import com.example.membersystem.mapper.UserMapper;
+import com.example.membersystem.service.UserProfileService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PointsCampaignRunnerTest {
+
+    private final PointsCampaignMapper campaignMapper = mock(PointsCampaignMapper.class);
+    private final PointsCampaignChunkMapper chunkMapper = mock(PointsCampaignChunkMapper.class);
+    private final UserMapper userMapper = mock(UserMapper.class);
+    private final PointsLedgerWriter writer = mock(PointsLedgerWriter.class);
+    private final PointsCampaignProperties properties = new PointsCampaignProperties();
+    private PointsCampaignRunner runner;
+    private AutoCloseable mocks;
+
+    @Captor
+    private ArgumentCaptor<List<PointsCampaignChunk>> chunks;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        mocks = MockitoAnnotations.openMocks(this);
+        // GET_LOCK 取得成功
+        DataSource dataSource = mock(DataSource.class, RETURNS_DEEP_STUBS);
+        ResultSet lockResult = dataSource.getConnection().prepareStatement(anyString()).executeQuery();
+        when(lockResult.next()).thenReturn(true);
+        when(lockResult.getInt(1)).thenReturn(1);
+        when(chunkMapper.markDone(anyString(), anyInt(), anyInt())).thenReturn(1);
+        when(writer.submit(any())).thenAnswer(invocation ->
+                CompletableFuture.completedFuture(invocation.<UserPoints>getArgument(0)));
+        runner = new PointsCampaignRunner(campaignMapper, chunkMapper, userMapper, writer,
+                mock(UserProfileService.class), new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                dataSource, properties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mocks.close();
+    }
+
+    @Test
+    void plansIdRangesThenAwardsEveryChunk() {
+        properties.setChunkSize(2);
+        when(campaignMapper.selectById("c1")).thenReturn(campaign(PointsCampaignStatus.PLANNING));
+        when(userMapper.selectMaxId()).thenReturn("u5");
+        when(userMapper.selectIdAtOffset("", 1)).thenReturn("u2");
+        when(userMapper.selectIdAtOffset("u2", 1)).thenReturn("u4");
+        when(userMapper.selectIdAtOffset("u4", 1)).thenReturn(null);
+        List<PointsCampaignChunk> planned = List.of(chunk(0, "", "u2"), chunk(1, "u2", "u4"), chunk(2, "u4", "u5"));
+        when(chunkMapper.selectPending("c1")).thenReturn(planned);
+        when(userMapper.selectCampaignTargets(anyString(), anyString(), any(), any(), anyInt(), anyString()))
+                .thenReturn(List.of("u1", "u2"), List.of("u4"), List.of("u5"));
+
+        runner.run("c1");
+
+        verify(chunkMapper).insertBatch(chunks.capture());
+        assertEquals(planned, chunks.getValue());
+        verify(campaignMapper).markRunning("c1", 3);
+
+        ArgumentCaptor<UserPoints> records = ArgumentCaptor.forClass(UserPoints.class);
+        verify(writer, times(4)).submit(records.capture());
+        assertEquals("campaign:c1:u4", records.getAllValues().stream()
+                .filter(record -> "u4".equals(record.getUserId())).findFirst().orElseThrow().getRefId());
+        verify(campaignMapper, times(3)).addProgress(eq("c1"), anyInt());
+        verify(campaignMapper).markFinished("c1", PointsCampaignStatus.COMPLETED.getCode(), null);
+    }
+
+    @Test
+    void resumesPendingChunksAndKeepsCheckpointsOnFailure() {
+        when(campaignMapper.selectById("c1")).thenReturn(campaign(PointsCampaignStatus.RUNNING));
+        // 分片 0 已於中斷前完成
+        when(chunkMapper.selectPending("c1")).thenReturn(List.of(chunk(1, "u2", "u4"), chunk(2, "u4", "u5")));
+        when(userMapper.selectCampaignTargets(eq("u2"), anyString(), any(), any(), anyInt(), anyString()))
+                .thenReturn(List.of("u3", "u4"));
+        when(userMapper.selectCampaignTargets(eq("u4"), anyString(), any(), any(), anyInt(), anyString()))
+                .thenReturn(List.of("u5"));
+        when(writer.submit(any())).thenAnswer(invocation -> {
+            UserPoints record = invocation.getArgument(0);
+            return "u5".equals(record.getUserId())
+                    ? CompletableFuture.failedFuture(new DatabaseException("積分寫入失敗"))
+                    : CompletableFuture.completedFuture(record);
+        });
+
+        runner.run("c1");
+
+        verify(chunkMapper, never()).insertBatch(any());
+        verify(chunkMapper).markDone("c1", 1, 2);
+        verify(chunkMapper, never()).markDone(eq("c1"), eq(2), anyInt());
+        verify(campaignMapper).markFinished("c1", PointsCampaignStatus.FAILED.getCode(), "積分寫入失敗");
+        verify(campaignMapper, never()).markFinished(eq("c1"), eq(PointsCampaignStatus.COMPLETED.getCode()), isNull());
+    }
+
+    @Test
+    void retriesQueueFullRejectionsWithBackoff() {
+        properties.setSubmitRetryBackoff(Duration.ofMillis(1));
+        when(campaignMapper.selectById("c1")).thenReturn(campaign(PointsCampaignStatus.RUNNING));
+        when(chunkMapper.selectPending("c1")).thenReturn(List.of(chunk(2, "u4", "u5")));
+        when(userMapper.selectCampaignTargets(anyString(), anyString(), any(), any(), anyInt(), anyString()))
+                .thenReturn(List.of("u5"));
+        AtomicInteger attempts = new AtomicInteger();
+        when(writer.submit(any())).thenAnswer(invocation -> attempts.incrementAndGet() <= 2
+                ? CompletableFuture.failedFuture(new BusinessException(503, "積分寫入繁忙，請稍後重試"))
+                : CompletableFuture.completedFuture(invocation.<UserPoints>getArgument(0)));
+
+        runner.run("c1");
+
+        verify(writer, times(3)).submit(any());
+        verify(chunkMapper).markDone("c1", 2, 1);
+        verify(campaignMapper).markFinished("c1", PointsCampaignStatus.COMPLETED.getCode(), null);
+    }
+
+    @Test
+    void keepsCampaignRunningWhenWriterStaysBusy() {
+        properties.setSubmitRetryBackoff(Duration.ofMillis(1));
+        properties.setSubmitRetryTimeout(Duration.ofMillis(20));
+        when(campaignMapper.selectById("c1")).thenReturn(campaign(PointsCampaignStatus.RUNNING));
+        when(chunkMapper.selectPending("c1")).thenReturn(List.of(chunk(2, "u4", "u5")));
+        when(userMapper.selectCampaignTargets(anyString(), anyString(), any(), any(), anyInt(), anyString()))
+                .thenReturn(List.of("u5"));
+        when(writer.submit(any())).thenAnswer(invocation ->
+                CompletableFuture.failedFuture(new BusinessException(503, "積分寫入繁忙，請稍後重試")));
+
+        runner.run("c1");
+
+        verify(chunkMapper, never()).markDone(anyString(), anyInt(), anyInt());
+        // 不標記失敗，由下次檢查續跑
+        verify(campaignMapper, never()).markFinished(anyString(), anyInt(), any());
+    }
+
+    private static PointsCampaign campaign(PointsCampaignStatus status) {
+        return new PointsCampaign()
+                .setId("c1")
+                .setName("週年慶回饋")
+                .setPoints(50L)
+                .setStatus(status.getCode())
+                .setTotalChunks(3);
+    }
+
+    private static PointsCampaignChunk chunk(int chunkNo, String startAfter, String endId) {
+        return new PointsCampaignChunk()
+                .setCampaignId("c1")
+                .setChunkNo(chunkNo)
+                .setStartAfter(startAfter)
+                .setEndId(endId);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.membersystem.points;
+
+import com.example.membersystem.config.PointsIdempotencyProperties;
+import com.example.membersystem.entity.UserPoints;
+import com.example.membersystem.enums.PointsType;
+import com.example.membersystem.exception.BusinessException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+class PointsIdempotencyGuardTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PointsIdempotencyGuard guard = new PointsIdempotencyGuard(new PointsIdempotencyProperties(),
+            new ObjectMapper(), meterRegistry, emptyProvider(), emptyProvider());
+
+    @Test
+    void retriesShareTheInflightAndThenCachedResult() throws Exception {
+        AtomicInteger submissions = new AtomicInteger();
+        CompletableFuture<UserPoints> ledger = new CompletableFuture<>();
+        CompletableFuture<UserPoints> first = guard.execute(PointsType.CONSUMPTION, "order-1", "u1", 10L, () -> {
+            submissions.incrementAndGet();
+            return ledger;
+        });
+        CompletableFuture<UserPoints> concurrent = guard.execute(PointsType.CONSUMPTION, "order-1", "u1", 10L, () -> {
+            submissions.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+        assertFalse(concurrent.isDone());
+
+        UserPoints record = new UserPoints().setId("p1").setUserId("u1").setPoints(10L)
+                .setType(PointsType.CONSUMPTION.getCode()).setRefId("order-1");
+        ledger.complete(record);
+        assertSame(record, first.get());
+        assertSame(record, concurrent.get());
+        assertSame(record, guard.execute(PointsType.CONSUMPTION, "order-1", "u1", 10L, () -> {
+            submissions.incrementAndGet();
+            return new CompletableFuture<>();
+        }).get());
+
+        assertEquals(1, submissions.get());
+        assertEquals(1.0, count("miss"));
+        assertEquals(1.0, count("inflight_hit"));
+        assertEquals(1.0, count("local_hit"));
+    }
+
+    @Test
+    void rejectsReuseOfRefIdForDifferentChange() {
+        UserPoints record = new UserPoints().setId("p1").setUserId("u1").setPoints(10L)
+                .setType(PointsType.CONSUMPTION.getCode()).setRefId("order-1");
+        guard.remember(record);
+
+        ExecutionException error = assertThrows(ExecutionException.class,
+                () -> guard.execute(PointsType.CONSUMPTION, "order-1", "u2", 10L,
+                        () -> CompletableFuture.completedFuture(record)).get());
+        assertInstanceOf(BusinessException.class, error.getCause());
+        // 不同類型的相同業務ID互不影響
+        UserPoints exchange = new UserPoints().setId("p2");
+        assertSame(exchange, guard.execute(PointsType.EXCHANGE, "order-1", "u2", -5L,
+                () -> CompletableFuture.completedFuture(exchange)).join());
+    }
+
+    @Test
+    void failedSubmissionIsNotRemembered() {
+        guard.execute(PointsType.CONSUMPTION, "order-1", "u1", 10L,
+                () -> CompletableFuture.failedFuture(new IllegalStateException("db down")));
+        UserPoints record = new UserPoints().setId("p1");
+        assertSame(record, guard.execute(PointsType.CONSUMPTION, "order-1", "u1", 10L,
+                () -> CompletableFuture.completedFuture(record)).join());
+        assertEquals(2.0, count("miss"));
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("member.points.idempotency.requests").tag("result", result).counter().count();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ObjectProvider<T> emptyProvider() {
+        return mock(ObjectProvider.class);
+    }
+}
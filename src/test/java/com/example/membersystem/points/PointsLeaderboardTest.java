@@ -0,0 +1,95 @@
+package com.example.membersystem.points;
+
+import com.example.membersystem.config.PointsLeaderboardProperties;
+import com.example.membersystem.exception.BusinessException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PointsLeaderboardTest {
+
+    private static final String KEY = "member:points:leaderboard";
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private PointsLeaderboard leaderboard;
+
+    @AfterEach
+    void tearDown() {
+        if (leaderboard != null) {
+            leaderboard.shutdown();
+        }
+    }
+
+    @Test
+    void entryReadsRankAndScoreInOnePipeline() {
+        leaderboard = redisLeaderboard();
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(4L, 250.0));
+
+        assertEquals(new RankedSkipList.Entry("u1", 250, 4), leaderboard.entry("u1"));
+        verify(redisTemplate).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    void entryIsNullWhenUserIsNotRanked() {
+        leaderboard = redisLeaderboard();
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(Arrays.asList(null, null));
+
+        assertNull(leaderboard.entry("u1"));
+    }
+
+    @Test
+    void commitKeepsLiveLeaderboardWhenRebuildKeyExpired() {
+        leaderboard = redisLeaderboard();
+        PointsLeaderboard.Rebuild rebuild = leaderboard.beginRebuild();
+        rebuild.load(Map.of("u1", 10L));
+        when(redisTemplate.hasKey(anyString())).thenReturn(false);
+
+        assertThrows(BusinessException.class, rebuild::commit);
+        verify(redisTemplate, never()).delete(KEY);
+        verify(redisTemplate, never()).rename(anyString(), eq(KEY));
+    }
+
+    @Test
+    void commitClearsLiveLeaderboardWhenNothingWasLoaded() {
+        leaderboard = redisLeaderboard();
+        PointsLeaderboard.Rebuild rebuild = leaderboard.beginRebuild();
+        when(redisTemplate.hasKey(anyString())).thenReturn(false);
+
+        rebuild.commit();
+        verify(redisTemplate).delete(KEY);
+    }
+
+    @SuppressWarnings("unchecked")
+    private PointsLeaderboard redisLeaderboard() {
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        when(values.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        ObjectProvider<StringRedisTemplate> templateProvider = mock(ObjectProvider.class);
+        when(templateProvider.getIfAvailable()).thenReturn(redisTemplate);
+        ObjectProvider<RedisMessageListenerContainer> containerProvider = mock(ObjectProvider.class);
+        when(containerProvider.getIfAvailable()).thenReturn(mock(RedisMessageListenerContainer.class));
+        return new PointsLeaderboard(new PointsLeaderboardProperties(), new SimpleMeterRegistry(),
+                templateProvider, containerProvider);
+    }
+}
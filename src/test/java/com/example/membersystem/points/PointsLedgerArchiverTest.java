@@ -0,0 +1,114 @@
+package com.example.membersystem.points;
+
+import com.example.membersystem.common.UuidV7;
+import com.example.membersystem.config.PointsArchiveProperties;
+import com.example.membersystem.entity.UserPoints;
+import com.example.membersystem.exception.ConfigurationException;
+import com.example.membersystem.mapper.PointsArchiveMonthMapper;
+import com.example.membersystem.mapper.UserPointsMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.ibatis.cursor.Cursor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PointsLedgerArchiverTest {
+
+    @TempDir
+    Path directory;
+
+    private final UserPointsMapper userPointsMapper = mock(UserPointsMapper.class);
+    private final PointsArchiveMonthMapper archiveMonthMapper = mock(PointsArchiveMonthMapper.class);
+    private final PointsArchiveProperties properties = new PointsArchiveProperties();
+    private DataSource dataSource;
+    private PointsArchiveStore store;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties.setEnabled(true);
+        properties.setDirectory(directory.toString());
+        // GET_LOCK 取得成功
+        dataSource = mock(DataSource.class, RETURNS_DEEP_STUBS);
+        ResultSet lockResult = dataSource.getConnection().prepareStatement(anyString()).executeQuery();
+        when(lockResult.next()).thenReturn(true);
+        when(lockResult.getInt(1)).thenReturn(1);
+        store = new PointsArchiveStore(archiveMonthMapper, properties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    void keepsRowsUntilRegistrationIsOlderThanGracePeriod() {
+        YearMonth month = YearMonth.now().minusMonths(properties.getHotMonths() + 1);
+        LocalDateTime time = month.atDay(3).atTime(9, 0);
+        UserPoints row = new UserPoints().setId(UuidV7.generate()).setUserId(UuidV7.generate())
+                .setPoints(10L).setBalance(10L).setType(1).setCreateTime(time);
+        when(userPointsMapper.selectMinCreateTime()).thenReturn(time);
+        Cursor<UserPoints> cursor = cursorOf(row);
+        when(userPointsMapper.streamForArchive(any(), any())).thenReturn(cursor);
+        when(userPointsMapper.countByCreateTime(any(), any())).thenReturn(1L);
+        PointsLedgerArchiver archiver = newArchiver();
+
+        // 剛登記：其他節點可能還沒重新讀取登記月份，流水保留
+        when(archiveMonthMapper.selectMonthsRegisteredBefore(anyLong())).thenReturn(List.of());
+        archiver.archive();
+        verify(archiveMonthMapper).insert(eq(month.toString()), eq(1L), anyString());
+        verify(userPointsMapper, never()).deleteByCreateTime(any(), any(), anyInt());
+        assertTrue(store.isLoaded(month));
+
+        // 登記超過保留時間：刪除
+        when(archiveMonthMapper.selectMonthsRegisteredBefore(anyLong())).thenReturn(List.of(month.toString()));
+        when(userPointsMapper.deleteByCreateTime(any(), any(), anyInt())).thenReturn(1, 0);
+        archiver.archive();
+        verify(archiveMonthMapper).insert(eq(month.toString()), anyLong(), anyString());
+        verify(userPointsMapper, times(2)).deleteByCreateTime(month.atDay(1).atStartOfDay(),
+                month.plusMonths(1).atDay(1).atStartOfDay(), properties.getDeleteBatchSize());
+    }
+
+    @Test
+    void rejectsGracePeriodNotLongerThanRefreshInterval() {
+        properties.setRefreshInterval(Duration.ofMinutes(5));
+        properties.setDeleteGracePeriod(Duration.ofMinutes(5));
+
+        assertThrows(ConfigurationException.class, this::newArchiver);
+    }
+
+    private PointsLedgerArchiver newArchiver() {
+        return new PointsLedgerArchiver(userPointsMapper, archiveMonthMapper, store, properties, dataSource,
+                mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cursor<UserPoints> cursorOf(UserPoints... rows) {
+        Cursor<UserPoints> cursor = mock(Cursor.class);
+        when(cursor.iterator()).thenAnswer(invocation -> List.of(rows).iterator());
+        return cursor;
+    }
+}
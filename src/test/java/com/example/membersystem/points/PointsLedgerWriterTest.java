@@ -0,0 +1,177 @@
+package com.example.membersystem.points;
+
+import com.example.membersystem.cache.PointsBalanceCache;
+import com.example.membersystem.config.PointsBalanceProperties;
+import com.example.membersystem.config.PointsIdempotencyProperties;
+import com.example.membersystem.config.PointsLedgerProperties;
+import com.example.membersystem.entity.UserPoints;
+import com.example.membersystem.entity.UserPointsBalance;
+import com.example.membersystem.exception.InsufficientPointsException;
+import com.example.membersystem.mapper.UserPointsBalanceMapper;
+import com.example.membersystem.mapper.UserPointsMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PointsLedgerWriterTest {
+
+    private PointsLedgerWriter writer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    void serializesBalancesPerUserAndRejectsOverdraft() throws Exception {
+        UserPointsMapper mapper = mock(UserPointsMapper.class);
+        writer = newWriter(mapper, 100L);
+
+        int threads = 8;
+        int perThread = 250;
+        Set<Long> balances = ConcurrentHashMap.newKeySet();
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                List<CompletableFuture<UserPoints>> futures = new ArrayList<>();
+                for (int i = 0; i < perThread; i++) {
+                    futures.add(writer.submit(new UserPoints().setUserId("u1").setPoints(1L)));
+                }
+                futures.forEach(future -> balances.add(future.join().getBalance()));
+                done.countDown();
+            }).start();
+        }
+        assertEquals(true, done.await(10, TimeUnit.SECONDS));
+        // 每筆流水的餘額各不相同且連續
+        assertEquals(threads * perThread, balances.size());
+        assertEquals(100L + threads * perThread, balances.stream().mapToLong(Long::longValue).max().orElseThrow());
+
+        ExecutionException error = assertThrows(ExecutionException.class,
+                () -> writer.submit(new UserPoints().setUserId("u1").setPoints(-1_000_000L)).get());
+        assertInstanceOf(InsufficientPointsException.class, error.getCause());
+    }
+
+    @Test
+    void computesBalanceFromLockedSnapshotWrittenByOtherNodes() throws Exception {
+        Map<String, Long> table = new ConcurrentHashMap<>();
+        writer = newWriter(mock(UserPointsMapper.class), balanceTable(table, 100L), Duration.ZERO);
+
+        assertEquals(110L, writer.submit(new UserPoints().setUserId("u1").setPoints(10L))
+                .get(5, TimeUnit.SECONDS).getBalance());
+        // 另一個節點的積分活動入帳 +100
+        table.computeIfPresent("u1", (userId, balance) -> balance + 100);
+        assertEquals(205L, writer.submit(new UserPoints().setUserId("u1").setPoints(-5L))
+                .get(5, TimeUnit.SECONDS).getBalance());
+        assertEquals(205L, table.get("u1"));
+    }
+
+    @Test
+    void returnsExistingRecordOnDuplicateRefIdAndRecommitsTheRest() throws Exception {
+        UserPointsMapper mapper = mock(UserPointsMapper.class);
+        when(mapper.insertBatch(anyList()))
+                .thenThrow(new DuplicateKeyException("Duplicate entry for key 'uk_type_ref_id'"))
+                .thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+        UserPoints existing = new UserPoints().setId("p0").setUserId("u1").setPoints(10L).setBalance(10L)
+                .setType(2).setRefId("order-1");
+        when(mapper.selectByTypeAndRefIds(anyList())).thenReturn(List.of(existing));
+        // 等待三筆進入同一批次
+        writer = newWriter(mapper, 0L, Duration.ofMillis(300));
+
+        // 三筆在同一批次：重試的 order-1、同批次重複的 order-1、新的 order-2
+        CompletableFuture<UserPoints> retried = writer.submit(
+                new UserPoints().setUserId("u1").setPoints(10L).setType(2).setRefId("order-1"));
+        CompletableFuture<UserPoints> duplicate = writer.submit(
+                new UserPoints().setUserId("u1").setPoints(10L).setType(2).setRefId("order-1"));
+        CompletableFuture<UserPoints> fresh = writer.submit(
+                new UserPoints().setUserId("u1").setPoints(5L).setType(2).setRefId("order-2"));
+
+        assertEquals("p0", retried.get(5, TimeUnit.SECONDS).getId());
+        assertEquals("p0", duplicate.get(5, TimeUnit.SECONDS).getId());
+        // 重新提交時不再計入已存在的 order-1
+        assertEquals(5L, fresh.get(5, TimeUnit.SECONDS).getBalance());
+        verify(mapper, times(2)).insertBatch(anyList());
+    }
+
+    private static PointsLedgerWriter newWriter(UserPointsMapper mapper, long initialBalance) {
+        return newWriter(mapper, initialBalance, Duration.ZERO);
+    }
+
+    private static PointsLedgerWriter newWriter(UserPointsMapper mapper, long initialBalance,
+                                                Duration maxBatchDelay) {
+        Map<String, Long> table = new ConcurrentHashMap<>();
+        return newWriter(mapper, balanceTable(table, initialBalance), maxBatchDelay);
+    }
+
+    /**
+     * 以記憶體表模擬 user_points_balance：補建的快照為 initialBalance，寫入覆蓋餘額
+     */
+    private static UserPointsBalanceMapper balanceTable(Map<String, Long> table, long initialBalance) {
+        UserPointsBalanceMapper balanceMapper = mock(UserPointsBalanceMapper.class);
+        when(balanceMapper.insertMissing(anyList())).thenAnswer(invocation -> {
+            List<String> userIds = invocation.getArgument(0);
+            userIds.forEach(userId -> table.putIfAbsent(userId, initialBalance));
+            return userIds.size();
+        });
+        when(balanceMapper.selectForUpdate(anyList())).thenAnswer(invocation -> {
+            List<String> userIds = invocation.getArgument(0);
+            return userIds.stream()
+                    .map(userId -> new UserPointsBalance().setUserId(userId).setBalance(table.get(userId)))
+                    .toList();
+        });
+        when(balanceMapper.upsertBatch(anyList())).thenAnswer(invocation -> {
+            List<UserPointsBalance> snapshots = invocation.getArgument(0);
+            snapshots.forEach(snapshot -> table.put(snapshot.getUserId(), snapshot.getBalance()));
+            return snapshots.size();
+        });
+        return balanceMapper;
+    }
+
+    private static PointsLedgerWriter newWriter(UserPointsMapper mapper, UserPointsBalanceMapper balanceMapper,
+                                                Duration maxBatchDelay) {
+        PointsLedgerProperties properties = new PointsLedgerProperties();
+        properties.setLanes(4);
+        properties.setMaxBatchDelay(maxBatchDelay);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PointsLedgerWriter writer = new PointsLedgerWriter(mapper, balanceMapper,
+                new PointsBalanceCache(new PointsBalanceProperties(), meterRegistry, emptyProvider(), emptyProvider()),
+                mock(PointsLeaderboard.class),
+                new PointsIdempotencyGuard(new PointsIdempotencyProperties(), new ObjectMapper(), meterRegistry,
+                        emptyProvider(), emptyProvider()),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                properties, meterRegistry);
+        writer.start();
+        return writer;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ObjectProvider<T> emptyProvider() {
+        return mock(ObjectProvider.class);
+    }
+}
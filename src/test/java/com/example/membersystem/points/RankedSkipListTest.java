@@ -0,0 +1,78 @@
+package com.example.membersystem.points;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RankedSkipListTest {
+
+    @Test
+    void ranksByScoreDescendingWithTiesLikeRedis() {
+        RankedSkipList list = new RankedSkipList();
+        list.put("alice", 100);
+        list.put("bob", 300);
+        list.put("carol", 100);
+        list.put("dave", 200);
+
+        assertEquals(0, list.rank("bob"));
+        assertEquals(1, list.rank("dave"));
+        // 同分時成員字串較大者在前（同 ZREVRANGE）
+        assertEquals(2, list.rank("carol"));
+        assertEquals(3, list.rank("alice"));
+        assertEquals(-1, list.rank("nobody"));
+
+        list.put("alice", 500);
+        assertEquals(0, list.rank("alice"));
+        assertEquals(List.of("dave", "carol"), list.range(2, 10).stream().map(RankedSkipList.Entry::member).toList());
+        assertEquals(4, list.size());
+
+        assertFalse(list.putIfAbsent("alice", 1));
+        assertEquals(500L, list.score("alice"));
+        assertTrue(list.remove("bob"));
+        assertEquals(1, list.rank("dave"));
+        assertTrue(list.range(5, 9).isEmpty());
+        assertEquals(new RankedSkipList.Entry("dave", 200, 1), list.entry("dave"));
+        assertNull(list.entry("bob"));
+    }
+
+    @Test
+    void matchesSortedReferenceUnderRandomUpdates() {
+        RankedSkipList list = new RankedSkipList();
+        Map<String, Long> reference = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            String member = "user-" + random.nextInt(2_000);
+            if (random.nextInt(10) == 0) {
+                list.remove(member);
+                reference.remove(member);
+            } else {
+                long score = random.nextInt(500);
+                list.put(member, score);
+                reference.put(member, score);
+            }
+        }
+
+        List<Map.Entry<String, Long>> expected = new ArrayList<>(reference.entrySet());
+        expected.sort(Map.Entry.<String, Long>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())));
+        assertEquals(expected.size(), list.size());
+        List<RankedSkipList.Entry> all = list.range(0, expected.size() - 1L);
+        for (int rank = 0; rank < expected.size(); rank++) {
+            Map.Entry<String, Long> entry = expected.get(rank);
+            assertEquals(entry.getKey(), all.get(rank).member());
+            assertEquals(entry.getValue(), all.get(rank).score());
+            assertEquals(rank, list.rank(entry.getKey()));
+        }
+        assertEquals(expected.get(1234).getKey(), list.range(1234, 1234).get(0).member());
+    }
+}
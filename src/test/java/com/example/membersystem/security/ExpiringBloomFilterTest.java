@@ -0,0 +1,47 @@
+package com.example.membersystem.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExpiringBloomFilterTest {
+
+    private static final long HOUR = 3_600_000L;
+
+    @Test
+    void neverMissesAndStaysNearTargetFalsePositiveRate() {
+        ExpiringBloomFilter filter = new ExpiringBloomFilter(HOUR, 10_000, 0.01);
+        long now = 10 * HOUR;
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("revoked-" + i, now + HOUR);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("revoked-" + i, now));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("active-" + i, now)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "誤判率過高: " + falsePositives);
+    }
+
+    @Test
+    void entriesAgeOutWithTheirBucket() {
+        ExpiringBloomFilter filter = new ExpiringBloomFilter(HOUR, 1_000, 0.01);
+        long now = 10 * HOUR;
+        filter.put("short", now + HOUR / 2);
+        filter.put("long", now + 3 * HOUR);
+
+        assertTrue(filter.mightContain("short", now));
+        long later = now + HOUR + 1;
+        assertFalse(filter.mightContain("short", later));
+        assertTrue(filter.mightContain("long", later));
+
+        filter.expire(later);
+        assertEquals(1, filter.size());
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.membersystem.security;
+
+import com.example.membersystem.config.JwtProperties;
+import com.example.membersystem.config.TokenRevocationProperties;
+import com.example.membersystem.entity.User;
+import com.example.membersystem.exception.ConfigurationException;
+import com.example.membersystem.exception.InvalidTokenException;
+import com.example.membersystem.service.impl.TokenRevocationServiceImpl;
+import io.jsonwebtoken.io.Encoders;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+class JwtTokenProviderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TokenRevocationServiceImpl revocationService = new TokenRevocationServiceImpl(
+            new TokenRevocationProperties(), meterRegistry, mock(ObjectProvider.class), mock(ObjectProvider.class));
+
+    @AfterEach
+    void tearDown() {
+        revocationService.stop();
+    }
+
+    @Test
+    void repeatVerificationIsServedFromCache() {
+        JwtTokenProvider provider = provider(properties("k1", Map.of("k1", randomKey())));
+        String token = provider.issue(user());
+
+        JwtPrincipal first = provider.verify(token);
+        JwtPrincipal second = provider.verify(token);
+
+        assertEquals("u-1", first.userId());
+        assertEquals("alice", first.username());
+        assertSame(first, second);
+        assertEquals(1, meterRegistry.get("member.jwt.verify").tag("cache", "miss").timer().count());
+        assertEquals(1, meterRegistry.get("member.jwt.verify").tag("cache", "hit").timer().count());
+    }
+
+    @Test
+    void rejectsTamperedAndExpiredTokens() {
+        JwtProperties properties = properties("k1", Map.of("k1", randomKey()));
+        JwtTokenProvider provider = provider(properties);
+        String token = provider.issue(user());
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        assertThrows(InvalidTokenException.class, () -> provider.verify(tampered));
+        assertThrows(InvalidTokenException.class, () -> provider.verify("not.a.jwt"));
+
+        properties.setAccessTokenTtl(Duration.ofSeconds(-60));
+        String expired = provider.issue(user());
+        assertThrows(InvalidTokenException.class, () -> provider.verify(expired));
+        assertEquals(1, meterRegistry.get("member.jwt.verify.failure").tag("reason", "expired").counter().count());
+    }
+
+    @Test
+    void revokedTokenIsRejectedEvenWhenCached() {
+        JwtTokenProvider provider = provider(properties("k1", Map.of("k1", randomKey())));
+        String revoked = provider.issue(user());
+        String other = provider.issue(user());
+        JwtPrincipal principal = provider.verify(revoked);
+        provider.verify(other);
+
+        revocationService.revoke(principal.tokenId(), principal.expiresAt());
+
+        assertThrows(InvalidTokenException.class, () -> provider.verify(revoked));
+        assertEquals("u-1", provider.verify(other).userId());
+        assertEquals(1, meterRegistry.get("member.token.revocation.check").tag("result", "revoked").counter().count());
+    }
+
+    @Test
+    void removedKeyInvalidatesCachedTokensAfterReload(@TempDir Path dir) throws Exception {
+        Path keyFile = dir.resolve("jwt-keys.properties");
+        String oldKey = randomKey();
+        Files.writeString(keyFile, "active-key-id=k1\nkeys.k1=" + oldKey + "\n");
+        JwtProperties properties = properties(null, Map.of());
+        properties.setKeyFile(keyFile.toString());
+        JwtKeyManager keyManager = new JwtKeyManager(properties);
+        JwtTokenProvider provider = new JwtTokenProvider(keyManager, properties, revocationService, meterRegistry);
+
+        String oldToken = provider.issue(user());
+        provider.verify(oldToken);
+
+        // 輪換：新增 k2 並設為簽發金鑰，k1 仍可驗證
+        Files.writeString(keyFile, "active-key-id=k2\nkeys.k1=" + oldKey + "\nkeys.k2=" + randomKey() + "\n");
+        keyManager.reload();
+        provider.verify(oldToken);
+        String newToken = provider.issue(user());
+        assertEquals("k2", provider.verify(newToken).keyId());
+
+        // 移除 k1 後，已快取的舊 Token 也必須失效
+        Files.writeString(keyFile, "active-key-id=k2\nkeys.k2="
+                + Encoders.BASE64.encode(keyManager.current().keys().get("k2").getEncoded()) + "\n");
+        keyManager.reload();
+        assertThrows(InvalidTokenException.class, () -> provider.verify(oldToken));
+        assertEquals("u-1", provider.verify(newToken).userId());
+    }
+
+    @Test
+    void replacedSecretUnderSameKeyIdInvalidatesCachedTokens(@TempDir Path dir) throws Exception {
+        Path keyFile = dir.resolve("jwt-keys.properties");
+        Files.writeString(keyFile, "active-key-id=k1\nkeys.k1=" + randomKey() + "\n");
+        JwtProperties properties = properties(null, Map.of());
+        properties.setKeyFile(keyFile.toString());
+        JwtKeyManager keyManager = new JwtKeyManager(properties);
+        JwtTokenProvider provider = new JwtTokenProvider(keyManager, properties, revocationService, meterRegistry);
+        String leakedToken = provider.issue(user());
+        provider.verify(leakedToken);
+
+        // 金鑰外洩後沿用 kid 更換內容，以舊金鑰簽發且已快取的 Token 必須失效
+        Files.writeString(keyFile, "active-key-id=k1\nkeys.k1=" + randomKey() + "\n");
+        keyManager.reload();
+
+        assertThrows(InvalidTokenException.class, () -> provider.verify(leakedToken));
+        assertEquals("u-1", provider.verify(provider.issue(user())).userId());
+    }
+
+    @Test
+    void unchangedSecretKeepsCacheAcrossReload(@TempDir Path dir) throws Exception {
+        Path keyFile = dir.resolve("jwt-keys.properties");
+        Files.writeString(keyFile, "active-key-id=k1\nkeys.k1=" + randomKey() + "\n");
+        JwtProperties properties = properties(null, Map.of());
+        properties.setKeyFile(keyFile.toString());
+        JwtKeyManager keyManager = new JwtKeyManager(properties);
+        JwtTokenProvider provider = new JwtTokenProvider(keyManager, properties, revocationService, meterRegistry);
+        String token = provider.issue(user());
+        provider.verify(token);
+
+        keyManager.reload();
+        provider.verify(token);
+
+        assertEquals(1, meterRegistry.get("member.jwt.verify").tag("cache", "hit").timer().count());
+    }
+
+    @Test
+    void failsFastWhenSecretIsNotProvided() {
+        // MEMBER_JWT_SECRET 未設定時 application.yml 中的金鑰展開為空字串
+        JwtProperties properties = properties("dev-1", Map.of("dev-1", ""));
+        assertThrows(ConfigurationException.class, () -> new JwtKeyManager(properties));
+    }
+
+    private JwtTokenProvider provider(JwtProperties properties) {
+        return new JwtTokenProvider(new JwtKeyManager(properties), properties, revocationService, meterRegistry);
+    }
+
+    private static JwtProperties properties(String activeKeyId, Map<String, String> keys) {
+        JwtProperties properties = new JwtProperties();
+        properties.setActiveKeyId(activeKeyId);
+        properties.getKeys().putAll(keys);
+        return properties;
+    }
+
+    private static User user() {
+        User user = new User().setUsername("alice");
+        user.setId("u-1");
+        return user;
+    }
+
+    private static String randomKey() {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return Encoders.BASE64.encode(key);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.membersystem.security;
+
+import com.example.membersystem.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LoginRateLimiterTest {
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final List<StringRedisConnection> pipelines = new ArrayList<>();
+    private final List<Integer> pipelineSizes = new ArrayList<>();
+    private LoginRateLimiter limiter;
+
+    @AfterEach
+    void tearDown() {
+        if (limiter != null) {
+            limiter.shutdown();
+        }
+    }
+
+    @Test
+    void pushesOnlyNonZeroDeltasInBoundedPipelines() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setSyncBatchSize(2);
+        // 由測試手動對帳
+        properties.setSyncInterval(Duration.ofHours(1));
+        limiter = newLimiter(properties);
+        for (int i = 0; i < 5; i++) {
+            limiter.checkIp("10.0.0." + i);
+        }
+
+        limiter.sync();
+
+        // 5 個鍵分 3 批；每個鍵只有當前視窗有增量，上一視窗只讀取總數
+        assertEquals(List.of(2, 2, 1), pipelineSizes);
+        for (StringRedisConnection connection : pipelines) {
+            verify(connection, never()).hIncrBy(anyString(), anyString(), eq(0L));
+        }
+        assertEquals(5, pipelines.stream().mapToLong(connection -> calls(connection, "hGet")).sum());
+
+        // 沒有新請求時不再對帳
+        limiter.sync();
+        assertEquals(3, pipelines.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private LoginRateLimiter newLimiter(RateLimitProperties properties) {
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            StringRedisConnection connection = mock(StringRedisConnection.class);
+            invocation.<RedisCallback<Object>>getArgument(0).doInRedis(connection);
+            pipelines.add(connection);
+            int keys = (int) calls(connection, "hIncrBy");
+            pipelineSizes.add(keys);
+            // 每個鍵兩個結果：上一視窗（HGET 未命中）與當前視窗的總數
+            List<Object> totals = new ArrayList<>();
+            for (int i = 0; i < keys; i++) {
+                totals.add(null);
+                totals.add(1L);
+            }
+            return totals;
+        });
+        ObjectProvider<StringRedisTemplate> templateProvider = mock(ObjectProvider.class);
+        when(templateProvider.getIfAvailable()).thenReturn(redisTemplate);
+        ObjectProvider<RedisMessageListenerContainer> containerProvider = mock(ObjectProvider.class);
+        when(containerProvider.getIfAvailable()).thenReturn(mock(RedisMessageListenerContainer.class));
+        return new LoginRateLimiter(properties, new SimpleMeterRegistry(), templateProvider, containerProvider);
+    }
+
+    private static long calls(StringRedisConnection connection, String method) {
+        return mockingDetails(connection).getInvocations().stream()
+                .filter(call -> call.getMethod().getName().equals(method))
+                .count();
+    }
+}
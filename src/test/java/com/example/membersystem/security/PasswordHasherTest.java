@@ -0,0 +1,94 @@
+package com.example.membersystem.security;
+
+import com.example.membersystem.config.PasswordHashProperties;
+import com.example.membersystem.exception.BusinessException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PasswordHasherTest {
+
+    @Test
+    void rejectsWithServiceUnavailableWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slowEncoder = mock(PasswordEncoder.class);
+        when(slowEncoder.encode(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "hash";
+        });
+        PasswordHashProperties properties = new PasswordHashProperties();
+        properties.setThreads(1);
+        properties.setQueueCapacity(1);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PasswordHasher hasher = new PasswordHasher(slowEncoder, properties, meterRegistry);
+        try {
+            // 一筆執行中、一筆排隊，第三筆立即被拒絕
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hasher.encode("a"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hasher.encode("b"));
+            awaitQueueDepth(meterRegistry, 1);
+
+            BusinessException rejected = assertThrows(BusinessException.class, () -> hasher.encode("c"));
+            assertEquals(503, rejected.getCode());
+            assertEquals(1.0, meterRegistry.get("member.password.rejected").counter().count());
+
+            release.countDown();
+            assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+            assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+            assertEquals(2, meterRegistry.get("member.password.hash").tag("operation", "encode").timer().count());
+            assertEquals(2, meterRegistry.get("member.password.queue.wait").timer().count());
+        } finally {
+            release.countDown();
+            hasher.shutdown();
+        }
+    }
+
+    @Test
+    void detectsHashesWeakerThanCurrentStrength() {
+        PasswordHasher hasher = new PasswordHasher(new BCryptPasswordEncoder(5), new PasswordHashProperties(),
+                new SimpleMeterRegistry());
+        try {
+            String weak = new BCryptPasswordEncoder(4).encode("secret123");
+            String current = hasher.encode("secret123");
+
+            assertTrue(hasher.matches("secret123", weak));
+            assertTrue(hasher.needsUpgrade(weak));
+            assertFalse(hasher.needsUpgrade(current));
+            assertFalse(hasher.matches("wrong", current));
+        } finally {
+            hasher.shutdown();
+        }
+    }
+
+    @Test
+    void calibratesStrengthTowardsTargetTime() {
+        long base = TimeUnit.MILLISECONDS.toNanos(25);
+        // 強度 +1 耗時加倍：25ms@10 -> 100ms@12
+        assertEquals(12, PasswordHashCalibrator.calibrate(base, 10, TimeUnit.MILLISECONDS.toNanos(100), 14));
+        assertEquals(10, PasswordHashCalibrator.calibrate(base, 10, TimeUnit.MILLISECONDS.toNanos(10), 14));
+        assertEquals(14, PasswordHashCalibrator.calibrate(base, 10, TimeUnit.SECONDS.toNanos(10), 14));
+    }
+
+    private static void awaitQueueDepth(SimpleMeterRegistry meterRegistry, int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("member.password.queue.depth").gauge().value() < depth
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.membersystem.security;
+
+import com.example.membersystem.entity.Role;
+import com.example.membersystem.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PermissionBitmapEngineTest {
+
+    @Test
+    void userPermissionsAreUnionOfRoles() {
+        PermissionBitmapEngine engine = new PermissionBitmapEngine();
+        engine.rebuild(Map.of(
+                "r1", List.of("user:read", "user:write"),
+                "r2", List.of("role:read")));
+
+        User user = userWithRoles("r1", "r2");
+        assertTrue(engine.hasPermission(user, "user:read"));
+        assertTrue(engine.hasPermission(user, "role:read"));
+        assertFalse(engine.hasPermission(user, "role:write"));
+        assertFalse(engine.hasPermission(userWithRoles("r2"), "user:write"));
+        assertEquals(3, engine.compile(List.of("r1", "r2")).cardinality());
+    }
+
+    @Test
+    void updateRecompilesOnlyAffectedRoles() {
+        PermissionBitmapEngine engine = new PermissionBitmapEngine();
+        engine.rebuild(Map.of(
+                "r1", List.of("user:read"),
+                "r2", List.of("role:read")));
+        int roleReadIndex = engine.indexOf("role:read");
+
+        engine.updateRoles(Map.of("r1", List.of("user:read", "user:delete")), Set.of("r2"));
+
+        assertTrue(engine.hasPermission(userWithRoles("r1"), "user:delete"));
+        assertFalse(engine.hasPermission(userWithRoles("r2"), "role:read"));
+        // 已分配的索引在增量更新中保持穩定
+        assertEquals(roleReadIndex, engine.indexOf("role:read"));
+        assertEquals(2, engine.version());
+    }
+
+    private static User userWithRoles(String... roleIds) {
+        List<Role> roles = new ArrayList<>();
+        for (String roleId : roleIds) {
+            Role role = new Role();
+            role.setId(roleId);
+            roles.add(role);
+        }
+        return new User().setRoles(roles);
+    }
+}
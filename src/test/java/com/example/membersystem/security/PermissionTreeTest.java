@@ -0,0 +1,76 @@
+package com.example.membersystem.security;
+
+import com.example.membersystem.entity.Permission;
+import com.example.membersystem.enums.PermissionType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PermissionTreeTest {
+
+    @Test
+    void buildsSortedForestAndAppliesIncrementalUpdates() {
+        PermissionTree tree = new PermissionTree();
+        tree.rebuild(List.of(
+                permission("1", null, "system", 2, PermissionType.MENU),
+                permission("2", null, "user", 1, PermissionType.MENU),
+                permission("3", "2", "user:list", 2, PermissionType.BUTTON),
+                permission("4", "2", "user:add", 1, PermissionType.BUTTON)));
+
+        List<Permission> roots = tree.snapshot();
+        assertEquals(List.of("user", "system"), codes(roots));
+        assertEquals(List.of("user:add", "user:list"), codes(roots.get(0).getChildren()));
+
+        // 移動到另一個父節點
+        tree.upsert(permission("3", "1", "user:list", 0, PermissionType.BUTTON));
+        roots = tree.snapshot();
+        assertEquals(List.of("user:add"), codes(roots.get(0).getChildren()));
+        assertEquals(List.of("user:list"), codes(roots.get(1).getChildren()));
+
+        // 移除父節點後子節點轉為孤兒，父節點恢復後自動掛回
+        tree.remove("1");
+        assertEquals(List.of("user"), codes(tree.snapshot()));
+        tree.upsert(permission("1", null, "system", 2, PermissionType.MENU));
+        assertEquals(List.of("user:list"), codes(tree.snapshot().get(1).getChildren()));
+    }
+
+    @Test
+    void prunesToGrantedCodesAndTheirAncestors() {
+        PermissionTree tree = new PermissionTree();
+        tree.rebuild(List.of(
+                permission("1", null, "system", 1, PermissionType.MENU),
+                permission("2", "1", "user", 1, PermissionType.MENU),
+                permission("3", "2", "user:add", 1, PermissionType.BUTTON),
+                permission("4", "2", "user:delete", 2, PermissionType.BUTTON),
+                permission("5", null, "report", 2, PermissionType.MENU)));
+
+        List<Permission> pruned = tree.prune(List.of("user:delete"), Set.of());
+        assertEquals(List.of("system"), codes(pruned));
+        assertEquals(List.of("user"), codes(pruned.get(0).getChildren()));
+        assertEquals(List.of("user:delete"), codes(pruned.get(0).getChildren().get(0).getChildren()));
+
+        List<Permission> menus = tree.prune(List.of("user", "user:add", "report"), Set.of(PermissionType.MENU));
+        assertEquals(List.of("system", "report"), codes(menus));
+        assertTrue(menus.get(0).getChildren().get(0).getChildren().isEmpty());
+    }
+
+    private static Permission permission(String id, String parentId, String code, int sortOrder, PermissionType type) {
+        Permission permission = new Permission()
+                .setCode(code)
+                .setName(code)
+                .setParentId(parentId)
+                .setSortOrder(sortOrder)
+                .setType(type.getCode())
+                .setStatus(1);
+        permission.setId(id);
+        return permission;
+    }
+
+    private static List<String> codes(List<Permission> permissions) {
+        return permissions.stream().map(Permission::getCode).toList();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.membersystem.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlidingWindowRateLimiterTest {
+
+    private static final long WINDOW = 60_000;
+
+    @Test
+    void limitsWithinWindowAndSlidesIntoNextWindow() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter("ip", 10, WINDOW, 1000);
+        long start = 100 * WINDOW;
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire("1.1.1.1", start + i));
+        }
+        assertFalse(limiter.tryAcquire("1.1.1.1", start + 10));
+        assertTrue(limiter.tryAcquire("2.2.2.2", start + 10));
+
+        // 下一視窗開始時上一視窗幾乎全額計入（9.99），只放行一次；過半後上一視窗只計入一半
+        assertTrue(limiter.tryAcquire("1.1.1.1", start + WINDOW + 1));
+        assertFalse(limiter.tryAcquire("1.1.1.1", start + WINDOW + 1));
+        long halfway = start + WINDOW + WINDOW / 2;
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire("1.1.1.1", halfway));
+        }
+        assertFalse(limiter.tryAcquire("1.1.1.1", halfway));
+
+        // 兩個視窗後完全恢復
+        assertTrue(limiter.tryAcquire("1.1.1.1", start + 3 * WINDOW));
+    }
+
+    @Test
+    void countsRemoteNodesAfterSync() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter("username", 10, WINDOW, 1000);
+        long now = 100 * WINDOW + 1;
+        assertTrue(limiter.tryAcquire("alice", now));
+        assertTrue(limiter.tryAcquire("alice", now));
+
+        List<SlidingWindowRateLimiter.SyncEntry> entries = limiter.collectForSync(now);
+        assertEquals(1, entries.size());
+        assertEquals(2, entries.get(0).currentDelta());
+        // 叢集中其他節點已計入 7 次
+        limiter.applySync(entries.get(0), 0, 9);
+
+        assertTrue(limiter.tryAcquire("alice", now));
+        assertFalse(limiter.tryAcquire("alice", now));
+
+        // 下次對帳只推送新增的一次
+        assertEquals(1, limiter.collectForSync(now).get(0).currentDelta());
+    }
+
+    @Test
+    void syncsOnlyKeysTouchedSinceLastSync() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter("ip", 1, WINDOW, 1000);
+        long now = 100 * WINDOW + 1;
+        assertTrue(limiter.tryAcquire("a", now));
+        assertTrue(limiter.tryAcquire("b", now));
+        List<SlidingWindowRateLimiter.SyncEntry> entries = limiter.collectForSync(now);
+        assertEquals(2, entries.size());
+        entries.forEach(entry -> limiter.applySync(entry, 0, 1));
+
+        // 沒有新請求的鍵不再對帳
+        assertEquals(0, limiter.collectForSync(now).size());
+        // 被拒絕的鍵沒有增量，但仍需更新叢集計數
+        assertFalse(limiter.tryAcquire("a", now));
+        entries = limiter.collectForSync(now);
+        assertEquals(1, entries.size());
+        assertEquals("a", entries.get(0).key());
+        assertEquals(0, entries.get(0).previousDelta());
+        assertEquals(0, entries.get(0).currentDelta());
+    }
+
+    @Test
+    void evictsIdleKeysAndFailsClosedAtTrackedKeyCap() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter("ip", 1, WINDOW, 2);
+        long now = 100 * WINDOW;
+        limiter.tryAcquire("a", now);
+        limiter.tryAcquire("b", now);
+        // 達到追蹤上限時新鍵一律拒絕，不能藉由大量隨機鍵繞過限流
+        assertFalse(limiter.tryAcquire("c", now));
+        assertEquals(2, limiter.trackedKeys());
+
+        assertEquals(0, limiter.collectForSync(now + 2 * WINDOW).size());
+        assertEquals(0, limiter.trackedKeys());
+        assertTrue(limiter.tryAcquire("c", now + 2 * WINDOW));
+    }
+}
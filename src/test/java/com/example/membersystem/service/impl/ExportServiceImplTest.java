@@ -0,0 +1,195 @@
+package com.example.membersystem.service.impl;
+
+import com.example.membersystem.dto.ExportRequest;
+import com.example.membersystem.entity.UserPoints;
+import com.example.membersystem.mapper.OperationLogMapper;
+import com.example.membersystem.mapper.UserMapper;
+import com.example.membersystem.mapper.UserPointsMapper;
+import com.example.membersystem.points.PointsArchiveStore;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.ibatis.cursor.Cursor;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ExportServiceImplTest {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2025, 6, 22, 12, 0);
+
+    private final UserPointsMapper userPointsMapper = mock(UserPointsMapper.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final PointsArchiveStore pointsArchiveStore = mock(PointsArchiveStore.class);
+    private final ExportServiceImpl exportService = new ExportServiceImpl(mock(UserMapper.class), userPointsMapper,
+            mock(OperationLogMapper.class), pointsArchiveStore, objectMapper, mock(PlatformTransactionManager.class));
+
+    /**
+     * 每產生一行前檢查輸出端已收到的行數：落後量有固定上限即代表沒有在記憶體中累積資料，
+     * 與總行數無關（此處 50 萬行與 1 萬行的上限相同）。
+     */
+    @Test
+    void memoryStaysConstantInRowCount() throws Exception {
+        for (int rows : new int[]{10_000, 500_000}) {
+            LineCountingSink sink = new LineCountingSink();
+            GeneratedCursor cursor = new GeneratedCursor(rows, sink);
+            when(userPointsMapper.streamByCreateTime(any(), any(), any())).thenReturn(cursor);
+
+            long exported = exportService.exportPoints(new ExportRequest(), sink);
+
+            assertEquals(rows, exported);
+            // 標題行 + 資料行
+            assertEquals(rows + 1, sink.lines);
+            assertTrue(cursor.maxLag <= 1_000, "rows=" + rows + " 最大落後行數 " + cursor.maxLag);
+            assertTrue(cursor.closed);
+        }
+    }
+
+    @Test
+    void mergesArchivedMonthsBeforeBoundary() throws Exception {
+        LocalDateTime archivedBefore = LocalDateTime.of(2025, 6, 1, 0, 0);
+        when(pointsArchiveStore.archivedBefore()).thenReturn(archivedBefore);
+        doAnswer(invocation -> {
+            Consumer<UserPoints> action = invocation.getArgument(3);
+            action.accept(new UserPoints().setId("archived").setCreateTime(LocalDateTime.of(2025, 5, 3, 0, 0)));
+            return null;
+        }).when(pointsArchiveStore).forEach(any(), any(), any(), any());
+        when(userPointsMapper.streamByCreateTime(any(), any(), any())).thenReturn(new GeneratedCursor(2, null));
+        ExportRequest request = new ExportRequest();
+        request.setFrom(LocalDateTime.of(2025, 5, 1, 0, 0));
+        LineCountingSink sink = new LineCountingSink();
+
+        assertEquals(3, exportService.exportPoints(request, sink));
+        // 歸檔界線之前只讀歸檔段，之後只讀資料庫
+        verify(pointsArchiveStore).forEach(isNull(), eq(request.getFrom()), eq(archivedBefore), any());
+        verify(userPointsMapper).streamByCreateTime(null, archivedBefore, null);
+    }
+
+    @Test
+    void writesGzippedNdjson() throws Exception {
+        when(userPointsMapper.streamByCreateTime(any(), any(), any())).thenReturn(new GeneratedCursor(2_000, null));
+        ExportRequest request = new ExportRequest();
+        request.setFormat("ndjson");
+        request.setGzip(true);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportPoints(request, out);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())), StandardCharsets.UTF_8))) {
+            JsonNode first = objectMapper.readTree(reader.readLine());
+            assertEquals("p-0", first.get("id").asText());
+            assertEquals("2025-06-22T12:00:00", first.get("createTime").asText());
+            assertEquals(1_999, reader.lines().count());
+        }
+    }
+
+    /**
+     * 丟棄資料、只計算換行數的輸出流
+     */
+    private static final class LineCountingSink extends OutputStream {
+
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                if (bytes[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+
+    /**
+     * 逐行即時產生資料的 Cursor，模擬 MySQL 串流結果集
+     */
+    private static final class GeneratedCursor implements Cursor<UserPoints> {
+
+        private final int rows;
+        private final LineCountingSink sink;
+        private int index;
+        private long maxLag;
+        private boolean closed;
+
+        GeneratedCursor(int rows, LineCountingSink sink) {
+            this.rows = rows;
+            this.sink = sink;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return !closed;
+        }
+
+        @Override
+        public boolean isConsumed() {
+            return index >= rows;
+        }
+
+        @Override
+        public int getCurrentIndex() {
+            return index - 1;
+        }
+
+        @Override
+        public Iterator<UserPoints> iterator() {
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return index < rows;
+                }
+
+                @Override
+                public UserPoints next() {
+                    if (sink != null) {
+                        long delivered = Math.max(0, sink.lines - 1);
+                        maxLag = Math.max(maxLag, index - delivered);
+                    }
+                    int i = index++;
+                    return new UserPoints()
+                            .setId("p-" + i)
+                            .setUserId("u-" + (i % 1000))
+                            .setPoints(10L)
+                            .setBalance((long) i * 10)
+                            .setType(1)
+                            .setDescription("簽到, 第 " + i + " 天")
+                            .setCreateTime(TIME);
+                }
+            };
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.membersystem.service.impl;
+
+import com.example.membersystem.config.UserImportProperties;
+import com.example.membersystem.dto.UserImportResult;
+import com.example.membersystem.entity.User;
+import com.example.membersystem.mapper.UserMapper;
+import com.example.membersystem.service.UserImportService.ImportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserImportServiceImplTest {
+
+    @TempDir
+    Path reportDirectory;
+
+    @Test
+    void rejectsDuplicatesAgainstDatabaseAndFileWithoutStopping() throws Exception {
+        UserMapper userMapper = mock(UserMapper.class);
+        User existing = new User().setUsername("Alice").setEmail("alice@example.com");
+        existing.setId("u-0");
+        when(userMapper.selectIdentitiesAfter(eq(""), anyInt())).thenReturn(List.of(existing));
+        ConcurrentLinkedQueue<List<User>> batches = new ConcurrentLinkedQueue<>();
+        when(userMapper.insertBatch(anyList())).thenAnswer(invocation -> {
+            List<User> users = invocation.getArgument(0);
+            batches.add(List.copyOf(users));
+            return users.size();
+        });
+
+        String csv = """
+                username,email,password,nickname
+                alice,new@example.com,secret1,
+                bob,bob@example.com,secret1,"Bob, Jr."
+                carol,BOB@example.com,secret1,
+                dave,not-an-email,secret1,
+                eve,eve@example.com,"unterminated
+                bob,bob2@example.com,secret1,
+                frank,frank@example.com,secret1,
+                """;
+        UserImportResult result = service(userMapper, 1)
+                .importUsers(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ImportFormat.CSV);
+
+        assertEquals(7, result.getTotal());
+        assertEquals(2, result.getImported());
+        assertEquals(5, result.getRejected());
+        assertEquals(2, batches.size());
+        User bob = batches.stream().flatMap(List::stream)
+                .filter(user -> "bob".equals(user.getUsername())).findFirst().orElseThrow();
+        assertEquals("Bob, Jr.", bob.getNickname());
+        assertEquals("hashed", bob.getPassword());
+
+        List<String> report = Files.readAllLines(reportDirectory.resolve(result.getImportId() + ".csv"));
+        assertEquals(6, report.size());
+        assertTrue(report.get(1).startsWith("2,alice,"), report.get(1));
+        assertTrue(report.get(2).contains("郵箱已存在"), report.get(2));
+        assertTrue(report.get(4).startsWith("6,,,"), report.get(4));
+    }
+
+    @Test
+    void readsJsonLinesAndKeepsPreHashedPasswords() {
+        UserMapper userMapper = mock(UserMapper.class);
+        when(userMapper.selectIdentitiesAfter(anyString(), anyInt())).thenReturn(List.of());
+        ConcurrentLinkedQueue<User> inserted = new ConcurrentLinkedQueue<>();
+        when(userMapper.insertBatch(anyList())).thenAnswer(invocation -> {
+            List<User> users = invocation.getArgument(0);
+            inserted.addAll(users);
+            return users.size();
+        });
+        String hash = "$2a$10$" + "a".repeat(53);
+        String jsonl = "{\"username\":\"u1\",\"email\":\"u1@example.com\",\"password\":\"" + hash + "\"}\n"
+                + "not json\n"
+                + "{\"username\":\"u2\",\"email\":\"u2@example.com\",\"password\":\"secret2\"}\n";
+
+        UserImportResult result = service(userMapper, 10)
+                .importUsers(new ByteArrayInputStream(jsonl.getBytes(StandardCharsets.UTF_8)), ImportFormat.JSONL);
+
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getRejected());
+        assertTrue(inserted.stream().anyMatch(user -> hash.equals(user.getPassword())));
+    }
+
+    @Test
+    void rejectsWholeBatchOnNonDatabaseFailure() throws Exception {
+        UserMapper userMapper = mock(UserMapper.class);
+        when(userMapper.selectIdentitiesAfter(anyString(), anyInt())).thenReturn(List.of());
+        when(userMapper.insertBatch(anyList())).thenThrow(new IllegalStateException("mapper misconfigured"));
+        String csv = """
+                username,email,password,nickname
+                alice,alice@example.com,secret1,
+                bob,bob@example.com,secret1,
+                """;
+
+        UserImportResult result = service(userMapper, 10)
+                .importUsers(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ImportFormat.CSV);
+
+        assertEquals(2, result.getTotal());
+        assertEquals(0, result.getImported());
+        assertEquals(2, result.getRejected());
+        List<String> report = Files.readAllLines(reportDirectory.resolve(result.getImportId() + ".csv"));
+        assertTrue(report.get(1).contains("寫入失敗"), report.get(1));
+        assertTrue(report.get(2).contains("寫入失敗"), report.get(2));
+    }
+
+    private UserImportServiceImpl service(UserMapper userMapper, int batchSize) {
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.encode(anyString())).thenReturn("hashed");
+        UserImportProperties properties = new UserImportProperties();
+        properties.setBatchSize(batchSize);
+        properties.setParallelism(2);
+        properties.setReportDirectory(reportDirectory.toString());
+        return new UserImportServiceImpl(userMapper, passwordEncoder, properties, new ObjectMapper());
+    }
+}